@@ -0,0 +1,52 @@
+package pl.mkrew.backend.benchmark;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Shared helpers for JMH benchmarks
+ * Benchmarks run without a Spring context, so @Value fields are injected reflectively
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Load a fixture file from src/jmh/resources/fixtures
+     *
+     * @param name File name inside the fixtures directory
+     * @return File content as UTF-8 string
+     */
+    public static String loadFixture(String name) {
+        try (InputStream in = BenchmarkSupport.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Fixture not found: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read fixture: " + name, e);
+        }
+    }
+
+    /**
+     * Set a (usually @Value-injected) field on a bean created outside Spring
+     *
+     * @param target Bean instance
+     * @param fieldName Field name
+     * @param value Value to set
+     */
+    public static void setField(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException("No field '" + fieldName + "' on " + target.getClass().getName());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
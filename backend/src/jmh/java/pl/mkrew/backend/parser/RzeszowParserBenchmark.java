@@ -0,0 +1,62 @@
+package pl.mkrew.backend.parser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.mkrew.backend.benchmark.BenchmarkSupport;
+import pl.mkrew.backend.dto.BloodLevelData;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for RzeszowParser on captured RCKiK pages
+ * Covers both the default selector chain and the ScraperConfig.cssSelectors path
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RzeszowParserBenchmark {
+
+    private RzeszowParser parser;
+    private String defaultPage;
+    private String customPage;
+    private JsonNode customSelectors;
+
+    @Setup
+    public void setUp() throws Exception {
+        parser = new RzeszowParser();
+        defaultPage = BenchmarkSupport.loadFixture("rckik-rzeszow-default.html");
+        customPage = BenchmarkSupport.loadFixture("rckik-rzeszow-custom.html");
+        customSelectors = new ObjectMapper().readTree("""
+                {
+                  "container": "section.stany-krwi",
+                  "bloodGroupRow": "div.grupa",
+                  "bloodGroupName": "span.nazwa",
+                  "levelPercentage": "span.poziom"
+                }
+                """);
+    }
+
+    @Benchmark
+    public List<BloodLevelData> parseDefaultSelectors() throws ParsingException {
+        return parser.parseBloodLevels(defaultPage);
+    }
+
+    @Benchmark
+    public List<BloodLevelData> parseCustomSelectors() throws ParsingException {
+        return parser.parseBloodLevels(customPage, customSelectors);
+    }
+}
@@ -0,0 +1,83 @@
+package pl.mkrew.backend.ratelimit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.mkrew.backend.exception.RateLimitExceededException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark for RateLimitService.checkIpLimit under thread contention
+ * hotKey: every thread hammers one IP bucket (mostly rejections after the first burst)
+ * spreadKeys: each thread cycles through its own pool of client IPs (cache lookups + bucket refills)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimitServiceBenchmark {
+
+    private static final int IPS_PER_THREAD = 4096;
+
+    private RateLimitService rateLimitService;
+
+    @Setup
+    public void setUp() {
+        rateLimitService = new RateLimitService();
+    }
+
+    @State(Scope.Thread)
+    public static class ClientIps {
+        private static final AtomicInteger THREAD_SEQ = new AtomicInteger();
+
+        String[] ips;
+        int cursor;
+
+        @Setup
+        public void setUp() {
+            int thread = THREAD_SEQ.getAndIncrement();
+            ips = new String[IPS_PER_THREAD];
+            for (int i = 0; i < IPS_PER_THREAD; i++) {
+                ips[i] = "10." + thread + "." + (i >> 8) + "." + (i & 0xFF);
+            }
+        }
+
+        String next() {
+            String ip = ips[cursor];
+            cursor = (cursor + 1) % IPS_PER_THREAD;
+            return ip;
+        }
+    }
+
+    @Benchmark
+    public boolean hotKey() {
+        return check("192.168.0.1");
+    }
+
+    @Benchmark
+    public boolean spreadKeys(ClientIps clientIps) {
+        return check(clientIps.next());
+    }
+
+    private boolean check(String ip) {
+        try {
+            rateLimitService.checkIpLimit(ip, RateLimitType.PUBLIC_API);
+            return true;
+        } catch (RateLimitExceededException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package pl.mkrew.backend.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pl.mkrew.backend.benchmark.BenchmarkSupport;
+import pl.mkrew.backend.entity.User;
+import pl.mkrew.backend.entity.UserRole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for JwtTokenProvider token issuing and validation
+ * authenticateRequest mirrors the calls JwtAuthenticationFilter makes for every request
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final Long SESSION_ID = 7L;
+
+    private JwtTokenProvider tokenProvider;
+    private User user;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        BenchmarkSupport.setField(tokenProvider, "jwtSecret",
+                "benchmark-secret-key-that-is-long-enough-for-hs512-signing-0123456789abcdef");
+        BenchmarkSupport.setField(tokenProvider, "jwtExpiration", 3_600_000L);
+        BenchmarkSupport.setField(tokenProvider, "refreshExpiration", 604_800_000L);
+
+        user = User.builder()
+                .id(42L)
+                .email("dawca@example.com")
+                .role(UserRole.USER)
+                .build();
+        accessToken = tokenProvider.generateAccessToken(user, SESSION_ID);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return tokenProvider.generateAccessToken(user, SESSION_ID);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public void authenticateRequest(Blackhole blackhole) {
+        blackhole.consume(tokenProvider.validateToken(accessToken));
+        Claims claims = tokenProvider.getClaimsFromToken(accessToken);
+        blackhole.consume(claims.getSubject());
+        blackhole.consume(claims.get("email", String.class));
+        blackhole.consume(claims.get("role", String.class));
+        blackhole.consume(claims.get("sid", Long.class));
+    }
+}
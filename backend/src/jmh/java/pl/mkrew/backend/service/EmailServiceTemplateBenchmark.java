@@ -0,0 +1,61 @@
+package pl.mkrew.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.mkrew.backend.benchmark.BenchmarkSupport;
+import pl.mkrew.backend.dto.EmailNotificationRequest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for EmailService template rendering ({{placeholder}} substitution)
+ * Uses the critical blood level alert template, the highest-volume email
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailServiceTemplateBenchmark {
+
+    private EmailService emailService;
+    private EmailNotificationRequest criticalAlertRequest;
+
+    @Setup
+    public void setUp() {
+        // EmailLogService is never touched by template rendering
+        emailService = new EmailService(null, null, new SimpleMeterRegistry());
+
+        criticalAlertRequest = EmailNotificationRequest.builder()
+                .recipientEmail("dawca@example.com")
+                .recipientName("Jan Kowalski")
+                .subject("Krytyczny poziom krwi - RCKiK Rzeszów")
+                .notificationType("CRITICAL_ALERT")
+                .templateName(BenchmarkSupport.loadFixture("email-critical-alert.html"))
+                .templateVariables(Map.of(
+                        "recipientName", "Jan Kowalski",
+                        "rckikName", "RCKiK Rzeszów",
+                        "criticalGroups", "0- (12.50%), B- (8.00%), AB- (15.00%)",
+                        "detailsUrl", "https://mkrew.pl/rckik/1"
+                ))
+                .userId(42L)
+                .rckikId(1L)
+                .build();
+    }
+
+    @Benchmark
+    public String renderCriticalAlert() {
+        return emailService.buildHtmlContent(criticalAlertRequest);
+    }
+}
@@ -0,0 +1,100 @@
+package pl.mkrew.backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import pl.mkrew.backend.dto.RckikListResponse;
+import pl.mkrew.backend.entity.BloodSnapshot;
+import pl.mkrew.backend.entity.Rckik;
+import pl.mkrew.backend.repository.BloodSnapshotRepository;
+import pl.mkrew.backend.repository.RckikRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmark for RckikService list DTO mapping
+ * Repositories are stubbed with the 21 seeded centers x 8 blood groups, so only
+ * the in-memory grouping and entity-to-DTO mapping is measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RckikServiceMappingBenchmark {
+
+    private static final int CENTER_COUNT = 21;
+    private static final String[] BLOOD_GROUPS = {"0+", "0-", "A+", "A-", "B+", "B-", "AB+", "AB-"};
+
+    private RckikService rckikService;
+
+    @Setup
+    public void setUp() {
+        List<Rckik> centers = new ArrayList<>();
+        List<BloodSnapshot> snapshots = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        LocalDateTime scrapedAt = LocalDateTime.now();
+
+        for (long id = 1; id <= CENTER_COUNT; id++) {
+            Rckik rckik = Rckik.builder()
+                    .id(id)
+                    .name("RCKiK " + id)
+                    .code("RCKIK-" + id)
+                    .city("Miasto " + id)
+                    .address("ul. Testowa " + id)
+                    .latitude(new BigDecimal("50.0411"))
+                    .longitude(new BigDecimal("21.9991"))
+                    .active(true)
+                    .createdAt(scrapedAt)
+                    .updatedAt(scrapedAt)
+                    .build();
+            centers.add(rckik);
+
+            for (int g = 0; g < BLOOD_GROUPS.length; g++) {
+                snapshots.add(BloodSnapshot.builder()
+                        .id(id * 10 + g)
+                        .rckik(rckik)
+                        .snapshotDate(today)
+                        .bloodGroup(BLOOD_GROUPS[g])
+                        .levelPercentage(BigDecimal.valueOf((id * 7 + g * 13) % 100))
+                        .scrapedAt(scrapedAt)
+                        .isManual(false)
+                        .build());
+            }
+        }
+
+        RckikRepository rckikRepository = mock(RckikRepository.class);
+        BloodSnapshotRepository bloodSnapshotRepository = mock(BloodSnapshotRepository.class);
+        when(rckikRepository.findByActive(eq(true), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(centers, invocation.getArgument(1), centers.size()));
+        when(bloodSnapshotRepository.findLatestByRckikIds(anyList())).thenReturn(snapshots);
+
+        rckikService = new RckikService(rckikRepository, bloodSnapshotRepository, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public RckikListResponse getRckikList() {
+        return rckikService.getRckikList(0, 50, null, true, "name", "ASC");
+    }
+}
@@ -0,0 +1,68 @@
+package pl.mkrew.backend.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for GeoKdTree radius queries behind GET /api/v1/rckik/nearby
+ * Points are spread over Poland's bounding box; 21 matches the number of RCKiK centers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeoKdTreeBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"21", "10000"})
+    private int points;
+
+    private GeoKdTree tree;
+    private double[] queryLatitudes;
+    private double[] queryLongitudes;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        long[] ids = new long[points];
+        double[] latitudes = new double[points];
+        double[] longitudes = new double[points];
+        for (int i = 0; i < points; i++) {
+            ids[i] = i + 1;
+            latitudes[i] = 49.0 + random.nextDouble() * 5.8;
+            longitudes[i] = 14.1 + random.nextDouble() * 10.0;
+        }
+        tree = new GeoKdTree(ids, latitudes, longitudes);
+
+        queryLatitudes = new double[QUERIES];
+        queryLongitudes = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryLatitudes[i] = 49.0 + random.nextDouble() * 5.8;
+            queryLongitudes[i] = 14.1 + random.nextDouble() * 10.0;
+        }
+    }
+
+    @Benchmark
+    public List<GeoKdTree.Hit> withinRadius50Km() {
+        int query = cursor;
+        cursor = (cursor + 1) % QUERIES;
+        return tree.withinRadius(queryLatitudes[query], queryLongitudes[query], 50);
+    }
+}
@@ -0,0 +1,93 @@
+package pl.mkrew.backend.bulkhead;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * Interceptor that runs each API request inside the bulkhead of its endpoint class
+ * US-023: API Security and Rate Limiting
+ *
+ * The slot is released when the request completes, or when it switches to async processing
+ * (SSE streams hold no database connection while idle).
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ATTRIBUTE = BulkheadInterceptor.class.getName() + ".type";
+
+    private static final String ADMIN_EXPORT_PREFIX = "/api/v1/admin/reports/export";
+    private static final Set<String> IMPORT_PATHS = Set.of(
+            "/api/v1/admin/blood-snapshots/import",
+            "/api/v1/admin/donations/import");
+
+    private final BulkheadService bulkheadService;
+
+    @Value("${mkrew.bulkhead.enabled:true}")
+    private boolean bulkheadEnabled;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!bulkheadEnabled || request.getAttribute(ATTRIBUTE) != null) {
+            return true;
+        }
+
+        BulkheadType type = determineBulkheadType(request.getRequestURI(), request.getMethod());
+        bulkheadService.acquire(type);
+        request.setAttribute(ATTRIBUTE, type);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request,
+                                               @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request,
+                                @NonNull HttpServletResponse response,
+                                @NonNull Object handler,
+                                Exception ex) {
+        release(request);
+    }
+
+    private void release(HttpServletRequest request) {
+        Object type = request.getAttribute(ATTRIBUTE);
+        if (type instanceof BulkheadType bulkheadType) {
+            // Keep the marker so async re-dispatches of the same request do not acquire again
+            request.setAttribute(ATTRIBUTE, Boolean.TRUE);
+            bulkheadService.release(bulkheadType);
+        }
+    }
+
+    /**
+     * Determine the endpoint class based on request URI and method
+     * A user's own exports (/api/v1/users/me/donations/export) stay in AUTHENTICATED
+     */
+    private BulkheadType determineBulkheadType(String requestUri, String method) {
+        if (IMPORT_PATHS.contains(requestUri)) {
+            return BulkheadType.IMPORT;
+        }
+        if (requestUri.startsWith(ADMIN_EXPORT_PREFIX)) {
+            return BulkheadType.EXPORT;
+        }
+        if (requestUri.startsWith("/api/v1/admin/")) {
+            return BulkheadType.ADMIN;
+        }
+        if (requestUri.startsWith("/api/v1/rckik") && "GET".equals(method)) {
+            return BulkheadType.PUBLIC_READ;
+        }
+        return BulkheadType.AUTHENTICATED;
+    }
+}
@@ -0,0 +1,128 @@
+package pl.mkrew.backend.bulkhead;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import pl.mkrew.backend.exception.ServiceOverloadedException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrency limits per endpoint class (bulkheads)
+ * US-023: API Security and Rate Limiting
+ *
+ * Each class gets a fair semaphore sized below the Hikari pool. A request waits at most
+ * max-wait-ms for a slot and is otherwise rejected with 503 and Retry-After, instead of queuing
+ * on the connection pool where it would delay every other class. Waiting is cheap with virtual
+ * threads (spring.threads.virtual.enabled), which lift Tomcat's thread limit and make these
+ * limits the only cap on concurrent database work.
+ *
+ * Configuration: mkrew.bulkhead.enabled, mkrew.bulkhead.{public-read|authenticated|admin|export|import}
+ * .max-concurrent / .max-wait-ms, mkrew.bulkhead.reserved-connections. Startup fails if the slots of
+ * all classes exceed the pool size minus the connections reserved for schedulers and workers.
+ *
+ * Metrics:
+ * - mkrew.bulkhead.active{type} - requests holding a slot
+ * - mkrew.bulkhead.rejections{type} - requests rejected after waiting
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BulkheadService implements MeterBinder {
+
+    private final Environment environment;
+
+    private final Map<BulkheadType, Semaphore> semaphores = new EnumMap<>(BulkheadType.class);
+    private final Map<BulkheadType, Integer> maxConcurrent = new EnumMap<>(BulkheadType.class);
+    private final Map<BulkheadType, Long> maxWaitMillis = new EnumMap<>(BulkheadType.class);
+
+    // Set once the registry binds this service; null in plain unit tests
+    private volatile MeterRegistry meterRegistry;
+
+    @PostConstruct
+    void init() {
+        for (BulkheadType type : BulkheadType.values()) {
+            String prefix = "mkrew.bulkhead." + type.getConfigKey();
+            int permits = environment.getProperty(prefix + ".max-concurrent", Integer.class,
+                    type.getDefaultMaxConcurrent());
+            long wait = environment.getProperty(prefix + ".max-wait-ms", Long.class,
+                    type.getDefaultMaxWaitMillis());
+            semaphores.put(type, new Semaphore(permits, true));
+            maxConcurrent.put(type, permits);
+            maxWaitMillis.put(type, wait);
+        }
+        checkPoolBudget();
+        log.info("Bulkheads configured: max concurrent {}, max wait (ms) {}", maxConcurrent, maxWaitMillis);
+    }
+
+    /**
+     * Slots of all classes must fit in the connection pool next to the reserved connections
+     */
+    private void checkPoolBudget() {
+        if (!environment.getProperty("mkrew.bulkhead.enabled", Boolean.class, true)) {
+            return;
+        }
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        int reserved = environment.getProperty("mkrew.bulkhead.reserved-connections", Integer.class, 2);
+        int total = maxConcurrent.values().stream().mapToInt(Integer::intValue).sum();
+        if (total > poolSize - reserved) {
+            throw new IllegalStateException(String.format(
+                    "Bulkhead slots (%d) exceed the connection pool (%d) minus reserved connections (%d): %s",
+                    total, poolSize, reserved, maxConcurrent));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        semaphores.forEach((type, semaphore) -> Gauge.builder("mkrew.bulkhead.active", semaphore,
+                        s -> maxConcurrent.get(type) - s.availablePermits())
+                .tag("type", type.name())
+                .register(registry));
+        this.meterRegistry = registry;
+    }
+
+    /**
+     * Take a slot of the given class, waiting up to the configured time
+     *
+     * @param type Endpoint class
+     * @throws ServiceOverloadedException if no slot became free in time
+     */
+    public void acquire(BulkheadType type) {
+        boolean acquired;
+        try {
+            acquired = semaphores.get(type).tryAcquire(maxWaitMillis.get(type), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            log.warn("Bulkhead {} is full ({} concurrent requests), rejecting request", type, maxConcurrent.get(type));
+
+            MeterRegistry registry = meterRegistry;
+            if (registry != null) {
+                registry.counter("mkrew.bulkhead.rejections", "type", type.name()).increment();
+            }
+
+            throw new ServiceOverloadedException("Server is busy. Please try again shortly.",
+                    type == BulkheadType.EXPORT || type == BulkheadType.IMPORT ? 30 : 1);
+        }
+    }
+
+    /**
+     * Return a slot taken with {@link #acquire(BulkheadType)}
+     *
+     * @param type Endpoint class
+     */
+    public void release(BulkheadType type) {
+        semaphores.get(type).release();
+    }
+}
@@ -0,0 +1,67 @@
+package pl.mkrew.backend.bulkhead;
+
+/**
+ * Endpoint classes that get their own share of database connections
+ * US-023: API Security and Rate Limiting
+ *
+ * Defaults are sized for the 20-connection Hikari pool: all classes together hold at most 16
+ * connections, leaving the rest to schedulers and background workers, so no class can make
+ * another wait on the pool (checked at startup, see {@link BulkheadService}).
+ *
+ * Auth endpoints and provider webhooks are not in any class (see WebMvcConfig): most of a login is
+ * spent hashing, which is bounded by PasswordHashingService, and holding a slot across it would
+ * turn a few concurrent logins into 503s.
+ */
+public enum BulkheadType {
+
+    /**
+     * Public reads (GET /api/v1/rckik/**): 6 concurrent, queue up to 250 ms
+     */
+    PUBLIC_READ("public-read", 6, 250),
+
+    /**
+     * Everything else under /api (user endpoints incl. a user's own exports, notifications, profile):
+     * 6 concurrent, queue up to 500 ms
+     */
+    AUTHENTICATED("authenticated", 6, 500),
+
+    /**
+     * Admin endpoints and reports: 2 concurrent, queue up to 1 s
+     */
+    ADMIN("admin", 2, 1000),
+
+    /**
+     * Admin report exports (CSV/PDF): 1 concurrent, rejected immediately when busy
+     */
+    EXPORT("export", 1, 0),
+
+    /**
+     * Bulk CSV/NDJSON imports (can run for minutes): 1 concurrent, rejected immediately when busy
+     */
+    IMPORT("import", 1, 0);
+
+    private final String configKey;
+    private final int defaultMaxConcurrent;
+    private final long defaultMaxWaitMillis;
+
+    BulkheadType(String configKey, int defaultMaxConcurrent, long defaultMaxWaitMillis) {
+        this.configKey = configKey;
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+        this.defaultMaxWaitMillis = defaultMaxWaitMillis;
+    }
+
+    /**
+     * Property prefix segment: mkrew.bulkhead.&lt;configKey&gt;.max-concurrent / max-wait-ms
+     */
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    public int getDefaultMaxConcurrent() {
+        return defaultMaxConcurrent;
+    }
+
+    public long getDefaultMaxWaitMillis() {
+        return defaultMaxWaitMillis;
+    }
+}
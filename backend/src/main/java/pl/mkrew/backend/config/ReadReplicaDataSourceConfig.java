@@ -0,0 +1,84 @@
+package pl.mkrew.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import pl.mkrew.backend.datasource.ReadWriteRoutingDataSource;
+import pl.mkrew.backend.datasource.ReplicaRoutingPolicy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Read/write DataSource routing with a read replica pool
+ * Enabled with mkrew.datasource.replica.enabled; otherwise Spring Boot's single pool is used
+ *
+ * Primary pool: spring.datasource.* (Liquibase, writes, non-transactional access)
+ * Replica pool: mkrew.datasource.replica.* (read-only transactions, see ReplicaRoutingPolicy)
+ */
+@Configuration
+@ConditionalOnProperty(name = "mkrew.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("mkrew.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${mkrew.datasource.replica.url}") String url,
+            @Value("${mkrew.datasource.replica.username}") String username,
+            @Value("${mkrew.datasource.replica.password}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.getDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingPolicy replicaRoutingPolicy(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${mkrew.datasource.replica.max-lag-seconds:5}") double maxLagSeconds,
+            @Value("${mkrew.datasource.replica.read-your-writes-seconds:10}") long readYourWritesSeconds) {
+        return new ReplicaRoutingPolicy(replicaDataSource, maxLagSeconds, readYourWritesSeconds);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaRoutingPolicy replicaRoutingPolicy) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(replicaRoutingPolicy);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Target.PRIMARY, primaryDataSource,
+                ReadWriteRoutingDataSource.Target.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        // Defers the routing decision until the transaction's read-only flag is set
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -1,19 +1,27 @@
 package pl.mkrew.backend.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import pl.mkrew.backend.security.JwtAuthenticationFilter;
 
+import static org.springframework.security.config.Customizer.withDefaults;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true) // Enable @PreAuthorize and @PostAuthorize
@@ -23,8 +31,42 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(
+            @Value("${mkrew.security.password-hashing.bcrypt-strength:12}") int bcryptStrength) {
+        // Raising the strength upgrades existing hashes on the next login (PasswordHashingService)
+        return new BCryptPasswordEncoder(bcryptStrength);
+    }
+
+    /**
+     * Metrics endpoints: HTTP Basic for the Prometheus scraper (role METRICS) or an admin JWT
+     * The scraper account exists only when mkrew.security.metrics.password is set; otherwise
+     * only admins can read metrics.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsSecurityFilterChain(
+            HttpSecurity http,
+            PasswordEncoder passwordEncoder,
+            @Value("${mkrew.security.metrics.username:prometheus}") String metricsUsername,
+            @Value("${mkrew.security.metrics.password:}") String metricsPassword) throws Exception {
+        InMemoryUserDetailsManager metricsUsers = new InMemoryUserDetailsManager();
+        if (!metricsPassword.isBlank()) {
+            metricsUsers.createUser(User.withUsername(metricsUsername)
+                    .password(passwordEncoder.encode(metricsPassword))
+                    .roles("METRICS")
+                    .build());
+        }
+
+        http
+                .securityMatcher("/actuator/prometheus", "/actuator/metrics", "/actuator/metrics/**")
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth.anyRequest().hasAnyRole("METRICS", "ADMIN"))
+                .userDetailsService(metricsUsers)
+                .httpBasic(withDefaults())
+                .addFilterBefore(jwtAuthenticationFilter, BasicAuthenticationFilter.class);
+
+        return http.build();
     }
 
     @Bean
@@ -33,10 +75,13 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches of SSE streams were authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/api/v1/rckik/**").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
                         .requestMatchers("/actuator/info").permitAll()
+                        .requestMatchers("/api/v1/webhooks/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                         .anyRequest().authenticated()
                 )
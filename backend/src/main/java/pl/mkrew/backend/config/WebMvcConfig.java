@@ -6,11 +6,12 @@ import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import pl.mkrew.backend.bulkhead.BulkheadInterceptor;
 import pl.mkrew.backend.ratelimit.RateLimitInterceptor;
 
 /**
  * Web MVC Configuration
- * Registers interceptors including rate limiter
+ * Registers interceptors including rate limiter and bulkheads
  * US-023: API Security and Rate Limiting
  */
 @Configuration
@@ -18,6 +19,7 @@ import pl.mkrew.backend.ratelimit.RateLimitInterceptor;
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private final RateLimitInterceptor rateLimitInterceptor;
+    private final BulkheadInterceptor bulkheadInterceptor;
 
     @Override
     public void addInterceptors(@NonNull InterceptorRegistry registry) {
@@ -25,6 +27,14 @@ public class WebMvcConfig implements WebMvcConfigurer {
         registry.addInterceptor(rateLimitInterceptor)
                 .addPathPatterns("/api/**")
                 .order(1); // Execute early in the chain
+
+        // Limit concurrent database work per endpoint class, after rate limiting rejected abusers.
+        // Auth and webhooks run a few short queries around password hashing / provider callbacks and
+        // are bounded by the rate limiter and the hashing executor instead of a request-long slot
+        registry.addInterceptor(bulkheadInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/v1/auth/**", "/api/v1/webhooks/**")
+                .order(2);
     }
 
     @Override
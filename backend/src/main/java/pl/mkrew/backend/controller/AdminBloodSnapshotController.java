@@ -7,16 +7,21 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import pl.mkrew.backend.dto.BloodSnapshotResponse;
 import pl.mkrew.backend.dto.CreateBloodSnapshotRequest;
+import pl.mkrew.backend.dto.ImportResultResponse;
 import pl.mkrew.backend.dto.UpdateBloodSnapshotRequest;
 import pl.mkrew.backend.security.SecurityUtils;
 import pl.mkrew.backend.service.BloodSnapshotService;
+import pl.mkrew.backend.service.BulkImportService;
+import pl.mkrew.backend.util.ImportRowReader;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 
 /**
@@ -30,6 +35,7 @@ import java.time.LocalDate;
 public class AdminBloodSnapshotController {
 
     private final BloodSnapshotService bloodSnapshotService;
+    private final BulkImportService bulkImportService;
 
     /**
      * Create manual blood snapshot
@@ -51,6 +57,29 @@ public class AdminBloodSnapshotController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Bulk import manual blood snapshots (CSV or NDJSON, streamed)
+     * POST /api/v1/admin/blood-snapshots/import
+     * US-028: Ręczne wprowadzanie stanów krwi przez administratora
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Import manual blood snapshots",
+        description = "Stream CSV (header: rckik_code,snapshot_date,blood_group,level_percentage) or NDJSON with the same "
+            + "fields; rows are validated one by one, existing snapshots are skipped and rejected rows are reported"
+    )
+    public ResponseEntity<ImportResultResponse> importSnapshots(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+
+        Long userId = SecurityUtils.getCurrentUserId();
+        ImportResultResponse response = bulkImportService.importBloodSnapshots(
+            body, ImportRowReader.Format.fromContentType(contentType), userId);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * List blood snapshots with filtering
      * GET /api/v1/admin/blood-snapshots
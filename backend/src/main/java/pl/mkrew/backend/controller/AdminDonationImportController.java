@@ -0,0 +1,77 @@
+package pl.mkrew.backend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import pl.mkrew.backend.dto.ImportResultResponse;
+import pl.mkrew.backend.security.SecurityUtils;
+import pl.mkrew.backend.service.BulkImportService;
+import pl.mkrew.backend.service.DonationService;
+import pl.mkrew.backend.util.ImportRowReader;
+
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Admin Controller for importing donation history of registered users and rebuilding their statistics
+ */
+@RestController
+@RequestMapping("/api/v1/admin/donations")
+@RequiredArgsConstructor
+@Tag(name = "Admin Donation Import", description = "Admin endpoints for bulk donation history import")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminDonationImportController {
+
+    private final BulkImportService bulkImportService;
+    private final DonationService donationService;
+
+    /**
+     * Bulk import donations (CSV or NDJSON, streamed)
+     * POST /api/v1/admin/donations/import
+     * US-012: Add Donation Entry
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Import donation history",
+        description = "Stream CSV (header: user_email,rckik_code,donation_date,quantity_ml,donation_type[,notes][,confirmed]) "
+            + "or NDJSON with the same fields; rows are validated one by one, existing donations (same user, center and "
+            + "date) are skipped and rejected rows are reported"
+    )
+    public ResponseEntity<ImportResultResponse> importDonations(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+
+        Long userId = SecurityUtils.getCurrentUserId();
+        ImportResultResponse response = bulkImportService.importDonations(
+            body, ImportRowReader.Format.fromContentType(contentType), userId);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Rebuild per-user donation statistics from the donations table
+     * POST /api/v1/admin/donations/stats/rebuild
+     * US-012: View Donation History
+     */
+    @PostMapping("/stats/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Rebuild donation statistics",
+        description = "Recompute user_donation_stats for all users in one pass - use after donations were "
+            + "loaded or changed outside the application (restore, SQL migration)"
+    )
+    public ResponseEntity<Map<String, Object>> rebuildDonationStatistics() {
+        int rows = donationService.rebuildDonationStatistics();
+
+        return ResponseEntity.ok(Map.of(
+            "message", "Donation statistics rebuilt",
+            "rowsWritten", rows
+        ));
+    }
+}
@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,7 +14,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import pl.mkrew.backend.dto.*;
+import pl.mkrew.backend.security.SecurityUtils;
 import pl.mkrew.backend.service.AuthService;
+import pl.mkrew.backend.service.UserSessionService;
 import pl.mkrew.backend.dto.EmailAvailabilityResponse;
 
 @RestController
@@ -24,6 +27,7 @@ import pl.mkrew.backend.dto.EmailAvailabilityResponse;
 public class AuthController {
 
     private final AuthService authService;
+    private final UserSessionService userSessionService;
 
     /**
      * US-001: Check Email Availability
@@ -183,16 +187,81 @@ public class AuthController {
             )
     })
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request,
+                                               HttpServletRequest httpRequest) {
         log.info("POST /api/v1/auth/login - Login request for email: {}", request.getEmail());
 
-        LoginResponse response = authService.login(request);
+        LoginResponse response = authService.login(request,
+                SecurityUtils.getClientIpAddress(httpRequest), httpRequest.getHeader("User-Agent"));
 
         log.info("Login successful for user ID: {}", response.getUser().getId());
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * US-003: Refresh Tokens
+     * POST /api/v1/auth/refresh
+     *
+     * Exchanges a refresh token for a new access token and a new refresh token (rotation).
+     * The presented refresh token becomes invalid; presenting it again revokes the session.
+     *
+     * @param request Refresh token
+     * @return LoginResponse with new tokens (without user data)
+     */
+    @Operation(
+            summary = "Refresh tokens",
+            description = "Issues a new access token and rotates the refresh token of the session. " +
+                    "Reusing an already rotated refresh token revokes the whole session."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tokens refreshed",
+                    content = @Content(schema = @Schema(implementation = LoginResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Refresh token invalid, expired, revoked or already used",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        log.debug("POST /api/v1/auth/refresh");
+
+        return ResponseEntity.ok(userSessionService.refresh(request.getRefreshToken()));
+    }
+
+    /**
+     * US-003: Logout
+     * POST /api/v1/auth/logout
+     *
+     * Revokes the session of the refresh token; its access tokens stop working immediately.
+     *
+     * @param request Refresh token of the session
+     * @return 204 No Content (also for unknown or already revoked tokens)
+     */
+    @Operation(
+            summary = "Logout",
+            description = "Revokes the session of the given refresh token together with its access tokens."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Session ended"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        log.debug("POST /api/v1/auth/logout");
+
+        userSessionService.revokeSession(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * US-004: Request Password Reset (Part 1)
      * POST /api/v1/auth/password-reset/request
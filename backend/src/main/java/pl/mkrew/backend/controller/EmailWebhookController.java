@@ -0,0 +1,131 @@
+package pl.mkrew.backend.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pl.mkrew.backend.dto.EmailWebhookRequest;
+import pl.mkrew.backend.dto.EmailWebhookResponse;
+import pl.mkrew.backend.dto.ErrorResponse;
+import pl.mkrew.backend.service.EmailEventIngestionService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Email provider webhook controller
+ * US-022: Email Deliverability Metrics
+ */
+@RestController
+@RequestMapping("/api/v1/webhooks/email")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Webhooks", description = "Endpoints called by external providers")
+public class EmailWebhookController {
+
+    private static final String SIGNATURE_HEADER = "Signature";
+
+    private final EmailEventIngestionService emailEventIngestionService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * US-022: Receive a batch of email events (delivered, opened, bounced)
+     * POST /api/v1/webhooks/email
+     *
+     * The body is verified against the Signature header before parsing. Events are
+     * queued and applied in bulk in the background; the provider gets an immediate 202.
+     *
+     * @param payload   Raw JSON body (needed for signature verification)
+     * @param signature Hex HMAC-SHA256 of the body
+     * @return Accepted/ignored event counts
+     */
+    @Operation(
+            summary = "Receive email provider events",
+            description = "Accepts a signed batch of email events (delivered, opened, soft/hard bounced). " +
+                    "Events are applied asynchronously; hard bounces add the recipient to the suppression list."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Events queued",
+                    content = @Content(schema = @Schema(implementation = EmailWebhookResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Malformed or invalid event batch",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Signature missing or invalid",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Service Unavailable - Event queue is full, nothing was queued; retry after the Retry-After delay",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PostMapping
+    public ResponseEntity<?> receiveEvents(
+            @RequestBody String payload,
+            @RequestHeader(value = SIGNATURE_HEADER, required = false) String signature,
+            HttpServletRequest httpRequest) {
+
+        if (!emailEventIngestionService.isSignatureValid(payload, signature)) {
+            log.warn("Rejected email webhook with invalid signature from {}", httpRequest.getRemoteAddr());
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_SIGNATURE", "Webhook signature is missing or invalid",
+                    httpRequest, null);
+        }
+
+        EmailWebhookRequest request;
+        try {
+            request = objectMapper.readValue(payload, EmailWebhookRequest.class);
+        } catch (JsonProcessingException e) {
+            return error(HttpStatus.BAD_REQUEST, "MALFORMED_PAYLOAD", "Webhook payload is not valid JSON",
+                    httpRequest, null);
+        }
+
+        Set<ConstraintViolation<EmailWebhookRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            List<ErrorResponse.ValidationError> details = violations.stream()
+                    .map(violation -> ErrorResponse.ValidationError.builder()
+                            .field(violation.getPropertyPath().toString())
+                            .message(violation.getMessage())
+                            .rejectedValue(violation.getInvalidValue())
+                            .build())
+                    .toList();
+            return error(HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", "Invalid webhook payload", httpRequest, details);
+        }
+
+        EmailWebhookResponse response = emailEventIngestionService.enqueue(request.getEvents());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    private ResponseEntity<ErrorResponse> error(HttpStatus status, String error, String message,
+                                                HttpServletRequest httpRequest,
+                                                List<ErrorResponse.ValidationError> details) {
+        return ResponseEntity.status(status).body(ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(error)
+                .message(message)
+                .path(httpRequest.getRequestURI())
+                .details(details)
+                .build());
+    }
+}
@@ -10,16 +10,22 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import pl.mkrew.backend.dto.ErrorResponse;
 import pl.mkrew.backend.dto.InAppNotificationDto;
 import pl.mkrew.backend.dto.InAppNotificationsResponse;
 import pl.mkrew.backend.dto.MarkNotificationAsReadRequest;
+import pl.mkrew.backend.dto.MarkNotificationsReadRequest;
+import pl.mkrew.backend.dto.MarkNotificationsReadResponse;
 import pl.mkrew.backend.dto.UnreadCountResponse;
 import pl.mkrew.backend.security.SecurityUtils;
 import pl.mkrew.backend.service.InAppNotificationService;
+import pl.mkrew.backend.service.LiveUpdateService;
 
 /**
  * REST Controller for In-App Notifications
@@ -29,6 +35,9 @@ import pl.mkrew.backend.service.InAppNotificationService;
  * - GET /api/v1/users/me/notifications - List notifications
  * - PATCH /api/v1/users/me/notifications/{id} - Mark as read
  * - GET /api/v1/users/me/notifications/unread-count - Get unread count
+ * - POST /api/v1/users/me/notifications/mark-all-read - Mark all as read
+ * - POST /api/v1/users/me/notifications/mark-read - Mark selected as read
+ * - GET /api/v1/users/me/notifications/stream - Live notification stream (SSE)
  */
 @RestController
 @RequestMapping("/api/v1/users/me/notifications")
@@ -39,6 +48,7 @@ import pl.mkrew.backend.service.InAppNotificationService;
 public class InAppNotificationController {
 
     private final InAppNotificationService notificationService;
+    private final LiveUpdateService liveUpdateService;
 
     /**
      * Get user's in-app notifications
@@ -156,4 +166,98 @@ public class InAppNotificationController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Mark all notifications as read
+     * US-011: Mark as Read
+     *
+     * @param request Read timestamp
+     * @return Number of marked notifications and remaining unread count
+     */
+    @PostMapping("/mark-all-read")
+    @PreAuthorize("hasRole('USER')")
+    @Operation(
+            summary = "Mark all notifications as read",
+            description = "Mark every unread in-app notification of the authenticated user as read in one operation."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notifications marked as read successfully",
+                    content = @Content(schema = @Schema(implementation = MarkNotificationsReadResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request body",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<MarkNotificationsReadResponse> markAllAsRead(
+            @Valid @RequestBody MarkNotificationAsReadRequest request) {
+
+        Long userId = SecurityUtils.getCurrentUserId();
+        log.info("POST /api/v1/users/me/notifications/mark-all-read - User: {}, readAt: {}",
+                userId, request.getReadAt());
+
+        return ResponseEntity.ok(notificationService.markAllAsRead(userId, request.getReadAt()));
+    }
+
+    /**
+     * Mark selected notifications as read
+     * US-011: Mark as Read
+     *
+     * @param request Notification IDs (max 100) and read timestamp
+     * @return Number of marked notifications and remaining unread count
+     */
+    @PostMapping("/mark-read")
+    @PreAuthorize("hasRole('USER')")
+    @Operation(
+            summary = "Mark selected notifications as read",
+            description = "Mark up to 100 in-app notifications as read in one operation. " +
+                    "IDs that do not belong to the user or are already read are ignored."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notifications marked as read successfully",
+                    content = @Content(schema = @Schema(implementation = MarkNotificationsReadResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request body",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<MarkNotificationsReadResponse> markSelectedAsRead(
+            @Valid @RequestBody MarkNotificationsReadRequest request) {
+
+        Long userId = SecurityUtils.getCurrentUserId();
+        log.info("POST /api/v1/users/me/notifications/mark-read - User: {}, ids: {}",
+                userId, request.getIds().size());
+
+        return ResponseEntity.ok(notificationService.markAsRead(userId, request.getIds(), request.getReadAt()));
+    }
+
+    /**
+     * Stream new notifications
+     * US-011: In-App Notifications - live badge updates
+     *
+     * @param response HTTP response (disables proxy buffering)
+     * @return SSE emitter
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('USER')")
+    @Operation(
+            summary = "Stream new notifications",
+            description = "Server-Sent Events stream for the authenticated user. Event 'notifications' carries " +
+                    "NotificationsUpdateDto (new notifications since the previous event and the unread count). " +
+                    "Requires the Authorization header, so browsers need a fetch-based SSE client."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Too many open streams",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public SseEmitter streamNotifications(HttpServletResponse response) {
+
+        Long userId = SecurityUtils.getCurrentUserId();
+        log.debug("GET /api/v1/users/me/notifications/stream - User: {}", userId);
+
+        response.setHeader("X-Accel-Buffering", "no");
+        return liveUpdateService.subscribeNotifications(userId);
+    }
 }
@@ -9,13 +9,25 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import pl.mkrew.backend.dto.BloodLevelHistoryResponse;
+import pl.mkrew.backend.dto.BloodLevelSeriesResponse;
 import pl.mkrew.backend.dto.ErrorResponse;
+import pl.mkrew.backend.dto.NearbyRckikDto;
 import pl.mkrew.backend.dto.RckikDetailDto;
 import pl.mkrew.backend.dto.RckikListResponse;
+import pl.mkrew.backend.security.SecurityUtils;
+import pl.mkrew.backend.service.LiveUpdateService;
 import pl.mkrew.backend.service.RckikService;
+import pl.mkrew.backend.service.RckikSpatialIndexService;
+
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/rckik")
@@ -25,6 +37,8 @@ import pl.mkrew.backend.service.RckikService;
 public class RckikController {
 
     private final RckikService rckikService;
+    private final LiveUpdateService liveUpdateService;
+    private final RckikSpatialIndexService rckikSpatialIndexService;
 
     /**
      * US-007: List RCKiK Centers with current blood levels
@@ -91,6 +105,118 @@ public class RckikController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * US-007: Search blood donation centers
+     * GET /api/v1/rckik/search
+     *
+     * Matches name, city, code and aliases, tolerating typos, missing diacritics and partial words.
+     * Public endpoint - no authentication required.
+     *
+     * @param q Search text
+     * @param city Optional city filter (case-insensitive)
+     * @param active Filter by active status (default: true)
+     * @param page Page number (default: 0)
+     * @param size Page size (default: 20, max: 100)
+     * @return RckikListResponse ordered by relevance
+     */
+    @Operation(
+            summary = "Search blood donation centers",
+            description = "Returns RCKiK centers whose name, city, code or alias matches the query, best match first. " +
+                    "Partial words (\"krak\"), typos (\"warszwa\") and missing Polish characters (\"lodz\") are tolerated. " +
+                    "Public endpoint - no authentication required."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Search results retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = RckikListResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Empty or too long query",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping("/search")
+    public ResponseEntity<RckikListResponse> searchRckikCenters(
+            @Parameter(description = "Search text", example = "warszawa", required = true)
+            @RequestParam String q,
+
+            @Parameter(description = "Filter by city", example = "Warszawa")
+            @RequestParam(required = false) String city,
+
+            @Parameter(description = "Filter by active status", example = "true")
+            @RequestParam(required = false, defaultValue = "true") Boolean active,
+
+            @Parameter(description = "Page number (zero-based)", example = "0")
+            @RequestParam(required = false, defaultValue = "0") Integer page,
+
+            @Parameter(description = "Page size (max 100)", example = "20")
+            @RequestParam(required = false, defaultValue = "20") Integer size) {
+
+        RckikListResponse response = rckikService.searchRckiks(q, city, active, page, size);
+
+        log.debug("GET /api/v1/rckik/search - q: {}, {} result(s)", q, response.getTotalElements());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * US-007: Find nearest blood donation centers
+     * GET /api/v1/rckik/nearby
+     *
+     * Returns active centers within a radius of a location, nearest first, with current blood levels.
+     * Served from an in-memory spatial index.
+     * Public endpoint - no authentication required.
+     *
+     * @param lat Latitude of the location
+     * @param lon Longitude of the location
+     * @param radiusKm Search radius in km (default: 50, max: 1000)
+     * @param bloodGroup Optional blood group; only its level is returned
+     * @param limit Maximum number of centers (default: 10, max: 50)
+     * @return Nearby centers ordered by distance
+     */
+    @Operation(
+            summary = "Find nearby blood donation centers",
+            description = "Returns active RCKiK centers within a radius of the given location, ordered by distance, " +
+                    "with current blood levels (only the given blood group if one is set; encode '+' as %2B). " +
+                    "Public endpoint - no authentication required."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Nearby centers retrieved successfully"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid coordinates, radius, limit or blood group",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyRckikDto>> findNearbyCenters(
+            @Parameter(description = "Latitude", example = "52.2297", required = true)
+            @RequestParam Double lat,
+
+            @Parameter(description = "Longitude", example = "21.0122", required = true)
+            @RequestParam Double lon,
+
+            @Parameter(description = "Search radius in km (max 1000)", example = "50")
+            @RequestParam(required = false, defaultValue = "50") Double radiusKm,
+
+            @Parameter(description = "Blood group", example = "A+")
+            @RequestParam(required = false) String bloodGroup,
+
+            @Parameter(description = "Maximum number of centers (max 50)", example = "10")
+            @RequestParam(required = false, defaultValue = "10") Integer limit) {
+
+        List<NearbyRckikDto> centers = rckikSpatialIndexService.findNearby(lat, lon, radiusKm, bloodGroup, limit);
+
+        log.debug("GET /api/v1/rckik/nearby - {} center(s) within {} km of ({}, {})", centers.size(), radiusKm, lat, lon);
+
+        return ResponseEntity.ok(centers);
+    }
+
     /**
      * US-008: Get RCKiK Center Details
      * GET /api/v1/rckik/{id}
@@ -205,4 +331,100 @@ public class RckikController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * US-008: Get Downsampled Blood Level History for Charts
+     * GET /api/v1/rckik/{id}/blood-levels/series
+     *
+     * Returns one series per blood group for a date range, reduced server-side to at most the
+     * requested number of points (lowest and highest level per time bucket).
+     * Public endpoint - no authentication required.
+     *
+     * @param id RCKiK ID
+     * @param from Optional start date (default: one year before to)
+     * @param to Optional end date (default: today)
+     * @param points Maximum points per blood group (default: 200, max: 1000)
+     * @return BloodLevelSeriesResponse
+     */
+    @Operation(
+            summary = "Get blood level history series for charts",
+            description = "Returns the blood level history of all blood groups in a date range in one response, " +
+                    "downsampled to at most 'points' points per group while keeping the lowest and highest " +
+                    "levels of each period. Public endpoint - no authentication required."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Series retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = BloodLevelSeriesResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Center not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid date range or number of points",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping("/{id}/blood-levels/series")
+    public ResponseEntity<BloodLevelSeriesResponse> getBloodLevelSeries(
+            @Parameter(description = "RCKiK ID", example = "1", required = true)
+            @PathVariable Long id,
+
+            @Parameter(description = "Start date (ISO 8601)", example = "2024-01-01")
+            @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) java.time.LocalDate from,
+
+            @Parameter(description = "End date (ISO 8601)", example = "2024-12-31")
+            @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) java.time.LocalDate to,
+
+            @Parameter(description = "Maximum points per blood group (max 1000)", example = "200")
+            @RequestParam(required = false, defaultValue = "200") Integer points) {
+
+        BloodLevelSeriesResponse response = rckikService.getBloodLevelSeries(id, from, to, points);
+
+        log.debug("GET /api/v1/rckik/{}/blood-levels/series - {} group(s)", id, response.getSeries().size());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * US-007: Live blood level updates
+     * GET /api/v1/rckik/stream
+     *
+     * Server-Sent Events stream; each 'blood-levels' event carries the current levels of the
+     * centers that changed since the previous event. Public endpoint - no authentication required.
+     *
+     * @param rckikIds Optional centers to follow (default: all)
+     * @param response HTTP response (disables proxy buffering)
+     * @return SSE emitter
+     */
+    @Operation(
+            summary = "Stream blood level changes",
+            description = "Server-Sent Events stream of blood level changes. Event 'blood-levels' carries a JSON " +
+                    "array of BloodLevelsUpdateDto; bursts of changes are coalesced into one event per second. " +
+                    "Public endpoint - no authentication required."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many open streams (in total or from this address)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBloodLevels(
+            @Parameter(description = "RCKiK center IDs to follow (default: all)", example = "1,2")
+            @RequestParam(required = false) Set<Long> rckikIds,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+
+        log.debug("GET /api/v1/rckik/stream - rckikIds: {}", rckikIds);
+
+        response.setHeader("X-Accel-Buffering", "no");
+        return liveUpdateService.subscribeBloodLevels(rckikIds, SecurityUtils.getClientIpAddress(request));
+    }
 }
@@ -0,0 +1,79 @@
+package pl.mkrew.backend.datagen;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic daily blood level curve for one (RCKiK, blood group) pair
+ *
+ * Mean-reverting random walk around a group-specific target with:
+ * - summer and Christmas dips (fewer donors, holidays)
+ * - weekly cycle (no collections on Sunday, stock lowest on Monday)
+ * - rare sudden drops (accidents, mass casualty events) that recover over days
+ */
+class BloodLevelCurve {
+
+    /**
+     * Typical stock level per group - rare Rh- groups run lower and hit critical more often
+     */
+    private static final Map<String, Double> TARGET_LEVELS = Map.of(
+            "0+", 58.0,
+            "A+", 62.0,
+            "B+", 55.0,
+            "AB+", 66.0,
+            "0-", 34.0,
+            "A-", 40.0,
+            "B-", 37.0,
+            "AB-", 44.0
+    );
+
+    private static final double MEAN_REVERSION = 0.2;
+    private static final double DAILY_NOISE = 2.5;
+    private static final double SHOCK_PROBABILITY = 0.004;
+
+    private final SplittableRandom random;
+    private final double target;
+    private double level;
+
+    BloodLevelCurve(String bloodGroup, SplittableRandom random) {
+        this.random = random;
+        this.target = TARGET_LEVELS.getOrDefault(bloodGroup, 50.0) + random.nextDouble(-6.0, 6.0);
+        this.level = target;
+    }
+
+    /**
+     * Advance the curve by one observation and return the level for the given date
+     */
+    BigDecimal next(LocalDate date) {
+        double dayTarget = target + seasonalEffect(date) + weeklyEffect(date.getDayOfWeek());
+
+        level += MEAN_REVERSION * (dayTarget - level) + random.nextGaussian() * DAILY_NOISE;
+        if (random.nextDouble() < SHOCK_PROBABILITY) {
+            level -= random.nextDouble(15.0, 35.0);
+        }
+        level = Math.max(2.0, Math.min(100.0, level));
+
+        return BigDecimal.valueOf(level).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static double seasonalEffect(LocalDate date) {
+        int dayOfYear = date.getDayOfYear();
+        double summer = -12.0 * Math.exp(-Math.pow((dayOfYear - 205) / 28.0, 2));
+        double christmas = -8.0 * Math.exp(-Math.pow((dayOfYear - 360) / 9.0, 2));
+        return summer + christmas;
+    }
+
+    private static double weeklyEffect(DayOfWeek dayOfWeek) {
+        return switch (dayOfWeek) {
+            case MONDAY -> -4.0;
+            case SUNDAY -> -2.5;
+            case TUESDAY -> -1.0;
+            case THURSDAY, FRIDAY -> 2.0;
+            default -> 0.5;
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package pl.mkrew.backend.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Streams rows into a table with PostgreSQL COPY (text format)
+ * Rows are buffered and sent in ~1 MB chunks, so memory stays flat regardless of row count.
+ */
+class PgCopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_THRESHOLD_CHARS = 1 << 20;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD_CHARS + 4096);
+    private boolean completed = false;
+
+    private PgCopyWriter(CopyIn copyIn) {
+        this.copyIn = copyIn;
+    }
+
+    /**
+     * Start COPY ... FROM STDIN for the given columns
+     *
+     * @param connection JDBC connection (must wrap a PgConnection)
+     * @param table Target table
+     * @param columns Target columns, in the order values are passed to {@link #row(Object...)}
+     */
+    static PgCopyWriter open(Connection connection, String table, String... columns) throws SQLException {
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN";
+        return new PgCopyWriter(connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql));
+    }
+
+    /**
+     * Append one row; supports String, Number, Boolean, LocalDate, LocalDateTime and null
+     */
+    void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append('\t');
+            }
+            appendValue(values[i]);
+        }
+        buffer.append('\n');
+
+        if (buffer.length() >= FLUSH_THRESHOLD_CHARS) {
+            flush();
+        }
+    }
+
+    /**
+     * Send remaining rows and finish the COPY
+     *
+     * @return Number of rows written
+     */
+    long finish() throws SQLException {
+        flush();
+        completed = true;
+        return copyIn.endCopy();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (!completed && copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private void appendValue(Object value) {
+        if (value == null) {
+            buffer.append("\\N");
+        } else if (value instanceof Boolean bool) {
+            buffer.append(bool ? 't' : 'f');
+        } else if (value instanceof BigDecimal decimal) {
+            buffer.append(decimal.toPlainString());
+        } else if (value instanceof Number || value instanceof LocalDate || value instanceof LocalDateTime) {
+            buffer.append(value);
+        } else {
+            appendEscaped(value.toString());
+        }
+    }
+
+    private void appendEscaped(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+    }
+}
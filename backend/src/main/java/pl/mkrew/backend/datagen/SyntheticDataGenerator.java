@@ -0,0 +1,526 @@
+package pl.mkrew.backend.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import pl.mkrew.backend.entity.AuditLog;
+import pl.mkrew.backend.entity.BloodSnapshot;
+import pl.mkrew.backend.entity.Donation;
+import pl.mkrew.backend.entity.EmailLog;
+import pl.mkrew.backend.entity.NotificationPreference;
+import pl.mkrew.backend.entity.Rckik;
+import pl.mkrew.backend.entity.ScraperConfig;
+import pl.mkrew.backend.entity.User;
+import pl.mkrew.backend.entity.UserFavoriteRckik;
+import pl.mkrew.backend.entity.UserRole;
+import pl.mkrew.backend.repository.RckikRepository;
+import pl.mkrew.backend.repository.ScraperConfigRepository;
+import pl.mkrew.backend.repository.UserDonationStatsRepository;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk loader of synthetic data for load and scale testing
+ *
+ * Centers and scraper configs come from the 018/019 seed changesets; users and everything
+ * hanging off them are generated deterministically from (seed, user index), so each table
+ * is streamed with COPY in its own pass without keeping users in memory.
+ *
+ * Only active with the "datagen" profile, see {@link SyntheticDataRunner}.
+ */
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator {
+
+    /**
+     * Generation parameters
+     *
+     * @param users Number of users (with preferences, favorites, donations, emails, audit logs)
+     * @param seed Random seed - same seed and size always produce the same data set
+     * @param historyDays Days of blood snapshot history per center and blood group (0 = skip)
+     * @param scrapesPerDay Snapshots per center and blood group per day
+     * @param donationsPerUser Average donations per user
+     * @param emailsPerUser Average email logs per user
+     * @param auditLogsPerUser Average audit log entries per user
+     * @param password Plain password shared by all generated users (for login load tests)
+     */
+    public record GenerationSettings(
+            int users,
+            long seed,
+            int historyDays,
+            int scrapesPerDay,
+            int donationsPerUser,
+            int emailsPerUser,
+            int auditLogsPerUser,
+            String password
+    ) {
+    }
+
+    private static final String[] BLOOD_GROUPS = {"0+", "A+", "B+", "AB+", "0-", "A-", "B-", "AB-"};
+
+    /**
+     * Approximate blood group distribution in Poland (matches BLOOD_GROUPS order)
+     */
+    private static final double[] BLOOD_GROUP_WEIGHTS = {0.31, 0.32, 0.15, 0.07, 0.06, 0.06, 0.02, 0.01};
+
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Maria", "Katarzyna", "Małgorzata", "Agnieszka", "Barbara", "Ewa", "Zofia",
+            "Piotr", "Krzysztof", "Andrzej", "Tomasz", "Paweł", "Jan", "Michał", "Marcin"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Nowak", "Kowalski", "Wiśniewski", "Wójcik", "Kowalczyk", "Kamiński", "Lewandowski",
+            "Zieliński", "Szymański", "Woźniak", "Dąbrowski", "Kozłowski", "Jankowski", "Mazur"
+    };
+
+    private static final String[] EMAIL_TYPES = {"CRITICAL_ALERT", "DAILY_SUMMARY", "VERIFICATION", "PASSWORD_RESET", "OTHER"};
+    private static final double[] EMAIL_TYPE_WEIGHTS = {0.70, 0.15, 0.08, 0.05, 0.02};
+
+    private static final String[] EMAIL_FREQUENCIES = {"ONLY_CRITICAL", "IMMEDIATE", "DAILY", "DISABLED"};
+    private static final double[] EMAIL_FREQUENCY_WEIGHTS = {0.55, 0.20, 0.15, 0.10};
+
+    private static final String[] USER_AGENTS = {
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 Chrome/120.0 Safari/537.36",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_1 like Mac OS X) AppleWebKit/605.1.15 Mobile/15E148",
+            "Mozilla/5.0 (Linux; Android 14) AppleWebKit/537.36 Chrome/120.0 Mobile Safari/537.36"
+    };
+
+    // Independent random streams per table, all derived from (seed, index)
+    private static final int STREAM_USER = 1;
+    private static final int STREAM_PREFERENCES = 2;
+    private static final int STREAM_FAVORITES = 3;
+    private static final int STREAM_DONATIONS = 4;
+    private static final int STREAM_EMAILS = 5;
+    private static final int STREAM_AUDIT = 6;
+    private static final int STREAM_SNAPSHOTS = 7;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RckikRepository rckikRepository;
+    private final ScraperConfigRepository scraperConfigRepository;
+    private final UserDonationStatsRepository donationStatsRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    /**
+     * Minimal per-user profile shared by all passes
+     */
+    private record SyntheticUser(User user, int homeCenter) {
+    }
+
+    /**
+     * Load the full synthetic data set
+     *
+     * @param settings Generation parameters
+     */
+    public void generate(GenerationSettings settings) {
+        List<Rckik> centers = rckikRepository.findByActiveTrue().stream()
+                .sorted(Comparator.comparing(Rckik::getId))
+                .toList();
+        if (centers.isEmpty()) {
+            throw new IllegalStateException("No active RCKiK centers - apply the 018 seed changeset first");
+        }
+
+        String emailPrefix = "loadtest-" + settings.seed() + "-";
+        Boolean alreadyLoaded = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM users WHERE email LIKE ?)", Boolean.class, emailPrefix + "%");
+        if (Boolean.TRUE.equals(alreadyLoaded)) {
+            throw new IllegalStateException("Data set for seed " + settings.seed() + " is already loaded - use a different seed");
+        }
+
+        log.info("Generating synthetic data: {} users, {} days of history, seed {}, {} centers",
+                settings.users(), settings.historyDays(), settings.seed(), centers.size());
+        long started = System.currentTimeMillis();
+
+        String passwordHash = passwordEncoder.encode(settings.password());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        long firstUserId = reserveIds("users", settings.users());
+
+        IntFunction<SyntheticUser> users = index ->
+                syntheticUser(settings, emailPrefix, passwordHash, firstUserId, index, centers.size(), now);
+
+        copyUsers(settings, users);
+        copyNotificationPreferences(settings, users);
+        copyFavorites(settings, users, centers);
+        copyDonations(settings, users, centers, now);
+        rebuildDonationStats();
+        copyEmailLogs(settings, users, centers, now);
+        copyAuditLogs(settings, users, now);
+        copyBloodSnapshots(settings, centers, now);
+
+        for (String table : List.of("users", "notification_preferences", "user_favorite_rckik", "donations",
+                "user_donation_stats", "email_logs", "audit_logs", "blood_snapshots")) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW mv_latest_blood_levels");
+
+        log.info("Synthetic data generated in {} s", (System.currentTimeMillis() - started) / 1000);
+    }
+
+    // ==================== Users ====================
+
+    private SyntheticUser syntheticUser(GenerationSettings settings, String emailPrefix, String passwordHash,
+                                        long firstUserId, int index, int centerCount, LocalDateTime now) {
+        SplittableRandom random = random(settings.seed(), STREAM_USER, index);
+        int accountAgeDays = Math.max(1, settings.historyDays());
+        LocalDateTime createdAt = now.minusDays(random.nextInt(accountAgeDays)).minusMinutes(random.nextInt(1440));
+        boolean deleted = random.nextDouble() < 0.02;
+
+        User user = User.builder()
+                .id(firstUserId + index)
+                .email(emailPrefix + index + "@example.com")
+                .passwordHash(passwordHash)
+                .firstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+                .lastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+                .bloodGroup(random.nextDouble() < 0.9 ? pick(random, BLOOD_GROUPS, BLOOD_GROUP_WEIGHTS) : null)
+                .emailVerified(random.nextDouble() < 0.9)
+                .role(UserRole.USER)
+                .consentTimestamp(createdAt)
+                .consentVersion("1.0")
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .deletedAt(deleted ? min(createdAt.plusDays(random.nextInt(1, 60)), now) : null)
+                .build();
+
+        return new SyntheticUser(user, random.nextInt(centerCount));
+    }
+
+    private void copyUsers(GenerationSettings settings, IntFunction<SyntheticUser> users) {
+        copy("users", new String[]{"id", "email", "password_hash", "first_name", "last_name", "blood_group",
+                "email_verified", "role", "consent_timestamp", "consent_version", "created_at", "updated_at", "deleted_at"},
+                writer -> {
+                    for (int i = 0; i < settings.users(); i++) {
+                        User user = users.apply(i).user();
+                        writer.row(user.getId(), user.getEmail(), user.getPasswordHash(), user.getFirstName(),
+                                user.getLastName(), user.getBloodGroup(), user.getEmailVerified(), user.getRole().name(),
+                                user.getConsentTimestamp(), user.getConsentVersion(), user.getCreatedAt(),
+                                user.getUpdatedAt(), user.getDeletedAt());
+                    }
+                });
+    }
+
+    private void copyNotificationPreferences(GenerationSettings settings, IntFunction<SyntheticUser> users) {
+        copy("notification_preferences", new String[]{"user_id", "email_enabled", "email_frequency",
+                "in_app_enabled", "in_app_frequency", "created_at", "updated_at"},
+                writer -> {
+                    for (int i = 0; i < settings.users(); i++) {
+                        SplittableRandom random = random(settings.seed(), STREAM_PREFERENCES, i);
+                        User user = users.apply(i).user();
+                        String emailFrequency = pick(random, EMAIL_FREQUENCIES, EMAIL_FREQUENCY_WEIGHTS);
+
+                        NotificationPreference preference = NotificationPreference.builder()
+                                .user(user)
+                                .emailEnabled(!"DISABLED".equals(emailFrequency))
+                                .emailFrequency(emailFrequency)
+                                .inAppEnabled(random.nextDouble() < 0.95)
+                                .inAppFrequency(random.nextDouble() < 0.8 ? "IMMEDIATE" : "ONLY_CRITICAL")
+                                .createdAt(user.getCreatedAt())
+                                .updatedAt(user.getCreatedAt())
+                                .build();
+
+                        writer.row(user.getId(), preference.getEmailEnabled(), preference.getEmailFrequency(),
+                                preference.getInAppEnabled(), preference.getInAppFrequency(),
+                                preference.getCreatedAt(), preference.getUpdatedAt());
+                    }
+                });
+    }
+
+    private void copyFavorites(GenerationSettings settings, IntFunction<SyntheticUser> users, List<Rckik> centers) {
+        copy("user_favorite_rckik", new String[]{"user_id", "rckik_id", "priority", "created_at"},
+                writer -> {
+                    for (int i = 0; i < settings.users(); i++) {
+                        SplittableRandom random = random(settings.seed(), STREAM_FAVORITES, i);
+                        SyntheticUser synthetic = users.apply(i);
+                        // Home center plus up to two neighbours - always distinct centers
+                        int count = Math.min(centers.size(), 1 + random.nextInt(3));
+
+                        for (int k = 0; k < count; k++) {
+                            UserFavoriteRckik favorite = UserFavoriteRckik.builder()
+                                    .user(synthetic.user())
+                                    .rckik(centers.get((synthetic.homeCenter() + k) % centers.size()))
+                                    .priority(k + 1)
+                                    .createdAt(synthetic.user().getCreatedAt().plusMinutes(k))
+                                    .build();
+
+                            writer.row(favorite.getUser().getId(), favorite.getRckik().getId(),
+                                    favorite.getPriority(), favorite.getCreatedAt());
+                        }
+                    }
+                });
+    }
+
+    // ==================== Activity ====================
+
+    private void copyDonations(GenerationSettings settings, IntFunction<SyntheticUser> users,
+                               List<Rckik> centers, LocalDateTime now) {
+        copy("donations", new String[]{"user_id", "rckik_id", "donation_date", "quantity_ml", "donation_type",
+                "notes", "confirmed", "created_at", "updated_at", "deleted_at"},
+                writer -> {
+                    for (int i = 0; i < settings.users(); i++) {
+                        SplittableRandom random = random(settings.seed(), STREAM_DONATIONS, i);
+                        SyntheticUser synthetic = users.apply(i);
+                        LocalDate earliest = synthetic.user().getCreatedAt().toLocalDate();
+                        int count = random.nextInt(2 * settings.donationsPerUser() + 1);
+
+                        // Walk back from today with the minimal 8-week gap between whole blood donations
+                        LocalDate date = now.toLocalDate().minusDays(random.nextInt(56));
+                        for (int k = 0; k < count && !date.isBefore(earliest); k++) {
+                            Donation donation = randomDonation(random, synthetic, centers, date);
+                            writer.row(synthetic.user().getId(), donation.getRckik().getId(), donation.getDonationDate(),
+                                    donation.getQuantityMl(), donation.getDonationType(), donation.getNotes(),
+                                    donation.getConfirmed(), donation.getCreatedAt(), donation.getUpdatedAt(),
+                                    donation.getDeletedAt());
+                            date = date.minusDays(random.nextInt(56, 180));
+                        }
+                    }
+                });
+    }
+
+    /**
+     * COPY bypasses the donation service, so the maintained per-user aggregates are rebuilt in one pass
+     */
+    private void rebuildDonationStats() {
+        long started = System.currentTimeMillis();
+        int rows = donationStatsRepository.rebuildAll();
+        log.info("Rebuilt {} rows of user_donation_stats in {} ms", rows, System.currentTimeMillis() - started);
+    }
+
+    private Donation randomDonation(SplittableRandom random, SyntheticUser synthetic, List<Rckik> centers, LocalDate date) {
+        double type = random.nextDouble();
+        String donationType = type < 0.8 ? "FULL_BLOOD" : type < 0.92 ? "PLASMA" : type < 0.98 ? "PLATELETS" : "OTHER";
+        int quantityMl = switch (donationType) {
+            case "FULL_BLOOD" -> 450;
+            case "PLASMA" -> 600;
+            case "PLATELETS" -> 250;
+            default -> 200;
+        };
+        int center = random.nextDouble() < 0.85 ? synthetic.homeCenter() : random.nextInt(centers.size());
+        LocalDateTime createdAt = date.atTime(random.nextInt(8, 20), random.nextInt(60));
+
+        return Donation.builder()
+                .user(synthetic.user())
+                .rckik(centers.get(center))
+                .donationDate(date)
+                .quantityMl(quantityMl)
+                .donationType(donationType)
+                .notes(random.nextDouble() < 0.1 ? "Wygenerowano automatycznie" : null)
+                .confirmed(random.nextDouble() < 0.7)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .deletedAt(random.nextDouble() < 0.01 ? createdAt.plusDays(1) : null)
+                .build();
+    }
+
+    private void copyEmailLogs(GenerationSettings settings, IntFunction<SyntheticUser> users,
+                               List<Rckik> centers, LocalDateTime now) {
+        copy("email_logs", new String[]{"user_id", "notification_type", "rckik_id", "recipient_email", "subject",
+                "sent_at", "delivered_at", "opened_at", "bounced_at", "bounce_type", "external_id", "metadata"},
+                writer -> {
+                    for (int i = 0; i < settings.users(); i++) {
+                        SplittableRandom random = random(settings.seed(), STREAM_EMAILS, i);
+                        SyntheticUser synthetic = users.apply(i);
+                        long activeMinutes = Math.max(1, ChronoUnit.MINUTES.between(synthetic.user().getCreatedAt(), now));
+                        int count = random.nextInt(2 * settings.emailsPerUser() + 1);
+
+                        for (int k = 0; k < count; k++) {
+                            EmailLog emailLog = randomEmailLog(random, synthetic, centers,
+                                    synthetic.user().getCreatedAt().plusMinutes(random.nextLong(activeMinutes)));
+                            writer.row(synthetic.user().getId(), emailLog.getNotificationType(),
+                                    emailLog.getRckik() != null ? emailLog.getRckik().getId() : null,
+                                    emailLog.getRecipientEmail(), emailLog.getSubject(), emailLog.getSentAt(),
+                                    emailLog.getDeliveredAt(), emailLog.getOpenedAt(), emailLog.getBouncedAt(),
+                                    emailLog.getBounceType(), "datagen-" + settings.seed() + "-" + i + "-" + k,
+                                    emailLog.getMetadata());
+                        }
+                    }
+                });
+    }
+
+    private EmailLog randomEmailLog(SplittableRandom random, SyntheticUser synthetic, List<Rckik> centers,
+                                    LocalDateTime sentAt) {
+        String type = pick(random, EMAIL_TYPES, EMAIL_TYPE_WEIGHTS);
+        Rckik rckik = "CRITICAL_ALERT".equals(type) ? centers.get(synthetic.homeCenter()) : null;
+        double outcome = random.nextDouble();
+        boolean bounced = outcome < 0.03;
+        boolean delivered = !bounced && outcome < 0.98;
+
+        return EmailLog.builder()
+                .notificationType(type)
+                .rckik(rckik)
+                .recipientEmail(synthetic.user().getEmail())
+                .subject(rckik != null ? "Krytyczny poziom krwi - " + rckik.getName() : "Powiadomienie mkrew")
+                .sentAt(sentAt)
+                .deliveredAt(delivered ? sentAt.plusSeconds(random.nextInt(5, 300)) : null)
+                .openedAt(delivered && random.nextDouble() < 0.4 ? sentAt.plusMinutes(random.nextInt(1, 2880)) : null)
+                .bouncedAt(bounced ? sentAt.plusSeconds(random.nextInt(5, 300)) : null)
+                .bounceType(bounced ? (random.nextDouble() < 0.35 ? "HARD" : "SOFT") : null)
+                .metadata("{\"source\":\"datagen\"}")
+                .build();
+    }
+
+    private void copyAuditLogs(GenerationSettings settings, IntFunction<SyntheticUser> users, LocalDateTime now) {
+        copy("audit_logs", new String[]{"actor_id", "action", "target_type", "target_id", "metadata",
+                "ip_address", "user_agent", "created_at"},
+                writer -> {
+                    for (int i = 0; i < settings.users(); i++) {
+                        SplittableRandom random = random(settings.seed(), STREAM_AUDIT, i);
+                        User user = users.apply(i).user();
+                        long activeMinutes = Math.max(1, ChronoUnit.MINUTES.between(user.getCreatedAt(), now));
+                        int count = random.nextInt(2 * settings.auditLogsPerUser() + 1);
+
+                        for (int k = 0; k < count; k++) {
+                            AuditLog auditLog = AuditLog.builder()
+                                    .actorId(String.valueOf(user.getId()))
+                                    .action(random.nextDouble() < 0.8 ? "DONATION_UPDATED" : "DONATION_DELETED")
+                                    .targetType("donation")
+                                    .metadata("{\"source\":\"datagen\"}")
+                                    .ipAddress(randomIp(random))
+                                    .userAgent(USER_AGENTS[random.nextInt(USER_AGENTS.length)])
+                                    .createdAt(user.getCreatedAt().plusMinutes(random.nextLong(activeMinutes)))
+                                    .build();
+                            writeAuditLog(writer, auditLog);
+                        }
+
+                        if (user.getDeletedAt() != null) {
+                            writeAuditLog(writer, AuditLog.builder()
+                                    .actorId(String.valueOf(user.getId()))
+                                    .action("ACCOUNT_DELETED")
+                                    .targetType("user")
+                                    .targetId(user.getId())
+                                    .metadata("{\"source\":\"datagen\"}")
+                                    .ipAddress(randomIp(random))
+                                    .createdAt(user.getDeletedAt())
+                                    .build());
+                        }
+                    }
+                });
+    }
+
+    private static void writeAuditLog(PgCopyWriter writer, AuditLog auditLog) throws SQLException {
+        writer.row(auditLog.getActorId(), auditLog.getAction(), auditLog.getTargetType(), auditLog.getTargetId(),
+                auditLog.getMetadata(), auditLog.getIpAddress(), auditLog.getUserAgent(), auditLog.getCreatedAt());
+    }
+
+    // ==================== Blood snapshots ====================
+
+    private void copyBloodSnapshots(GenerationSettings settings, List<Rckik> centers, LocalDateTime now) {
+        if (settings.historyDays() <= 0) {
+            return;
+        }
+
+        Map<Long, String> sourceUrls = scraperConfigRepository.findAllActive().stream()
+                .collect(Collectors.toMap(config -> config.getRckik().getId(), ScraperConfig::getSourceUrl, (a, b) -> a));
+
+        BloodLevelCurve[][] curves = new BloodLevelCurve[centers.size()][BLOOD_GROUPS.length];
+        for (int c = 0; c < centers.size(); c++) {
+            for (int g = 0; g < BLOOD_GROUPS.length; g++) {
+                curves[c][g] = new BloodLevelCurve(BLOOD_GROUPS[g],
+                        random(settings.seed(), STREAM_SNAPSHOTS, (long) c * BLOOD_GROUPS.length + g));
+            }
+        }
+
+        int scrapesPerDay = Math.max(1, settings.scrapesPerDay());
+        long minutesBetweenScrapes = 24 * 60 / scrapesPerDay;
+        LocalDate firstDay = now.toLocalDate().minusDays(settings.historyDays() - 1L);
+
+        // Days outermost, so ids grow with time exactly like scraper-inserted rows
+        copy("blood_snapshots", new String[]{"rckik_id", "snapshot_date", "blood_group", "level_percentage",
+                "source_url", "parser_version", "scraped_at", "is_manual"},
+                writer -> {
+                    for (LocalDate day = firstDay; !day.isAfter(now.toLocalDate()); day = day.plusDays(1)) {
+                        for (int s = 0; s < scrapesPerDay; s++) {
+                            LocalDateTime scrapedAt = day.atTime(6, 0).plusMinutes(s * minutesBetweenScrapes);
+                            for (int c = 0; c < centers.size(); c++) {
+                                Rckik rckik = centers.get(c);
+                                for (int g = 0; g < BLOOD_GROUPS.length; g++) {
+                                    BloodSnapshot snapshot = BloodSnapshot.builder()
+                                            .rckik(rckik)
+                                            .snapshotDate(day)
+                                            .bloodGroup(BLOOD_GROUPS[g])
+                                            .levelPercentage(curves[c][g].next(day))
+                                            .sourceUrl(sourceUrls.get(rckik.getId()))
+                                            .parserVersion("datagen")
+                                            .scrapedAt(scrapedAt)
+                                            .isManual(false)
+                                            .build();
+
+                                    writer.row(rckik.getId(), snapshot.getSnapshotDate(), snapshot.getBloodGroup(),
+                                            snapshot.getLevelPercentage(), snapshot.getSourceUrl(),
+                                            snapshot.getParserVersion(), snapshot.getScrapedAt(), snapshot.getIsManual());
+                                }
+                            }
+                        }
+                    }
+                });
+    }
+
+    // ==================== Helpers ====================
+
+    @FunctionalInterface
+    private interface CopyBody {
+        void write(PgCopyWriter writer) throws SQLException;
+    }
+
+    private void copy(String table, String[] columns, CopyBody body) {
+        long started = System.currentTimeMillis();
+        Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (PgCopyWriter writer = PgCopyWriter.open(connection, table, columns)) {
+                body.write(writer);
+                return writer.finish();
+            }
+        });
+        long elapsedMs = Math.max(1, System.currentTimeMillis() - started);
+        log.info("Loaded {} rows into {} in {} ms ({} rows/s)", rows, table, elapsedMs, rows * 1000 / elapsedMs);
+    }
+
+    /**
+     * Reserve a contiguous id range so child rows can reference users written with COPY
+     * (not safe against concurrent inserts - run the generator against an idle database)
+     */
+    private long reserveIds(String table, int count) {
+        Long first = jdbcTemplate.queryForObject(
+                "SELECT nextval(pg_get_serial_sequence(?, 'id'))", Long.class, table);
+        if (count > 1) {
+            jdbcTemplate.queryForObject(
+                    "SELECT setval(pg_get_serial_sequence(?, 'id'), ?)", Long.class, table, first + count - 1);
+        }
+        return first;
+    }
+
+    private static SplittableRandom random(long seed, int stream, long index) {
+        return new SplittableRandom(seed * 1_000_003L + stream * 0x9E3779B97F4A7C15L + index);
+    }
+
+    private static String pick(SplittableRandom random, String[] values, double[] weights) {
+        double roll = random.nextDouble();
+        double cumulative = 0;
+        for (int i = 0; i < values.length; i++) {
+            cumulative += weights[i];
+            if (roll < cumulative) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static String randomIp(SplittableRandom random) {
+        return "10." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(1, 255);
+    }
+}
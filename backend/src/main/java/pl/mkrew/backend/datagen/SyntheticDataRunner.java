@@ -0,0 +1,66 @@
+package pl.mkrew.backend.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command-line entry point for the synthetic data generator
+ * Loads the data set on startup and shuts the application down afterwards.
+ *
+ * Usage:
+ * ./gradlew bootRun --args='--spring.profiles.active=datagen --mkrew.datagen.users=1000000 --mkrew.datagen.seed=7'
+ */
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    private final SyntheticDataGenerator generator;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${mkrew.datagen.users:10000}")
+    private int users;
+
+    @Value("${mkrew.datagen.seed:42}")
+    private long seed;
+
+    @Value("${mkrew.datagen.history-days:1095}")
+    private int historyDays;
+
+    @Value("${mkrew.datagen.scrapes-per-day:1}")
+    private int scrapesPerDay;
+
+    @Value("${mkrew.datagen.donations-per-user:4}")
+    private int donationsPerUser;
+
+    @Value("${mkrew.datagen.emails-per-user:10}")
+    private int emailsPerUser;
+
+    @Value("${mkrew.datagen.audit-logs-per-user:3}")
+    private int auditLogsPerUser;
+
+    @Value("${mkrew.datagen.password:LoadTest123!}")
+    private String password;
+
+    @Value("${mkrew.datagen.exit-on-completion:true}")
+    private boolean exitOnCompletion;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generator.generate(new SyntheticDataGenerator.GenerationSettings(
+                users, seed, historyDays, scrapesPerDay, donationsPerUser, emailsPerUser, auditLogsPerUser, password));
+
+        if (exitOnCompletion) {
+            log.info("Synthetic data generation finished, shutting down");
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package pl.mkrew.backend.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * DataSource that picks the primary or the read replica pool per connection
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the transaction manager opens the
+ * connection before the read-only flag of the transaction is visible, the proxy defers
+ * the routing decision to the first statement.
+ */
+@RequiredArgsConstructor
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaRoutingPolicy routingPolicy;
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return routingPolicy.route();
+    }
+}
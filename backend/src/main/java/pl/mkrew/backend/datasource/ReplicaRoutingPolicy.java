@@ -0,0 +1,129 @@
+package pl.mkrew.backend.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.mkrew.backend.security.SecurityUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Decides whether a connection goes to the primary or the read replica
+ *
+ * - read-write transactions and non-transactional access use the primary
+ * - read-only transactions use the replica, except:
+ *   - for a user within read-your-writes-seconds after their own write transaction
+ *   - while the replica lags more than max-lag-seconds or cannot be reached
+ *
+ * Replica lag is checked every lag-check-ms. Recent writers are tracked per instance.
+ *
+ * Metrics:
+ * - mkrew.datasource.routing{target} - connections routed per pool
+ * - mkrew.datasource.replica.lag - last measured replica lag in seconds (-1 when unreachable)
+ */
+@Slf4j
+public class ReplicaRoutingPolicy implements MeterBinder {
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final double maxLagSeconds;
+    private final Cache<Long, Boolean> recentWriters;
+
+    private volatile boolean replicaAvailable = true;
+    private volatile double lastLagSeconds;
+
+    // Set once the registry binds this policy; null in plain unit tests
+    private volatile MeterRegistry meterRegistry;
+
+    public ReplicaRoutingPolicy(DataSource replicaDataSource, double maxLagSeconds, long readYourWritesSeconds) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLagSeconds = maxLagSeconds;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofSeconds(readYourWritesSeconds))
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mkrew.datasource.replica.lag", this, policy -> policy.lastLagSeconds)
+                .baseUnit("seconds")
+                .register(registry);
+        this.meterRegistry = registry;
+    }
+
+    /**
+     * Pool for the connection requested by the current thread
+     *
+     * @return Routing target
+     */
+    public ReadWriteRoutingDataSource.Target route() {
+        ReadWriteRoutingDataSource.Target target = determineTarget();
+
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            registry.counter("mkrew.datasource.routing", "target", target.name()).increment();
+        }
+        return target;
+    }
+
+    private ReadWriteRoutingDataSource.Target determineTarget() {
+        Long userId = SecurityUtils.getCurrentUserId();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                // The user's next reads must see this write
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+            return ReadWriteRoutingDataSource.Target.PRIMARY;
+        }
+
+        if (!replicaAvailable) {
+            return ReadWriteRoutingDataSource.Target.PRIMARY;
+        }
+        if (userId != null && recentWriters.getIfPresent(userId) != null) {
+            return ReadWriteRoutingDataSource.Target.PRIMARY;
+        }
+        return ReadWriteRoutingDataSource.Target.REPLICA;
+    }
+
+    /**
+     * Measure replica lag and switch reads to the primary while it is too far behind
+     * An idle primary produces no WAL, so a fully replayed replica counts as zero lag
+     */
+    @Scheduled(fixedDelayString = "${mkrew.datasource.replica.lag-check-ms:5000}")
+    public void checkReplicaLag() {
+        boolean available;
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject("""
+                    SELECT CASE
+                               WHEN NOT pg_is_in_recovery() THEN 0
+                               WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                               ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                           END
+                    """, Double.class);
+            lastLagSeconds = lag != null ? lag : 0;
+            available = lastLagSeconds <= maxLagSeconds;
+        } catch (Exception e) {
+            log.debug("Replica lag check failed: {}", e.getMessage());
+            lastLagSeconds = -1;
+            available = false;
+        }
+
+        if (available != replicaAvailable) {
+            if (available) {
+                log.info("Read replica caught up (lag {} s), routing read-only transactions to it", lastLagSeconds);
+            } else {
+                log.warn("Read replica unavailable or lagging (lag {} s, max {} s), routing reads to primary",
+                        lastLagSeconds, maxLagSeconds);
+            }
+            replicaAvailable = available;
+        }
+    }
+}
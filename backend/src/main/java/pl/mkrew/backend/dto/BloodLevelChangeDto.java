@@ -0,0 +1,39 @@
+package pl.mkrew.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for a blood level change over a digest period
+ * US-010: Email Notifications - daily/weekly digest
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Blood level change of one blood group in a RCKiK center over a digest period")
+public class BloodLevelChangeDto {
+
+    @Schema(description = "RCKiK center ID", example = "1")
+    private Long rckikId;
+
+    @Schema(description = "RCKiK center name", example = "RCKiK Warszawa")
+    private String rckikName;
+
+    @Schema(description = "Blood group", example = "A+")
+    private String bloodGroup;
+
+    @Schema(description = "First level in the period", example = "42.50")
+    private BigDecimal previousLevel;
+
+    @Schema(description = "Latest level in the period", example = "18.00")
+    private BigDecimal currentLevel;
+
+    @Schema(description = "Lowest level in the period", example = "18.00")
+    private BigDecimal minLevel;
+}
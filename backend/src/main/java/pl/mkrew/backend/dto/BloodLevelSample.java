@@ -0,0 +1,12 @@
+package pl.mkrew.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Blood level snapshot as streamed for history charts (US-008)
+ */
+public record BloodLevelSample(String bloodGroup, LocalDate snapshotDate, LocalDateTime scrapedAt,
+                               BigDecimal levelPercentage) {
+}
@@ -0,0 +1,72 @@
+package pl.mkrew.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Downsampled blood level history per blood group, for charts")
+public class BloodLevelSeriesResponse {
+
+    @Schema(description = "RCKiK unique identifier", example = "1")
+    private Long rckikId;
+
+    @Schema(description = "RCKiK name", example = "RCKiK Warszawa")
+    private String rckikName;
+
+    @Schema(description = "Start date (inclusive)", example = "2024-01-01")
+    private LocalDate fromDate;
+
+    @Schema(description = "End date (inclusive)", example = "2024-12-31")
+    private LocalDate toDate;
+
+    @Schema(description = "Maximum number of points per blood group", example = "200")
+    private Integer maxPoints;
+
+    @Schema(description = "One series per blood group with snapshots in the range")
+    private List<Series> series;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Schema(description = "Blood level series of one blood group")
+    public static class Series {
+
+        @Schema(description = "Blood group", example = "A+")
+        private String bloodGroup;
+
+        @Schema(description = "Number of snapshots in the range before downsampling", example = "1460")
+        private Long totalSnapshots;
+
+        @Schema(description = "Points in chronological order (lowest and highest level per time bucket)")
+        private List<Point> points;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Schema(description = "Blood level at a point in time")
+    public static class Point {
+
+        @Schema(description = "Snapshot date", example = "2024-06-15")
+        private LocalDate snapshotDate;
+
+        @Schema(description = "Scraping timestamp", example = "2024-06-15T02:00:00")
+        private LocalDateTime scrapedAt;
+
+        @Schema(description = "Level percentage", example = "45.50")
+        private BigDecimal levelPercentage;
+    }
+}
@@ -0,0 +1,27 @@
+package pl.mkrew.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * SSE payload with the current blood levels of a center after a change
+ * US-007: Browse RCKiK - live updates
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Live update of the current blood levels of a RCKiK center (SSE event 'blood-levels')")
+public class BloodLevelsUpdateDto {
+
+    @Schema(description = "RCKiK center ID", example = "1")
+    private Long rckikId;
+
+    @Schema(description = "Current blood levels of all blood groups")
+    private List<BloodLevelDto> bloodLevels;
+}
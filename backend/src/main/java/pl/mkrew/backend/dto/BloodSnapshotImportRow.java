@@ -0,0 +1,10 @@
+package pl.mkrew.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Validated manual snapshot row of a bulk import (US-028)
+ */
+public record BloodSnapshotImportRow(Long rckikId, LocalDate snapshotDate, String bloodGroup, BigDecimal levelPercentage) {
+}
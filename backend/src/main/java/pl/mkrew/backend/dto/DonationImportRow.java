@@ -0,0 +1,10 @@
+package pl.mkrew.backend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Validated donation row of a bulk import, with the donor resolved to a user ID (US-012)
+ */
+public record DonationImportRow(Long userId, Long rckikId, LocalDate donationDate, Integer quantityMl,
+                                String donationType, String notes, boolean confirmed) {
+}
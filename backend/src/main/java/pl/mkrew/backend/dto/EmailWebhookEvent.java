@@ -0,0 +1,52 @@
+package pl.mkrew.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.Locale;
+
+/**
+ * Single email provider event (delivery, open, bounce)
+ * US-022: Email Deliverability Metrics
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Email provider event")
+public class EmailWebhookEvent {
+
+    public static final String DELIVERED = "DELIVERED";
+    public static final String OPENED = "OPENED";
+    public static final String HARD_BOUNCED = "HARD_BOUNCED";
+    public static final String SOFT_BOUNCED = "SOFT_BOUNCED";
+
+    @NotBlank(message = "Event type is required")
+    @Schema(description = "Event type: DELIVERED, OPENED, HARD_BOUNCED, SOFT_BOUNCED (MailerSend 'activity.*' names are accepted)",
+            example = "activity.hard_bounced")
+    private String type;
+
+    @NotBlank(message = "Message ID is required")
+    @Schema(description = "Provider message ID (email_logs.external_id)", example = "5e42957d51f1d94a1070a733")
+    private String messageId;
+
+    @Schema(description = "Recipient email address", example = "jan.kowalski@example.com")
+    private String email;
+
+    @NotNull(message = "Event timestamp is required")
+    @Schema(description = "When the event happened (ISO 8601)", example = "2025-01-08T10:15:30Z")
+    private OffsetDateTime timestamp;
+
+    /**
+     * Event type without the provider prefix, e.g. "activity.hard_bounced" -> "HARD_BOUNCED"
+     */
+    public String normalizedType() {
+        return type.replaceFirst("^activity\\.", "").toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,28 @@
+package pl.mkrew.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Batch of email provider events
+ * US-022: Email Deliverability Metrics
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Batch of email provider events")
+public class EmailWebhookRequest {
+
+    @NotEmpty(message = "At least one event is required")
+    @Size(max = 1000, message = "At most 1000 events per batch")
+    private List<@Valid EmailWebhookEvent> events;
+}
@@ -0,0 +1,25 @@
+package pl.mkrew.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Acknowledgement of an email event batch
+ * US-022: Email Deliverability Metrics
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Email event batch acknowledgement")
+public class EmailWebhookResponse {
+
+    @Schema(description = "Events queued for processing", example = "98")
+    private int accepted;
+
+    @Schema(description = "Events with an unsupported type (ignored)", example = "2")
+    private int ignored;
+}
@@ -0,0 +1,48 @@
+package pl.mkrew.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of a bulk CSV/NDJSON import with per-row errors")
+public class ImportResultResponse {
+
+    @Schema(description = "Data rows read (header and blank lines excluded)", example = "250000")
+    private Long totalRows;
+
+    @Schema(description = "Rows inserted", example = "249980")
+    private Long importedRows;
+
+    @Schema(description = "Valid rows skipped because the same record already exists", example = "12")
+    private Long skippedRows;
+
+    @Schema(description = "Rows rejected by validation", example = "8")
+    private Long rejectedRows;
+
+    @Schema(description = "Rejected rows (limited to the first mkrew.import.max-errors)")
+    private List<RowError> errors;
+
+    @Schema(description = "True if more rows were rejected than listed in errors", example = "false")
+    private Boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowError {
+
+        @Schema(description = "Line number in the uploaded file (1-based, header included)", example = "17")
+        private Long line;
+
+        @Schema(description = "Why the row was rejected", example = "Unknown RCKiK code: RCKIK-XYZ")
+        private String message;
+    }
+}
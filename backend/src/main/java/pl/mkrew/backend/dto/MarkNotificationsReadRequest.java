@@ -0,0 +1,30 @@
+package pl.mkrew.backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Request DTO for marking several notifications as read
+ * US-011: In-App Notifications
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarkNotificationsReadRequest {
+
+    @NotEmpty(message = "ids are required")
+    @Size(max = 100, message = "At most 100 notifications can be marked at once")
+    private List<@NotNull Long> ids;
+
+    @NotNull(message = "readAt timestamp is required")
+    private LocalDateTime readAt;
+}
@@ -0,0 +1,21 @@
+package pl.mkrew.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for bulk mark-as-read
+ * US-011: In-App Notifications
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarkNotificationsReadResponse {
+
+    private int markedCount;
+
+    private long unreadCount;
+}
@@ -0,0 +1,45 @@
+package pl.mkrew.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Blood donation center near a location, with distance and current blood levels")
+public class NearbyRckikDto {
+
+    @Schema(description = "RCKiK unique identifier", example = "1")
+    private Long id;
+
+    @Schema(description = "RCKiK name", example = "Regionalne Centrum Krwiodawstwa i Krwiolecznictwa w Warszawie")
+    private String name;
+
+    @Schema(description = "RCKiK code", example = "RCKIK-WAW")
+    private String code;
+
+    @Schema(description = "City", example = "Warszawa")
+    private String city;
+
+    @Schema(description = "Full address", example = "ul. Kasprzaka 17, 01-211 Warszawa")
+    private String address;
+
+    @Schema(description = "Latitude", example = "52.2319")
+    private BigDecimal latitude;
+
+    @Schema(description = "Longitude", example = "20.9728")
+    private BigDecimal longitude;
+
+    @Schema(description = "Great-circle distance from the requested location in km", example = "3.4")
+    private Double distanceKm;
+
+    @Schema(description = "Current blood levels (only the requested blood group if one was given)")
+    private List<BloodLevelDto> bloodLevels;
+}
@@ -27,7 +27,7 @@ public class NotificationPreferencesResponse {
 
     @Schema(description = "Email notification frequency",
             example = "ONLY_CRITICAL",
-            allowableValues = {"DISABLED", "ONLY_CRITICAL", "DAILY", "IMMEDIATE"})
+            allowableValues = {"DISABLED", "ONLY_CRITICAL", "DAILY", "WEEKLY", "IMMEDIATE"})
     private String emailFrequency;
 
     @Schema(description = "In-app notifications enabled", example = "true")
@@ -35,7 +35,7 @@ public class NotificationPreferencesResponse {
 
     @Schema(description = "In-app notification frequency",
             example = "IMMEDIATE",
-            allowableValues = {"DISABLED", "ONLY_CRITICAL", "DAILY", "IMMEDIATE"})
+            allowableValues = {"DISABLED", "ONLY_CRITICAL", "DAILY", "WEEKLY", "IMMEDIATE"})
     private String inAppFrequency;
 
     @Schema(description = "Creation timestamp", example = "2025-01-01T10:00:00")
@@ -0,0 +1,34 @@
+package pl.mkrew.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * SSE payload announcing new in-app notifications of the user
+ * US-011: In-App Notifications - live badge updates
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Live update of the user's notifications (SSE event 'notifications')")
+public class NotificationsUpdateDto {
+
+    @Schema(description = "Notifications received since the previous update", example = "2")
+    private int newNotifications;
+
+    @Schema(description = "Current unread count", example = "5")
+    private long unreadCount;
+
+    @Schema(description = "ID of the latest new notification", example = "123")
+    private Long latestNotificationId;
+
+    @Schema(description = "Type of the latest new notification", example = "CRITICAL_BLOOD_LEVEL")
+    private String latestType;
+
+    @Schema(description = "Title of the latest new notification", example = "Krytyczny stan krwi - RCKiK Warszawa")
+    private String latestTitle;
+}
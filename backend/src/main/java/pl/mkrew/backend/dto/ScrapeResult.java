@@ -0,0 +1,51 @@
+package pl.mkrew.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of fetching and parsing a single RCKiK page
+ * US-017: Manual Scraping
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScrapeResult {
+
+    public static final int EXPECTED_BLOOD_GROUPS = 8;
+
+    public static final String STATUS_SUCCESS = "SUCCESS";
+    public static final String STATUS_PARTIAL = "PARTIAL";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_NOT_MODIFIED = "NOT_MODIFIED";
+
+    private Long configId;
+    private Long rckikId;
+    private String rckikCode;
+    private String url;
+    private String host;
+
+    /**
+     * SUCCESS (all 8 groups), PARTIAL (some groups), FAILED or NOT_MODIFIED (HTTP 304 for a known ETag)
+     */
+    private String status;
+
+    private Integer httpStatusCode;
+    private long fetchTimeMs;
+    private long parseTimeMs;
+    private long bodyBytes;
+    private String parserVersion;
+    private String errorMessage;
+
+    @Builder.Default
+    private List<BloodLevelData> bloodLevels = List.of();
+
+    public long getTotalTimeMs() {
+        return fetchTimeMs + parseTimeMs;
+    }
+}
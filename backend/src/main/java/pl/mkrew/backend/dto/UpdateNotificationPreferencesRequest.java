@@ -21,12 +21,12 @@ public class UpdateNotificationPreferencesRequest {
 
     @NotNull(message = "Email frequency is required")
     @Pattern(
-            regexp = "^(DISABLED|ONLY_CRITICAL|DAILY|IMMEDIATE)$",
-            message = "Email frequency must be one of: DISABLED, ONLY_CRITICAL, DAILY, IMMEDIATE"
+            regexp = "^(DISABLED|ONLY_CRITICAL|DAILY|WEEKLY|IMMEDIATE)$",
+            message = "Email frequency must be one of: DISABLED, ONLY_CRITICAL, DAILY, WEEKLY, IMMEDIATE"
     )
     @Schema(description = "Email notification frequency",
             example = "DAILY",
-            allowableValues = {"DISABLED", "ONLY_CRITICAL", "DAILY", "IMMEDIATE"},
+            allowableValues = {"DISABLED", "ONLY_CRITICAL", "DAILY", "WEEKLY", "IMMEDIATE"},
             required = true)
     private String emailFrequency;
 
@@ -36,12 +36,12 @@ public class UpdateNotificationPreferencesRequest {
 
     @NotNull(message = "In-app frequency is required")
     @Pattern(
-            regexp = "^(DISABLED|ONLY_CRITICAL|DAILY|IMMEDIATE)$",
-            message = "In-app frequency must be one of: DISABLED, ONLY_CRITICAL, DAILY, IMMEDIATE"
+            regexp = "^(DISABLED|ONLY_CRITICAL|DAILY|WEEKLY|IMMEDIATE)$",
+            message = "In-app frequency must be one of: DISABLED, ONLY_CRITICAL, DAILY, WEEKLY, IMMEDIATE"
     )
     @Schema(description = "In-app notification frequency",
             example = "IMMEDIATE",
-            allowableValues = {"DISABLED", "ONLY_CRITICAL", "DAILY", "IMMEDIATE"},
+            allowableValues = {"DISABLED", "ONLY_CRITICAL", "DAILY", "WEEKLY", "IMMEDIATE"},
             required = true)
     private String inAppFrequency;
 }
@@ -0,0 +1,50 @@
+package pl.mkrew.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "blood_level_alert_states", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_blood_level_alert_states_rckik_group", columnNames = {"rckik_id", "blood_group"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BloodLevelAlertState {
+
+    public static final String STATE_OK = "OK";
+    public static final String STATE_CRITICAL = "CRITICAL";
+    public static final String STATE_RECOVERED = "RECOVERED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rckik_id", nullable = false)
+    private Long rckikId;
+
+    @Column(name = "blood_group", nullable = false, length = 5)
+    private String bloodGroup;
+
+    @Column(nullable = false, length = 20)
+    private String state;
+
+    @Column(name = "level_percentage", nullable = false, precision = 5, scale = 2)
+    private BigDecimal levelPercentage;
+
+    @Column(name = "state_changed_at", nullable = false)
+    private LocalDateTime stateChangedAt;
+
+    @Column(name = "last_alerted_at")
+    private LocalDateTime lastAlertedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
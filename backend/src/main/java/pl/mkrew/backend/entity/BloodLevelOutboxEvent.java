@@ -0,0 +1,43 @@
+package pl.mkrew.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "blood_level_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BloodLevelOutboxEvent {
+
+    public static final String SOURCE_SCRAPER = "SCRAPER";
+    public static final String SOURCE_MANUAL = "MANUAL";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rckik_id", nullable = false)
+    private Long rckikId;
+
+    @Column(name = "blood_group", nullable = false, length = 5)
+    private String bloodGroup;
+
+    @Column(nullable = false, length = 20)
+    private String source;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
@@ -19,10 +19,6 @@ public class InAppNotification {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_in_app_notifications_user"))
-    private User user;
-
     @Column(name = "notification_type", nullable = false, length = 50)
     private String notificationType;
 
@@ -39,9 +35,6 @@ public class InAppNotification {
     @Column(name = "link_url", columnDefinition = "TEXT")
     private String linkUrl;
 
-    @Column(name = "read_at")
-    private LocalDateTime readAt;
-
     @Column(name = "expires_at")
     private LocalDateTime expiresAt;
 
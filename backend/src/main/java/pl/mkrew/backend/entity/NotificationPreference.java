@@ -36,6 +36,12 @@ public class NotificationPreference {
     @Column(name = "in_app_frequency", nullable = false, length = 50)
     private String inAppFrequency = "IMMEDIATE";
 
+    @Column(name = "last_daily_digest_sent_at")
+    private LocalDateTime lastDailyDigestSentAt;
+
+    @Column(name = "last_weekly_digest_sent_at")
+    private LocalDateTime lastWeeklyDigestSentAt;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -46,4 +46,7 @@ public class UserSession {
 
     @Column(nullable = false)
     private Boolean revoked = false;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
 }
@@ -0,0 +1,13 @@
+package pl.mkrew.backend.event;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Published after committed snapshot writes (scraper runs and manual admin changes)
+ * with the blood groups whose level changed, per RCKiK center
+ *
+ * @param changedGroupsByRckik RCKiK ID to changed blood groups
+ */
+public record BloodLevelsChangedEvent(Map<Long, Set<String>> changedGroupsByRckik) {
+}
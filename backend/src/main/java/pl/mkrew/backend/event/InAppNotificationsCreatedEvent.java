@@ -0,0 +1,16 @@
+package pl.mkrew.backend.event;
+
+import java.util.Collection;
+
+/**
+ * Published when an in-app notification is delivered to users
+ * Listeners that push to clients should run after commit
+ *
+ * @param notificationId   Notification ID
+ * @param notificationType Notification type
+ * @param title            Notification title
+ * @param userIds          Recipient user IDs
+ */
+public record InAppNotificationsCreatedEvent(Long notificationId, String notificationType, String title,
+                                             Collection<Long> userIds) {
+}
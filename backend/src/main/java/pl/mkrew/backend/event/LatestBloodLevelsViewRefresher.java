@@ -0,0 +1,31 @@
+package pl.mkrew.backend.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refreshes mv_latest_blood_levels after blood levels change
+ * Runs before the alert listeners so they see the new levels; a failure releases the outbox
+ * batch so it is dispatched again
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LatestBloodLevelsViewRefresher {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener
+    @Order(1)
+    public void onBloodLevelsChanged(BloodLevelsChangedEvent event) {
+        long started = System.currentTimeMillis();
+        // CONCURRENTLY keeps the view readable during refresh (needs the unique rckik/group index)
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY mv_latest_blood_levels");
+        log.info("Refreshed mv_latest_blood_levels in {} ms ({} center(s) changed)",
+                System.currentTimeMillis() - started, event.changedGroupsByRckik().size());
+    }
+}
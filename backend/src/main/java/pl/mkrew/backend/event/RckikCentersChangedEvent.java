@@ -0,0 +1,10 @@
+package pl.mkrew.backend.event;
+
+/**
+ * Published when an admin creates, updates or deactivates a RCKiK center
+ * Listeners that rebuild in-memory center data should run after commit
+ *
+ * @param rckikId RCKiK ID
+ */
+public record RckikCentersChangedEvent(Long rckikId) {
+}
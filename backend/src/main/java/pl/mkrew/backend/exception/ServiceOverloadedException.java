@@ -0,0 +1,19 @@
+package pl.mkrew.backend.exception;
+
+/**
+ * Exception thrown when a bulkhead has no free slot for the request
+ * US-023: API Security and Rate Limiting
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
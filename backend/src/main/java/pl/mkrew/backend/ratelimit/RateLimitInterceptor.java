@@ -40,7 +40,7 @@ public class RateLimitInterceptor implements HandlerInterceptor {
 
         String requestUri = request.getRequestURI();
         String method = request.getMethod();
-        String ipAddress = getClientIpAddress(request);
+        String ipAddress = SecurityUtils.getClientIpAddress(request);
 
         try {
             // Skip rate limiting for health checks and Swagger
@@ -119,37 +119,4 @@ public class RateLimitInterceptor implements HandlerInterceptor {
                requestUri.startsWith("/v3/api-docs") ||
                requestUri.equals("/error");
     }
-
-    /**
-     * Extract client IP address from request
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String[] headerNames = {
-                "X-Forwarded-For",
-                "X-Real-IP",
-                "Proxy-Client-IP",
-                "WL-Proxy-Client-IP",
-                "HTTP_X_FORWARDED_FOR",
-                "HTTP_X_FORWARDED",
-                "HTTP_X_CLUSTER_CLIENT_IP",
-                "HTTP_CLIENT_IP",
-                "HTTP_FORWARDED_FOR",
-                "HTTP_FORWARDED",
-                "HTTP_VIA",
-                "REMOTE_ADDR"
-        };
-
-        for (String header : headerNames) {
-            String ip = request.getHeader(header);
-            if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
-                // X-Forwarded-For can contain multiple IPs, take the first one
-                if (ip.contains(",")) {
-                    ip = ip.split(",")[0].trim();
-                }
-                return ip;
-            }
-        }
-
-        return request.getRemoteAddr();
-    }
 }
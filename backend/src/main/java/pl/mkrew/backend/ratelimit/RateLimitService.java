@@ -4,34 +4,54 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import pl.mkrew.backend.exception.RateLimitExceededException;
 
 import java.time.Duration;
+import java.util.Locale;
 
 /**
  * Service for managing rate limits per IP and per user
  * US-023: API Security and Rate Limiting
+ *
+ * Metrics (bound by Spring Boot via MeterBinder):
+ * - mkrew.ratelimit.rejections{type, scope} - rejected requests per RateLimitType and IP/User/Email
+ * - cache.* {cache=ratelimit.ip|ratelimit.user} - Caffeine bucket cache stats
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
-public class RateLimitService {
+public class RateLimitService implements MeterBinder {
 
     // Cache for IP-based rate limits
     private final Cache<String, Bucket> ipCache = Caffeine.newBuilder()
             .maximumSize(10_000)
             .expireAfterAccess(Duration.ofHours(1))
+            .recordStats()
             .build();
 
     // Cache for user-based rate limits
     private final Cache<String, Bucket> userCache = Caffeine.newBuilder()
             .maximumSize(10_000)
             .expireAfterAccess(Duration.ofMinutes(5))
+            .recordStats()
             .build();
 
+    // Set once the registry binds this service; null in plain unit tests
+    private volatile MeterRegistry meterRegistry;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, ipCache, "ratelimit.ip");
+        CaffeineCacheMetrics.monitor(registry, userCache, "ratelimit.user");
+        this.meterRegistry = registry;
+    }
+
     /**
      * Check rate limit for IP address
      *
@@ -87,6 +107,13 @@ public class RateLimitService {
             log.warn("Rate limit exceeded for {} {} (type: {}). Retry after {} seconds",
                     identifierType, identifier, limitType, retryAfter);
 
+            MeterRegistry registry = meterRegistry;
+            if (registry != null) {
+                registry.counter("mkrew.ratelimit.rejections",
+                        "type", limitType.name(),
+                        "scope", identifierType.toLowerCase(Locale.ROOT)).increment();
+            }
+
             throw new RateLimitExceededException(
                     String.format("Too many requests. Please try again in %d seconds.", retryAfter),
                     retryAfter
@@ -128,7 +155,8 @@ public class RateLimitService {
      * Get cache statistics for monitoring
      */
     public String getCacheStats() {
-        return String.format("IP cache size: %d, User cache size: %d",
-                ipCache.estimatedSize(), userCache.estimatedSize());
+        return String.format(Locale.ROOT, "IP cache size: %d (hit rate %.2f), User cache size: %d (hit rate %.2f)",
+                ipCache.estimatedSize(), ipCache.stats().hitRate(),
+                userCache.estimatedSize(), userCache.stats().hitRate());
     }
 }
@@ -0,0 +1,49 @@
+package pl.mkrew.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Creates missing blood_level_alert_states rows so that every evaluated state can be locked
+ * US-010: Email Notifications for Critical Blood Levels
+ */
+@Repository
+@RequiredArgsConstructor
+public class BloodLevelAlertStateLockRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert OK states for (RCKiK, blood group) pairs that have none yet; existing rows are left as they are
+     * Concurrent inserts of the same pair wait for each other on the unique key instead of failing.
+     * Must run in the transaction that then locks the rows.
+     *
+     * @param rckikIds    RCKiK IDs
+     * @param bloodGroups Blood groups (same order as rckikIds)
+     * @param levels      Current levels (same order as rckikIds)
+     * @return Number of inserted rows
+     */
+    public int insertMissing(List<Long> rckikIds, List<String> bloodGroups, List<BigDecimal> levels) {
+        if (rckikIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement("""
+                    INSERT INTO blood_level_alert_states (rckik_id, blood_group, state, level_percentage,
+                        state_changed_at, updated_at)
+                    SELECT s.rckik_id, s.blood_group, 'OK', s.level_percentage, now(), now()
+                    FROM unnest(?::bigint[], ?::varchar[], ?::numeric[]) AS s(rckik_id, blood_group, level_percentage)
+                    ORDER BY s.rckik_id, s.blood_group
+                    ON CONFLICT (rckik_id, blood_group) DO NOTHING
+                    """);
+            statement.setArray(1, connection.createArrayOf("bigint", rckikIds.toArray()));
+            statement.setArray(2, connection.createArrayOf("varchar", bloodGroups.toArray()));
+            statement.setArray(3, connection.createArrayOf("numeric", levels.toArray()));
+            return statement;
+        });
+    }
+}
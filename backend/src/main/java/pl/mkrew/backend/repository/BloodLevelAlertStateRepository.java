@@ -0,0 +1,43 @@
+package pl.mkrew.backend.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import pl.mkrew.backend.entity.BloodLevelAlertState;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for critical alert states
+ * US-010: Email Notifications for Critical Blood Levels
+ */
+@Repository
+public interface BloodLevelAlertStateRepository extends JpaRepository<BloodLevelAlertState, Long> {
+
+    /**
+     * Lock alert states of the given centers (SELECT ... FOR UPDATE, in ID order)
+     * Serializes the scheduled check and the outbox listener evaluating the same groups
+     *
+     * @param rckikIds RCKiK IDs
+     * @return Locked alert states
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BloodLevelAlertState s WHERE s.rckikId IN :rckikIds ORDER BY s.id")
+    List<BloodLevelAlertState> lockByRckikIdIn(@Param("rckikIds") Collection<Long> rckikIds);
+
+    /**
+     * CRITICAL states whose current episode has not been alerted yet (held back by the cooldown)
+     *
+     * @return Alert states with a pending alert
+     */
+    @Query("""
+            SELECT s FROM BloodLevelAlertState s
+            WHERE s.state = 'CRITICAL'
+            AND (s.lastAlertedAt IS NULL OR s.lastAlertedAt < s.stateChangedAt)
+            """)
+    List<BloodLevelAlertState> findPendingAlerts();
+}
@@ -0,0 +1,70 @@
+package pl.mkrew.backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import pl.mkrew.backend.entity.BloodLevelOutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the blood level outbox
+ * US-010: Email Notifications for Critical Blood Levels
+ */
+@Repository
+public interface BloodLevelOutboxRepository extends JpaRepository<BloodLevelOutboxEvent, Long> {
+
+    /**
+     * Lock the oldest pending events that are not claimed (or whose claim expired);
+     * rows locked by another instance are skipped
+     * Served by idx_blood_level_outbox_pending
+     *
+     * @param limit         Maximum number of events
+     * @param claimedBefore Claims older than this are expired
+     * @return Pending events in insertion order
+     */
+    @Query(value = """
+            SELECT * FROM blood_level_outbox
+            WHERE processed_at IS NULL
+            AND (claimed_at IS NULL OR claimed_at < :claimedBefore)
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<BloodLevelOutboxEvent> lockClaimable(@Param("limit") int limit, @Param("claimedBefore") LocalDateTime claimedBefore);
+
+    /**
+     * Claim events for dispatch (set or clear the claim time)
+     *
+     * @param ids       Event IDs
+     * @param claimedAt Claim time, null to release the claim
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE BloodLevelOutboxEvent e SET e.claimedAt = :claimedAt WHERE e.id IN :ids")
+    int updateClaim(@Param("ids") List<Long> ids, @Param("claimedAt") LocalDateTime claimedAt);
+
+    /**
+     * Mark events as processed
+     *
+     * @param ids         Event IDs
+     * @param processedAt Processing time
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE BloodLevelOutboxEvent e SET e.processedAt = :processedAt WHERE e.id IN :ids")
+    int markProcessed(@Param("ids") List<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Delete events processed before a cutoff (pending events are kept)
+     *
+     * @param cutoff Processing time cutoff (exclusive)
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM BloodLevelOutboxEvent e WHERE e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
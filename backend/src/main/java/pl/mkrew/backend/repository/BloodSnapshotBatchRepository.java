@@ -0,0 +1,73 @@
+package pl.mkrew.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import pl.mkrew.backend.dto.BloodSnapshotImportRow;
+
+import java.sql.Date;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC batch inserts of manual blood snapshots for bulk imports
+ * US-028: Ręczne wprowadzanie stanów krwi przez administratora
+ */
+@Repository
+@RequiredArgsConstructor
+public class BloodSnapshotBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert manual snapshots in one JDBC batch; rows for a center, date and blood group that
+     * already have a snapshot are skipped, so re-running an import does not duplicate data
+     *
+     * @param rows Validated rows
+     * @return Rows actually inserted (skipped rows are left out)
+     */
+    public List<BloodSnapshotImportRow> insertManual(List<BloodSnapshotImportRow> rows) {
+        int[][] counts = jdbcTemplate.batchUpdate("""
+                INSERT INTO blood_snapshots (rckik_id, snapshot_date, blood_group, level_percentage, scraped_at, is_manual)
+                SELECT ?, ?, ?, ?, now(), true
+                WHERE NOT EXISTS (
+                    SELECT 1 FROM blood_snapshots
+                    WHERE rckik_id = ? AND snapshot_date = ? AND blood_group = ?
+                )
+                """, rows, rows.size(), (statement, row) -> {
+            Date snapshotDate = Date.valueOf(row.snapshotDate());
+            statement.setLong(1, row.rckikId());
+            statement.setDate(2, snapshotDate);
+            statement.setString(3, row.bloodGroup());
+            statement.setBigDecimal(4, row.levelPercentage());
+            statement.setLong(5, row.rckikId());
+            statement.setDate(6, snapshotDate);
+            statement.setString(7, row.bloodGroup());
+        });
+        // Update counts follow the row order (batches of rows.size(), so a single batch)
+        List<BloodSnapshotImportRow> inserted = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // SUCCESS_NO_INFO (-2) gives no row count; count it as inserted so no change goes unnoticed
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    inserted.add(rows.get(index));
+                }
+                index++;
+            }
+        }
+        return inserted;
+    }
+
+    static int sum(int[][] counts) {
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // SUCCESS_NO_INFO (-2) is reported by some drivers for rewritten batches
+                inserted += Math.max(count, 0);
+            }
+        }
+        return inserted;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import pl.mkrew.backend.entity.BloodSnapshot;
+import pl.mkrew.backend.util.BloodGroups;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -21,38 +22,71 @@ public interface BloodSnapshotRepository extends JpaRepository<BloodSnapshot, Lo
      * @param rckikId RCKiK ID
      * @return List of latest blood snapshots
      */
-    @Query("""
-            SELECT bs FROM BloodSnapshot bs
-            WHERE bs.rckik.id = :rckikId
-            AND bs.id IN (
-                SELECT MAX(bs2.id)
-                FROM BloodSnapshot bs2
-                WHERE bs2.rckik.id = :rckikId
-                GROUP BY bs2.bloodGroup
-            )
-            ORDER BY bs.bloodGroup ASC
-            """)
-    List<BloodSnapshot> findLatestByRckikId(@Param("rckikId") Long rckikId);
+    default List<BloodSnapshot> findLatestByRckikId(Long rckikId) {
+        return findLatestByRckikIdAndBloodGroups(rckikId, BloodGroups.ALL);
+    }
+
+    /**
+     * Find latest blood snapshots for a specific RCKiK center and the given blood groups
+     * One LIMIT 1 probe per blood group on idx_blood_snapshots_rckik_group_id
+     *
+     * @param rckikId RCKiK ID
+     * @param bloodGroups Blood groups to probe (not empty)
+     * @return List of latest blood snapshots
+     */
+    @Query(value = """
+            SELECT bs.*
+            FROM unnest(ARRAY[:bloodGroups]) AS g(blood_group)
+            CROSS JOIN LATERAL (
+                SELECT s.* FROM blood_snapshots s
+                WHERE s.rckik_id = :rckikId
+                AND s.blood_group = g.blood_group
+                ORDER BY s.id DESC
+                LIMIT 1
+            ) bs
+            ORDER BY bs.blood_group ASC
+            """, nativeQuery = true)
+    List<BloodSnapshot> findLatestByRckikIdAndBloodGroups(@Param("rckikId") Long rckikId,
+                                                          @Param("bloodGroups") List<String> bloodGroups);
 
     /**
      * Find latest blood snapshots for multiple RCKiK centers
      * Returns the most recent snapshot for each blood group for each center
      *
-     * @param rckikIds List of RCKiK IDs
+     * @param rckikIds List of RCKiK IDs (an empty list returns no rows without a query)
      * @return List of latest blood snapshots
      */
-    @Query("""
-            SELECT bs FROM BloodSnapshot bs
-            WHERE bs.rckik.id IN :rckikIds
-            AND bs.id IN (
-                SELECT MAX(bs2.id)
-                FROM BloodSnapshot bs2
-                WHERE bs2.rckik.id IN :rckikIds
-                GROUP BY bs2.rckik.id, bs2.bloodGroup
-            )
-            ORDER BY bs.rckik.id ASC, bs.bloodGroup ASC
-            """)
-    List<BloodSnapshot> findLatestByRckikIds(@Param("rckikIds") List<Long> rckikIds);
+    default List<BloodSnapshot> findLatestByRckikIds(List<Long> rckikIds) {
+        if (rckikIds.isEmpty()) {
+            return List.of();
+        }
+        return findLatestByRckikIdsAndBloodGroups(rckikIds, BloodGroups.ALL);
+    }
+
+    /**
+     * Find latest blood snapshots for multiple RCKiK centers and the given blood groups
+     * One LIMIT 1 probe per (center, blood group) on idx_blood_snapshots_rckik_group_id
+     *
+     * @param rckikIds List of RCKiK IDs (not empty)
+     * @param bloodGroups Blood groups to probe (not empty)
+     * @return List of latest blood snapshots
+     */
+    @Query(value = """
+            SELECT bs.*
+            FROM rckik r
+            CROSS JOIN unnest(ARRAY[:bloodGroups]) AS g(blood_group)
+            CROSS JOIN LATERAL (
+                SELECT s.* FROM blood_snapshots s
+                WHERE s.rckik_id = r.id
+                AND s.blood_group = g.blood_group
+                ORDER BY s.id DESC
+                LIMIT 1
+            ) bs
+            WHERE r.id IN (:rckikIds)
+            ORDER BY bs.rckik_id ASC, bs.blood_group ASC
+            """, nativeQuery = true)
+    List<BloodSnapshot> findLatestByRckikIdsAndBloodGroups(@Param("rckikIds") List<Long> rckikIds,
+                                                           @Param("bloodGroups") List<String> bloodGroups);
 
     /**
      * Find all blood snapshots for a specific RCKiK center and blood group
@@ -234,4 +268,26 @@ public interface BloodSnapshotRepository extends JpaRepository<BloodSnapshot, Lo
            "ORDER BY COUNT(*) DESC " +
            "LIMIT 1", nativeQuery = true)
     String findMostCriticalBloodGroup(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    /**
+     * Summarize blood level changes of all active centers over a date range in one grouped scan
+     * US-010: Email Notifications - daily/weekly digest, computed once per digest run
+     *
+     * @param fromDate Start date (inclusive)
+     * @param toDate   End date (inclusive)
+     * @return List of [rckikId, rckikName, bloodGroup, firstLevel, lastLevel, minLevel]
+     */
+    @Query(value = """
+            SELECT bs.rckik_id, r.name, bs.blood_group,
+                   (array_agg(bs.level_percentage ORDER BY bs.id ASC))[1] AS first_level,
+                   (array_agg(bs.level_percentage ORDER BY bs.id DESC))[1] AS last_level,
+                   MIN(bs.level_percentage) AS min_level
+            FROM blood_snapshots bs
+            JOIN rckik r ON r.id = bs.rckik_id
+            WHERE bs.snapshot_date BETWEEN :fromDate AND :toDate
+            AND r.active = true
+            GROUP BY bs.rckik_id, r.name, bs.blood_group
+            ORDER BY bs.rckik_id ASC, bs.blood_group ASC
+            """, nativeQuery = true)
+    List<Object[]> summarizeLevelChanges(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
 }
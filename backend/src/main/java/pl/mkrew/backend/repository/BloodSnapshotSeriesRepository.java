@@ -0,0 +1,57 @@
+package pl.mkrew.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import pl.mkrew.backend.dto.BloodLevelSample;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reads of blood level history for charts
+ * US-008: RCKiK Details with blood level history
+ */
+@Repository
+@RequiredArgsConstructor
+public class BloodSnapshotSeriesRepository {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stream snapshots of a center in a date range, grouped by blood group and chronological within a group
+     * Backward range scan on idx_blood_snapshots_rckik_group_date (hence blood groups in descending order);
+     * rows are fetched in chunks through a cursor when called in a transaction
+     *
+     * @param rckikId  RCKiK ID
+     * @param fromDate From date (inclusive)
+     * @param toDate   To date (inclusive)
+     * @param consumer Receives each snapshot in order
+     */
+    public void streamByRckikId(Long rckikId, LocalDate fromDate, LocalDate toDate, Consumer<BloodLevelSample> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                    SELECT blood_group, snapshot_date, scraped_at, level_percentage
+                    FROM blood_snapshots
+                    WHERE rckik_id = ?
+                    AND snapshot_date BETWEEN ? AND ?
+                    ORDER BY blood_group DESC, snapshot_date ASC, scraped_at ASC
+                    """);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setLong(1, rckikId);
+            statement.setDate(2, Date.valueOf(fromDate));
+            statement.setDate(3, Date.valueOf(toDate));
+            return statement;
+        }, resultSet -> {
+            consumer.accept(new BloodLevelSample(
+                    resultSet.getString("blood_group"),
+                    resultSet.getDate("snapshot_date").toLocalDate(),
+                    resultSet.getTimestamp("scraped_at").toLocalDateTime(),
+                    resultSet.getBigDecimal("level_percentage")));
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package pl.mkrew.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import pl.mkrew.backend.dto.DonationImportRow;
+
+import java.sql.Date;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch inserts of donation history for bulk imports
+ * US-012: Add Donation Entry
+ */
+@Repository
+@RequiredArgsConstructor
+public class DonationBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * IDs of active (not deleted) users by email, in one query
+     *
+     * @param emails Lower-cased emails
+     * @return User ID per email; unknown or deleted users are missing
+     */
+    public Map<String, Long> findActiveUserIdsByEmail(Collection<String> emails) {
+        Map<String, Long> userIds = new HashMap<>();
+        if (emails.isEmpty()) {
+            return userIds;
+        }
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                    "SELECT email, id FROM users WHERE email = ANY(?) AND deleted_at IS NULL");
+            statement.setArray(1, connection.createArrayOf("varchar", emails.toArray()));
+            return statement;
+        }, resultSet -> {
+            userIds.put(resultSet.getString(1), resultSet.getLong(2));
+        });
+        return userIds;
+    }
+
+    /**
+     * Insert donations in one JDBC batch; a row matching an existing non-deleted donation of the
+     * same user, center and date is skipped, so re-running an import does not duplicate data
+     *
+     * @param rows Validated rows
+     * @return Number of inserted rows
+     */
+    public int insert(List<DonationImportRow> rows) {
+        int[][] counts = jdbcTemplate.batchUpdate("""
+                INSERT INTO donations (user_id, rckik_id, donation_date, quantity_ml, donation_type, notes, confirmed)
+                SELECT ?, ?, ?, ?, ?, ?, ?
+                WHERE NOT EXISTS (
+                    SELECT 1 FROM donations
+                    WHERE user_id = ? AND rckik_id = ? AND donation_date = ? AND deleted_at IS NULL
+                )
+                """, rows, rows.size(), (statement, row) -> {
+            Date donationDate = Date.valueOf(row.donationDate());
+            statement.setLong(1, row.userId());
+            statement.setLong(2, row.rckikId());
+            statement.setDate(3, donationDate);
+            statement.setInt(4, row.quantityMl());
+            statement.setString(5, row.donationType());
+            statement.setString(6, row.notes());
+            statement.setBoolean(7, row.confirmed());
+            statement.setLong(8, row.userId());
+            statement.setLong(9, row.rckikId());
+            statement.setDate(10, donationDate);
+        });
+        return BloodSnapshotBatchRepository.sum(counts);
+    }
+}
@@ -82,34 +82,6 @@ public interface DonationRepository extends JpaRepository<Donation, Long> {
      */
     Optional<Donation> findByIdAndUserIdAndDeletedAtIsNull(Long id, Long userId);
 
-    /**
-     * Count total donations for a user (excluding soft-deleted)
-     *
-     * @param userId User ID
-     * @return Number of donations
-     */
-    long countByUserIdAndDeletedAtIsNull(Long userId);
-
-    /**
-     * Calculate total quantity donated by user (excluding soft-deleted)
-     *
-     * @param userId User ID
-     * @return Total quantity in ml
-     */
-    @Query("SELECT COALESCE(SUM(d.quantityMl), 0) FROM Donation d " +
-           "WHERE d.user.id = :userId AND d.deletedAt IS NULL")
-    Long sumQuantityByUserId(@Param("userId") Long userId);
-
-    /**
-     * Find latest donation date for a user (excluding soft-deleted)
-     *
-     * @param userId User ID
-     * @return Latest donation date or null if no donations
-     */
-    @Query("SELECT MAX(d.donationDate) FROM Donation d " +
-           "WHERE d.user.id = :userId AND d.deletedAt IS NULL")
-    LocalDate findLatestDonationDateByUserId(@Param("userId") Long userId);
-
     /**
      * Find all donations for a user (excluding soft-deleted) - for export
      *
@@ -0,0 +1,98 @@
+package pl.mkrew.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based updates of email_logs for provider webhook batches
+ * One UPDATE ... FROM (VALUES ...) per event type instead of one SELECT + UPDATE per external ID
+ * US-022: Email Deliverability Metrics
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmailLogBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Set delivered_at for not yet delivered emails
+     *
+     * @param occurredAtByExternalId Event time per provider message ID
+     * @return Number of updated rows
+     */
+    public int markDelivered(Map<String, LocalDateTime> occurredAtByExternalId) {
+        return updateTimestamp("delivered_at", occurredAtByExternalId);
+    }
+
+    /**
+     * Set opened_at for not yet opened emails
+     *
+     * @param occurredAtByExternalId Event time per provider message ID
+     * @return Number of updated rows
+     */
+    public int markOpened(Map<String, LocalDateTime> occurredAtByExternalId) {
+        return updateTimestamp("opened_at", occurredAtByExternalId);
+    }
+
+    /**
+     * Record bounces; a HARD bounce overrides an earlier SOFT one
+     *
+     * @param occurredAtByExternalId Event time per provider message ID
+     * @param bounceType             HARD or SOFT
+     * @return Recipient emails of the updated rows
+     */
+    public List<String> markBounced(Map<String, LocalDateTime> occurredAtByExternalId, String bounceType) {
+        if (occurredAtByExternalId.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Object> args = new ArrayList<>();
+        args.add(bounceType);
+        String values = values(occurredAtByExternalId, args);
+        args.add(bounceType);
+
+        return jdbcTemplate.queryForList("""
+                UPDATE email_logs el
+                SET bounced_at = v.occurred_at, bounce_type = ?
+                FROM (VALUES %s) AS v(external_id, occurred_at)
+                WHERE el.external_id = v.external_id
+                AND (el.bounced_at IS NULL OR (el.bounce_type = 'SOFT' AND ? = 'HARD'))
+                RETURNING el.recipient_email
+                """.formatted(values), String.class, args.toArray());
+    }
+
+    private int updateTimestamp(String column, Map<String, LocalDateTime> occurredAtByExternalId) {
+        if (occurredAtByExternalId.isEmpty()) {
+            return 0;
+        }
+
+        List<Object> args = new ArrayList<>();
+        String values = values(occurredAtByExternalId, args);
+
+        return jdbcTemplate.update("""
+                UPDATE email_logs el
+                SET %1$s = v.occurred_at
+                FROM (VALUES %2$s) AS v(external_id, occurred_at)
+                WHERE el.external_id = v.external_id
+                AND el.%1$s IS NULL
+                """.formatted(column, values), args.toArray());
+    }
+
+    private static String values(Map<String, LocalDateTime> occurredAtByExternalId, List<Object> args) {
+        StringBuilder values = new StringBuilder();
+        occurredAtByExternalId.forEach((externalId, occurredAt) -> {
+            values.append(values.isEmpty() ? "" : ", ").append("(?, CAST(? AS timestamp))");
+            args.add(externalId);
+            args.add(Timestamp.valueOf(occurredAt));
+        });
+        return values.toString();
+    }
+}
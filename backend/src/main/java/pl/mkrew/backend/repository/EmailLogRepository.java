@@ -146,90 +146,31 @@ public interface EmailLogRepository extends JpaRepository<EmailLog, Long> {
     // ==================== US-022: Email Deliverability Metrics ====================
 
     /**
-     * Count total emails sent in date range with optional filters
+     * Deliverability counters per notification type in a single scan (conditional aggregation)
+     * Served by idx_email_logs_sent_at_type
      *
-     * @param fromDate         From date
-     * @param toDate           To date
-     * @param notificationType Notification type (optional)
-     * @param rckikId          RCKiK ID (optional)
-     * @return Count of sent emails
-     */
-    @Query("""
-            SELECT COUNT(el) FROM EmailLog el
-            WHERE el.sentAt BETWEEN :fromDate AND :toDate
-            AND (:notificationType IS NULL OR el.notificationType = :notificationType)
-            AND (:rckikId IS NULL OR el.rckik.id = :rckikId)
-            """)
-    long countTotalSent(
-            @Param("fromDate") LocalDateTime fromDate,
-            @Param("toDate") LocalDateTime toDate,
-            @Param("notificationType") String notificationType,
-            @Param("rckikId") Long rckikId
-    );
-
-    /**
-     * Count total emails delivered in date range with optional filters
-     *
-     * @param fromDate         From date
-     * @param toDate           To date
+     * @param fromDate         From date (inclusive)
+     * @param toDate           To date (exclusive)
      * @param notificationType Notification type (optional)
      * @param rckikId          RCKiK ID (optional)
-     * @return Count of delivered emails
+     * @return List of Object arrays [String notificationType, Long sent, Long delivered, Long bounced,
+     *         Long opened, Long hardBounces, Long softBounces]
      */
     @Query("""
-            SELECT COUNT(el) FROM EmailLog el
-            WHERE el.sentAt BETWEEN :fromDate AND :toDate
-            AND el.deliveredAt IS NOT NULL
-            AND (:notificationType IS NULL OR el.notificationType = :notificationType)
-            AND (:rckikId IS NULL OR el.rckik.id = :rckikId)
-            """)
-    long countTotalDelivered(
-            @Param("fromDate") LocalDateTime fromDate,
-            @Param("toDate") LocalDateTime toDate,
-            @Param("notificationType") String notificationType,
-            @Param("rckikId") Long rckikId
-    );
-
-    /**
-     * Count total emails bounced in date range with optional filters
-     *
-     * @param fromDate         From date
-     * @param toDate           To date
-     * @param notificationType Notification type (optional)
-     * @param rckikId          RCKiK ID (optional)
-     * @return Count of bounced emails
-     */
-    @Query("""
-            SELECT COUNT(el) FROM EmailLog el
-            WHERE el.sentAt BETWEEN :fromDate AND :toDate
-            AND el.bouncedAt IS NOT NULL
-            AND (:notificationType IS NULL OR el.notificationType = :notificationType)
-            AND (:rckikId IS NULL OR el.rckik.id = :rckikId)
-            """)
-    long countTotalBounced(
-            @Param("fromDate") LocalDateTime fromDate,
-            @Param("toDate") LocalDateTime toDate,
-            @Param("notificationType") String notificationType,
-            @Param("rckikId") Long rckikId
-    );
-
-    /**
-     * Count total emails opened in date range with optional filters
-     *
-     * @param fromDate         From date
-     * @param toDate           To date
-     * @param notificationType Notification type (optional)
-     * @param rckikId          RCKiK ID (optional)
-     * @return Count of opened emails
-     */
-    @Query("""
-            SELECT COUNT(el) FROM EmailLog el
-            WHERE el.sentAt BETWEEN :fromDate AND :toDate
-            AND el.openedAt IS NOT NULL
+            SELECT el.notificationType,
+                COUNT(el),
+                COUNT(el) FILTER (WHERE el.deliveredAt IS NOT NULL),
+                COUNT(el) FILTER (WHERE el.bouncedAt IS NOT NULL),
+                COUNT(el) FILTER (WHERE el.openedAt IS NOT NULL),
+                COUNT(el) FILTER (WHERE el.bouncedAt IS NOT NULL AND el.bounceType = 'HARD'),
+                COUNT(el) FILTER (WHERE el.bouncedAt IS NOT NULL AND el.bounceType = 'SOFT')
+            FROM EmailLog el
+            WHERE el.sentAt >= :fromDate AND el.sentAt < :toDate
             AND (:notificationType IS NULL OR el.notificationType = :notificationType)
             AND (:rckikId IS NULL OR el.rckik.id = :rckikId)
+            GROUP BY el.notificationType
             """)
-    long countTotalOpened(
+    List<Object[]> aggregateMetricsByType(
             @Param("fromDate") LocalDateTime fromDate,
             @Param("toDate") LocalDateTime toDate,
             @Param("notificationType") String notificationType,
@@ -237,70 +178,15 @@ public interface EmailLogRepository extends JpaRepository<EmailLog, Long> {
     );
 
     /**
-     * Count hard bounces in date range with optional filters
+     * Recipients with at least one hard bounce (for the send suppression list)
+     * Served by the partial index on bounced_at
      *
-     * @param fromDate         From date
-     * @param toDate           To date
-     * @param notificationType Notification type (optional)
-     * @param rckikId          RCKiK ID (optional)
-     * @return Count of hard bounces
+     * @return Lower-cased recipient emails
      */
     @Query("""
-            SELECT COUNT(el) FROM EmailLog el
-            WHERE el.sentAt BETWEEN :fromDate AND :toDate
-            AND el.bouncedAt IS NOT NULL
+            SELECT DISTINCT LOWER(el.recipientEmail) FROM EmailLog el
+            WHERE el.bouncedAt IS NOT NULL
             AND el.bounceType = 'HARD'
-            AND (:notificationType IS NULL OR el.notificationType = :notificationType)
-            AND (:rckikId IS NULL OR el.rckik.id = :rckikId)
-            """)
-    long countHardBounces(
-            @Param("fromDate") LocalDateTime fromDate,
-            @Param("toDate") LocalDateTime toDate,
-            @Param("notificationType") String notificationType,
-            @Param("rckikId") Long rckikId
-    );
-
-    /**
-     * Count soft bounces in date range with optional filters
-     *
-     * @param fromDate         From date
-     * @param toDate           To date
-     * @param notificationType Notification type (optional)
-     * @param rckikId          RCKiK ID (optional)
-     * @return Count of soft bounces
-     */
-    @Query("""
-            SELECT COUNT(el) FROM EmailLog el
-            WHERE el.sentAt BETWEEN :fromDate AND :toDate
-            AND el.bouncedAt IS NOT NULL
-            AND el.bounceType = 'SOFT'
-            AND (:notificationType IS NULL OR el.notificationType = :notificationType)
-            AND (:rckikId IS NULL OR el.rckik.id = :rckikId)
             """)
-    long countSoftBounces(
-            @Param("fromDate") LocalDateTime fromDate,
-            @Param("toDate") LocalDateTime toDate,
-            @Param("notificationType") String notificationType,
-            @Param("rckikId") Long rckikId
-    );
-
-    /**
-     * Get list of distinct notification types in date range
-     *
-     * @param fromDate From date
-     * @param toDate   To date
-     * @param rckikId  RCKiK ID (optional)
-     * @return List of notification types
-     */
-    @Query("""
-            SELECT DISTINCT el.notificationType FROM EmailLog el
-            WHERE el.sentAt BETWEEN :fromDate AND :toDate
-            AND (:rckikId IS NULL OR el.rckik.id = :rckikId)
-            ORDER BY el.notificationType
-            """)
-    List<String> findDistinctNotificationTypes(
-            @Param("fromDate") LocalDateTime fromDate,
-            @Param("toDate") LocalDateTime toDate,
-            @Param("rckikId") Long rckikId
-    );
+    List<String> findHardBouncedRecipients();
 }
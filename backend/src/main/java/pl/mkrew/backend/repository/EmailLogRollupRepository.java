@@ -0,0 +1,111 @@
+package pl.mkrew.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hourly email deliverability rollup (email_log_hourly_stats)
+ * US-022: Email Deliverability Metrics
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmailLogRollupRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Start of the range that still needs a rebuild: the hour after the newest rollup row,
+     * or the first sent email when the rollup is empty (initial backfill)
+     *
+     * @return Start hour, null when there are no emails at all
+     */
+    public LocalDateTime findRebuildStart() {
+        Timestamp start = jdbcTemplate.queryForObject("""
+                SELECT COALESCE(
+                    (SELECT MAX(bucket_hour) + interval '1 hour' FROM email_log_hourly_stats),
+                    (SELECT date_trunc('hour', MIN(sent_at)) FROM email_logs))
+                """, Timestamp.class);
+        return start != null ? start.toLocalDateTime() : null;
+    }
+
+    /**
+     * End (exclusive) of the range covered by the rollup: the day after the newest rollup row
+     * Rebuilds always end at a day boundary, so this is exact unless the last rebuilt day had no
+     * emails - then it is earlier and the missing range is read from email_logs
+     *
+     * @return Start of the first day not in the rollup, null when the rollup is empty
+     */
+    public LocalDateTime findRolledUpThrough() {
+        Timestamp through = jdbcTemplate.queryForObject("""
+                SELECT date_trunc('day', MAX(bucket_hour)) + interval '1 day' FROM email_log_hourly_stats
+                """, Timestamp.class);
+        return through != null ? through.toLocalDateTime() : null;
+    }
+
+    /**
+     * Rebuild rollup rows for [fromHour, toHour) from email_logs
+     * Serialized across instances with a transaction-scoped advisory lock; must run in a transaction
+     *
+     * @param fromHour From hour (inclusive)
+     * @param toHour   To hour (exclusive)
+     * @return Number of rollup rows written
+     */
+    public int rebuild(LocalDateTime fromHour, LocalDateTime toHour) {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('email_log_hourly_stats'))");
+
+        jdbcTemplate.update("""
+                DELETE FROM email_log_hourly_stats
+                WHERE bucket_hour >= ? AND bucket_hour < ?
+                """, Timestamp.valueOf(fromHour), Timestamp.valueOf(toHour));
+
+        return jdbcTemplate.update("""
+                INSERT INTO email_log_hourly_stats (bucket_hour, notification_type, rckik_id, sent_count,
+                    delivered_count, bounced_count, opened_count, hard_bounce_count, soft_bounce_count)
+                SELECT date_trunc('hour', sent_at), notification_type, rckik_id,
+                    COUNT(*),
+                    COUNT(*) FILTER (WHERE delivered_at IS NOT NULL),
+                    COUNT(*) FILTER (WHERE bounced_at IS NOT NULL),
+                    COUNT(*) FILTER (WHERE opened_at IS NOT NULL),
+                    COUNT(*) FILTER (WHERE bounced_at IS NOT NULL AND bounce_type = 'HARD'),
+                    COUNT(*) FILTER (WHERE bounced_at IS NOT NULL AND bounce_type = 'SOFT')
+                FROM email_logs
+                WHERE sent_at >= ? AND sent_at < ?
+                GROUP BY 1, 2, 3
+                """, Timestamp.valueOf(fromHour), Timestamp.valueOf(toHour));
+    }
+
+    /**
+     * Deliverability counters per notification type from the rollup
+     * Same row shape as {@link EmailLogRepository#aggregateMetricsByType}
+     *
+     * @param fromDate         From hour (inclusive)
+     * @param toDate           To hour (exclusive)
+     * @param notificationType Notification type (optional)
+     * @param rckikId          RCKiK ID (optional)
+     * @return List of Object arrays [String notificationType, Long sent, Long delivered, Long bounced,
+     *         Long opened, Long hardBounces, Long softBounces]
+     */
+    public List<Object[]> aggregateMetricsByType(LocalDateTime fromDate, LocalDateTime toDate,
+                                                 String notificationType, Long rckikId) {
+        return jdbcTemplate.query("""
+                SELECT notification_type, SUM(sent_count), SUM(delivered_count), SUM(bounced_count),
+                    SUM(opened_count), SUM(hard_bounce_count), SUM(soft_bounce_count)
+                FROM email_log_hourly_stats
+                WHERE bucket_hour >= ? AND bucket_hour < ?
+                AND (CAST(? AS VARCHAR) IS NULL OR notification_type = ?)
+                AND (CAST(? AS BIGINT) IS NULL OR rckik_id = ?)
+                GROUP BY notification_type
+                """,
+                (rs, rowNum) -> new Object[]{
+                        rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                        rs.getLong(5), rs.getLong(6), rs.getLong(7)
+                },
+                Timestamp.valueOf(fromDate), Timestamp.valueOf(toDate),
+                notificationType, notificationType, rckikId, rckikId);
+    }
+}
@@ -0,0 +1,103 @@
+package pl.mkrew.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintained unread counters of in-app notifications (in_app_notification_counters)
+ * Increments happen together with receipt inserts ({@link InAppNotificationReceiptBatchRepository})
+ * US-011: In-App Notifications
+ */
+@Repository
+@RequiredArgsConstructor
+public class InAppNotificationCounterRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Unread notifications of a user
+     *
+     * @param userId User ID
+     * @return Unread count (0 if the user never received a notification)
+     */
+    public long findUnreadCount(Long userId) {
+        List<Long> counts = jdbcTemplate.queryForList(
+                "SELECT unread_count FROM in_app_notification_counters WHERE user_id = ?", Long.class, userId);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+
+    /**
+     * Unread notifications of many users in one query (live updates)
+     *
+     * @param userIds User IDs
+     * @return Unread count per user; users without a counter are missing (0)
+     */
+    public Map<Long, Long> findUnreadCounts(Collection<Long> userIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return counts;
+        }
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                    "SELECT user_id, unread_count FROM in_app_notification_counters WHERE user_id = ANY(?)");
+            statement.setArray(1, connection.createArrayOf("bigint", userIds.toArray()));
+            return statement;
+        }, resultSet -> {
+            counts.put(resultSet.getLong(1), resultSet.getLong(2));
+        });
+        return counts;
+    }
+
+    /**
+     * Subtract notifications that were just marked as read
+     *
+     * @param userId User ID
+     * @param read   Number of receipts changed from unread to read
+     */
+    public void decrement(Long userId, int read) {
+        if (read <= 0) {
+            return;
+        }
+        jdbcTemplate.update("""
+                UPDATE in_app_notification_counters
+                SET unread_count = GREATEST(unread_count - ?, 0), updated_at = now()
+                WHERE user_id = ?
+                """, read, userId);
+    }
+
+    /**
+     * Delete receipts of expired notifications and subtract the unread ones from the counters
+     *
+     * @param now Expiry reference time
+     * @return Users whose counter changed
+     */
+    public List<Long> expireReceipts(LocalDateTime now) {
+        return jdbcTemplate.queryForList("""
+                WITH expired AS (
+                    DELETE FROM in_app_notification_receipts r
+                    USING in_app_notifications n
+                    WHERE n.id = r.notification_id
+                    AND n.expires_at < ?
+                    RETURNING r.user_id, r.read_at
+                ), unread AS (
+                    SELECT user_id, COUNT(*) AS expired_unread
+                    FROM expired
+                    WHERE read_at IS NULL
+                    GROUP BY user_id
+                )
+                UPDATE in_app_notification_counters c
+                SET unread_count = GREATEST(c.unread_count - unread.expired_unread, 0), updated_at = now()
+                FROM unread
+                WHERE c.user_id = unread.user_id
+                RETURNING c.user_id
+                """, Long.class, Timestamp.valueOf(now));
+    }
+}
@@ -0,0 +1,59 @@
+package pl.mkrew.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Set-based insert of in_app_notification_receipts for broadcast notifications
+ * One INSERT ... SELECT unnest(array) per notification instead of one row insert per recipient,
+ * with the recipients' unread counters incremented in the same statement
+ * US-011: In-App Notifications
+ */
+@Repository
+@RequiredArgsConstructor
+public class InAppNotificationReceiptBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Deliver a notification to users and increment their unread counters in the same statement
+     * Users that already have the notification are skipped (and not counted)
+     *
+     * @param notificationId Notification ID
+     * @param userIds        Recipient user IDs
+     * @param createdAt      Delivery time (inbox ordering)
+     * @return Number of inserted receipts
+     */
+    public int insertReceipts(Long notificationId, Collection<Long> userIds, LocalDateTime createdAt) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        // Sorted so concurrent broadcasts lock counter rows in the same order
+        Long[] sortedUserIds = userIds.stream().distinct().sorted().toArray(Long[]::new);
+
+        return jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement("""
+                    WITH inserted AS (
+                        INSERT INTO in_app_notification_receipts (user_id, notification_id, created_at)
+                        SELECT u.user_id, ?, ? FROM unnest(?) AS u(user_id)
+                        ON CONFLICT (user_id, notification_id) DO NOTHING
+                        RETURNING user_id
+                    )
+                    INSERT INTO in_app_notification_counters (user_id, unread_count, updated_at)
+                    SELECT user_id, 1, now() FROM inserted ORDER BY user_id
+                    ON CONFLICT (user_id) DO UPDATE
+                    SET unread_count = in_app_notification_counters.unread_count + 1, updated_at = now()
+                    """);
+            statement.setLong(1, notificationId);
+            statement.setTimestamp(2, Timestamp.valueOf(createdAt));
+            statement.setArray(3, connection.createArrayOf("bigint", sortedUserIds));
+            return statement;
+        });
+    }
+}
@@ -0,0 +1,113 @@
+package pl.mkrew.backend.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import pl.mkrew.backend.entity.InAppNotificationReceipt;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Repository for per-user in-app notification receipts
+ * US-011: In-App Notifications
+ */
+@Repository
+public interface InAppNotificationReceiptRepository
+        extends JpaRepository<InAppNotificationReceipt, InAppNotificationReceipt.ReceiptId> {
+
+    /**
+     * Find all notifications of a user (newest first), with content fetched, paginated
+     *
+     * @param userId   User ID
+     * @param pageable Pagination
+     * @return Page of receipts
+     */
+    @Query(value = """
+            SELECT r FROM InAppNotificationReceipt r
+            JOIN FETCH r.notification n
+            LEFT JOIN FETCH n.rckik
+            WHERE r.id.userId = :userId
+            ORDER BY r.createdAt DESC
+            """,
+            countQuery = "SELECT COUNT(r) FROM InAppNotificationReceipt r WHERE r.id.userId = :userId")
+    Page<InAppNotificationReceipt> findByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Find unread notifications of a user (newest first), with content fetched, paginated
+     *
+     * @param userId   User ID
+     * @param pageable Pagination
+     * @return Page of unread receipts
+     */
+    @Query(value = """
+            SELECT r FROM InAppNotificationReceipt r
+            JOIN FETCH r.notification n
+            LEFT JOIN FETCH n.rckik
+            WHERE r.id.userId = :userId AND r.readAt IS NULL
+            ORDER BY r.createdAt DESC
+            """,
+            countQuery = "SELECT COUNT(r) FROM InAppNotificationReceipt r WHERE r.id.userId = :userId AND r.readAt IS NULL")
+    Page<InAppNotificationReceipt> findUnreadByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Count unread notifications for a user
+     *
+     * @param userId User ID
+     * @return Count of unread notifications
+     */
+    @Query("SELECT COUNT(r) FROM InAppNotificationReceipt r WHERE r.id.userId = :userId AND r.readAt IS NULL")
+    long countUnreadByUserId(@Param("userId") Long userId);
+
+    /**
+     * Find the receipt of a notification for a user (ownership validation), with content fetched
+     *
+     * @param notificationId Notification ID
+     * @param userId         User ID
+     * @return Optional receipt
+     */
+    @Query("""
+            SELECT r FROM InAppNotificationReceipt r
+            JOIN FETCH r.notification n
+            LEFT JOIN FETCH n.rckik
+            WHERE r.id.notificationId = :notificationId AND r.id.userId = :userId
+            """)
+    Optional<InAppNotificationReceipt> findByNotificationIdAndUserId(@Param("notificationId") Long notificationId,
+                                                                     @Param("userId") Long userId);
+
+    /**
+     * Mark all unread notifications of a user as read in one statement
+     *
+     * @param userId User ID
+     * @param readAt Read timestamp
+     * @return Number of receipts changed from unread to read
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InAppNotificationReceipt r SET r.readAt = :readAt WHERE r.id.userId = :userId AND r.readAt IS NULL")
+    int markAllReadByUserId(@Param("userId") Long userId, @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * Mark the given unread notifications of a user as read in one statement
+     * IDs of other users' notifications are ignored
+     *
+     * @param userId          User ID
+     * @param notificationIds Notification IDs
+     * @param readAt          Read timestamp
+     * @return Number of receipts changed from unread to read
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE InAppNotificationReceipt r SET r.readAt = :readAt
+            WHERE r.id.userId = :userId
+            AND r.id.notificationId IN :notificationIds
+            AND r.readAt IS NULL
+            """)
+    int markReadByUserIdAndNotificationIds(@Param("userId") Long userId,
+                                           @Param("notificationIds") Collection<Long> notificationIds,
+                                           @Param("readAt") LocalDateTime readAt);
+}
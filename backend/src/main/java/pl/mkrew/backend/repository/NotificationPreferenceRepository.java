@@ -1,9 +1,16 @@
 package pl.mkrew.backend.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import pl.mkrew.backend.entity.NotificationPreference;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,6 +24,14 @@ public interface NotificationPreferenceRepository extends JpaRepository<Notifica
      */
     Optional<NotificationPreference> findByUserId(Long userId);
 
+    /**
+     * Find notification preferences of many users in one query (notification fan-out)
+     *
+     * @param userIds User IDs
+     * @return Preferences of the users that have them
+     */
+    List<NotificationPreference> findByUserIdIn(Collection<Long> userIds);
+
     /**
      * Check if notification preferences exist for user
      *
@@ -24,4 +39,72 @@ public interface NotificationPreferenceRepository extends JpaRepository<Notifica
      * @return true if exists, false otherwise
      */
     boolean existsByUserId(Long userId);
+
+    /**
+     * Next keyset chunk of users due a DAILY digest, ordered by user ID
+     * Users already served today (last_daily_digest_sent_at >= periodStart) are skipped
+     *
+     * @param afterUserId Last user ID of the previous chunk (0 for the first chunk)
+     * @param periodStart Start of the current digest period
+     * @param pageable    Chunk size (only the limit is used)
+     * @return Preferences with users fetched
+     */
+    @Query("""
+            SELECT np FROM NotificationPreference np
+            JOIN FETCH np.user u
+            WHERE u.id > :afterUserId
+            AND u.deletedAt IS NULL
+            AND ((np.emailEnabled = true AND np.emailFrequency = 'DAILY')
+                 OR (np.inAppEnabled = true AND np.inAppFrequency = 'DAILY'))
+            AND (np.lastDailyDigestSentAt IS NULL OR np.lastDailyDigestSentAt < :periodStart)
+            ORDER BY u.id ASC
+            """)
+    List<NotificationPreference> findDailyDigestChunk(@Param("afterUserId") Long afterUserId,
+                                                      @Param("periodStart") LocalDateTime periodStart,
+                                                      Pageable pageable);
+
+    /**
+     * Next keyset chunk of users due a WEEKLY digest, ordered by user ID
+     * Users already served this week (last_weekly_digest_sent_at >= periodStart) are skipped
+     *
+     * @param afterUserId Last user ID of the previous chunk (0 for the first chunk)
+     * @param periodStart Start of the current digest period
+     * @param pageable    Chunk size (only the limit is used)
+     * @return Preferences with users fetched
+     */
+    @Query("""
+            SELECT np FROM NotificationPreference np
+            JOIN FETCH np.user u
+            WHERE u.id > :afterUserId
+            AND u.deletedAt IS NULL
+            AND ((np.emailEnabled = true AND np.emailFrequency = 'WEEKLY')
+                 OR (np.inAppEnabled = true AND np.inAppFrequency = 'WEEKLY'))
+            AND (np.lastWeeklyDigestSentAt IS NULL OR np.lastWeeklyDigestSentAt < :periodStart)
+            ORDER BY u.id ASC
+            """)
+    List<NotificationPreference> findWeeklyDigestChunk(@Param("afterUserId") Long afterUserId,
+                                                       @Param("periodStart") LocalDateTime periodStart,
+                                                       Pageable pageable);
+
+    /**
+     * Mark a chunk of users as served for the current DAILY digest period
+     *
+     * @param ids    Notification preference IDs
+     * @param sentAt Digest time
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE NotificationPreference np SET np.lastDailyDigestSentAt = :sentAt WHERE np.id IN :ids")
+    int markDailyDigestSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Mark a chunk of users as served for the current WEEKLY digest period
+     *
+     * @param ids    Notification preference IDs
+     * @param sentAt Digest time
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE NotificationPreference np SET np.lastWeeklyDigestSentAt = :sentAt WHERE np.id IN :ids")
+    int markWeeklyDigestSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
 }
@@ -28,4 +28,22 @@ public interface ScraperConfigRepository extends JpaRepository<ScraperConfig, Lo
      */
     @Query("SELECT sc FROM ScraperConfig sc WHERE sc.active = true")
     List<ScraperConfig> findAllActive();
+
+    /**
+     * Find all active scraper configs with their RCKiK center fetched eagerly
+     * Used by the scraping engine, which works on detached configs outside a transaction
+     *
+     * @return List of active scraper configs
+     */
+    @Query("SELECT sc FROM ScraperConfig sc JOIN FETCH sc.rckik WHERE sc.active = true")
+    List<ScraperConfig> findAllActiveWithRckik();
+
+    /**
+     * Find active scraper config for RCKiK with the center fetched eagerly
+     *
+     * @param rckikId RCKiK ID
+     * @return Optional<ScraperConfig>
+     */
+    @Query("SELECT sc FROM ScraperConfig sc JOIN FETCH sc.rckik WHERE sc.rckik.id = :rckikId AND sc.active = true")
+    Optional<ScraperConfig> findActiveWithRckikByRckikId(@Param("rckikId") Long rckikId);
 }
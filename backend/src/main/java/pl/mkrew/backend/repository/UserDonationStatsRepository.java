@@ -0,0 +1,200 @@
+package pl.mkrew.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import pl.mkrew.backend.dto.DonationStatisticsDto;
+
+import java.sql.Date;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintained per-user donation aggregates (user_donation_stats)
+ * Recomputed inside the donation write transaction ({@link #recompute(Long)}), repaired by a nightly job
+ * and rebuilt in bulk ({@link #rebuildAll()}) after data was loaded outside the service
+ * US-012: View Donation History
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserDonationStatsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Statistics of a user
+     *
+     * @param userId User ID
+     * @return Statistics (zeros and null date if the user never had a donation)
+     */
+    public DonationStatisticsDto findByUserId(Long userId) {
+        List<DonationStatisticsDto> stats = jdbcTemplate.query("""
+                SELECT total_donations, total_quantity_ml, last_donation_date
+                FROM user_donation_stats
+                WHERE user_id = ?
+                """, (resultSet, rowNum) -> {
+            Date lastDonationDate = resultSet.getDate(3);
+            return DonationStatisticsDto.builder()
+                    .totalDonations(resultSet.getLong(1))
+                    .totalQuantityMl(resultSet.getLong(2))
+                    .lastDonationDate(lastDonationDate != null ? lastDonationDate.toLocalDate() : null)
+                    .build();
+        }, userId);
+
+        return stats.isEmpty()
+                ? DonationStatisticsDto.builder().totalDonations(0L).totalQuantityMl(0L).build()
+                : stats.get(0);
+    }
+
+    /**
+     * Recompute a user's statistics from their non-deleted donations
+     * Must run in the transaction that changed the donations, after the change is flushed.
+     * The row is locked first, so concurrent writers of the same user serialize and the
+     * aggregate (a new statement, hence a new snapshot) sees every committed change.
+     *
+     * @param userId User ID
+     */
+    public void recompute(Long userId) {
+        jdbcTemplate.update("""
+                INSERT INTO user_donation_stats (user_id) VALUES (?)
+                ON CONFLICT (user_id) DO UPDATE SET updated_at = now()
+                """, userId);
+        jdbcTemplate.update("""
+                UPDATE user_donation_stats s
+                SET total_donations = agg.total_donations,
+                    total_quantity_ml = agg.total_quantity_ml,
+                    last_donation_date = agg.last_donation_date,
+                    updated_at = now()
+                FROM (
+                    SELECT COUNT(*) AS total_donations,
+                           COALESCE(SUM(quantity_ml), 0) AS total_quantity_ml,
+                           MAX(donation_date) AS last_donation_date
+                    FROM donations
+                    WHERE user_id = ?
+                    AND deleted_at IS NULL
+                ) agg
+                WHERE s.user_id = ?
+                """, userId, userId);
+    }
+
+    /**
+     * Recompute statistics of many users at once (bulk imports), same locking as {@link #recompute(Long)}
+     * Rows are locked in user ID order so concurrent batches cannot deadlock
+     *
+     * @param userIds User IDs
+     */
+    public void recompute(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Long[] sortedIds = userIds.stream().sorted().distinct().toArray(Long[]::new);
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement("""
+                    INSERT INTO user_donation_stats (user_id)
+                    SELECT id FROM unnest(?::bigint[]) AS ids(id) ORDER BY id
+                    ON CONFLICT (user_id) DO UPDATE SET updated_at = now()
+                    """);
+            statement.setArray(1, connection.createArrayOf("bigint", sortedIds));
+            return statement;
+        });
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement("""
+                    UPDATE user_donation_stats s
+                    SET total_donations = COALESCE(agg.total_donations, 0),
+                        total_quantity_ml = COALESCE(agg.total_quantity_ml, 0),
+                        last_donation_date = agg.last_donation_date,
+                        updated_at = now()
+                    FROM unnest(?::bigint[]) AS ids(id)
+                    LEFT JOIN (
+                        SELECT user_id, COUNT(*) AS total_donations, SUM(quantity_ml) AS total_quantity_ml,
+                               MAX(donation_date) AS last_donation_date
+                        FROM donations
+                        WHERE user_id = ANY(?::bigint[])
+                        AND deleted_at IS NULL
+                        GROUP BY user_id
+                    ) agg ON agg.user_id = ids.id
+                    WHERE s.user_id = ids.id
+                    """);
+            var ids = connection.createArrayOf("bigint", sortedIds);
+            statement.setArray(1, ids);
+            statement.setArray(2, ids);
+            return statement;
+        });
+    }
+
+    /**
+     * Rebuild the statistics of every user from the donations in two set-based statements
+     * (restores, SQL migrations, direct loads). Rows are written in user ID order, like
+     * {@link #recompute(Collection)}, so concurrent donation writes cannot deadlock with it.
+     *
+     * @return Number of rows written
+     */
+    public int rebuildAll() {
+        int upserted = jdbcTemplate.update("""
+                INSERT INTO user_donation_stats (user_id, total_donations, total_quantity_ml, last_donation_date)
+                SELECT user_id, COUNT(*), SUM(quantity_ml), MAX(donation_date)
+                FROM donations
+                WHERE deleted_at IS NULL
+                GROUP BY user_id
+                ORDER BY user_id
+                ON CONFLICT (user_id) DO UPDATE SET
+                    total_donations = EXCLUDED.total_donations,
+                    total_quantity_ml = EXCLUDED.total_quantity_ml,
+                    last_donation_date = EXCLUDED.last_donation_date,
+                    updated_at = now()
+                """);
+        int cleared = jdbcTemplate.update("""
+                UPDATE user_donation_stats s
+                SET total_donations = 0,
+                    total_quantity_ml = 0,
+                    last_donation_date = NULL,
+                    updated_at = now()
+                WHERE (s.total_donations <> 0 OR s.total_quantity_ml <> 0 OR s.last_donation_date IS NOT NULL)
+                AND NOT EXISTS (
+                    SELECT 1 FROM donations d
+                    WHERE d.user_id = s.user_id
+                    AND d.deleted_at IS NULL
+                )
+                """);
+        return upserted + cleared;
+    }
+
+    /**
+     * Users whose stored statistics differ from their donations (missing, stale or orphaned rows)
+     *
+     * @return User IDs to recompute
+     */
+    public List<Long> findDriftedUserIds() {
+        return jdbcTemplate.queryForList("""
+                WITH actual AS (
+                    SELECT user_id, COUNT(*) AS total_donations, SUM(quantity_ml) AS total_quantity_ml,
+                           MAX(donation_date) AS last_donation_date
+                    FROM donations
+                    WHERE deleted_at IS NULL
+                    GROUP BY user_id
+                )
+                SELECT COALESCE(a.user_id, s.user_id)
+                FROM actual a
+                FULL OUTER JOIN user_donation_stats s ON s.user_id = a.user_id
+                WHERE COALESCE(a.total_donations, 0) <> COALESCE(s.total_donations, 0)
+                OR COALESCE(a.total_quantity_ml, 0) <> COALESCE(s.total_quantity_ml, 0)
+                OR a.last_donation_date IS DISTINCT FROM s.last_donation_date
+                """, Long.class);
+    }
+
+    /**
+     * US-026: Count non-deleted users with at least one donation - for anonymized reports
+     *
+     * @return Number of active donors
+     */
+    public long countActiveDonors() {
+        Long count = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*)
+                FROM user_donation_stats s
+                JOIN users u ON u.id = s.user_id
+                WHERE s.total_donations > 0
+                AND u.deleted_at IS NULL
+                """, Long.class);
+        return count != null ? count : 0;
+    }
+}
@@ -1,9 +1,12 @@
 package pl.mkrew.backend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import pl.mkrew.backend.entity.UserFavoriteRckik;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -61,4 +64,51 @@ public interface UserFavoriteRckikRepository extends JpaRepository<UserFavoriteR
      * @return List of favorite entries
      */
     List<UserFavoriteRckik> findByRckikId(Long rckikId);
+
+    /**
+     * Favorites of users who receive immediate critical alerts (email or in-app), for the alert recipient index
+     * US-010: Email Notifications - rows are [rckikId, userId, userBloodGroup]
+     *
+     * @return List of [rckikId, userId, bloodGroup]
+     */
+    @Query("""
+            SELECT f.rckik.id, u.id, u.bloodGroup FROM UserFavoriteRckik f
+            JOIN f.user u
+            JOIN NotificationPreference np ON np.user = u
+            WHERE u.deletedAt IS NULL
+            AND ((np.emailEnabled = true AND np.emailFrequency IN ('ONLY_CRITICAL', 'IMMEDIATE'))
+                 OR (np.inAppEnabled = true AND np.inAppFrequency IN ('ONLY_CRITICAL', 'IMMEDIATE')))
+            """)
+    List<Object[]> findAlertRecipientRows();
+
+    /**
+     * Same as {@link #findAlertRecipientRows()} for a single user (incremental index update)
+     *
+     * @param userId User ID
+     * @return List of [rckikId, userId, bloodGroup]
+     */
+    @Query("""
+            SELECT f.rckik.id, u.id, u.bloodGroup FROM UserFavoriteRckik f
+            JOIN f.user u
+            JOIN NotificationPreference np ON np.user = u
+            WHERE u.id = :userId
+            AND u.deletedAt IS NULL
+            AND ((np.emailEnabled = true AND np.emailFrequency IN ('ONLY_CRITICAL', 'IMMEDIATE'))
+                 OR (np.inAppEnabled = true AND np.inAppFrequency IN ('ONLY_CRITICAL', 'IMMEDIATE')))
+            """)
+    List<Object[]> findAlertRecipientRowsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Find favorites of several users with centers fetched in one query
+     * US-010: Email Notifications - digest fan-out per keyset chunk of users
+     *
+     * @param userIds User IDs
+     * @return List of favorite entries
+     */
+    @Query("""
+            SELECT f FROM UserFavoriteRckik f
+            JOIN FETCH f.rckik
+            WHERE f.user.id IN :userIds
+            """)
+    List<UserFavoriteRckik> findWithRckikByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
@@ -1,12 +1,19 @@
 package pl.mkrew.backend.repository;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import pl.mkrew.backend.entity.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -15,6 +22,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
+    /**
+     * US-001: Stream all registered emails, lower-cased (including soft-deleted users, whose emails stay taken)
+     * Must be consumed inside a transaction; rows are fetched in batches
+     *
+     * @return Stream of emails
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT LOWER(u.email) FROM User u")
+    Stream<String> streamAllEmails();
+
     Optional<User> findByIdAndDeletedAtIsNull(Long id);
 
     Optional<User> findByEmailAndDeletedAtIsNull(String email);
@@ -52,16 +69,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
            "ORDER BY u.bloodGroup")
     List<Object[]> countUsersByBloodGroup();
 
-    /**
-     * US-026: Count users with at least one donation (excluding soft-deleted) - for anonymized reports
-     *
-     * @return Number of active donors
-     */
-    @Query("SELECT COUNT(DISTINCT d.user.id) FROM Donation d " +
-           "WHERE d.user.deletedAt IS NULL " +
-           "AND d.deletedAt IS NULL")
-    Long countActiveDonors();
-
     /**
      * US-026: Count users with email notifications enabled (excluding soft-deleted) - for anonymized reports
      *
@@ -93,4 +100,44 @@ public interface UserRepository extends JpaRepository<User, Long> {
            "LEFT JOIN UserFavoriteRckik f ON f.user.id = u.id " +
            "WHERE u.deletedAt IS NULL")
     Double calculateAverageFavoritesPerUser();
+
+    /**
+     * US-003: Replace a password hash (rehash on login) unless the password changed meanwhile
+     *
+     * @param userId  User ID
+     * @param oldHash Hash the new one was computed against
+     * @param newHash New hash of the same password
+     * @return Number of updated rows (0 if the hash changed in the meantime)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.passwordHash = :newHash WHERE u.id = :userId AND u.passwordHash = :oldHash")
+    int updatePasswordHashIfUnchanged(@Param("userId") Long userId,
+                                      @Param("oldHash") String oldHash,
+                                      @Param("newHash") String newHash);
+
+    /**
+     * US-010: Mark a user as changed without touching other columns (e.g. after a favorite change),
+     * so other instances pick the change up in their incremental alert recipient sync
+     *
+     * @param userId    User ID
+     * @param updatedAt Change timestamp
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.updatedAt = :updatedAt WHERE u.id = :userId")
+    int markUpdated(@Param("userId") Long userId, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * US-010: Users whose profile or notification preferences changed since a point in time
+     *
+     * @param since Lower bound of updated_at (inclusive)
+     * @return User IDs
+     */
+    @Query(value = """
+            SELECT id FROM users WHERE updated_at >= :since
+            UNION
+            SELECT user_id FROM notification_preferences WHERE updated_at >= :since
+            """, nativeQuery = true)
+    List<Long> findIdsChangedSince(@Param("since") LocalDateTime since);
 }
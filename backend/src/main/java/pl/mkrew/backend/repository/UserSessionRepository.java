@@ -3,20 +3,94 @@ package pl.mkrew.backend.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import pl.mkrew.backend.entity.UserSession;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface UserSessionRepository extends JpaRepository<UserSession, Long> {
 
+    /**
+     * US-003: Find a session with its user (refresh token rotation)
+     *
+     * @param id Session ID
+     * @return Session with user
+     */
+    @Query("SELECT s FROM UserSession s JOIN FETCH s.user WHERE s.id = :id")
+    Optional<UserSession> findWithUserById(@Param("id") Long id);
+
+    /**
+     * Find IDs of active sessions of a user
+     *
+     * @param userId User ID
+     * @return Session IDs
+     */
+    @Query("SELECT s.id FROM UserSession s WHERE s.user.id = :userId AND s.revoked = false")
+    List<Long> findActiveIdsByUserId(@Param("userId") Long userId);
+
     /**
      * Revoke all active sessions for a user
      * Used when user deletes account or resets password
      *
-     * @param userId User ID
+     * @param userId    User ID
+     * @param revokedAt Revocation time
      * @return Number of sessions revoked
      */
     @Modifying
-    @Query("UPDATE UserSession s SET s.revoked = true WHERE s.user.id = :userId AND s.revoked = false")
-    int revokeAllSessionsByUserId(Long userId);
+    @Query("UPDATE UserSession s SET s.revoked = true, s.revokedAt = :revokedAt " +
+           "WHERE s.user.id = :userId AND s.revoked = false")
+    int revokeAllSessionsByUserId(@Param("userId") Long userId, @Param("revokedAt") LocalDateTime revokedAt);
+
+    /**
+     * Revoke a single session
+     *
+     * @param id        Session ID
+     * @param revokedAt Revocation time
+     * @return Number of sessions revoked (0 if already revoked)
+     */
+    @Modifying
+    @Query("UPDATE UserSession s SET s.revoked = true, s.revokedAt = :revokedAt WHERE s.id = :id AND s.revoked = false")
+    int revokeById(@Param("id") Long id, @Param("revokedAt") LocalDateTime revokedAt);
+
+    /**
+     * US-003: Replace the refresh token of an active session, only if it still holds the presented one
+     *
+     * @param id        Session ID
+     * @param oldHash   Hash of the presented refresh token
+     * @param newHash   Hash of the new refresh token
+     * @param expiresAt New session expiry
+     * @param now       Current time
+     * @return Number of updated sessions (0 if rotated concurrently, revoked or expired)
+     */
+    @Modifying
+    @Query("UPDATE UserSession s SET s.tokenHash = :newHash, s.expiresAt = :expiresAt, s.lastActivityAt = :now " +
+           "WHERE s.id = :id AND s.tokenHash = :oldHash AND s.revoked = false AND s.expiresAt > :now")
+    int rotateToken(@Param("id") Long id,
+                    @Param("oldHash") String oldHash,
+                    @Param("newHash") String newHash,
+                    @Param("expiresAt") LocalDateTime expiresAt,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * IDs of sessions revoked after the given time (their access tokens may still be unexpired)
+     *
+     * @param since Lower bound of the revocation time
+     * @return Session IDs
+     */
+    @Query("SELECT s.id FROM UserSession s WHERE s.revoked = true AND s.revokedAt > :since")
+    List<Long> findIdsRevokedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Delete sessions that expired before the given time
+     *
+     * @param before Cutoff
+     * @return Number of deleted sessions
+     */
+    @Modifying
+    @Query("DELETE FROM UserSession s WHERE s.expiresAt < :before")
+    int deleteExpiredBefore(@Param("before") LocalDateTime before);
 }
@@ -0,0 +1,46 @@
+package pl.mkrew.backend.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import pl.mkrew.backend.service.EmailMetricsRollupService;
+
+/**
+ * Scheduler for the hourly email deliverability rollup
+ * US-022: Email Deliverability Metrics
+ */
+@Component
+@ConditionalOnProperty(name = "mkrew.email.metrics.rollup.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class EmailMetricsRollupScheduler {
+
+    private final EmailMetricsRollupService rollupService;
+
+    /**
+     * Build the rollup once at startup so metrics can use it before the first scheduled run
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refreshRollup();
+    }
+
+    /**
+     * Refresh the rollup (closed days only)
+     *
+     * Default: Every hour at minute 15
+     * Cron format: second, minute, hour, day, month, weekday
+     */
+    @Scheduled(cron = "${mkrew.scheduler.email-metrics-rollup:0 15 * * * *}", zone = "Europe/Warsaw")
+    public void refreshRollup() {
+        try {
+            rollupService.refresh();
+        } catch (Exception e) {
+            log.error("Email metrics rollup refresh failed", e);
+        }
+    }
+}
@@ -3,12 +3,22 @@ package pl.mkrew.backend.scheduler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import pl.mkrew.backend.dto.ScraperGlobalStatusDto;
+import pl.mkrew.backend.service.AlertRecipientIndexService;
+import pl.mkrew.backend.service.BloodLevelDigestService;
+import pl.mkrew.backend.service.BloodLevelOutboxService;
 import pl.mkrew.backend.service.CriticalBloodLevelNotificationService;
+import pl.mkrew.backend.service.DonationService;
 import pl.mkrew.backend.service.EmailService;
+import pl.mkrew.backend.service.InAppNotificationService;
+import pl.mkrew.backend.service.RckikSearchIndexService;
+import pl.mkrew.backend.service.RckikSpatialIndexService;
+import pl.mkrew.backend.service.RegisteredEmailFilterService;
 import pl.mkrew.backend.service.ScraperService;
+import pl.mkrew.backend.service.UserSessionService;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -17,8 +27,11 @@ import java.time.format.DateTimeFormatter;
  * Scheduler for automated notification tasks
  * US-010: Email Notifications for Critical Blood Levels
  * US-025: Scraper Failure Monitoring and Alerting
+ *
+ * Not active with the "datagen" profile, so bulk loads do not trigger alerts, digests or scrapes.
  */
 @Component
+@Profile("!datagen")
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationScheduler {
@@ -26,6 +39,18 @@ public class NotificationScheduler {
     private final CriticalBloodLevelNotificationService notificationService;
     private final ScraperService scraperService;
     private final EmailService emailService;
+    private final BloodLevelOutboxService bloodLevelOutboxService;
+    private final BloodLevelDigestService bloodLevelDigestService;
+    private final AlertRecipientIndexService alertRecipientIndexService;
+    private final InAppNotificationService inAppNotificationService;
+    private final UserSessionService userSessionService;
+    private final RegisteredEmailFilterService registeredEmailFilterService;
+    private final DonationService donationService;
+    private final RckikSpatialIndexService rckikSpatialIndexService;
+    private final RckikSearchIndexService rckikSearchIndexService;
+
+    @Value("${mkrew.notification.event-driven-alerts:true}")
+    private boolean eventDrivenAlerts;
 
     @Value("${mkrew.admin.email:admin@mkrew.pl}")
     private String adminEmail;
@@ -43,11 +68,19 @@ public class NotificationScheduler {
      * Check for critical blood levels and send notifications
      * Runs after each scraping job completes (configured via cron)
      *
+     * With event-driven alerts enabled (default) alerts are sent right after each snapshot
+     * batch is committed, so this full rescan is skipped.
+     *
      * Default: Every day at 03:00 CET (after scraping at 02:00)
      * Cron format: second, minute, hour, day, month, weekday
      */
     @Scheduled(cron = "${mkrew.scheduler.notification-check:0 0 3 * * *}", zone = "Europe/Warsaw")
     public void checkCriticalBloodLevels() {
+        if (eventDrivenAlerts) {
+            log.debug("Event-driven alerts enabled - skipping scheduled critical blood level rescan");
+            return;
+        }
+
         log.info("=== Starting scheduled critical blood level check ===");
 
         try {
@@ -59,6 +92,185 @@ public class NotificationScheduler {
         }
     }
 
+    /**
+     * Send critical alerts held back by the cooldown (event-driven alerts only)
+     * US-010: Email Notifications for Critical Blood Levels
+     *
+     * Default: Every hour at :10
+     */
+    @Scheduled(cron = "${mkrew.scheduler.pending-alert-check:0 10 * * * *}", zone = "Europe/Warsaw")
+    public void sendPendingCriticalAlerts() {
+        if (!eventDrivenAlerts) {
+            return;
+        }
+        try {
+            int notificationsSent = notificationService.notifyPendingAlerts();
+            if (notificationsSent > 0) {
+                log.info("Sent {} pending critical blood level notifications", notificationsSent);
+            }
+        } catch (Exception e) {
+            log.error("=== Error sending pending critical blood level alerts ===", e);
+        }
+    }
+
+    /**
+     * Dispatch blood level outbox events left pending (e.g. after a crash between commit and dispatch)
+     * Normal dispatch happens right after each snapshot commit
+     */
+    @Scheduled(fixedDelayString = "${mkrew.scheduler.blood-level-outbox-poll-ms:60000}")
+    public void dispatchPendingBloodLevelEvents() {
+        bloodLevelOutboxService.wakeUp();
+    }
+
+    /**
+     * Delete processed blood level outbox events past their retention
+     * US-010: Email Notifications for Critical Blood Levels
+     *
+     * Default: Every day at 03:20 CET
+     */
+    @Scheduled(cron = "${mkrew.scheduler.blood-level-outbox-purge:0 20 3 * * *}", zone = "Europe/Warsaw")
+    public void purgeProcessedBloodLevelEvents() {
+        try {
+            int deleted = bloodLevelOutboxService.purgeProcessed();
+            log.info("Deleted {} processed blood level outbox events", deleted);
+        } catch (Exception e) {
+            log.error("=== Error purging blood level outbox ===", e);
+        }
+    }
+
+    /**
+     * Rebuild the in-memory alert recipient index from the database
+     * The index is updated incrementally on favorite/preference/profile changes and synced every
+     * minute from other instances' changes; this repairs anything changed outside those paths
+     *
+     * Default: Every day at 01:30 CET (before scraping at 02:00)
+     */
+    @Scheduled(cron = "${mkrew.scheduler.alert-recipient-index-rebuild:0 30 1 * * *}", zone = "Europe/Warsaw")
+    public void rebuildAlertRecipientIndex() {
+        try {
+            alertRecipientIndexService.rebuild();
+        } catch (Exception e) {
+            log.error("=== Error rebuilding alert recipient index ===", e);
+        }
+    }
+
+    /**
+     * Pick up favorite, preference and profile changes made through other instances
+     * US-010: Email Notifications for Critical Blood Levels
+     */
+    @Scheduled(fixedDelayString = "${mkrew.scheduler.alert-recipient-index-sync-ms:60000}")
+    public void syncAlertRecipientIndex() {
+        try {
+            alertRecipientIndexService.syncChanges();
+        } catch (Exception e) {
+            log.error("=== Error syncing alert recipient index ===", e);
+        }
+    }
+
+    /**
+     * Rebuild the in-memory RCKiK spatial and search indexes (picks up center changes made on other instances)
+     * US-007: List RCKiK Centers with current blood levels
+     *
+     * Default: Every hour at :50
+     */
+    @Scheduled(cron = "${mkrew.scheduler.rckik-spatial-index-rebuild:0 50 * * * *}", zone = "Europe/Warsaw")
+    public void rebuildRckikSpatialIndex() {
+        try {
+            rckikSpatialIndexService.rebuild();
+            rckikSearchIndexService.rebuild();
+        } catch (Exception e) {
+            log.error("=== Error rebuilding RCKiK indexes ===", e);
+        }
+    }
+
+    /**
+     * Delete expired in-app notifications and update unread counters
+     * US-011: In-App Notifications
+     *
+     * Default: Every hour at :05
+     */
+    @Scheduled(cron = "${mkrew.scheduler.notification-expiry:0 5 * * * *}", zone = "Europe/Warsaw")
+    public void deleteExpiredNotifications() {
+        try {
+            inAppNotificationService.deleteExpiredNotifications();
+        } catch (Exception e) {
+            log.error("=== Error deleting expired in-app notifications ===", e);
+        }
+    }
+
+    /**
+     * Delete refresh-token sessions expired for more than a day
+     * US-003: User Login
+     *
+     * Default: Every day at 02:45 CET
+     */
+    @Scheduled(cron = "${mkrew.scheduler.session-cleanup:0 45 2 * * *}", zone = "Europe/Warsaw")
+    public void deleteExpiredSessions() {
+        try {
+            int deleted = userSessionService.deleteExpiredSessions();
+            log.info("Deleted {} expired user sessions", deleted);
+        } catch (Exception e) {
+            log.error("=== Error deleting expired user sessions ===", e);
+        }
+    }
+
+    /**
+     * Rebuild the registered email Bloom filter (resize, pick up registrations of other instances)
+     * US-001: User Registration
+     *
+     * Default: Every hour at :40
+     */
+    @Scheduled(cron = "${mkrew.scheduler.email-filter-rebuild:0 40 * * * *}", zone = "Europe/Warsaw")
+    public void rebuildRegisteredEmailFilter() {
+        registeredEmailFilterService.rebuild();
+    }
+
+    /**
+     * Repair per-user donation statistics that drifted from the donations
+     * US-012: View Donation History
+     *
+     * Default: Every day at 02:15 CET
+     */
+    @Scheduled(cron = "${mkrew.scheduler.donation-stats-repair:0 15 2 * * *}", zone = "Europe/Warsaw")
+    public void repairDonationStatistics() {
+        try {
+            int repaired = donationService.repairDonationStatistics();
+            log.info("Donation statistics check completed: {} user(s) recomputed", repaired);
+        } catch (Exception e) {
+            log.error("=== Error repairing donation statistics ===", e);
+        }
+    }
+
+    /**
+     * Send daily blood level digests to users with DAILY email/in-app frequency
+     *
+     * Default: Every day at 07:00 CET
+     */
+    @Scheduled(cron = "${mkrew.scheduler.daily-digest:0 0 7 * * *}", zone = "Europe/Warsaw")
+    public void sendDailyDigests() {
+        runDigest(BloodLevelDigestService.FREQUENCY_DAILY);
+    }
+
+    /**
+     * Send weekly blood level digests to users with WEEKLY email/in-app frequency
+     *
+     * Default: Every Monday at 07:30 CET
+     */
+    @Scheduled(cron = "${mkrew.scheduler.weekly-digest:0 30 7 * * MON}", zone = "Europe/Warsaw")
+    public void sendWeeklyDigests() {
+        runDigest(BloodLevelDigestService.FREQUENCY_WEEKLY);
+    }
+
+    private void runDigest(String frequency) {
+        log.info("=== Starting scheduled {} digest ===", frequency);
+        try {
+            int digests = bloodLevelDigestService.runDigest(frequency);
+            log.info("=== Scheduled {} digest completed. Queued {} digests ===", frequency, digests);
+        } catch (Exception e) {
+            log.error("=== Error during scheduled {} digest ===", frequency, e);
+        }
+    }
+
     /**
      * Health check to verify scheduler is working
      * Runs every hour to confirm the scheduler is active
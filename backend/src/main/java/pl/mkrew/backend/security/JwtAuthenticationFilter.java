@@ -1,5 +1,8 @@
 package pl.mkrew.backend.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,6 +27,7 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final SessionRevocationRegistry revocationRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -34,10 +38,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
-                String email = jwtTokenProvider.getEmailFromToken(jwt);
-                String role = jwtTokenProvider.getRoleFromToken(jwt);
+            Claims claims = StringUtils.hasText(jwt) ? parseClaims(jwt) : null;
+
+            if (claims != null && isUsableAccessToken(claims)) {
+                Long userId = Long.parseLong(claims.getSubject());
+                String email = claims.get("email", String.class);
+                String role = claims.get("role", String.class);
 
                 // Create authentication token with actual user role
                 // Spring Security requires roles to have "ROLE_" prefix
@@ -60,6 +66,44 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Verify the token once and return its claims
+     *
+     * @param jwt JWT token
+     * @return Claims, or null if the token is expired or invalid
+     */
+    private Claims parseClaims(String jwt) {
+        try {
+            return jwtTokenProvider.getClaimsFromToken(jwt);
+        } catch (ExpiredJwtException ex) {
+            log.debug("Expired JWT token: {}", ex.getMessage());
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.warn("Invalid JWT token: {}", ex.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Refresh tokens cannot authenticate requests; access tokens of revoked sessions are rejected
+     * Tokens without a session ID (issued before sessions were tracked) stay valid until they expire
+     *
+     * @param claims Verified token claims
+     * @return true if the token may authenticate the request
+     */
+    private boolean isUsableAccessToken(Claims claims) {
+        if ("refresh".equals(claims.get("type", String.class))) {
+            log.debug("Refresh token presented as access token, ignoring");
+            return false;
+        }
+
+        Long sessionId = claims.get("sid", Long.class);
+        if (sessionId != null && revocationRegistry.isRevoked(sessionId)) {
+            log.debug("Access token of revoked session {} rejected", sessionId);
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Extract JWT token from Authorization header
      *
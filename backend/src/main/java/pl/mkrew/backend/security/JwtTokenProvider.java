@@ -10,6 +10,7 @@ import pl.mkrew.backend.entity.User;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 @Slf4j
@@ -34,10 +35,11 @@ public class JwtTokenProvider {
     /**
      * Generates an access token for the given user
      *
-     * @param user User entity
+     * @param user      User entity
+     * @param sessionId Session the token belongs to (revoked together with it)
      * @return JWT access token
      */
-    public String generateAccessToken(User user) {
+    public String generateAccessToken(User user, Long sessionId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
@@ -45,6 +47,7 @@ public class JwtTokenProvider {
                 .subject(String.valueOf(user.getId()))
                 .claim("email", user.getEmail())
                 .claim("role", user.getRole().name()) // Use actual user role (USER or ADMIN)
+                .claim("sid", sessionId)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(getSigningKey())
@@ -53,23 +56,42 @@ public class JwtTokenProvider {
 
     /**
      * Generates a refresh token for the given user
+     * The random token ID keeps tokens rotated within the same second distinct
      *
-     * @param user User entity
+     * @param user      User entity
+     * @param sessionId Session persisted in user_sessions
      * @return JWT refresh token
      */
-    public String generateRefreshToken(User user) {
+    public String generateRefreshToken(User user, Long sessionId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + refreshExpiration);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(String.valueOf(user.getId()))
                 .claim("type", "refresh")
+                .claim("sid", sessionId)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(getSigningKey())
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry of a token and returns its claims
+     *
+     * @param token JWT token
+     * @return Token claims
+     * @throws JwtException if the token is invalid or expired
+     */
+    public Claims getClaimsFromToken(String token) {
+        return Jwts.parser()
+                .verifyWith(getSigningKey())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
     /**
      * Extracts user ID from JWT token
      *
@@ -153,4 +175,22 @@ public class JwtTokenProvider {
     public Integer getAccessTokenExpirationInSeconds() {
         return (int) (jwtExpiration / 1000);
     }
+
+    /**
+     * Gets the expiration time of access tokens
+     *
+     * @return Expiration time in milliseconds
+     */
+    public long getAccessTokenExpirationMillis() {
+        return jwtExpiration;
+    }
+
+    /**
+     * Gets the expiration time of refresh tokens (and their sessions)
+     *
+     * @return Expiration time in milliseconds
+     */
+    public long getRefreshTokenExpirationMillis() {
+        return refreshExpiration;
+    }
 }
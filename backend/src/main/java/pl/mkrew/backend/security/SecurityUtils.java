@@ -1,5 +1,6 @@
 package pl.mkrew.backend.security;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -31,4 +32,18 @@ public class SecurityUtils {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         return authentication != null && authentication.isAuthenticated();
     }
+
+    /**
+     * Client address of the request for per-address limits and audit logs
+     * Forwarded headers are resolved by the servlet container (server.forward-headers-strategy=native):
+     * X-Forwarded-For is only honoured when the connection comes from a trusted proxy
+     * (server.tomcat.remoteip.internal-proxies), and only the hop appended by the last trusted proxy is
+     * used, so clients cannot choose their address by sending the header themselves.
+     *
+     * @param request HTTP request
+     * @return Client IP address
+     */
+    public static String getClientIpAddress(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
 }
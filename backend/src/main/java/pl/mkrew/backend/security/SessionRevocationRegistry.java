@@ -0,0 +1,159 @@
+package pl.mkrew.backend.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.mkrew.backend.repository.UserSessionRepository;
+import pl.mkrew.backend.util.BloomFilter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of revoked sessions, consulted for every authenticated request
+ * US-003: User Login (session revocation)
+ *
+ * A Bloom filter answers "not revoked" for almost every request without touching the exact set;
+ * only possible hits are confirmed against it. Sessions only need to be listed while access
+ * tokens issued for them may still be valid, so the set holds sessions revoked within the
+ * access token lifetime.
+ *
+ * Revocations on this instance apply after commit; revocations on other instances arrive with
+ * the next sync from user_sessions (every sync-ms), which also rebuilds the filter.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SessionRevocationRegistry implements MeterBinder {
+
+    private final UserSessionRepository userSessionRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @Value("${mkrew.security.session-revocation.sync-ms:10000}")
+    private long syncMillis;
+
+    private record Snapshot(BloomFilter filter, Set<Long> sessionIds) {
+    }
+
+    private volatile Snapshot snapshot = new Snapshot(new BloomFilter(1_000, 0.01), ConcurrentHashMap.newKeySet());
+
+    /**
+     * Local revocations with their time, carried over rebuilds that may have missed them
+     */
+    private final Map<Long, Instant> recentLocalRevocations = new ConcurrentHashMap<>();
+
+    /**
+     * Serializes local revocations with publishing a rebuilt snapshot, so none lands in a discarded one
+     */
+    private final Object publishLock = new Object();
+
+    // Set once the registry binds this component; null in plain unit tests
+    private volatile MeterRegistry meterRegistry;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mkrew.security.revoked.sessions", this, registryRef -> registryRef.snapshot.sessionIds().size())
+                .register(registry);
+        this.meterRegistry = registry;
+    }
+
+    /**
+     * Check whether the session of an access token was revoked
+     *
+     * @param sessionId Session ID (sid claim)
+     * @return true if revoked
+     */
+    public boolean isRevoked(Long sessionId) {
+        Snapshot current = snapshot;
+        boolean revoked = current.filter().mightContain(sessionId) && current.sessionIds().contains(sessionId);
+        if (revoked) {
+            MeterRegistry registry = meterRegistry;
+            if (registry != null) {
+                registry.counter("mkrew.security.revoked.rejections").increment();
+            }
+        }
+        return revoked;
+    }
+
+    /**
+     * Add revoked sessions; inside a transaction they take effect after commit
+     *
+     * @param sessionIds Session IDs
+     */
+    public void revoke(Collection<Long> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> ids = List.copyOf(sessionIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    revokeNow(ids);
+                }
+            });
+        } else {
+            revokeNow(sessionIds);
+        }
+    }
+
+    private void revokeNow(Collection<Long> sessionIds) {
+        synchronized (publishLock) {
+            Snapshot current = snapshot;
+            Instant now = Instant.now();
+            for (Long sessionId : sessionIds) {
+                recentLocalRevocations.put(sessionId, now);
+                current.filter().put(sessionId);
+                current.sessionIds().add(sessionId);
+            }
+        }
+    }
+
+    /**
+     * Reload revoked sessions from the database and rebuild the filter
+     */
+    @Scheduled(fixedDelayString = "${mkrew.security.session-revocation.sync-ms:10000}")
+    public void sync() {
+        try {
+            Instant started = Instant.now();
+            Duration retention = Duration.ofMillis(jwtTokenProvider.getAccessTokenExpirationMillis());
+            List<Long> revokedIds = userSessionRepository.findIdsRevokedSince(LocalDateTime.now().minus(retention));
+
+            // Keep local revocations until a sync started after them has seen them committed
+            Instant localCutoff = started.minusMillis(2 * syncMillis);
+            recentLocalRevocations.values().removeIf(revokedAt -> revokedAt.isBefore(localCutoff));
+
+            Set<Long> sessionIds = ConcurrentHashMap.newKeySet(revokedIds.size() + recentLocalRevocations.size());
+            sessionIds.addAll(revokedIds);
+            BloomFilter filter = new BloomFilter(Math.max(1_000, (revokedIds.size() + recentLocalRevocations.size()) * 2L), 0.01);
+            sessionIds.forEach(filter::put);
+
+            // Local revocations made while the database was read go into the new snapshot before it replaces the old one
+            synchronized (publishLock) {
+                recentLocalRevocations.keySet().forEach(sessionId -> {
+                    sessionIds.add(sessionId);
+                    filter.put(sessionId);
+                });
+                snapshot = new Snapshot(filter, sessionIds);
+            }
+
+            log.debug("Session revocation set synced: {} revoked session(s)", sessionIds.size());
+        } catch (Exception e) {
+            // Keep the previous set; revocations of this instance are already in it
+            log.error("Failed to sync session revocation set", e);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package pl.mkrew.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.mkrew.backend.repository.UserFavoriteRckikRepository;
+import pl.mkrew.backend.repository.UserRepository;
+import pl.mkrew.backend.util.BloodGroups;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory inverted index of critical alert recipients: RCKiK -> blood group in shortage -> user IDs
+ * US-010: Email Notifications for Critical Blood Levels
+ *
+ * Holds users that have the center in favorites and receive immediate alerts (email or in-app).
+ * With blood group routing enabled (mkrew.notification.blood-group-routing) a user is listed only
+ * under the shortage groups their blood can be donated to (red cell compatibility); users without
+ * a blood group, or all users when routing is disabled, are listed under every group.
+ *
+ * Built on startup and nightly; updated per user after favorite, preference and profile changes made
+ * through this instance. Changes made through other instances are picked up by {@link #syncChanges()}
+ * from users.updated_at and notification_preferences.updated_at (favorite changes bump the user's
+ * updated_at), so every instance sees a change within mkrew.scheduler.alert-recipient-index-sync-ms
+ * plus the commit time of the change. User ID arrays are sorted and copy-on-write, so lookups never lock.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AlertRecipientIndexService {
+
+    private static final long[] NO_USERS = new long[0];
+
+    /**
+     * Look back this far before the last sync, covering transactions that committed after it and
+     * clock differences between instances (refreshing a user twice is harmless)
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(2);
+
+    private static final Set<String> ALL_BLOOD_GROUPS = Set.copyOf(BloodGroups.ALL);
+
+    /**
+     * Donor blood group -> recipient blood groups it can be given to
+     */
+    private static final Map<String, Set<String>> CAN_DONATE_TO = Map.of(
+            "0-", ALL_BLOOD_GROUPS,
+            "0+", Set.of("0+", "A+", "B+", "AB+"),
+            "A-", Set.of("A-", "A+", "AB-", "AB+"),
+            "A+", Set.of("A+", "AB+"),
+            "B-", Set.of("B-", "B+", "AB-", "AB+"),
+            "B+", Set.of("B+", "AB+"),
+            "AB-", Set.of("AB-", "AB+"),
+            "AB+", Set.of("AB+")
+    );
+
+    private final UserFavoriteRckikRepository favoriteRckikRepository;
+    private final UserRepository userRepository;
+
+    @Value("${mkrew.notification.blood-group-routing:false}")
+    private boolean bloodGroupRouting;
+
+    private volatile Map<Long, Map<String, long[]>> index = new ConcurrentHashMap<>();
+
+    /**
+     * Where each user is currently listed; guarded by this
+     */
+    private final Map<Long, UserEntry> entriesByUser = new HashMap<>();
+
+    /**
+     * Start of the last rebuild or sync, null until the first rebuild; guarded by this
+     */
+    private LocalDateTime syncedFrom;
+
+    private record UserEntry(long[] rckikIds, Set<String> bloodGroups) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Users to consider for a shortage of a blood group in a center
+     *
+     * @param rckikId    RCKiK ID
+     * @param bloodGroup Blood group in shortage
+     * @return Sorted user IDs (shared array, must not be modified)
+     */
+    public long[] findRecipients(Long rckikId, String bloodGroup) {
+        Map<String, long[]> byGroup = index.get(rckikId);
+        if (byGroup == null) {
+            return NO_USERS;
+        }
+        return byGroup.getOrDefault(bloodGroup, NO_USERS);
+    }
+
+    /**
+     * Rebuild the whole index from the database
+     */
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        LocalDateTime syncStart = LocalDateTime.now();
+
+        Map<Long, List<Long>> rckiksByUser = new HashMap<>();
+        Map<Long, String> bloodGroupByUser = new HashMap<>();
+        for (Object[] row : favoriteRckikRepository.findAlertRecipientRows()) {
+            Long userId = (Long) row[1];
+            rckiksByUser.computeIfAbsent(userId, k -> new ArrayList<>()).add((Long) row[0]);
+            bloodGroupByUser.put(userId, (String) row[2]);
+        }
+
+        Map<Long, Map<String, List<Long>>> building = new HashMap<>();
+        entriesByUser.clear();
+        rckiksByUser.forEach((userId, rckikIds) -> {
+            UserEntry entry = new UserEntry(toSortedArray(rckikIds), targetGroups(bloodGroupByUser.get(userId)));
+            entriesByUser.put(userId, entry);
+            for (long rckikId : entry.rckikIds()) {
+                Map<String, List<Long>> byGroup = building.computeIfAbsent(rckikId, k -> new HashMap<>());
+                entry.bloodGroups().forEach(group -> byGroup.computeIfAbsent(group, k -> new ArrayList<>()).add(userId));
+            }
+        });
+
+        Map<Long, Map<String, long[]>> rebuilt = new ConcurrentHashMap<>();
+        building.forEach((rckikId, byGroup) -> {
+            Map<String, long[]> arrays = new ConcurrentHashMap<>();
+            byGroup.forEach((group, userIds) -> arrays.put(group, toSortedArray(userIds)));
+            rebuilt.put(rckikId, arrays);
+        });
+        index = rebuilt;
+        syncedFrom = syncStart;
+
+        log.info("Alert recipient index rebuilt: {} users in {} centers ({} ms, blood group routing {})",
+                entriesByUser.size(), rebuilt.size(), System.currentTimeMillis() - started,
+                bloodGroupRouting ? "on" : "off");
+    }
+
+    /**
+     * Re-read users changed since the last rebuild or sync, including changes made through other instances
+     *
+     * @return Number of users refreshed
+     */
+    public synchronized int syncChanges() {
+        if (syncedFrom == null) {
+            return 0;
+        }
+        LocalDateTime syncStart = LocalDateTime.now();
+        List<Long> userIds = userRepository.findIdsChangedSince(syncedFrom.minus(SYNC_OVERLAP));
+        userIds.forEach(this::refreshUserNow);
+        syncedFrom = syncStart;
+
+        if (!userIds.isEmpty()) {
+            log.debug("Alert recipient index synced: {} changed user(s)", userIds.size());
+        }
+        return userIds.size();
+    }
+
+    /**
+     * Re-read one user's favorites, preferences and blood group into the index
+     * Inside a transaction the update runs after commit, so it sees the committed state
+     *
+     * @param userId User ID
+     */
+    public void refreshUser(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshUserNow(userId);
+                }
+            });
+        } else {
+            refreshUserNow(userId);
+        }
+    }
+
+    private synchronized void refreshUserNow(Long userId) {
+        try {
+            List<Object[]> rows = favoriteRckikRepository.findAlertRecipientRowsByUserId(userId);
+
+            UserEntry previous = entriesByUser.remove(userId);
+            if (previous != null) {
+                for (long rckikId : previous.rckikIds()) {
+                    Map<String, long[]> byGroup = index.get(rckikId);
+                    if (byGroup != null) {
+                        previous.bloodGroups().forEach(group -> byGroup.computeIfPresent(group,
+                                (k, userIds) -> without(userIds, userId)));
+                    }
+                }
+            }
+
+            if (!rows.isEmpty()) {
+                UserEntry entry = new UserEntry(
+                        toSortedArray(rows.stream().map(row -> (Long) row[0]).toList()),
+                        targetGroups((String) rows.get(0)[2]));
+                entriesByUser.put(userId, entry);
+                for (long rckikId : entry.rckikIds()) {
+                    Map<String, long[]> byGroup = index.computeIfAbsent(rckikId, k -> new ConcurrentHashMap<>());
+                    entry.bloodGroups().forEach(group -> byGroup.merge(group, new long[]{userId},
+                            (userIds, added) -> with(userIds, userId)));
+                }
+            }
+
+            log.debug("Alert recipient index updated for user {} ({} center(s))", userId, rows.size());
+        } catch (Exception e) {
+            // The next sync or the nightly rebuild repairs the index
+            log.error("Failed to update alert recipient index for user {}", userId, e);
+        }
+    }
+
+    private Set<String> targetGroups(String donorBloodGroup) {
+        if (!bloodGroupRouting || donorBloodGroup == null) {
+            return ALL_BLOOD_GROUPS;
+        }
+        return CAN_DONATE_TO.getOrDefault(donorBloodGroup, ALL_BLOOD_GROUPS);
+    }
+
+    private static long[] toSortedArray(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+    }
+
+    private static long[] with(long[] userIds, long userId) {
+        int position = Arrays.binarySearch(userIds, userId);
+        if (position >= 0) {
+            return userIds;
+        }
+        int insertAt = -position - 1;
+        long[] result = new long[userIds.length + 1];
+        System.arraycopy(userIds, 0, result, 0, insertAt);
+        result[insertAt] = userId;
+        System.arraycopy(userIds, insertAt, result, insertAt + 1, userIds.length - insertAt);
+        return result;
+    }
+
+    private static long[] without(long[] userIds, long userId) {
+        int position = Arrays.binarySearch(userIds, userId);
+        if (position < 0) {
+            return userIds;
+        }
+        if (userIds.length == 1) {
+            return null;
+        }
+        long[] result = new long[userIds.length - 1];
+        System.arraycopy(userIds, 0, result, 0, position);
+        System.arraycopy(userIds, position + 1, result, position, userIds.length - position - 1);
+        return result;
+    }
+}
@@ -2,7 +2,7 @@ package pl.mkrew.backend.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import pl.mkrew.backend.dto.*;
@@ -16,7 +16,6 @@ import pl.mkrew.backend.repository.RckikRepository;
 import pl.mkrew.backend.repository.UserFavoriteRckikRepository;
 import pl.mkrew.backend.repository.UserRepository;
 import pl.mkrew.backend.repository.UserTokenRepository;
-import pl.mkrew.backend.security.JwtTokenProvider;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -31,8 +30,9 @@ public class AuthService {
     private final UserTokenRepository userTokenRepository;
     private final RckikRepository rckikRepository;
     private final UserFavoriteRckikRepository userFavoriteRckikRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final PasswordHashingService passwordHashingService;
+    private final RegisteredEmailFilterService registeredEmailFilter;
+    private final UserSessionService userSessionService;
     private final LoginAttemptService loginAttemptService;
     private final RateLimitService rateLimitService;
     private final EmailService emailService;
@@ -49,7 +49,9 @@ public class AuthService {
      */
     public boolean isEmailAvailable(String email) {
         log.debug("Checking email availability: {}", email);
-        boolean exists = userRepository.existsByEmail(email.toLowerCase());
+        // Definitely unregistered emails need no query; probable hits are confirmed
+        boolean exists = registeredEmailFilter.mightBeRegistered(email)
+                && userRepository.existsByEmail(email.toLowerCase());
         log.debug("Email {} exists: {}", email, exists);
         return !exists;
     }
@@ -58,19 +60,20 @@ public class AuthService {
     public RegisterResponse register(RegisterRequest request) {
         log.info("Starting registration for email: {}", request.getEmail());
 
-        // 1. Check if email already exists
-        if (userRepository.existsByEmail(request.getEmail())) {
+        // 1. Check if email already exists (skipped when the filter has never seen it; uk_users_email still guards)
+        String email = request.getEmail().toLowerCase();
+        if (registeredEmailFilter.mightBeRegistered(email) && userRepository.existsByEmail(email)) {
             log.warn("Registration failed: Email already exists - {}", request.getEmail());
             throw new EmailAlreadyExistsException("Email is already registered");
         }
 
-        // 2. Hash password using BCrypt (via PasswordEncoder)
-        String hashedPassword = passwordEncoder.encode(request.getPassword());
+        // 2. Hash password using BCrypt (bounded hashing executor)
+        String hashedPassword = passwordHashingService.encode(request.getPassword());
         log.debug("Password hashed successfully");
 
         // 3. Create user with email_verified=false
         User user = User.builder()
-                .email(request.getEmail().toLowerCase())
+                .email(email)
                 .passwordHash(hashedPassword)
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
@@ -81,7 +84,13 @@ public class AuthService {
                 .consentVersion(request.getConsentVersion())
                 .build();
 
-        user = userRepository.save(user);
+        try {
+            user = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Registration failed: Email registered concurrently - {}", request.getEmail());
+            throw new EmailAlreadyExistsException("Email is already registered");
+        }
+        registeredEmailFilter.add(email);
         log.info("User created with ID: {}", user.getId());
 
         // 4. Add favorite RCKiK centers if provided
@@ -220,8 +229,8 @@ public class AuthService {
                 .build();
     }
 
-    @Transactional
-    public LoginResponse login(LoginRequest request) {
+    // Not transactional: no DB connection is held while the password is verified
+    public LoginResponse login(LoginRequest request, String ipAddress, String userAgent) {
         String email = request.getEmail().toLowerCase();
         log.info("Login attempt for email: {}", email);
 
@@ -264,11 +273,12 @@ public class AuthService {
                 });
 
         // 4. Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPasswordHash())) {
             loginAttemptService.recordFailedAttempt(email);
             log.warn("Login failed: Invalid password for email: {}", email);
             throw new InvalidCredentialsException("Invalid email or password");
         }
+        passwordHashingService.rehashIfNeeded(user.getId(), request.getPassword(), user.getPasswordHash());
 
         // 5. Check if email is verified
         if (!user.getEmailVerified()) {
@@ -279,9 +289,8 @@ public class AuthService {
         // 6. Reset failed attempts counter on successful authentication
         loginAttemptService.resetAttempts(email);
 
-        // 7. Generate JWT tokens
-        String accessToken = jwtTokenProvider.generateAccessToken(user);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(user);
+        // 7. Open a session and generate its JWT tokens
+        LoginResponse tokens = userSessionService.createSession(user, ipAddress, userAgent);
 
         log.info("Login successful for user ID: {}, email: {}", user.getId(), email);
 
@@ -297,13 +306,8 @@ public class AuthService {
                 .build();
 
         // 9. Return login response
-        return LoginResponse.builder()
-                .accessToken(accessToken)
-                .tokenType("Bearer")
-                .expiresIn(jwtTokenProvider.getAccessTokenExpirationInSeconds())
-                .refreshToken(refreshToken)
-                .user(userDto)
-                .build();
+        tokens.setUser(userDto);
+        return tokens;
     }
 
     @Transactional
@@ -399,7 +403,7 @@ public class AuthService {
         User user = userToken.getUser();
 
         // 5. Hash new password
-        String hashedPassword = passwordEncoder.encode(request.getNewPassword());
+        String hashedPassword = passwordHashingService.encode(request.getNewPassword());
 
         // 6. Update user password
         user.setPasswordHash(hashedPassword);
@@ -407,6 +411,10 @@ public class AuthService {
         userRepository.save(user);
         log.info("Password updated successfully for user ID: {}", user.getId());
 
+        // Sessions opened with the old password end with the reset
+        int revokedSessions = userSessionService.revokeAllSessions(user.getId());
+        log.info("Revoked {} active sessions for user ID: {}", revokedSessions, user.getId());
+
         // 7. Mark token as used
         userToken.setUsedAt(LocalDateTime.now());
         userTokenRepository.save(userToken);
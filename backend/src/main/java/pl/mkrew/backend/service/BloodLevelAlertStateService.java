@@ -0,0 +1,169 @@
+package pl.mkrew.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.mkrew.backend.entity.BloodLevelAlertState;
+import pl.mkrew.backend.entity.BloodSnapshot;
+import pl.mkrew.backend.repository.BloodLevelAlertStateLockRepository;
+import pl.mkrew.backend.repository.BloodLevelAlertStateRepository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Critical alert state machine per (RCKiK, blood group)
+ * US-010: Email Notifications for Critical Blood Levels
+ *
+ * OK --(level < critical-threshold)--> CRITICAL            alert
+ * CRITICAL --(level >= recovery-threshold)--> RECOVERED
+ * RECOVERED --(level < critical-threshold)--> CRITICAL     alert once the cooldown since the last alert elapsed
+ * RECOVERED --(cooldown elapsed, level >= recovery-threshold)--> OK
+ *
+ * The gap between the two thresholds (hysteresis) keeps a level hovering around the critical
+ * threshold from flapping; the cooldown limits re-alerts when it does. A CRITICAL episode held
+ * back by the cooldown stays pending (last alert before the state change) and is alerted by a
+ * later evaluation after the cooldown ({@link #findPendingAlerts}).
+ *
+ * States are evaluated under row locks (missing rows are inserted first), so concurrent
+ * evaluations of the same group run one after another and alert once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BloodLevelAlertStateService {
+
+    private final BloodLevelAlertStateRepository alertStateRepository;
+    private final BloodLevelAlertStateLockRepository alertStateLockRepository;
+
+    @Value("${mkrew.notification.critical-threshold:20.0}")
+    private BigDecimal criticalThreshold;
+
+    @Value("${mkrew.notification.recovery-threshold:25.0}")
+    private BigDecimal recoveryThreshold;
+
+    @Value("${mkrew.notification.alert-cooldown-hours:24}")
+    private long alertCooldownHours;
+
+    /**
+     * Apply the latest levels to the persisted states
+     * Runs in the caller's transaction, which commits the episodes as alerted before any alert is sent:
+     * an episode is alerted at most once, a failed delivery is not retried
+     *
+     * @param latestSnapshots Latest snapshot per (RCKiK, blood group) to evaluate
+     * @return Snapshots whose group transitioned into CRITICAL and should be alerted, grouped by RCKiK
+     */
+    @Transactional
+    public Map<Long, List<BloodSnapshot>> applyTransitions(List<BloodSnapshot> latestSnapshots) {
+        if (latestSnapshots.isEmpty()) {
+            return Map.of();
+        }
+
+        alertStateLockRepository.insertMissing(
+                latestSnapshots.stream().map(snapshot -> snapshot.getRckik().getId()).toList(),
+                latestSnapshots.stream().map(BloodSnapshot::getBloodGroup).toList(),
+                latestSnapshots.stream().map(BloodSnapshot::getLevelPercentage).toList());
+
+        Map<String, BloodLevelAlertState> states = new HashMap<>();
+        alertStateRepository.lockByRckikIdIn(latestSnapshots.stream()
+                        .map(snapshot -> snapshot.getRckik().getId())
+                        .collect(Collectors.toSet()))
+                .forEach(state -> states.put(key(state.getRckikId(), state.getBloodGroup()), state));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BloodLevelAlertState> toSave = new ArrayList<>();
+        List<BloodSnapshot> toAlert = new ArrayList<>();
+
+        for (BloodSnapshot snapshot : latestSnapshots) {
+            Long rckikId = snapshot.getRckik().getId();
+            BigDecimal level = snapshot.getLevelPercentage();
+            BloodLevelAlertState state = states.get(key(rckikId, snapshot.getBloodGroup()));
+
+            String previousState = state.getState();
+            String nextState = nextState(state, level, now);
+            boolean changed = !nextState.equals(previousState);
+
+            if (changed) {
+                log.info("Alert state of RCKiK {} group {} changed {} -> {} (level {}%)",
+                        rckikId, snapshot.getBloodGroup(), previousState, nextState, level);
+                state.setState(nextState);
+                state.setStateChangedAt(now);
+            }
+            boolean alert = BloodLevelAlertState.STATE_CRITICAL.equals(nextState)
+                    && !episodeAlerted(state)
+                    && cooldownElapsed(state, now);
+            if (alert) {
+                state.setLastAlertedAt(now);
+                toAlert.add(snapshot);
+            }
+            if (changed || alert || state.getLevelPercentage().compareTo(level) != 0) {
+                state.setLevelPercentage(level);
+                toSave.add(state);
+            }
+        }
+
+        alertStateRepository.saveAll(toSave);
+
+        return toAlert.stream().collect(Collectors.groupingBy(snapshot -> snapshot.getRckik().getId()));
+    }
+
+    /**
+     * CRITICAL states whose alert is still pending, grouped by RCKiK
+     *
+     * @return Blood groups with a pending alert per RCKiK
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Set<String>> findPendingAlerts() {
+        return alertStateRepository.findPendingAlerts().stream()
+                .collect(Collectors.groupingBy(BloodLevelAlertState::getRckikId,
+                        Collectors.mapping(BloodLevelAlertState::getBloodGroup, Collectors.toSet())));
+    }
+
+    private String nextState(BloodLevelAlertState state, BigDecimal level, LocalDateTime now) {
+        boolean critical = level.compareTo(criticalThreshold) < 0;
+        boolean recovered = level.compareTo(recoveryThreshold) >= 0;
+
+        return switch (state.getState()) {
+            case BloodLevelAlertState.STATE_CRITICAL -> recovered
+                    ? BloodLevelAlertState.STATE_RECOVERED
+                    : BloodLevelAlertState.STATE_CRITICAL;
+            case BloodLevelAlertState.STATE_RECOVERED -> {
+                if (critical) {
+                    yield BloodLevelAlertState.STATE_CRITICAL;
+                }
+                yield recovered && cooldownElapsedSince(state.getStateChangedAt(), now)
+                        ? BloodLevelAlertState.STATE_OK
+                        : BloodLevelAlertState.STATE_RECOVERED;
+            }
+            default -> critical ? BloodLevelAlertState.STATE_CRITICAL : BloodLevelAlertState.STATE_OK;
+        };
+    }
+
+    /**
+     * The current state was alerted if the last alert is not older than the state change
+     */
+    private static boolean episodeAlerted(BloodLevelAlertState state) {
+        return state.getLastAlertedAt() != null && !state.getLastAlertedAt().isBefore(state.getStateChangedAt());
+    }
+
+    private boolean cooldownElapsed(BloodLevelAlertState state, LocalDateTime now) {
+        return state.getLastAlertedAt() == null || cooldownElapsedSince(state.getLastAlertedAt(), now);
+    }
+
+    private boolean cooldownElapsedSince(LocalDateTime since, LocalDateTime now) {
+        return !Duration.between(since, now).minusHours(alertCooldownHours).isNegative();
+    }
+
+    private static String key(Long rckikId, String bloodGroup) {
+        return rckikId + ":" + bloodGroup;
+    }
+}
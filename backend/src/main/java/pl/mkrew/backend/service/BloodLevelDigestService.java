@@ -0,0 +1,280 @@
+package pl.mkrew.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.mkrew.backend.dto.BloodLevelChangeDto;
+import pl.mkrew.backend.entity.NotificationPreference;
+import pl.mkrew.backend.entity.User;
+import pl.mkrew.backend.entity.UserFavoriteRckik;
+import pl.mkrew.backend.repository.BloodSnapshotRepository;
+import pl.mkrew.backend.repository.NotificationPreferenceRepository;
+import pl.mkrew.backend.repository.UserFavoriteRckikRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DAILY/WEEKLY blood level digests
+ * US-010: Email Notifications for Critical Blood Levels
+ * US-011: In-App Notifications
+ *
+ * A run summarizes level changes of all active centers once (one grouped scan over snapshot
+ * history), then walks users with the given frequency in keyset chunks. Per chunk favorites are
+ * loaded in one query and each user gets a single digest listing the changes in their favorites;
+ * the email body is rendered once per distinct set of centers. Emails are handed to a paced
+ * sender so a run spreads its load over time instead of bursting at the scheduled minute.
+ *
+ * Users are marked per chunk and per frequency (last_daily_digest_sent_at / last_weekly_digest_sent_at),
+ * so a rerun in the same period skips them while a user on DAILY for one channel and WEEKLY for the
+ * other still gets both. The sender queue is bounded: when it is full the run itself sends, which
+ * paces the walk. Delivery is at most once: queued emails are lost if the application stops mid-run.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BloodLevelDigestService {
+
+    public static final String FREQUENCY_DAILY = "DAILY";
+    public static final String FREQUENCY_WEEKLY = "WEEKLY";
+
+    private final NotificationPreferenceRepository notificationPreferenceRepository;
+    private final UserFavoriteRckikRepository favoriteRckikRepository;
+    private final BloodSnapshotRepository bloodSnapshotRepository;
+    private final EmailService emailService;
+    private final InAppNotificationService inAppNotificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${mkrew.notification.critical-threshold:20.0}")
+    private BigDecimal criticalThreshold;
+
+    @Value("${mkrew.notification.digest.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${mkrew.notification.digest.sends-per-second:10}")
+    private int sendsPerSecond;
+
+    @Value("${mkrew.notification.digest.queue-capacity:1000}")
+    private int queueCapacity;
+
+    /**
+     * Digest emails are sent one at a time, at most sends-per-second; a full queue makes the
+     * submitting run send the email itself (back-pressure instead of unbounded memory)
+     */
+    private ThreadPoolExecutor sender;
+
+    @PostConstruct
+    void start() {
+        sender = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "digest-sender");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdown();
+    }
+
+    /**
+     * Build and enqueue digests for all users with the given frequency
+     *
+     * @param frequency DAILY or WEEKLY
+     * @return Number of users that got a digest (email and/or in-app)
+     */
+    public int runDigest(String frequency) {
+        boolean weekly = FREQUENCY_WEEKLY.equals(frequency);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        int periodDays = weekly ? 7 : 1;
+        // Anything sent since the start of this period (e.g. an earlier attempt today) counts as served
+        LocalDateTime periodStart = today.minusDays(periodDays - 1L).atStartOfDay();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int digests = 0;
+        int walked = 0;
+        try {
+            Map<Long, List<BloodLevelChangeDto>> changesByRckik = loadChanges(today.minusDays(periodDays), today);
+            log.info("Starting {} digest: {} center(s) with level changes", frequency, changesByRckik.size());
+
+            long afterUserId = 0L;
+            while (true) {
+                List<NotificationPreference> chunk = weekly
+                        ? notificationPreferenceRepository.findWeeklyDigestChunk(afterUserId, periodStart,
+                                PageRequest.of(0, chunkSize))
+                        : notificationPreferenceRepository.findDailyDigestChunk(afterUserId, periodStart,
+                                PageRequest.of(0, chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                digests += processChunk(chunk, frequency, weekly, changesByRckik);
+                walked += chunk.size();
+                List<Long> ids = chunk.stream().map(NotificationPreference::getId).toList();
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (weekly) {
+                        notificationPreferenceRepository.markWeeklyDigestSent(ids, now);
+                    } else {
+                        notificationPreferenceRepository.markDailyDigestSent(ids, now);
+                    }
+                });
+
+                afterUserId = chunk.get(chunk.size() - 1).getUser().getId();
+            }
+
+            log.info("{} digest completed: {} user(s) walked, {} digest(s) queued", frequency, walked, digests);
+            return digests;
+        } finally {
+            sample.stop(meterRegistry.timer("mkrew.notification.digest", "frequency", frequency));
+            meterRegistry.counter("mkrew.notification.digest.recipients", "frequency", frequency).increment(digests);
+        }
+    }
+
+    /**
+     * Changed or critical blood groups per active center, from one grouped scan over the period
+     */
+    private Map<Long, List<BloodLevelChangeDto>> loadChanges(LocalDate fromDate, LocalDate toDate) {
+        Map<Long, List<BloodLevelChangeDto>> changesByRckik = new HashMap<>();
+        for (Object[] row : bloodSnapshotRepository.summarizeLevelChanges(fromDate, toDate)) {
+            BloodLevelChangeDto change = BloodLevelChangeDto.builder()
+                    .rckikId(((Number) row[0]).longValue())
+                    .rckikName((String) row[1])
+                    .bloodGroup((String) row[2])
+                    .previousLevel((BigDecimal) row[3])
+                    .currentLevel((BigDecimal) row[4])
+                    .minLevel((BigDecimal) row[5])
+                    .build();
+
+            boolean changed = change.getPreviousLevel().compareTo(change.getCurrentLevel()) != 0;
+            boolean critical = change.getMinLevel().compareTo(criticalThreshold) < 0;
+            if (changed || critical) {
+                changesByRckik.computeIfAbsent(change.getRckikId(), k -> new ArrayList<>()).add(change);
+            }
+        }
+        return changesByRckik;
+    }
+
+    private int processChunk(List<NotificationPreference> chunk, String frequency, boolean weekly,
+                             Map<Long, List<BloodLevelChangeDto>> changesByRckik) {
+        // Favorites of the whole chunk in one query, reduced to centers that have changes
+        Map<Long, SortedSet<Long>> centersByUser = new HashMap<>();
+        for (UserFavoriteRckik favorite : favoriteRckikRepository.findWithRckikByUserIdIn(
+                chunk.stream().map(prefs -> prefs.getUser().getId()).toList())) {
+            if (changesByRckik.containsKey(favorite.getRckik().getId())) {
+                centersByUser.computeIfAbsent(favorite.getUser().getId(), k -> new TreeSet<>())
+                        .add(favorite.getRckik().getId());
+            }
+        }
+
+        Map<SortedSet<Long>, String> renderedByCenters = new HashMap<>();
+        int digests = 0;
+
+        for (NotificationPreference prefs : chunk) {
+            User user = prefs.getUser();
+            SortedSet<Long> centers = centersByUser.get(user.getId());
+            if (centers == null) {
+                continue;
+            }
+
+            List<BloodLevelChangeDto> changes = centers.stream()
+                    .flatMap(rckikId -> changesByRckik.get(rckikId).stream())
+                    .toList();
+            boolean delivered = false;
+
+            if (prefs.getEmailEnabled() && frequency.equals(prefs.getEmailFrequency())
+                    && Boolean.TRUE.equals(user.getEmailVerified())) {
+                String content = renderedByCenters.computeIfAbsent(centers,
+                        key -> emailService.renderBloodLevelDigest(changes, weekly));
+                enqueueEmail(user, weekly, content);
+                delivered = true;
+            }
+
+            if (prefs.getInAppEnabled() && frequency.equals(prefs.getInAppFrequency())) {
+                createInAppDigest(user, changes, centers, weekly);
+                delivered = true;
+            }
+
+            if (delivered) {
+                digests++;
+            }
+        }
+        return digests;
+    }
+
+    private void enqueueEmail(User user, boolean weekly, String content) {
+        String recipientName = user.getFirstName() != null ? user.getFirstName() : "Użytkowniku";
+        String email = user.getEmail();
+        Long userId = user.getId();
+        long pauseMillis = 1000L / Math.max(1, sendsPerSecond);
+
+        sender.execute(() -> {
+            try {
+                if (!emailService.sendBloodLevelDigest(email, recipientName, userId, weekly, content)) {
+                    log.warn("Failed to send blood level digest to user {}", userId);
+                }
+                TimeUnit.MILLISECONDS.sleep(pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Error sending blood level digest to user {}", userId, e);
+            }
+        });
+    }
+
+    private void createInAppDigest(User user, List<BloodLevelChangeDto> changes, SortedSet<Long> centers,
+                                   boolean weekly) {
+        try {
+            Map<String, List<BloodLevelChangeDto>> byCenter = new TreeMap<>();
+            changes.forEach(change -> byCenter.computeIfAbsent(change.getRckikName(), k -> new ArrayList<>()).add(change));
+
+            StringBuilder message = new StringBuilder();
+            byCenter.forEach((rckikName, centerChanges) -> {
+                message.append(rckikName).append(":\n");
+                centerChanges.forEach(change -> message.append("Grupa ")
+                        .append(change.getBloodGroup())
+                        .append(": ")
+                        .append(change.getPreviousLevel())
+                        .append("% -> ")
+                        .append(change.getCurrentLevel())
+                        .append("%\n"));
+                message.append("\n");
+            });
+
+            Long rckikId = centers.size() == 1 ? centers.first() : null;
+            inAppNotificationService.createNotification(
+                    user.getId(),
+                    "BLOOD_LEVEL_DIGEST",
+                    rckikId,
+                    weekly ? "Tygodniowe podsumowanie stanów krwi" : "Dzienne podsumowanie stanów krwi",
+                    message.toString().trim(),
+                    rckikId != null ? "/rckik/" + rckikId : "/dashboard/favorites",
+                    LocalDateTime.now().plusDays(weekly ? 14 : 7)
+            );
+        } catch (Exception e) {
+            log.error("Error creating in-app digest for user {}", user.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package pl.mkrew.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.mkrew.backend.entity.BloodLevelOutboxEvent;
+import pl.mkrew.backend.event.BloodLevelsChangedEvent;
+import pl.mkrew.backend.repository.BloodLevelOutboxRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transactional outbox for changed blood levels
+ * US-010: Email Notifications for Critical Blood Levels
+ *
+ * Snapshot writers call {@link #record} inside their transaction. After commit the dispatcher
+ * claims pending rows in a short transaction (FOR UPDATE SKIP LOCKED plus a claim time, safe with
+ * several instances), publishes one {@link BloodLevelsChangedEvent} per claimed batch outside any
+ * transaction and then marks the rows processed. Listeners therefore run their own short
+ * transactions instead of one spanning the view refresh and the email fan-out.
+ *
+ * Delivery is at least once: if a listener fails the claim is released, and if the instance dies
+ * the claim expires after claim-lease-minutes; either way the rows are published again by the
+ * scheduled poll ({@link #wakeUp}). Listeners must tolerate repeats (the alert state machine
+ * commits an alerted episode before sending, so a repeat does not alert it again).
+ * Processed rows are purged after a retention period ({@link #purgeProcessed}).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BloodLevelOutboxService {
+
+    private final BloodLevelOutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${mkrew.blood-levels.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${mkrew.blood-levels.outbox.claim-lease-minutes:10}")
+    private long claimLeaseMinutes;
+
+    @Value("${mkrew.blood-levels.outbox.retention-days:7}")
+    private int retentionDays;
+
+    private final AtomicBoolean dispatchQueued = new AtomicBoolean();
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "blood-level-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Record changed blood groups of a center in the current transaction
+     * Dispatch is triggered after commit
+     *
+     * @param rckikId     RCKiK ID
+     * @param bloodGroups Blood groups whose level changed
+     * @param source      SCRAPER or MANUAL
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long rckikId, Collection<String> bloodGroups, String source) {
+        if (bloodGroups.isEmpty()) {
+            return;
+        }
+
+        outboxRepository.saveAll(bloodGroups.stream()
+                .map(bloodGroup -> BloodLevelOutboxEvent.builder()
+                        .rckikId(rckikId)
+                        .bloodGroup(bloodGroup)
+                        .source(source)
+                        .build())
+                .toList());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wakeUp();
+            }
+        });
+    }
+
+    /**
+     * Queue a dispatch of pending events; calls made while one is queued are coalesced
+     */
+    public void wakeUp() {
+        if (dispatchQueued.compareAndSet(false, true)) {
+            dispatcher.execute(() -> {
+                dispatchQueued.set(false);
+                try {
+                    dispatchPending();
+                } catch (Exception e) {
+                    log.error("Blood level outbox dispatch failed", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Claim and publish pending events until the outbox is drained
+     * Each batch is marked processed only after its listeners succeeded
+     *
+     * @return Number of dispatched outbox rows
+     */
+    public int dispatchPending() {
+        int dispatched = 0;
+        while (true) {
+            List<BloodLevelOutboxEvent> events = transactionTemplate.execute(status -> claimBatch());
+            if (events == null || events.isEmpty()) {
+                return dispatched;
+            }
+
+            List<Long> ids = events.stream().map(BloodLevelOutboxEvent::getId).toList();
+            Map<Long, Set<String>> changed = new HashMap<>();
+            events.forEach(event -> changed.computeIfAbsent(event.getRckikId(), k -> new TreeSet<>())
+                    .add(event.getBloodGroup()));
+            log.info("Dispatching {} blood level change(s) in {} center(s)", events.size(), changed.size());
+
+            try {
+                eventPublisher.publishEvent(new BloodLevelsChangedEvent(changed));
+            } catch (RuntimeException e) {
+                // Release the claim so the next poll retries the batch
+                transactionTemplate.executeWithoutResult(status -> outboxRepository.updateClaim(ids, null));
+                throw e;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.markProcessed(ids, LocalDateTime.now()));
+            dispatched += events.size();
+        }
+    }
+
+    private List<BloodLevelOutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BloodLevelOutboxEvent> events = outboxRepository.lockClaimable(batchSize, now.minusMinutes(claimLeaseMinutes));
+        if (!events.isEmpty()) {
+            outboxRepository.updateClaim(events.stream().map(BloodLevelOutboxEvent::getId).toList(), now);
+        }
+        return events;
+    }
+
+    /**
+     * Delete events processed longer ago than the retention period
+     *
+     * @return Number of deleted outbox rows
+     */
+    @Transactional
+    public int purgeProcessed() {
+        return outboxRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays));
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import pl.mkrew.backend.dto.BloodSnapshotResponse;
 import pl.mkrew.backend.dto.CreateBloodSnapshotRequest;
 import pl.mkrew.backend.dto.UpdateBloodSnapshotRequest;
+import pl.mkrew.backend.entity.BloodLevelOutboxEvent;
 import pl.mkrew.backend.entity.BloodSnapshot;
 import pl.mkrew.backend.entity.Rckik;
 import pl.mkrew.backend.exception.ResourceNotFoundException;
@@ -22,6 +23,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -35,6 +37,7 @@ public class BloodSnapshotService {
     private final BloodSnapshotRepository bloodSnapshotRepository;
     private final RckikRepository rckikRepository;
     private final AuditLogService auditLogService;
+    private final BloodLevelOutboxService bloodLevelOutboxService;
 
     /**
      * Create manual blood snapshot
@@ -71,6 +74,7 @@ public class BloodSnapshotService {
             .build();
 
         BloodSnapshot savedSnapshot = bloodSnapshotRepository.save(snapshot);
+        bloodLevelOutboxService.record(rckik.getId(), List.of(request.getBloodGroup()), BloodLevelOutboxEvent.SOURCE_MANUAL);
 
         // Create audit log
         Map<String, Object> metadata = new HashMap<>();
@@ -159,6 +163,10 @@ public class BloodSnapshotService {
         snapshot.setLevelPercentage(request.getLevelPercentage());
 
         BloodSnapshot updatedSnapshot = bloodSnapshotRepository.save(snapshot);
+        if (oldLevel.compareTo(request.getLevelPercentage()) != 0) {
+            bloodLevelOutboxService.record(snapshot.getRckik().getId(), List.of(snapshot.getBloodGroup()),
+                BloodLevelOutboxEvent.SOURCE_MANUAL);
+        }
 
         // Create audit log
         Map<String, Object> metadata = new HashMap<>();
@@ -216,6 +224,8 @@ public class BloodSnapshotService {
         );
 
         bloodSnapshotRepository.delete(snapshot);
+        bloodLevelOutboxService.record(snapshot.getRckik().getId(), List.of(snapshot.getBloodGroup()),
+            BloodLevelOutboxEvent.SOURCE_MANUAL);
 
         log.info("Manual blood snapshot deleted successfully with ID: {}", id);
     }
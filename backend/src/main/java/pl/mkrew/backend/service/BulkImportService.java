@@ -0,0 +1,392 @@
+package pl.mkrew.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.mkrew.backend.dto.BloodSnapshotImportRow;
+import pl.mkrew.backend.dto.DonationImportRow;
+import pl.mkrew.backend.dto.ImportResultResponse;
+import pl.mkrew.backend.entity.BloodLevelOutboxEvent;
+import pl.mkrew.backend.entity.Rckik;
+import pl.mkrew.backend.exception.ValidationException;
+import pl.mkrew.backend.repository.BloodSnapshotBatchRepository;
+import pl.mkrew.backend.repository.DonationBatchRepository;
+import pl.mkrew.backend.repository.RckikRepository;
+import pl.mkrew.backend.repository.UserDonationStatsRepository;
+import pl.mkrew.backend.util.BloodGroups;
+import pl.mkrew.backend.util.ImportRowReader;
+import pl.mkrew.backend.util.ImportRowReader.RowException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Streaming bulk import of manual blood snapshots and donation history (CSV or NDJSON)
+ * US-028: Ręczne wprowadzanie stanów krwi przez administratora
+ * US-012: Add Donation Entry
+ *
+ * Rows are read and validated one at a time and written in JDBC batches of mkrew.import.batch-size,
+ * each batch in its own transaction, so memory stays constant for any input size. RCKiK codes are
+ * resolved from a map loaded once per import, donor emails with one query per batch. Rows that
+ * duplicate existing data are skipped, so an interrupted import can simply be re-run.
+ *
+ * Each batch records its outbox events (current levels, alerts) in the same transaction.
+ * Batches committed before a failure stay imported; the row error report lists the first
+ * mkrew.import.max-errors rejected rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkImportService {
+
+    private static final Set<String> SNAPSHOT_COLUMNS = Set.of("rckik_code", "snapshot_date", "blood_group", "level_percentage");
+    private static final Set<String> DONATION_COLUMNS = Set.of("user_email", "rckik_code", "donation_date", "quantity_ml", "donation_type");
+
+    private static final Set<String> DONATION_TYPES = Set.of("FULL_BLOOD", "PLASMA", "PLATELETS", "OTHER");
+
+    private final RckikRepository rckikRepository;
+    private final BloodSnapshotBatchRepository snapshotBatchRepository;
+    private final DonationBatchRepository donationBatchRepository;
+    private final UserDonationStatsRepository donationStatsRepository;
+    private final BloodLevelOutboxService bloodLevelOutboxService;
+    private final AuditLogService auditLogService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${mkrew.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${mkrew.import.max-errors:1000}")
+    private int maxErrors;
+
+    /**
+     * Import manual blood snapshots
+     * Columns: rckik_code, snapshot_date (yyyy-MM-dd), blood_group, level_percentage
+     * Same rules as a single manual snapshot: active center, date not in the future and at most 2 years old
+     *
+     * @param input       Request body
+     * @param format      CSV or NDJSON
+     * @param adminUserId Admin performing the import
+     * @return Import summary with row errors
+     */
+    public ImportResultResponse importBloodSnapshots(InputStream input, ImportRowReader.Format format, Long adminUserId) {
+        long started = System.currentTimeMillis();
+        Map<String, Rckik> rckiksByCode = loadRckiksByCode();
+        LocalDate today = LocalDate.now();
+        ImportReport report = new ImportReport(maxErrors);
+        List<BloodSnapshotImportRow> batch = new ArrayList<>(batchSize);
+
+        try (ImportRowReader reader = openReader(input, format, SNAPSHOT_COLUMNS)) {
+            while (reader.hasNext()) {
+                report.totalRows++;
+                try {
+                    batch.add(parseSnapshotRow(reader.row(), rckiksByCode, today));
+                } catch (RowException e) {
+                    report.reject(reader.lineNumber(), e.getMessage());
+                }
+
+                if (batch.size() >= batchSize) {
+                    flushSnapshots(batch, report);
+                }
+            }
+            flushSnapshots(batch, report);
+        } catch (IOException e) {
+            log.warn("Failed to close snapshot import input", e);
+        }
+
+        return finish("MANUAL_SNAPSHOTS_IMPORTED", "BloodSnapshot", "snapshots", format, adminUserId, report, started);
+    }
+
+    /**
+     * Import donation history of registered users
+     * Columns: user_email, rckik_code, donation_date (yyyy-MM-dd), quantity_ml, donation_type, notes (optional),
+     * confirmed (optional, default false). Same rules as a single donation entry: date not in the future and
+     * at most 5 years old, 50-1000 ml; the user must exist and not be deleted
+     *
+     * @param input       Request body
+     * @param format      CSV or NDJSON
+     * @param adminUserId Admin performing the import
+     * @return Import summary with row errors
+     */
+    public ImportResultResponse importDonations(InputStream input, ImportRowReader.Format format, Long adminUserId) {
+        long started = System.currentTimeMillis();
+        Map<String, Rckik> rckiksByCode = loadRckiksByCode();
+        LocalDate today = LocalDate.now();
+        ImportReport report = new ImportReport(maxErrors);
+        List<ParsedDonation> batch = new ArrayList<>(batchSize);
+
+        try (ImportRowReader reader = openReader(input, format, DONATION_COLUMNS)) {
+            while (reader.hasNext()) {
+                report.totalRows++;
+                try {
+                    batch.add(parseDonationRow(reader.row(), reader.lineNumber(), rckiksByCode, today));
+                } catch (RowException e) {
+                    report.reject(reader.lineNumber(), e.getMessage());
+                }
+
+                if (batch.size() >= batchSize) {
+                    flushDonations(batch, report);
+                }
+            }
+            flushDonations(batch, report);
+        } catch (IOException e) {
+            log.warn("Failed to close donation import input", e);
+        }
+
+        return finish("DONATIONS_IMPORTED", "Donation", "donations", format, adminUserId, report, started);
+    }
+
+    private ImportRowReader openReader(InputStream input, ImportRowReader.Format format, Set<String> requiredColumns) {
+        try {
+            return new ImportRowReader(input, format, objectMapper, requiredColumns);
+        } catch (RowException e) {
+            throw new ValidationException(e.getMessage());
+        }
+    }
+
+    private Map<String, Rckik> loadRckiksByCode() {
+        Map<String, Rckik> rckiksByCode = new HashMap<>();
+        rckikRepository.findAll().forEach(rckik -> rckiksByCode.put(rckik.getCode().toUpperCase(Locale.ROOT), rckik));
+        return rckiksByCode;
+    }
+
+    private BloodSnapshotImportRow parseSnapshotRow(Map<String, String> row, Map<String, Rckik> rckiksByCode, LocalDate today) {
+        Rckik rckik = resolveActiveRckik(row, rckiksByCode);
+
+        LocalDate snapshotDate = parseDate(row, "snapshot_date");
+        if (snapshotDate.isAfter(today)) {
+            throw new RowException("Snapshot date cannot be in the future");
+        }
+        if (snapshotDate.isBefore(today.minusYears(2))) {
+            throw new RowException("Snapshot date cannot be older than 2 years");
+        }
+
+        String bloodGroup = required(row, "blood_group").toUpperCase(Locale.ROOT);
+        if (!BloodGroups.isValid(bloodGroup)) {
+            throw new RowException("Blood group must be one of: " + String.join(", ", BloodGroups.ALL));
+        }
+
+        BigDecimal levelPercentage;
+        try {
+            levelPercentage = new BigDecimal(required(row, "level_percentage"));
+        } catch (NumberFormatException e) {
+            throw new RowException("Level percentage must be a number");
+        }
+        if (levelPercentage.signum() < 0 || levelPercentage.compareTo(BigDecimal.valueOf(100)) > 0
+                || levelPercentage.stripTrailingZeros().scale() > 2) {
+            throw new RowException("Level percentage must be between 0.00 and 100.00 with at most 2 decimal places");
+        }
+
+        return new BloodSnapshotImportRow(rckik.getId(), snapshotDate, bloodGroup, levelPercentage);
+    }
+
+    private ParsedDonation parseDonationRow(Map<String, String> row, long lineNumber, Map<String, Rckik> rckiksByCode,
+                                            LocalDate today) {
+        String email = required(row, "user_email").toLowerCase(Locale.ROOT);
+        Rckik rckik = resolveRckik(row, rckiksByCode);
+
+        LocalDate donationDate = parseDate(row, "donation_date");
+        if (donationDate.isAfter(today)) {
+            throw new RowException("Donation date cannot be in the future");
+        }
+        if (donationDate.isBefore(today.minusYears(5))) {
+            throw new RowException("Donation date cannot be more than 5 years in the past");
+        }
+
+        int quantityMl;
+        try {
+            quantityMl = Integer.parseInt(required(row, "quantity_ml"));
+        } catch (NumberFormatException e) {
+            throw new RowException("Quantity must be a whole number of milliliters");
+        }
+        if (quantityMl < 50 || quantityMl > 1000) {
+            throw new RowException("Quantity must be between 50 and 1000 ml");
+        }
+
+        String donationType = required(row, "donation_type").toUpperCase(Locale.ROOT);
+        if (!DONATION_TYPES.contains(donationType)) {
+            throw new RowException("Donation type must be one of: FULL_BLOOD, PLASMA, PLATELETS, OTHER");
+        }
+
+        String notes = row.get("notes");
+        if (notes != null && notes.length() > 1000) {
+            throw new RowException("Notes cannot exceed 1000 characters");
+        }
+
+        String confirmed = row.getOrDefault("confirmed", "false");
+        if (!"true".equalsIgnoreCase(confirmed) && !"false".equalsIgnoreCase(confirmed)) {
+            throw new RowException("Confirmed must be true or false");
+        }
+
+        return new ParsedDonation(lineNumber, email, rckik.getId(), donationDate, quantityMl, donationType, notes,
+                Boolean.parseBoolean(confirmed.toLowerCase(Locale.ROOT)));
+    }
+
+    private void flushSnapshots(List<BloodSnapshotImportRow> batch, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<BloodSnapshotImportRow> inserted = transactionTemplate.execute(status -> {
+            List<BloodSnapshotImportRow> rows = snapshotBatchRepository.insertManual(batch);
+            // Only inserted rows change levels; rows skipped as already present must not trigger outbox events.
+            // Recorded with the batch, so committed rows always have their event even if the import stops later
+            Map<Long, Set<String>> groupsByRckik = new HashMap<>();
+            rows.forEach(row -> groupsByRckik.computeIfAbsent(row.rckikId(), k -> new TreeSet<>()).add(row.bloodGroup()));
+            groupsByRckik.forEach((rckikId, groups) ->
+                    bloodLevelOutboxService.record(rckikId, groups, BloodLevelOutboxEvent.SOURCE_MANUAL));
+            return rows;
+        });
+        report.imported(inserted != null ? inserted.size() : 0, batch.size());
+        batch.clear();
+    }
+
+    private void flushDonations(List<ParsedDonation> batch, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> userIdsByEmail = donationBatchRepository.findActiveUserIdsByEmail(
+                batch.stream().map(ParsedDonation::email).distinct().toList());
+
+        List<DonationImportRow> rows = new ArrayList<>(batch.size());
+        Set<Long> userIds = new HashSet<>();
+        for (ParsedDonation donation : batch) {
+            Long userId = userIdsByEmail.get(donation.email());
+            if (userId == null) {
+                report.reject(donation.lineNumber(), "User not found: " + donation.email());
+                continue;
+            }
+            userIds.add(userId);
+            rows.add(new DonationImportRow(userId, donation.rckikId(), donation.donationDate(), donation.quantityMl(),
+                    donation.donationType(), donation.notes(), donation.confirmed()));
+        }
+        batch.clear();
+
+        if (!rows.isEmpty()) {
+            Integer inserted = transactionTemplate.execute(status -> {
+                int count = donationBatchRepository.insert(rows);
+                donationStatsRepository.recompute(userIds);
+                return count;
+            });
+            report.imported(inserted != null ? inserted : 0, rows.size());
+        }
+    }
+
+    private ImportResultResponse finish(String action, String targetType, String type, ImportRowReader.Format format,
+                                        Long adminUserId, ImportReport report, long started) {
+        long durationMs = System.currentTimeMillis() - started;
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("format", format.name());
+        metadata.put("totalRows", report.totalRows);
+        metadata.put("importedRows", report.importedRows);
+        metadata.put("skippedRows", report.skippedRows);
+        metadata.put("rejectedRows", report.rejectedRows);
+        metadata.put("durationMs", durationMs);
+        auditLogService.logAction(String.valueOf(adminUserId), action, targetType, null, metadata);
+
+        meterRegistry.counter("mkrew.import.rows", "type", type, "result", "imported").increment(report.importedRows);
+        meterRegistry.counter("mkrew.import.rows", "type", type, "result", "skipped").increment(report.skippedRows);
+        meterRegistry.counter("mkrew.import.rows", "type", type, "result", "rejected").increment(report.rejectedRows);
+
+        log.info("Imported {} {} ({} skipped as duplicates, {} rejected of {} rows) in {} ms by admin {}",
+                report.importedRows, type, report.skippedRows, report.rejectedRows, report.totalRows, durationMs,
+                adminUserId);
+
+        return report.toResponse();
+    }
+
+    private static Rckik resolveActiveRckik(Map<String, String> row, Map<String, Rckik> rckiksByCode) {
+        Rckik rckik = resolveRckik(row, rckiksByCode);
+        if (!rckik.getActive()) {
+            throw new RowException("Cannot create snapshot for inactive RCKiK center: " + rckik.getCode());
+        }
+        return rckik;
+    }
+
+    private static Rckik resolveRckik(Map<String, String> row, Map<String, Rckik> rckiksByCode) {
+        String code = required(row, "rckik_code");
+        Rckik rckik = rckiksByCode.get(code.toUpperCase(Locale.ROOT));
+        if (rckik == null) {
+            throw new RowException("Unknown RCKiK code: " + code);
+        }
+        return rckik;
+    }
+
+    private static LocalDate parseDate(Map<String, String> row, String column) {
+        try {
+            return LocalDate.parse(required(row, column));
+        } catch (DateTimeParseException e) {
+            throw new RowException(column + " must be a date in yyyy-MM-dd format");
+        }
+    }
+
+    private static String required(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null) {
+            throw new RowException(column + " is required");
+        }
+        return value;
+    }
+
+    private record ParsedDonation(long lineNumber, String email, Long rckikId, LocalDate donationDate, int quantityMl,
+                                  String donationType, String notes, boolean confirmed) {
+    }
+
+    /**
+     * Row counters and the first maxErrors rejected rows
+     */
+    private static final class ImportReport {
+
+        private final int maxErrors;
+        private final List<ImportResultResponse.RowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long importedRows;
+        private long skippedRows;
+        private long rejectedRows;
+
+        private ImportReport(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void reject(long line, String message) {
+            rejectedRows++;
+            if (errors.size() < maxErrors) {
+                errors.add(ImportResultResponse.RowError.builder().line(line).message(message).build());
+            }
+        }
+
+        private void imported(int inserted, int written) {
+            importedRows += inserted;
+            skippedRows += written - inserted;
+        }
+
+        private ImportResultResponse toResponse() {
+            errors.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+            return ImportResultResponse.builder()
+                    .totalRows(totalRows)
+                    .importedRows(importedRows)
+                    .skippedRows(skippedRows)
+                    .rejectedRows(rejectedRows)
+                    .errors(errors)
+                    .errorsTruncated(rejectedRows > errors.size())
+                    .build();
+        }
+    }
+}
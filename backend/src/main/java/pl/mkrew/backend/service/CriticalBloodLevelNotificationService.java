@@ -1,24 +1,36 @@
 package pl.mkrew.backend.service;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import pl.mkrew.backend.dto.CriticalBloodLevelAlertDto;
 import pl.mkrew.backend.entity.BloodSnapshot;
 import pl.mkrew.backend.entity.NotificationPreference;
+import pl.mkrew.backend.entity.Rckik;
 import pl.mkrew.backend.entity.User;
-import pl.mkrew.backend.entity.UserFavoriteRckik;
+import pl.mkrew.backend.event.BloodLevelsChangedEvent;
 import pl.mkrew.backend.repository.BloodSnapshotRepository;
 import pl.mkrew.backend.repository.NotificationPreferenceRepository;
-import pl.mkrew.backend.repository.UserFavoriteRckikRepository;
+import pl.mkrew.backend.repository.RckikRepository;
+import pl.mkrew.backend.repository.UserRepository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -31,92 +43,262 @@ import java.util.stream.Collectors;
 @Slf4j
 public class CriticalBloodLevelNotificationService {
 
-    private final UserFavoriteRckikRepository favoriteRckikRepository;
+    private final AlertRecipientIndexService recipientIndexService;
+    private final UserRepository userRepository;
     private final BloodSnapshotRepository bloodSnapshotRepository;
+    private final RckikRepository rckikRepository;
+    private final BloodLevelAlertStateService alertStateService;
     private final NotificationPreferenceRepository notificationPreferenceRepository;
     private final EmailService emailService;
     private final EmailLogService emailLogService;
     private final InAppNotificationService inAppNotificationService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
 
-    @Value("${mkrew.notification.critical-threshold:20.0}")
-    private BigDecimal criticalThreshold;
+    @Value("${mkrew.notification.event-driven-alerts:true}")
+    private boolean eventDrivenAlerts;
 
     @Value("${mkrew.notification.rate-limit:5}")
     private int emailRateLimit;
 
-    @Value("${mkrew.app.base-url:http://localhost:3000}")
-    private String baseUrl;
-
     /**
      * Check critical blood levels and send notifications to affected users
-     * Called by scheduled job
+     * Called by scheduled job; only groups that transition into CRITICAL are alerted
+     * (see {@link BloodLevelAlertStateService})
+     *
+     * Metrics: mkrew.notification.fanout (duration) and
+     * mkrew.notification.recipients{channel=email|in_app} (recipients per check)
      *
      * @return Number of notifications sent
      */
-    @Transactional
     public int checkAndNotifyUsers() {
         log.info("Starting critical blood level notification check...");
 
-        // Get all critical blood snapshots
-        List<BloodSnapshot> criticalSnapshots = bloodSnapshotRepository.findCriticalLevels(criticalThreshold);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int[] sent = {0, 0};
+        try {
+            // Latest level of every group in every active center, run through the alert state machine
+            FanOut fanOut = transactionTemplate.execute(status -> {
+                List<Long> rckikIds = rckikRepository.findByActiveTrue().stream().map(Rckik::getId).toList();
+                return prepareFanOut(alertStateService.applyTransitions(
+                        bloodSnapshotRepository.findLatestByRckikIds(rckikIds)));
+            });
+
+            if (fanOut == null) {
+                log.info("No new critical blood level transitions. No notifications to send.");
+                return 0;
+            }
+
+            log.info("New critical blood levels in {} RCKiK centers", fanOut.criticalByRckik().size());
+
+            sent = deliver(fanOut);
+
+            log.info("Critical blood level notification check completed. Sent {} notifications", sent[0]);
+            return sent[0];
+        } finally {
+            sample.stop(meterRegistry.timer("mkrew.notification.fanout"));
+            recordRecipients("email", sent[0]);
+            recordRecipients("in_app", sent[1]);
+        }
+    }
 
-        if (criticalSnapshots.isEmpty()) {
-            log.info("No critical blood levels found. No notifications to send.");
+    /**
+     * Evaluate alerts only for the centers and blood groups that changed
+     * Listens to events dispatched from the blood level outbox after each committed snapshot batch.
+     * Failures while evaluating propagate, so the outbox batch is retried; transitions already
+     * committed are not alerted again.
+     *
+     * @param event Changed blood groups per RCKiK
+     */
+    @EventListener
+    @Order(2)
+    public void onBloodLevelsChanged(BloodLevelsChangedEvent event) {
+        if (!eventDrivenAlerts) {
+            return;
+        }
+        evaluateAndNotify(event.changedGroupsByRckik());
+    }
+
+    /**
+     * Send alerts held back by the cooldown once it has elapsed
+     * Called by scheduled job when event-driven alerts are enabled (levels that stay critical
+     * produce no new change events)
+     *
+     * @return Number of notifications sent
+     */
+    public int notifyPendingAlerts() {
+        Map<Long, Set<String>> pending = alertStateService.findPendingAlerts();
+        if (pending.isEmpty()) {
             return 0;
         }
+        log.info("Re-evaluating pending critical alerts in {} center(s)", pending.size());
+        return evaluateAndNotify(pending);
+    }
+
+    /**
+     * Run the given groups' latest levels through the state machine and fan out on new critical alerts
+     *
+     * @param changed Blood groups per RCKiK to evaluate
+     * @return Number of emails sent
+     */
+    private int evaluateAndNotify(Map<Long, Set<String>> changed) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int[] sent = {0, 0};
+        try {
+            // Only the given groups go through the state machine; fan out on transitions into CRITICAL
+            FanOut fanOut = transactionTemplate.execute(status -> {
+                List<BloodSnapshot> latest = bloodSnapshotRepository.findLatestByRckikIds(List.copyOf(changed.keySet()));
+                return prepareFanOut(alertStateService.applyTransitions(latest.stream()
+                        .filter(snapshot -> changed.get(snapshot.getRckik().getId()).contains(snapshot.getBloodGroup()))
+                        .toList()));
+            });
+
+            if (fanOut == null) {
+                log.debug("No critical transitions in {} changed center(s)", changed.size());
+                return 0;
+            }
+
+            log.info("Critical transitions in {} of {} changed center(s)", fanOut.criticalByRckik().size(), changed.size());
+            sent = deliver(fanOut);
+            return sent[0];
+        } finally {
+            sample.stop(meterRegistry.timer("mkrew.notification.fanout"));
+            recordRecipients("email", sent[0]);
+            recordRecipients("in_app", sent[1]);
+        }
+    }
+
+    /**
+     * Recipients of one round of critical alerts, resolved inside the transaction that stored the
+     * transitions and delivered after it committed
+     *
+     * @param criticalByRckik   Critical snapshots per RCKiK
+     * @param alertsByRckik     Alert content per RCKiK
+     * @param emailRecipients   Users to email with their critical favorite centers
+     * @param inAppUsersByRckik In-app recipients per RCKiK
+     */
+    private record FanOut(Map<Long, List<BloodSnapshot>> criticalByRckik,
+                          Map<Long, CriticalBloodLevelAlertDto> alertsByRckik,
+                          Map<User, SortedSet<Long>> emailRecipients,
+                          Map<Long, List<Long>> inAppUsersByRckik) {
+    }
 
-        log.info("Found {} critical blood level entries across all centers", criticalSnapshots.size());
+    /**
+     * Resolve recipients of critical alerts from users who have the affected centers in favorites
+     * Recipients come from {@link AlertRecipientIndexService} (optionally by blood group compatibility).
+     * Runs in the transition transaction, so the alerted episodes are committed before any email is
+     * sent: a retried or repeated evaluation finds them alerted and does not send them again.
+     *
+     * @param criticalByRckik Critical snapshots per RCKiK
+     * @return Fan-out to deliver, null if nothing transitioned into CRITICAL
+     */
+    private FanOut prepareFanOut(Map<Long, List<BloodSnapshot>> criticalByRckik) {
+        if (criticalByRckik.isEmpty()) {
+            return null;
+        }
 
-        // Group by RCKiK
-        Map<Long, List<BloodSnapshot>> criticalByRckik = criticalSnapshots.stream()
-                .collect(Collectors.groupingBy(bs -> bs.getRckik().getId()));
+        // Recipients per critical center and blood group from the in-memory index, grouped per user (sorted center IDs)
+        Map<Long, SortedSet<Long>> centersByUser = new HashMap<>();
+        criticalByRckik.forEach((rckikId, snapshots) -> {
+            for (BloodSnapshot snapshot : snapshots) {
+                for (long userId : recipientIndexService.findRecipients(rckikId, snapshot.getBloodGroup())) {
+                    centersByUser.computeIfAbsent(userId, k -> new TreeSet<>()).add(rckikId);
+                }
+            }
+        });
 
-        log.info("Critical blood levels found in {} RCKiK centers", criticalByRckik.size());
+        Map<Long, User> users = new LinkedHashMap<>();
+        if (!centersByUser.isEmpty()) {
+            userRepository.findAllById(new TreeSet<>(centersByUser.keySet()))
+                    .forEach(user -> users.put(user.getId(), user));
+        }
 
-        int totalNotifications = 0;
+        Map<Long, CriticalBloodLevelAlertDto> alertsByRckik = new HashMap<>();
+        criticalByRckik.forEach((rckikId, snapshots) -> alertsByRckik.put(rckikId, buildAlertDto(rckikId, snapshots)));
 
-        // For each RCKiK with critical levels
-        for (Map.Entry<Long, List<BloodSnapshot>> entry : criticalByRckik.entrySet()) {
-            Long rckikId = entry.getKey();
-            List<BloodSnapshot> snapshots = entry.getValue();
+        log.info("Found {} users with {} critical RCKiK center(s) in favorites", users.size(), criticalByRckik.size());
+        Map<User, SortedSet<Long>> emailRecipients = new LinkedHashMap<>();
+        Map<Long, List<Long>> inAppUsersByRckik = new HashMap<>();
+        if (users.isEmpty()) {
+            return new FanOut(criticalByRckik, alertsByRckik, emailRecipients, inAppUsersByRckik);
+        }
 
-            // Find users who have this RCKiK as favorite
-            List<UserFavoriteRckik> favorites = favoriteRckikRepository.findByRckikId(rckikId);
+        Map<Long, NotificationPreference> preferences = notificationPreferenceRepository.findByUserIdIn(users.keySet())
+                .stream()
+                .collect(Collectors.toMap(prefs -> prefs.getUser().getId(), Function.identity()));
 
-            log.info("Found {} users with RCKiK {} in favorites", favorites.size(), rckikId);
+        for (User user : users.values()) {
+            SortedSet<Long> centers = centersByUser.get(user.getId());
+            NotificationPreference prefs = preferences.get(user.getId());
 
-            // Send notification to each eligible user
-            for (UserFavoriteRckik favorite : favorites) {
-                User user = favorite.getUser();
+            // One consolidated email per user
+            if (shouldSendEmailNotification(user, prefs)) {
+                emailRecipients.put(user, centers);
+            }
 
-                // Send email notification if user preferences allow
-                if (shouldSendEmailNotification(user)) {
-                    boolean sent = sendCriticalAlert(user, favorite.getRckik().getId(),
-                            favorite.getRckik().getName(), snapshots);
-                    if (sent) {
-                        totalNotifications++;
-                    }
+            // In-app notifications are collected per center and broadcast on delivery
+            if (shouldSendInAppNotification(user, prefs)) {
+                for (Long rckikId : centers) {
+                    inAppUsersByRckik.computeIfAbsent(rckikId, k -> new ArrayList<>()).add(user.getId());
                 }
+            }
+        }
+        return new FanOut(criticalByRckik, alertsByRckik, emailRecipients, inAppUsersByRckik);
+    }
 
-                // Create in-app notification if user preferences allow
-                if (shouldSendInAppNotification(user)) {
-                    createInAppNotification(user, favorite.getRckik().getId(),
-                            favorite.getRckik().getName(), snapshots);
-                }
+    /**
+     * Send the prepared alerts outside any transaction
+     * Each user gets one email listing all of their critical favorites; the email body is rendered
+     * once per distinct set of centers and only personalised by name. In-app notifications are broadcast
+     * once per center to all of its recipients.
+     *
+     * @param fanOut Prepared recipients
+     * @return [emails sent, in-app notifications created]
+     */
+    private int[] deliver(FanOut fanOut) {
+        int emails = 0;
+        int inApp = 0;
+
+        Map<Set<Long>, String> renderedByCenters = new HashMap<>();
+        for (Map.Entry<User, SortedSet<Long>> recipient : fanOut.emailRecipients().entrySet()) {
+            List<CriticalBloodLevelAlertDto> alerts = recipient.getValue().stream()
+                    .map(fanOut.alertsByRckik()::get)
+                    .toList();
+            String content = renderedByCenters.computeIfAbsent(recipient.getValue(),
+                    key -> emailService.renderCriticalBloodLevelAlert(alerts));
+            if (sendCriticalAlert(recipient.getKey(), alerts, content)) {
+                emails++;
             }
         }
 
-        log.info("Critical blood level notification check completed. Sent {} notifications", totalNotifications);
-        return totalNotifications;
+        // One shared in-app notification per center with a receipt per recipient
+        for (Map.Entry<Long, List<Long>> entry : fanOut.inAppUsersByRckik().entrySet()) {
+            Long rckikId = entry.getKey();
+            createInAppNotification(entry.getValue(), rckikId,
+                    fanOut.alertsByRckik().get(rckikId).getRckikName(), fanOut.criticalByRckik().get(rckikId));
+            inApp += entry.getValue().size();
+        }
+
+        log.debug("Rendered {} distinct alert email bodies for {} users",
+                renderedByCenters.size(), fanOut.emailRecipients().size());
+        return new int[]{emails, inApp};
+    }
+
+    private void recordRecipients(String channel, int recipients) {
+        DistributionSummary.builder("mkrew.notification.recipients")
+                .tag("channel", channel)
+                .register(meterRegistry)
+                .record(recipients);
     }
 
     /**
      * Check if user should receive critical email notification
      *
-     * @param user User
+     * @param user  User
+     * @param prefs User's notification preferences (null if none)
      * @return true if email notification should be sent
      */
-    private boolean shouldSendEmailNotification(User user) {
+    private boolean shouldSendEmailNotification(User user, NotificationPreference prefs) {
         // Check if user is active
         if (user.getDeletedAt() != null) {
             log.debug("User {} is deleted, skipping notification", user.getId());
@@ -129,11 +311,6 @@ public class CriticalBloodLevelNotificationService {
             return false;
         }
 
-        // Get notification preferences
-        NotificationPreference prefs = notificationPreferenceRepository
-                .findByUserId(user.getId())
-                .orElse(null);
-
         if (prefs == null) {
             log.debug("User {} has no notification preferences, skipping notification", user.getId());
             return false;
@@ -153,7 +330,7 @@ public class CriticalBloodLevelNotificationService {
         }
 
         // For ONLY_CRITICAL and IMMEDIATE, send notification
-        // For DAILY, this would be batched (not in MVP)
+        // DAILY and WEEKLY users get the digest instead (BloodLevelDigestService)
         if (!"ONLY_CRITICAL".equals(frequency) && !"IMMEDIATE".equals(frequency)) {
             log.debug("User {} email frequency is {}, not sending individual critical alert",
                     user.getId(), frequency);
@@ -170,59 +347,36 @@ public class CriticalBloodLevelNotificationService {
     }
 
     /**
-     * Send critical blood level alert to user
+     * Send consolidated critical blood level alert to user
      *
-     * @param user         User
-     * @param rckikId      RCKiK ID
-     * @param rckikName    RCKiK name
-     * @param snapshots    Critical blood snapshots
+     * @param user    User
+     * @param alerts  Critical favorite centers of the user
+     * @param content Rendered email body shared by all users with the same centers
      * @return true if sent successfully
      */
-    private boolean sendCriticalAlert(User user, Long rckikId, String rckikName,
-                                      List<BloodSnapshot> snapshots) {
+    private boolean sendCriticalAlert(User user, List<CriticalBloodLevelAlertDto> alerts, String content) {
         try {
-            // Build critical blood groups string
-            StringBuilder criticalGroupsHtml = new StringBuilder();
-            criticalGroupsHtml.append("<ul>");
-            for (BloodSnapshot snapshot : snapshots) {
-                criticalGroupsHtml.append("<li><strong>")
-                        .append(snapshot.getBloodGroup())
-                        .append("</strong>: ")
-                        .append(snapshot.getLevelPercentage())
-                        .append("%</li>");
-            }
-            criticalGroupsHtml.append("</ul>");
-
-            // Build details URL
-            String detailsUrl = baseUrl + "/rckik/" + rckikId;
-
             // Build recipient name
             String recipientName = user.getFirstName() != null ? user.getFirstName() : "Użytkowniku";
 
-            // Send email
             boolean sent = emailService.sendCriticalBloodLevelAlert(
                     user.getEmail(),
                     recipientName,
                     user.getId(),
-                    rckikName,
-                    rckikId,
-                    criticalGroupsHtml.toString(),
-                    detailsUrl
+                    alerts,
+                    content
             );
 
             if (sent) {
-                log.info("Critical blood level alert sent to user {} for RCKiK {}",
-                        user.getId(), rckikId);
+                log.info("Critical blood level alert for {} center(s) sent to user {}", alerts.size(), user.getId());
             } else {
-                log.warn("Failed to send critical blood level alert to user {} for RCKiK {}",
-                        user.getId(), rckikId);
+                log.warn("Failed to send critical blood level alert to user {}", user.getId());
             }
 
             return sent;
 
         } catch (Exception e) {
-            log.error("Error sending critical blood level alert to user {} for RCKiK {}",
-                    user.getId(), rckikId, e);
+            log.error("Error sending critical blood level alert to user {}", user.getId(), e);
             return false;
         }
     }
@@ -263,21 +417,17 @@ public class CriticalBloodLevelNotificationService {
     /**
      * Check if user should receive in-app notification
      *
-     * @param user User
+     * @param user  User
+     * @param prefs User's notification preferences (null if none)
      * @return true if in-app notification should be created
      */
-    private boolean shouldSendInAppNotification(User user) {
+    private boolean shouldSendInAppNotification(User user, NotificationPreference prefs) {
         // Check if user is active
         if (user.getDeletedAt() != null) {
             log.debug("User {} is deleted, skipping in-app notification", user.getId());
             return false;
         }
 
-        // Get notification preferences
-        NotificationPreference prefs = notificationPreferenceRepository
-                .findByUserId(user.getId())
-                .orElse(null);
-
         if (prefs == null) {
             log.debug("User {} has no notification preferences, skipping in-app notification", user.getId());
             return false;
@@ -307,14 +457,14 @@ public class CriticalBloodLevelNotificationService {
     }
 
     /**
-     * Create in-app notification for critical blood level
+     * Create one in-app notification for critical blood level, delivered to all recipients
      *
-     * @param user      User
+     * @param userIds   Recipient user IDs
      * @param rckikId   RCKiK ID
      * @param rckikName RCKiK name
      * @param snapshots Critical blood snapshots
      */
-    private void createInAppNotification(User user, Long rckikId, String rckikName,
+    private void createInAppNotification(List<Long> userIds, Long rckikId, String rckikName,
                                          List<BloodSnapshot> snapshots) {
         try {
             // Build critical blood groups message
@@ -336,9 +486,9 @@ public class CriticalBloodLevelNotificationService {
             // Set expiration to 7 days from now
             LocalDateTime expiresAt = LocalDateTime.now().plusDays(7);
 
-            // Create in-app notification
-            inAppNotificationService.createNotification(
-                    user.getId(),
+            // Single content row, one receipt per user
+            inAppNotificationService.broadcastNotification(
+                    userIds,
                     "CRITICAL_BLOOD_LEVEL",
                     rckikId,
                     title,
@@ -347,11 +497,11 @@ public class CriticalBloodLevelNotificationService {
                     expiresAt
             );
 
-            log.info("Created in-app notification for user {} for RCKiK {}", user.getId(), rckikId);
+            log.info("Created in-app notification for {} user(s) for RCKiK {}", userIds.size(), rckikId);
 
         } catch (Exception e) {
-            log.error("Error creating in-app notification for user {} for RCKiK {}",
-                    user.getId(), rckikId, e);
+            log.error("Error creating in-app notification for {} user(s) for RCKiK {}",
+                    userIds.size(), rckikId, e);
         }
     }
 
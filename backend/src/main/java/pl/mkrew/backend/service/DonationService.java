@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import pl.mkrew.backend.dto.*;
 import pl.mkrew.backend.entity.Donation;
 import pl.mkrew.backend.entity.Rckik;
@@ -16,6 +17,7 @@ import pl.mkrew.backend.exception.InvalidTokenException;
 import pl.mkrew.backend.exception.TokenExpiredException;
 import pl.mkrew.backend.repository.DonationRepository;
 import pl.mkrew.backend.repository.RckikRepository;
+import pl.mkrew.backend.repository.UserDonationStatsRepository;
 import pl.mkrew.backend.repository.UserRepository;
 import pl.mkrew.backend.repository.UserTokenRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -39,6 +41,8 @@ public class DonationService {
     private final RckikRepository rckikRepository;
     private final AuditLogService auditLogService;
     private final UserTokenRepository userTokenRepository;
+    private final UserDonationStatsRepository donationStatsRepository;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Get user's donation history with pagination and filtering
@@ -132,6 +136,7 @@ public class DonationService {
                 .build();
 
         Donation savedDonation = donationRepository.save(donation);
+        donationStatsRepository.recompute(userId);
 
         log.info("Created donation ID: {} for user ID: {} at RCKiK ID: {}",
                 savedDonation.getId(), userId, request.getRckikId());
@@ -204,7 +209,10 @@ public class DonationService {
         }
 
         // Save updated donation (updatedAt will be automatically updated by @UpdateTimestamp)
-        Donation updatedDonation = donationRepository.save(donation);
+        Donation updatedDonation = donationRepository.saveAndFlush(donation);
+        if (changes.containsKey("quantityMl")) {
+            donationStatsRepository.recompute(userId);
+        }
 
         // Create audit log entry
         auditLogService.logDonationUpdate(userId, donationId, changes);
@@ -245,7 +253,8 @@ public class DonationService {
 
         // Soft delete: Set deleted_at timestamp
         donation.setDeletedAt(LocalDateTime.now());
-        donationRepository.save(donation);
+        donationRepository.saveAndFlush(donation);
+        donationStatsRepository.recompute(userId);
 
         // Create audit log entry (US-013 requirement)
         auditLogService.logDonationDeletion(userId, donationId, donationData);
@@ -453,38 +462,54 @@ public class DonationService {
             throw new ResourceNotFoundException("User not found with ID: " + userId);
         }
 
-        long totalDonations = donationRepository.countByUserIdAndDeletedAtIsNull(userId);
-        Long totalQuantity = donationRepository.sumQuantityByUserId(userId);
-        LocalDate lastDonationDate = donationRepository.findLatestDonationDateByUserId(userId);
-
-        DonationStatisticsDto statistics = DonationStatisticsDto.builder()
-                .totalDonations(totalDonations)
-                .totalQuantityMl(totalQuantity != null ? totalQuantity : 0L)
-                .lastDonationDate(lastDonationDate) // Can be null if no donations
-                .build();
+        DonationStatisticsDto statistics = calculateStatistics(userId);
 
         log.info("Retrieved statistics for user ID: {} - {} donations, {} ml total",
-                userId, totalDonations, statistics.getTotalQuantityMl());
+                userId, statistics.getTotalDonations(), statistics.getTotalQuantityMl());
 
         return statistics;
     }
 
     /**
      * Calculate donation statistics for user (internal helper)
+     * Reads the maintained aggregates (user_donation_stats), one primary key lookup
      *
      * @param userId User ID
      * @return Statistics
      */
     private DonationStatisticsDto calculateStatistics(Long userId) {
-        long totalDonations = donationRepository.countByUserIdAndDeletedAtIsNull(userId);
-        Long totalQuantity = donationRepository.sumQuantityByUserId(userId);
-        LocalDate lastDonationDate = donationRepository.findLatestDonationDateByUserId(userId);
+        return donationStatsRepository.findByUserId(userId);
+    }
 
-        return DonationStatisticsDto.builder()
-                .totalDonations(totalDonations)
-                .totalQuantityMl(totalQuantity != null ? totalQuantity : 0L)
-                .lastDonationDate(lastDonationDate)
-                .build();
+    /**
+     * Recompute donation statistics that drifted from the donations (e.g. rows changed outside
+     * the service); each user is recomputed in its own short transaction
+     *
+     * @return Number of users whose statistics were recomputed
+     */
+    public int repairDonationStatistics() {
+        List<Long> driftedUserIds = donationStatsRepository.findDriftedUserIds();
+        for (Long userId : driftedUserIds) {
+            transactionTemplate.executeWithoutResult(status -> donationStatsRepository.recompute(userId));
+        }
+
+        if (!driftedUserIds.isEmpty()) {
+            log.warn("Recomputed drifted donation statistics of {} user(s)", driftedUserIds.size());
+        }
+        return driftedUserIds.size();
+    }
+
+    /**
+     * Rebuild the donation statistics of all users in one transaction, for data written outside
+     * the service where waiting for the nightly per-user repair is not enough
+     *
+     * @return Number of statistics rows written
+     */
+    @Transactional
+    public int rebuildDonationStatistics() {
+        int rows = donationStatsRepository.rebuildAll();
+        log.info("Rebuilt donation statistics: {} row(s) written", rows);
+        return rows;
     }
 
     /**
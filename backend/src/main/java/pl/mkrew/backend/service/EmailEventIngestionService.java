@@ -0,0 +1,242 @@
+package pl.mkrew.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.mkrew.backend.dto.EmailWebhookEvent;
+import pl.mkrew.backend.dto.EmailWebhookResponse;
+import pl.mkrew.backend.exception.ServiceOverloadedException;
+import pl.mkrew.backend.repository.EmailLogBatchRepository;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous ingestion of email provider webhook events
+ * US-022: Email Deliverability Metrics
+ *
+ * - Requests are authenticated with the provider signature (HMAC-SHA256 of the raw body)
+ * - The webhook only validates and enqueues (bounded queue), so the provider gets an immediate 202
+ * - A request's events are queued all or nothing; a full queue answers 503 so the provider retries
+ * - A background worker drains up to mkrew.email.webhook.batch-size events and applies them with
+ *   one set-based UPDATE per event type (see EmailLogBatchRepository); a failed batch is retried
+ *   with backoff (up to mkrew.email.webhook.max-attempts) before it is dropped
+ * - Hard bounces are added to the EmailSuppressionService list
+ *
+ * Metrics: mkrew.email.webhook.events{type}, mkrew.email.webhook.queue, mkrew.email.webhook.dropped
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailEventIngestionService {
+
+    private static final Set<String> SUPPORTED_TYPES = Set.of(
+            EmailWebhookEvent.DELIVERED,
+            EmailWebhookEvent.OPENED,
+            EmailWebhookEvent.HARD_BOUNCED,
+            EmailWebhookEvent.SOFT_BOUNCED
+    );
+
+    private final EmailLogBatchRepository emailLogBatchRepository;
+    private final EmailSuppressionService emailSuppressionService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${mkrew.email.webhook.signing-secret:}")
+    private String signingSecret;
+
+    @Value("${mkrew.email.webhook.queue-capacity:50000}")
+    private int queueCapacity;
+
+    @Value("${mkrew.email.webhook.batch-size:500}")
+    private int batchSize;
+
+    @Value("${mkrew.email.webhook.max-attempts:5}")
+    private int maxAttempts;
+
+    /**
+     * Serializes producers: only the worker removes events, so capacity checked under this lock
+     * cannot shrink before the offers
+     */
+    private final Object enqueueLock = new Object();
+
+    private BlockingQueue<EmailWebhookEvent> queue;
+    private ExecutorService worker;
+    private volatile boolean running = true;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        meterRegistry.gaugeCollectionSize("mkrew.email.webhook.queue", List.of(), queue);
+
+        worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-event-ingestion");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.execute(this::drainLoop);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        worker.shutdown();
+    }
+
+    /**
+     * Verify the provider signature (hex HMAC-SHA256 of the raw body)
+     * Fails closed when no signing secret is configured
+     *
+     * @param payload   Raw request body
+     * @param signature Signature header value
+     * @return true if the signature matches
+     */
+    public boolean isSignatureValid(String payload, String signature) {
+        if (signingSecret == null || signingSecret.isBlank() || signature == null || signature.isBlank()) {
+            return false;
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(signingSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] expected = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return MessageDigest.isEqual(expected, HexFormat.of().parseHex(signature.trim().toLowerCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return false;
+        } catch (GeneralSecurityException e) {
+            log.error("Could not verify email webhook signature", e);
+            return false;
+        }
+    }
+
+    /**
+     * Queue a batch of events for processing (all or nothing)
+     *
+     * @param events Provider events
+     * @return Accepted/ignored counts
+     * @throws ServiceOverloadedException if the queue cannot take the whole batch (provider should retry)
+     */
+    public EmailWebhookResponse enqueue(List<EmailWebhookEvent> events) {
+        List<EmailWebhookEvent> supported = events.stream()
+                .filter(event -> SUPPORTED_TYPES.contains(event.normalizedType()))
+                .toList();
+
+        synchronized (enqueueLock) {
+            if (queue.remainingCapacity() < supported.size()) {
+                log.warn("Email event queue full ({} queued) - rejecting batch of {} events", queue.size(), events.size());
+                throw new ServiceOverloadedException("Email event queue is full. Please retry later.", 5);
+            }
+            for (EmailWebhookEvent event : supported) {
+                if (!queue.offer(event)) {
+                    // Not expected while holding the lock; never report unqueued events as accepted
+                    throw new IllegalStateException("Email event queue rejected an event within reserved capacity");
+                }
+            }
+        }
+        log.debug("Queued {} email events ({} ignored)", supported.size(), events.size() - supported.size());
+
+        return EmailWebhookResponse.builder()
+                .accepted(supported.size())
+                .ignored(events.size() - supported.size())
+                .build();
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                EmailWebhookEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<EmailWebhookEvent> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                applyWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Apply a drained batch, retrying with exponential backoff (1s, 2s, 4s, ... max 30s)
+     * Applying a batch again is safe: each UPDATE keeps the earliest timestamp
+     */
+    private void applyWithRetry(List<EmailWebhookEvent> batch) throws InterruptedException {
+        for (int attempt = 1; running; attempt++) {
+            try {
+                applyBatch(batch);
+                return;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts) {
+                    log.error("Dropping batch of {} email events after {} failed attempts", batch.size(), attempt, e);
+                    meterRegistry.counter("mkrew.email.webhook.dropped").increment(batch.size());
+                    return;
+                }
+                long backoffMs = Math.min(30_000L, 1000L << (attempt - 1));
+                log.warn("Failed to apply batch of {} email events (attempt {}/{}), retrying in {} ms",
+                        batch.size(), attempt, maxAttempts, backoffMs, e);
+                TimeUnit.MILLISECONDS.sleep(backoffMs);
+            }
+        }
+    }
+
+    /**
+     * Apply a batch of events: one UPDATE per type, earliest event wins for duplicate message IDs
+     *
+     * @param batch Events drained from the queue
+     */
+    void applyBatch(List<EmailWebhookEvent> batch) {
+        Map<String, Map<String, LocalDateTime>> byType = new HashMap<>();
+        List<String> hardBouncedEmails = new ArrayList<>();
+
+        for (EmailWebhookEvent event : batch) {
+            String type = event.normalizedType();
+            LocalDateTime occurredAt = LocalDateTime.ofInstant(event.getTimestamp().toInstant(), ZoneId.systemDefault());
+            byType.computeIfAbsent(type, k -> new HashMap<>())
+                    .merge(event.getMessageId(), occurredAt, (a, b) -> a.isBefore(b) ? a : b);
+            if (EmailWebhookEvent.HARD_BOUNCED.equals(type)) {
+                hardBouncedEmails.add(event.getEmail());
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            int delivered = emailLogBatchRepository.markDelivered(byType.getOrDefault(EmailWebhookEvent.DELIVERED, Map.of()));
+            int opened = emailLogBatchRepository.markOpened(byType.getOrDefault(EmailWebhookEvent.OPENED, Map.of()));
+            List<String> softBounced = emailLogBatchRepository.markBounced(
+                    byType.getOrDefault(EmailWebhookEvent.SOFT_BOUNCED, Map.of()), "SOFT");
+            hardBouncedEmails.addAll(emailLogBatchRepository.markBounced(
+                    byType.getOrDefault(EmailWebhookEvent.HARD_BOUNCED, Map.of()), "HARD"));
+
+            log.info("Applied {} email events - delivered: {}, opened: {}, soft bounced: {}, hard bounced: {}",
+                    batch.size(), delivered, opened, softBounced.size(), hardBouncedEmails.size());
+        });
+
+        emailSuppressionService.suppressAll(hardBouncedEmails);
+
+        batch.forEach(event -> meterRegistry.counter("mkrew.email.webhook.events", "type", event.normalizedType())
+                .increment());
+    }
+}
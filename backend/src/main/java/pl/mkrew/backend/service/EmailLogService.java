@@ -9,6 +9,7 @@ import pl.mkrew.backend.entity.EmailLog;
 import pl.mkrew.backend.entity.Rckik;
 import pl.mkrew.backend.entity.User;
 import pl.mkrew.backend.repository.EmailLogRepository;
+import pl.mkrew.backend.repository.EmailLogRollupRepository;
 import pl.mkrew.backend.repository.RckikRepository;
 import pl.mkrew.backend.repository.UserRepository;
 
@@ -16,6 +17,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 
 /**
  * Service for managing email logs
@@ -30,6 +34,8 @@ public class EmailLogService {
     private final EmailLogRepository emailLogRepository;
     private final UserRepository userRepository;
     private final RckikRepository rckikRepository;
+    private final EmailLogRollupRepository emailLogRollupRepository;
+    private final EmailMetricsRollupService emailMetricsRollupService;
 
     /**
      * Create email log entry
@@ -190,17 +196,42 @@ public class EmailLogService {
         log.debug("Calculating email metrics from {} to {} - type: {}, rckikId: {}",
                 fromDate, toDate, notificationType, rckikId);
 
-        // Convert LocalDate to LocalDateTime (start of day and end of day)
+        // Half-open range [start of fromDate, start of the day after toDate)
         LocalDateTime fromDateTime = fromDate.atStartOfDay();
-        LocalDateTime toDateTime = toDate.atTime(23, 59, 59, 999999999);
+        LocalDateTime toDateTime = toDate.plusDays(1).atStartOfDay();
+
+        // Closed days come from the hourly rollup (when enabled), the rest from email_logs -
+        // each part is a single GROUP BY notification_type scan
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime liveFrom = fromDateTime;
+        Optional<LocalDateTime> rolledUpThrough = emailMetricsRollupService.getRolledUpThrough();
+        if (rolledUpThrough.isPresent() && fromDateTime.isBefore(rolledUpThrough.get())) {
+            liveFrom = toDateTime.isBefore(rolledUpThrough.get()) ? toDateTime : rolledUpThrough.get();
+            rows.addAll(emailLogRollupRepository.aggregateMetricsByType(
+                    fromDateTime, liveFrom, notificationType, rckikId));
+        }
+        if (liveFrom.isBefore(toDateTime)) {
+            rows.addAll(emailLogRepository.aggregateMetricsByType(liveFrom, toDateTime, notificationType, rckikId));
+        }
+
+        // Sum counters per type: [sent, delivered, bounced, opened, hard bounces, soft bounces]
+        Map<String, long[]> countsByType = new TreeMap<>();
+        long[] totals = new long[6];
+        for (Object[] row : rows) {
+            long[] counts = countsByType.computeIfAbsent((String) row[0], k -> new long[6]);
+            for (int i = 0; i < 6; i++) {
+                long value = ((Number) row[i + 1]).longValue();
+                counts[i] += value;
+                totals[i] += value;
+            }
+        }
 
-        // Calculate overall metrics
-        long totalSent = emailLogRepository.countTotalSent(fromDateTime, toDateTime, notificationType, rckikId);
-        long totalDelivered = emailLogRepository.countTotalDelivered(fromDateTime, toDateTime, notificationType, rckikId);
-        long totalBounced = emailLogRepository.countTotalBounced(fromDateTime, toDateTime, notificationType, rckikId);
-        long totalOpened = emailLogRepository.countTotalOpened(fromDateTime, toDateTime, notificationType, rckikId);
-        long hardBounceCount = emailLogRepository.countHardBounces(fromDateTime, toDateTime, notificationType, rckikId);
-        long softBounceCount = emailLogRepository.countSoftBounces(fromDateTime, toDateTime, notificationType, rckikId);
+        long totalSent = totals[0];
+        long totalDelivered = totals[1];
+        long totalBounced = totals[2];
+        long totalOpened = totals[3];
+        long hardBounceCount = totals[4];
+        long softBounceCount = totals[5];
 
         // Calculate rates
         double deliveryRate = totalSent > 0 ? (totalDelivered * 100.0) / totalSent : 0.0;
@@ -228,16 +259,13 @@ public class EmailLogService {
         log.info("Email metrics calculated - Total sent: {}, Delivery rate: {}%, Open rate: {}%",
                 totalSent, deliveryRate, openRate);
 
-        // Calculate metrics by notification type (only if no type filter was applied)
+        // Metrics by notification type (only if no type filter was applied)
         List<EmailMetricsByTypeDto> byType = new ArrayList<>();
         if (notificationType == null) {
-            List<String> notificationTypes = emailLogRepository.findDistinctNotificationTypes(
-                    fromDateTime, toDateTime, rckikId);
-
-            for (String type : notificationTypes) {
-                long typeSent = emailLogRepository.countTotalSent(fromDateTime, toDateTime, type, rckikId);
-                long typeDelivered = emailLogRepository.countTotalDelivered(fromDateTime, toDateTime, type, rckikId);
-                long typeOpened = emailLogRepository.countTotalOpened(fromDateTime, toDateTime, type, rckikId);
+            countsByType.forEach((type, counts) -> {
+                long typeSent = counts[0];
+                long typeDelivered = counts[1];
+                long typeOpened = counts[3];
 
                 double typeDeliveryRate = typeSent > 0 ? (typeDelivered * 100.0) / typeSent : 0.0;
                 double typeOpenRate = typeDelivered > 0 ? (typeOpened * 100.0) / typeDelivered : 0.0;
@@ -246,18 +274,16 @@ public class EmailLogService {
                 typeDeliveryRate = Math.round(typeDeliveryRate * 100.0) / 100.0;
                 typeOpenRate = Math.round(typeOpenRate * 100.0) / 100.0;
 
-                EmailMetricsByTypeDto typeMetrics = EmailMetricsByTypeDto.builder()
+                byType.add(EmailMetricsByTypeDto.builder()
                         .notificationType(type)
                         .totalSent(typeSent)
                         .deliveryRate(typeDeliveryRate)
                         .openRate(typeOpenRate)
-                        .build();
-
-                byType.add(typeMetrics);
+                        .build());
 
                 log.debug("Metrics for type {}: sent={}, deliveryRate={}%, openRate={}%",
                         type, typeSent, typeDeliveryRate, typeOpenRate);
-            }
+            });
         }
 
         // Build period DTO
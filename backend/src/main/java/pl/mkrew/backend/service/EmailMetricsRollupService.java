@@ -0,0 +1,67 @@
+package pl.mkrew.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.mkrew.backend.repository.EmailLogRollupRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+/**
+ * Hourly rollup of email deliverability counters for closed days
+ * US-022: Email Deliverability Metrics
+ *
+ * Metrics for ranges older than today are read from email_log_hourly_stats instead of scanning
+ * email_logs. Each refresh rebuilds the last mkrew.email.metrics.rollup.lookback-days days so
+ * late delivery/open/bounce events are picked up; events older than that are not reflected.
+ * The covered range is derived from the rollup table itself, so every instance (and a restarted
+ * one) agrees on it without keeping state in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailMetricsRollupService {
+
+    private final EmailLogRollupRepository emailLogRollupRepository;
+
+    @Value("${mkrew.email.metrics.rollup.enabled:false}")
+    private boolean rollupEnabled;
+
+    @Value("${mkrew.email.metrics.rollup.lookback-days:7}")
+    private int lookbackDays;
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Warsaw");
+
+    /**
+     * Rebuild rollup rows from the oldest missing hour (or today - lookback) up to the start of today
+     */
+    @Transactional
+    public void refresh() {
+        if (!rollupEnabled) {
+            return;
+        }
+
+        LocalDateTime todayStart = LocalDate.now(ZONE).atStartOfDay();
+        LocalDateTime lookbackStart = todayStart.minusDays(lookbackDays);
+        LocalDateTime rebuildStart = emailLogRollupRepository.findRebuildStart();
+        LocalDateTime from = rebuildStart != null && rebuildStart.isBefore(lookbackStart) ? rebuildStart : lookbackStart;
+
+        long started = System.currentTimeMillis();
+        int rows = emailLogRollupRepository.rebuild(from, todayStart);
+
+        log.info("Email metrics rollup rebuilt from {} to {} - {} rows in {} ms",
+                from, todayStart, rows, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * @return End (exclusive) of the range served by the rollup, empty when the rollup is disabled or not built yet
+     */
+    public Optional<LocalDateTime> getRolledUpThrough() {
+        return rollupEnabled ? Optional.ofNullable(emailLogRollupRepository.findRolledUpThrough()) : Optional.empty();
+    }
+}
@@ -4,12 +4,18 @@ import com.mailersend.sdk.MailerSend;
 import com.mailersend.sdk.MailerSendResponse;
 import com.mailersend.sdk.emails.Email;
 import com.mailersend.sdk.exceptions.MailerSendException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import pl.mkrew.backend.dto.BloodLevelChangeDto;
+import pl.mkrew.backend.dto.CriticalBloodLevelAlertDto;
 import pl.mkrew.backend.dto.EmailNotificationRequest;
 
+import java.util.List;
+
 /**
  * Service for sending emails via MailerSend
  * US-010: Email Notifications
@@ -20,6 +26,8 @@ import pl.mkrew.backend.dto.EmailNotificationRequest;
 public class EmailService {
 
     private final EmailLogService emailLogService;
+    private final EmailSuppressionService emailSuppressionService;
+    private final MeterRegistry meterRegistry;
 
     @Value("${mkrew.email.mailersend.api-key:}")
     private String mailerSendApiKey;
@@ -53,6 +61,17 @@ public class EmailService {
             return false;
         }
 
+        // Never send to addresses that hard-bounced before (protects sender reputation)
+        if (emailSuppressionService.isSuppressed(request.getRecipientEmail())) {
+            log.info("Recipient {} is on the hard-bounce suppression list. Skipping email", request.getRecipientEmail());
+            meterRegistry.counter("mkrew.email.suppressed", "type",
+                    request.getNotificationType() != null ? request.getNotificationType() : "OTHER").increment();
+            return false;
+        }
+
+        // Send latency and failures per notification type (mkrew.email.send{type, outcome})
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
         try {
             // Create email content
             String htmlContent = buildHtmlContent(request);
@@ -86,22 +105,28 @@ public class EmailService {
 
             log.info("Email sent successfully to: {}. Message ID: {}",
                     request.getRecipientEmail(), messageId);
+            outcome = "success";
             return true;
 
         } catch (MailerSendException e) {
             log.error("Error sending email to: {}. Error: {}",
                     request.getRecipientEmail(), e.getMessage(), e);
             return false;
+        } finally {
+            sample.stop(meterRegistry.timer("mkrew.email.send",
+                    "type", request.getNotificationType() != null ? request.getNotificationType() : "OTHER",
+                    "outcome", outcome));
         }
     }
 
     /**
      * Build HTML content from template and variables
+     * Package-private so the JMH benchmarks can measure template rendering
      *
      * @param request Email notification request
      * @return HTML content
      */
-    private String buildHtmlContent(EmailNotificationRequest request) {
+    String buildHtmlContent(EmailNotificationRequest request) {
         // For MVP: Simple template substitution
         // Future: Use template engine like Thymeleaf or Freemarker
 
@@ -120,29 +145,41 @@ public class EmailService {
 
 
     /**
-     * Send critical blood level alert email
+     * Render the critical blood level alert for a set of centers
+     * The result keeps the {{recipientName}} placeholder, so it is rendered once per distinct set of
+     * centers and only personalised per recipient (see {@link #sendCriticalBloodLevelAlert})
      *
-     * @param recipientEmail Recipient email
-     * @param recipientName  Recipient name
-     * @param userId         User ID
-     * @param rckikName      RCKiK name
-     * @param rckikId        RCKiK ID
-     * @param criticalGroups Critical blood groups (formatted string)
-     * @param detailsUrl     URL to RCKiK details
-     * @return true if sent successfully
+     * @param alerts Critical centers with their critical blood groups
+     * @return HTML template with {{recipientName}} left to substitute
      */
-    public boolean sendCriticalBloodLevelAlert(
-            String recipientEmail,
-            String recipientName,
-            Long userId,
-            String rckikName,
-            Long rckikId,
-            String criticalGroups,
-            String detailsUrl) {
+    public String renderCriticalBloodLevelAlert(List<CriticalBloodLevelAlertDto> alerts) {
+        StringBuilder centersHtml = new StringBuilder();
+        for (CriticalBloodLevelAlertDto alert : alerts) {
+            centersHtml.append("""
+                            <div style="background-color: #ffebee; border-left: 4px solid #d32f2f; padding: 15px; margin: 20px 0;">
+                                <h3 style="margin-top: 0;">%s</h3>
+                                <p><strong>Krytyczne grupy krwi:</strong></p>
+                                <ul>
+                    """.formatted(alert.getRckikName()));
+            for (CriticalBloodLevelAlertDto.CriticalBloodGroupDto group : alert.getCriticalBloodGroups()) {
+                centersHtml.append("                <li><strong>")
+                        .append(group.getBloodGroup())
+                        .append("</strong>: ")
+                        .append(group.getLevelPercentage())
+                        .append("%</li>\n");
+            }
+            centersHtml.append("""
+                                </ul>
+                                <p><a href="%s/rckik/%d" style="color: #d32f2f;">Zobacz szczegóły</a></p>
+                            </div>
+                    """.formatted(appBaseUrl, alert.getRckikId()));
+        }
 
-        String subject = "Krytyczny poziom krwi - " + rckikName;
+        String intro = alerts.size() == 1
+                ? "W jednym z Twoich ulubionych centrów krwiodawstwa został wykryty <strong>krytyczny poziom zapasów krwi</strong>."
+                : "W " + alerts.size() + " Twoich ulubionych centrach krwiodawstwa został wykryty <strong>krytyczny poziom zapasów krwi</strong>.";
 
-        String htmlTemplate = """
+        return """
                 <!DOCTYPE html>
                 <html>
                 <head>
@@ -153,20 +190,11 @@ public class EmailService {
                     <div style="max-width: 600px; margin: 0 auto; padding: 20px;">
                         <h2 style="color: #d32f2f;">⚠️ Pilne: Krytyczny poziom krwi</h2>
                         <p>Witaj {{recipientName}},</p>
-                        <p>W jednym z Twoich ulubionych centrów krwiodawstwa został wykryty <strong>krytyczny poziom zapasów krwi</strong>.</p>
-                        <div style="background-color: #ffebee; border-left: 4px solid #d32f2f; padding: 15px; margin: 20px 0;">
-                            <h3 style="margin-top: 0;">{{rckikName}}</h3>
-                            <p><strong>Krytyczne grupy krwi:</strong></p>
-                            <p>{{criticalGroups}}</p>
-                        </div>
+                        <p>%s</p>
+                %s
                         <p>Twoja krew może uratować życie! Jeśli jesteś w stanie oddać krew, każda donacja ma znaczenie.</p>
-                        <div style="text-align: center; margin: 30px 0;">
-                            <a href="{{detailsUrl}}" style="background-color: #d32f2f; color: white; padding: 12px 30px; text-decoration: none; border-radius: 4px; display: inline-block;">
-                                Zobacz szczegóły
-                            </a>
-                        </div>
                         <p style="font-size: 12px; color: #666; margin-top: 30px;">
-                            To powiadomienie zostało wysłane, ponieważ masz zapisane {{rckikName}} jako ulubione centrum krwiodawstwa.
+                            To powiadomienie zostało wysłane, ponieważ masz zapisane powyższe centra jako ulubione.
                             Możesz zmienić swoje preferencje powiadomień w ustawieniach konta.
                         </p>
                         <hr style="border: none; border-top: 1px solid #ddd; margin: 20px 0;">
@@ -177,22 +205,146 @@ public class EmailService {
                     </div>
                 </body>
                 </html>
-                """;
+                """.formatted(intro, centersHtml);
+    }
+
+    /**
+     * Send one consolidated critical blood level alert listing all critical favorite centers of a user
+     *
+     * @param recipientEmail  Recipient email
+     * @param recipientName   Recipient name
+     * @param userId          User ID
+     * @param alerts          Critical centers included in the email
+     * @param renderedContent Output of {@link #renderCriticalBloodLevelAlert} for these centers
+     * @return true if sent successfully
+     */
+    public boolean sendCriticalBloodLevelAlert(
+            String recipientEmail,
+            String recipientName,
+            Long userId,
+            List<CriticalBloodLevelAlertDto> alerts,
+            String renderedContent) {
+
+        String subject = alerts.size() == 1
+                ? "Krytyczny poziom krwi - " + alerts.get(0).getRckikName()
+                : "Krytyczny poziom krwi w " + alerts.size() + " ulubionych centrach";
 
         EmailNotificationRequest request = EmailNotificationRequest.builder()
                 .recipientEmail(recipientEmail)
                 .recipientName(recipientName)
                 .subject(subject)
                 .notificationType("CRITICAL_ALERT")
-                .templateName(htmlTemplate)
-                .templateVariables(java.util.Map.of(
-                        "recipientName", recipientName,
-                        "rckikName", rckikName,
-                        "criticalGroups", criticalGroups,
-                        "detailsUrl", detailsUrl
-                ))
+                .templateName(renderedContent)
+                .templateVariables(java.util.Map.of("recipientName", recipientName))
+                .userId(userId)
+                .rckikId(alerts.size() == 1 ? alerts.get(0).getRckikId() : null)
+                .build();
+
+        return sendEmail(request);
+    }
+
+    /**
+     * Render the DAILY/WEEKLY blood level digest for a set of favorite centers
+     * Like {@link #renderCriticalBloodLevelAlert} the result keeps the {{recipientName}} placeholder,
+     * so it is rendered once per distinct set of centers
+     *
+     * @param changes Level changes of the centers, ordered by center
+     * @param weekly  true for the weekly digest, false for the daily one
+     * @return HTML template with {{recipientName}} left to substitute
+     */
+    public String renderBloodLevelDigest(List<BloodLevelChangeDto> changes, boolean weekly) {
+        StringBuilder centersHtml = new StringBuilder();
+        Long currentRckikId = null;
+        for (BloodLevelChangeDto change : changes) {
+            if (!change.getRckikId().equals(currentRckikId)) {
+                if (currentRckikId != null) {
+                    centersHtml.append(closeDigestCenter(currentRckikId));
+                }
+                currentRckikId = change.getRckikId();
+                centersHtml.append("""
+                                <div style="border-left: 4px solid #d32f2f; padding: 10px 15px; margin: 20px 0;">
+                                    <h3 style="margin-top: 0;">%s</h3>
+                                    <ul>
+                        """.formatted(change.getRckikName()));
+            }
+            centersHtml.append("                <li><strong>")
+                    .append(change.getBloodGroup())
+                    .append("</strong>: ")
+                    .append(change.getPreviousLevel())
+                    .append("% &rarr; ")
+                    .append(change.getCurrentLevel())
+                    .append("% (min. ")
+                    .append(change.getMinLevel())
+                    .append("%)</li>\n");
+        }
+        if (currentRckikId != null) {
+            centersHtml.append(closeDigestCenter(currentRckikId));
+        }
+
+        String title = weekly ? "Tygodniowe podsumowanie stanów krwi" : "Dzienne podsumowanie stanów krwi";
+        String period = weekly ? "w ostatnim tygodniu" : "w ciągu ostatniej doby";
+
+        return """
+                <!DOCTYPE html>
+                <html>
+                <head>
+                    <meta charset="UTF-8">
+                    <title>%s</title>
+                </head>
+                <body style="font-family: Arial, sans-serif; line-height: 1.6; color: #333;">
+                    <div style="max-width: 600px; margin: 0 auto; padding: 20px;">
+                        <h2 style="color: #d32f2f;">%s</h2>
+                        <p>Witaj {{recipientName}},</p>
+                        <p>Oto zmiany poziomów krwi %s w Twoich ulubionych centrach krwiodawstwa:</p>
+                %s
+                        <p style="font-size: 12px; color: #666; margin-top: 30px;">
+                            To podsumowanie zostało wysłane zgodnie z Twoimi preferencjami powiadomień.
+                            Możesz je zmienić w ustawieniach konta.
+                        </p>
+                        <hr style="border: none; border-top: 1px solid #ddd; margin: 20px 0;">
+                        <p style="font-size: 12px; color: #999;">
+                            mkrew - Platforma dla dawców krwi<br>
+                            <a href="https://mkrew.pl" style="color: #d32f2f;">mkrew.pl</a>
+                        </p>
+                    </div>
+                </body>
+                </html>
+                """.formatted(title, title, period, centersHtml);
+    }
+
+    private String closeDigestCenter(Long rckikId) {
+        return """
+                                </ul>
+                                <p><a href="%s/rckik/%d" style="color: #d32f2f;">Zobacz szczegóły</a></p>
+                            </div>
+                    """.formatted(appBaseUrl, rckikId);
+    }
+
+    /**
+     * Send a DAILY/WEEKLY blood level digest
+     *
+     * @param recipientEmail  Recipient email
+     * @param recipientName   Recipient name
+     * @param userId          User ID
+     * @param weekly          true for the weekly digest, false for the daily one
+     * @param renderedContent Output of {@link #renderBloodLevelDigest} for the user's centers
+     * @return true if sent successfully
+     */
+    public boolean sendBloodLevelDigest(
+            String recipientEmail,
+            String recipientName,
+            Long userId,
+            boolean weekly,
+            String renderedContent) {
+
+        EmailNotificationRequest request = EmailNotificationRequest.builder()
+                .recipientEmail(recipientEmail)
+                .recipientName(recipientName)
+                .subject(weekly ? "Tygodniowe podsumowanie stanów krwi - mkrew" : "Dzienne podsumowanie stanów krwi - mkrew")
+                .notificationType(weekly ? "WEEKLY_SUMMARY" : "DAILY_SUMMARY")
+                .templateName(renderedContent)
+                .templateVariables(java.util.Map.of("recipientName", recipientName))
                 .userId(userId)
-                .rckikId(rckikId)
                 .build();
 
         return sendEmail(request);
@@ -0,0 +1,67 @@
+package pl.mkrew.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import pl.mkrew.backend.repository.EmailLogRepository;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory suppression list of hard-bounced recipients
+ * Loaded from email_logs at startup and kept up to date from provider webhook events,
+ * so EmailService can skip known-bad addresses without a database round trip.
+ * US-022: Email Deliverability Metrics
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailSuppressionService {
+
+    private final EmailLogRepository emailLogRepository;
+
+    private final Set<String> suppressed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Load hard-bounced recipients once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSuppressionList() {
+        suppressAll(emailLogRepository.findHardBouncedRecipients());
+        log.info("Loaded email suppression list with {} hard-bounced recipients", suppressed.size());
+    }
+
+    /**
+     * Check if sending to this address should be skipped
+     *
+     * @param email Recipient email
+     * @return true if the address hard-bounced before
+     */
+    public boolean isSuppressed(String email) {
+        return email != null && suppressed.contains(email.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Add hard-bounced recipients to the suppression list
+     *
+     * @param emails Recipient emails (nulls are skipped)
+     */
+    public void suppressAll(Collection<String> emails) {
+        emails.stream()
+                .filter(email -> email != null && !email.isBlank())
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .forEach(suppressed::add);
+    }
+
+    /**
+     * Number of suppressed recipients (monitoring)
+     */
+    public int size() {
+        return suppressed.size();
+    }
+}
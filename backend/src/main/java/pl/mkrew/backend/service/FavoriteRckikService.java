@@ -17,6 +17,7 @@ import pl.mkrew.backend.repository.UserFavoriteRckikRepository;
 import pl.mkrew.backend.repository.UserRepository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -30,6 +31,7 @@ public class FavoriteRckikService {
     private final UserRepository userRepository;
     private final RckikRepository rckikRepository;
     private final BloodSnapshotRepository bloodSnapshotRepository;
+    private final AlertRecipientIndexService recipientIndexService;
 
     /**
      * Get user's favorite RCKiK centers with current blood levels
@@ -114,6 +116,8 @@ public class FavoriteRckikService {
                 .build();
 
         UserFavoriteRckik savedFavorite = favoriteRckikRepository.save(favorite);
+        userRepository.markUpdated(userId, LocalDateTime.now());
+        recipientIndexService.refreshUser(userId);
 
         // Get current blood levels
         List<BloodSnapshot> snapshots = bloodSnapshotRepository.findLatestByRckikId(rckikId);
@@ -147,6 +151,8 @@ public class FavoriteRckikService {
 
         // Delete favorite
         favoriteRckikRepository.deleteByUserIdAndRckikId(userId, rckikId);
+        userRepository.markUpdated(userId, LocalDateTime.now());
+        recipientIndexService.refreshUser(userId);
 
         log.info("Removed RCKiK {} from favorites for user {}", rckikId, userId);
     }
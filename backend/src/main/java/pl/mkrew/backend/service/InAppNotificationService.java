@@ -1,39 +1,78 @@
 package pl.mkrew.backend.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import pl.mkrew.backend.dto.InAppNotificationDto;
 import pl.mkrew.backend.dto.InAppNotificationsResponse;
+import pl.mkrew.backend.dto.MarkNotificationsReadResponse;
 import pl.mkrew.backend.dto.UnreadCountResponse;
 import pl.mkrew.backend.entity.InAppNotification;
+import pl.mkrew.backend.entity.InAppNotificationReceipt;
 import pl.mkrew.backend.entity.Rckik;
-import pl.mkrew.backend.entity.User;
+import pl.mkrew.backend.event.InAppNotificationsCreatedEvent;
 import pl.mkrew.backend.exception.ResourceNotFoundException;
+import pl.mkrew.backend.repository.InAppNotificationCounterRepository;
+import pl.mkrew.backend.repository.InAppNotificationReceiptBatchRepository;
+import pl.mkrew.backend.repository.InAppNotificationReceiptRepository;
 import pl.mkrew.backend.repository.InAppNotificationRepository;
 import pl.mkrew.backend.repository.RckikRepository;
 import pl.mkrew.backend.repository.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * Service for managing in-app notifications
  * US-011: In-App Notifications
+ *
+ * Broadcast model: one content row per event ({@link InAppNotification}) and one lightweight
+ * receipt row per recipient ({@link InAppNotificationReceipt}) holding the read state.
+ *
+ * Unread counts come from a maintained per-user counter (in_app_notification_counters), updated
+ * on delivery, read and expiry, and cached for a short time. Local changes evict the cache after
+ * commit; the TTL bounds staleness for changes made by other instances.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class InAppNotificationService {
+public class InAppNotificationService implements MeterBinder {
 
     private final InAppNotificationRepository notificationRepository;
+    private final InAppNotificationReceiptRepository receiptRepository;
+    private final InAppNotificationReceiptBatchRepository receiptBatchRepository;
     private final UserRepository userRepository;
     private final RckikRepository rckikRepository;
+    private final InAppNotificationCounterRepository counterRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Unread badge counts per user ID
+    private final Cache<Long, Long> unreadCountCache = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofSeconds(30))
+            .recordStats()
+            .build();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, unreadCountCache, "notifications.unread");
+    }
 
     /**
      * Get notifications for a user
@@ -50,19 +89,19 @@ public class InAppNotificationService {
         log.debug("Getting notifications for user {} (unreadOnly: {})", userId, unreadOnly);
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<InAppNotification> notificationPage;
+        Page<InAppNotificationReceipt> notificationPage;
 
         if (unreadOnly) {
-            notificationPage = notificationRepository.findUnreadByUserId(userId, pageable);
+            notificationPage = receiptRepository.findUnreadByUserId(userId, pageable);
         } else {
-            notificationPage = notificationRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+            notificationPage = receiptRepository.findByUserId(userId, pageable);
         }
 
         List<InAppNotificationDto> notifications = notificationPage.getContent().stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
 
-        long unreadCount = notificationRepository.countUnreadByUserId(userId);
+        long unreadCount = cachedUnreadCount(userId);
 
         return InAppNotificationsResponse.builder()
                 .notifications(notifications)
@@ -85,22 +124,66 @@ public class InAppNotificationService {
     public InAppNotificationDto markAsRead(Long notificationId, Long userId, LocalDateTime readAt) {
         log.debug("Marking notification {} as read for user {}", notificationId, userId);
 
-        InAppNotification notification = notificationRepository.findByIdAndUserId(notificationId, userId)
+        InAppNotificationReceipt receipt = receiptRepository.findByNotificationIdAndUserId(notificationId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Notification not found with id: " + notificationId));
 
         // Idempotent: If already read, return as is
-        if (notification.getReadAt() != null) {
+        if (receipt.getReadAt() != null) {
             log.debug("Notification {} already marked as read", notificationId);
-            return toDto(notification);
+            return toDto(receipt);
         }
 
-        notification.setReadAt(readAt);
-        InAppNotification saved = notificationRepository.save(notification);
+        // Guarded update: only the request that flips read_at decrements the counter
+        int marked = receiptRepository.markReadByUserIdAndNotificationIds(userId, List.of(notificationId), readAt);
+        counterRepository.decrement(userId, marked);
+        evictUnreadCountAfterCommit(List.of(userId));
+        receipt.setReadAt(readAt);
 
         log.info("Notification {} marked as read for user {}", notificationId, userId);
 
-        return toDto(saved);
+        return toDto(receipt);
+    }
+
+    /**
+     * Mark all unread notifications of a user as read (single set-based update)
+     *
+     * @param userId User ID
+     * @param readAt Read timestamp
+     * @return Number of marked notifications and the remaining unread count
+     */
+    @Transactional
+    public MarkNotificationsReadResponse markAllAsRead(Long userId, LocalDateTime readAt) {
+        int marked = receiptRepository.markAllReadByUserId(userId, readAt);
+        return afterBulkRead(userId, marked);
+    }
+
+    /**
+     * Mark the given notifications of a user as read (single set-based update)
+     * Unknown, foreign and already read IDs are ignored
+     *
+     * @param userId          User ID
+     * @param notificationIds Notification IDs
+     * @param readAt          Read timestamp
+     * @return Number of marked notifications and the remaining unread count
+     */
+    @Transactional
+    public MarkNotificationsReadResponse markAsRead(Long userId, Collection<Long> notificationIds,
+                                                    LocalDateTime readAt) {
+        int marked = receiptRepository.markReadByUserIdAndNotificationIds(userId, notificationIds, readAt);
+        return afterBulkRead(userId, marked);
+    }
+
+    private MarkNotificationsReadResponse afterBulkRead(Long userId, int marked) {
+        counterRepository.decrement(userId, marked);
+        evictUnreadCountAfterCommit(List.of(userId));
+
+        log.info("Marked {} notification(s) as read for user {}", marked, userId);
+
+        return MarkNotificationsReadResponse.builder()
+                .markedCount(marked)
+                .unreadCount(counterRepository.findUnreadCount(userId))
+                .build();
     }
 
     /**
@@ -113,7 +196,7 @@ public class InAppNotificationService {
     public UnreadCountResponse getUnreadCount(Long userId) {
         log.debug("Getting unread count for user {}", userId);
 
-        long count = notificationRepository.countUnreadByUserId(userId);
+        long count = cachedUnreadCount(userId);
 
         return UnreadCountResponse.builder()
                 .unreadCount(count)
@@ -121,7 +204,8 @@ public class InAppNotificationService {
     }
 
     /**
-     * Create a new in-app notification
+     * Create a new in-app notification for a single user
+     * Runs in its own transaction, so a failure does not mark the caller's transaction rollback-only
      *
      * @param userId           User ID
      * @param notificationType Notification type
@@ -132,15 +216,42 @@ public class InAppNotificationService {
      * @param expiresAt        Expiration timestamp (optional)
      * @return Created notification
      */
-    @Transactional
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public InAppNotification createNotification(Long userId, String notificationType,
                                                  Long rckikId, String title, String message,
                                                  String linkUrl, LocalDateTime expiresAt) {
         log.debug("Creating notification for user {}: type={}, rckikId={}", userId, notificationType, rckikId);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+
+        InAppNotification saved = broadcastNotification(List.of(userId), notificationType, rckikId,
+                title, message, linkUrl, expiresAt);
+
+        log.info("Created notification {} for user {}", saved.getId(), userId);
+
+        return saved;
+    }
 
+    /**
+     * Create one in-app notification and deliver it to many users
+     * Writes a single content row plus one receipt per recipient (one batched insert) in its own
+     * transaction, so callers can log a failure and continue
+     *
+     * @param userIds          Recipient user IDs
+     * @param notificationType Notification type
+     * @param rckikId          RCKiK ID (optional)
+     * @param title            Notification title
+     * @param message          Notification message
+     * @param linkUrl          Link URL (optional)
+     * @param expiresAt        Expiration timestamp (optional)
+     * @return Created notification content
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public InAppNotification broadcastNotification(Collection<Long> userIds, String notificationType,
+                                                   Long rckikId, String title, String message,
+                                                   String linkUrl, LocalDateTime expiresAt) {
         Rckik rckik = null;
         if (rckikId != null) {
             rckik = rckikRepository.findById(rckikId)
@@ -148,7 +259,6 @@ public class InAppNotificationService {
         }
 
         InAppNotification notification = InAppNotification.builder()
-                .user(user)
                 .notificationType(notificationType)
                 .rckik(rckik)
                 .title(title)
@@ -157,20 +267,60 @@ public class InAppNotificationService {
                 .expiresAt(expiresAt)
                 .build();
 
-        InAppNotification saved = notificationRepository.save(notification);
+        // Flush so created_at is set and the receipts' foreign key sees the row
+        InAppNotification saved = notificationRepository.saveAndFlush(notification);
+        int delivered = receiptBatchRepository.insertReceipts(saved.getId(), userIds, saved.getCreatedAt());
+        evictUnreadCountAfterCommit(userIds);
+        eventPublisher.publishEvent(new InAppNotificationsCreatedEvent(
+                saved.getId(), notificationType, title, List.copyOf(userIds)));
 
-        log.info("Created notification {} for user {}", saved.getId(), userId);
+        log.debug("Notification {} ({}) delivered to {} user(s)", saved.getId(), notificationType, delivered);
 
         return saved;
     }
 
     /**
-     * Convert entity to DTO
+     * Delete expired notifications and subtract their unread receipts from the counters
+     *
+     * @return Number of deleted notifications
+     */
+    @Transactional
+    public int deleteExpiredNotifications() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> affectedUsers = counterRepository.expireReceipts(now);
+        int deleted = notificationRepository.deleteExpired(now);
+        evictUnreadCountAfterCommit(affectedUsers);
+
+        log.info("Deleted {} expired notification(s), unread counters of {} user(s) updated",
+                deleted, affectedUsers.size());
+        return deleted;
+    }
+
+    private long cachedUnreadCount(Long userId) {
+        return unreadCountCache.get(userId, counterRepository::findUnreadCount);
+    }
+
+    private void evictUnreadCountAfterCommit(Collection<Long> userIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    unreadCountCache.invalidateAll(userIds);
+                }
+            });
+        } else {
+            unreadCountCache.invalidateAll(userIds);
+        }
+    }
+
+    /**
+     * Convert receipt with its content to DTO
      *
-     * @param notification InAppNotification entity
+     * @param receipt InAppNotificationReceipt entity
      * @return InAppNotificationDto
      */
-    private InAppNotificationDto toDto(InAppNotification notification) {
+    private InAppNotificationDto toDto(InAppNotificationReceipt receipt) {
+        InAppNotification notification = receipt.getNotification();
         InAppNotificationDto.RckikDto rckikDto = null;
         if (notification.getRckik() != null) {
             rckikDto = InAppNotificationDto.RckikDto.builder()
@@ -186,7 +336,7 @@ public class InAppNotificationService {
                 .title(notification.getTitle())
                 .message(notification.getMessage())
                 .linkUrl(notification.getLinkUrl())
-                .readAt(notification.getReadAt())
+                .readAt(receipt.getReadAt())
                 .expiresAt(notification.getExpiresAt())
                 .createdAt(notification.getCreatedAt())
                 .build();
@@ -0,0 +1,469 @@
+package pl.mkrew.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pl.mkrew.backend.dto.BloodLevelDto;
+import pl.mkrew.backend.dto.BloodLevelsUpdateDto;
+import pl.mkrew.backend.dto.NotificationsUpdateDto;
+import pl.mkrew.backend.event.BloodLevelsChangedEvent;
+import pl.mkrew.backend.event.InAppNotificationsCreatedEvent;
+import pl.mkrew.backend.exception.RateLimitExceededException;
+import pl.mkrew.backend.repository.InAppNotificationCounterRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Server-Sent Events broadcaster for live blood levels and user notifications
+ * US-007: Browse RCKiK - live updates
+ * US-011: In-App Notifications - live badge updates
+ *
+ * In-process events only mark what changed (centers, users with new notifications). A single
+ * flusher drains these buffers every flush-interval, so a burst of changes becomes one event per
+ * subscriber, loads the data once per flush and serializes each payload once. Writes to the
+ * connections run on virtual threads, so a slow client never blocks the flusher; idle connections
+ * hold no thread at all (servlet async). Each connection has at most one write in flight and one
+ * waiting payload: a newer payload replaces the waiting one (both carry current state, e.g. the
+ * unread count), and a connection whose write is stuck longer than send-timeout-seconds is closed.
+ *
+ * The anonymous public stream has its own budget (max-public-connections, part of max-connections)
+ * and a per-address cap, so it cannot crowd out authenticated notification streams.
+ *
+ * Metrics: mkrew.sse.connections{stream=public|user}, mkrew.sse.events{event},
+ * mkrew.sse.stalled (connections closed because their writes fell behind)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LiveUpdateService implements MeterBinder {
+
+    public static final String EVENT_BLOOD_LEVELS = "blood-levels";
+    public static final String EVENT_NOTIFICATIONS = "notifications";
+
+    private final RckikService rckikService;
+    private final InAppNotificationCounterRepository counterRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${mkrew.sse.max-connections:10000}")
+    private int maxConnections;
+
+    @Value("${mkrew.sse.max-public-connections:8000}")
+    private int maxPublicConnections;
+
+    @Value("${mkrew.sse.max-public-connections-per-ip:10}")
+    private int maxPublicConnectionsPerIp;
+
+    @Value("${mkrew.sse.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${mkrew.sse.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${mkrew.sse.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${mkrew.sse.heartbeat-seconds:25}")
+    private long heartbeatSeconds;
+
+    @Value("${mkrew.sse.send-timeout-seconds:30}")
+    private long sendTimeoutSeconds;
+
+    // Public subscribers with their center filter (empty = all centers)
+    private final Map<SseEmitter, Set<Long>> publicSubscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<SseEmitter>> userSubscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger publicConnections = new AtomicInteger();
+    private final Map<String, Integer> publicConnectionsByIp = new ConcurrentHashMap<>();
+    private final Map<SseEmitter, Writer> writers = new ConcurrentHashMap<>();
+
+    // Coalescing buffers drained by the flusher
+    private final Set<Long> pendingRckikIds = ConcurrentHashMap.newKeySet();
+    private final Map<Long, PendingNotifications> pendingByUser = new ConcurrentHashMap<>();
+
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private ScheduledExecutorService flusher;
+    private volatile MeterRegistry meterRegistry;
+
+    private static final PendingEvent PING = new PendingEvent(null, null);
+
+    /**
+     * Event waiting to be written; PING is a heartbeat comment
+     */
+    private record PendingEvent(String name, String json) {
+    }
+
+    private record PendingNotifications(int count, Long latestId, String latestType, String latestTitle) {
+
+        PendingNotifications plus(PendingNotifications newer) {
+            return new PendingNotifications(count + newer.count, newer.latestId, newer.latestType, newer.latestTitle);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        flusher.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+        publicSubscribers.keySet().forEach(SseEmitter::complete);
+        userSubscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        sendExecutor.shutdown();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mkrew.sse.connections", publicSubscribers, Map::size)
+                .tag("stream", "public")
+                .register(registry);
+        Gauge.builder("mkrew.sse.connections", userSubscribers,
+                        subscribers -> subscribers.values().stream().mapToInt(Set::size).sum())
+                .tag("stream", "user")
+                .register(registry);
+        this.meterRegistry = registry;
+    }
+
+    /**
+     * Open a public stream of blood level changes
+     *
+     * @param rckikIds Centers to follow (null or empty = all centers)
+     * @param clientIp Client address (per-address cap)
+     * @return Emitter to return from the controller
+     */
+    public SseEmitter subscribeBloodLevels(Set<Long> rckikIds, String clientIp) {
+        reserveForIp(clientIp);
+        try {
+            reserve(publicConnections, maxPublicConnections, "Too many public live update connections");
+            try {
+                reserveConnection();
+            } catch (RateLimitExceededException e) {
+                publicConnections.decrementAndGet();
+                throw e;
+            }
+        } catch (RateLimitExceededException e) {
+            releaseForIp(clientIp);
+            throw e;
+        }
+
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        publicSubscribers.put(emitter, rckikIds != null ? Set.copyOf(rckikIds) : Set.of());
+        onClose(emitter, () -> {
+            if (publicSubscribers.remove(emitter) == null) {
+                return false;
+            }
+            publicConnections.decrementAndGet();
+            releaseForIp(clientIp);
+            return true;
+        });
+        return emitter;
+    }
+
+    /**
+     * Open an authenticated stream of the user's new notifications
+     *
+     * @param userId User ID
+     * @return Emitter to return from the controller
+     */
+    public SseEmitter subscribeNotifications(Long userId) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        // Check and register under the map entry lock, so parallel requests cannot exceed the cap
+        userSubscribers.compute(userId, (k, emitters) -> {
+            Set<SseEmitter> current = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            if (current.size() >= maxConnectionsPerUser) {
+                throw new RateLimitExceededException("Too many open notification streams", 30);
+            }
+            reserveConnection();
+            current.add(emitter);
+            return current;
+        });
+
+        onClose(emitter, () -> {
+            AtomicBoolean removed = new AtomicBoolean();
+            userSubscribers.computeIfPresent(userId, (k, current) -> {
+                removed.set(current.remove(emitter));
+                return current.isEmpty() ? null : current;
+            });
+            return removed.get();
+        });
+        return emitter;
+    }
+
+    /**
+     * Mark changed centers for the next flush (runs after the alert listeners)
+     */
+    @EventListener
+    @Order(3)
+    public void onBloodLevelsChanged(BloodLevelsChangedEvent event) {
+        if (!publicSubscribers.isEmpty()) {
+            pendingRckikIds.addAll(event.changedGroupsByRckik().keySet());
+        }
+    }
+
+    /**
+     * Mark connected recipients of a committed notification for the next flush
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsCreated(InAppNotificationsCreatedEvent event) {
+        PendingNotifications pending = new PendingNotifications(
+                1, event.notificationId(), event.notificationType(), event.title());
+        for (Long userId : event.userIds()) {
+            if (userSubscribers.containsKey(userId)) {
+                pendingByUser.merge(userId, pending, PendingNotifications::plus);
+            }
+        }
+    }
+
+    private void reserveConnection() {
+        reserve(connections, maxConnections, "Too many live update connections");
+    }
+
+    private static void reserve(AtomicInteger counter, int limit, String message) {
+        if (counter.incrementAndGet() > limit) {
+            counter.decrementAndGet();
+            throw new RateLimitExceededException(message, 30);
+        }
+    }
+
+    private void reserveForIp(String clientIp) {
+        publicConnectionsByIp.compute(clientIp, (k, count) -> {
+            int current = count != null ? count : 0;
+            if (current >= maxPublicConnectionsPerIp) {
+                throw new RateLimitExceededException("Too many live update connections from this address", 30);
+            }
+            return current + 1;
+        });
+    }
+
+    private void releaseForIp(String clientIp) {
+        publicConnectionsByIp.computeIfPresent(clientIp, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void onClose(SseEmitter emitter, java.util.function.BooleanSupplier unregister) {
+        writers.put(emitter, new Writer(emitter));
+        Runnable release = () -> {
+            writers.remove(emitter);
+            if (unregister.getAsBoolean()) {
+                connections.decrementAndGet();
+            }
+        };
+        emitter.onCompletion(release);
+        emitter.onTimeout(() -> {
+            release.run();
+            emitter.complete();
+        });
+        emitter.onError(error -> release.run());
+    }
+
+    private void flush() {
+        try {
+            flushBloodLevels();
+            flushNotifications();
+        } catch (Exception e) {
+            log.error("Live update flush failed", e);
+        }
+    }
+
+    private void flushBloodLevels() throws JsonProcessingException {
+        List<Long> rckikIds = drain(pendingRckikIds);
+        if (rckikIds.isEmpty() || publicSubscribers.isEmpty()) {
+            return;
+        }
+
+        List<BloodLevelsUpdateDto> updates = new ArrayList<>();
+        for (Map.Entry<Long, List<BloodLevelDto>> entry : rckikService.getCurrentBloodLevels(rckikIds).entrySet()) {
+            updates.add(new BloodLevelsUpdateDto(entry.getKey(), entry.getValue()));
+        }
+
+        // One serialized payload per distinct filter
+        Map<Set<Long>, String> payloadByFilter = new HashMap<>();
+        payloadByFilter.put(Set.of(), objectMapper.writeValueAsString(updates));
+
+        for (Map.Entry<SseEmitter, Set<Long>> subscriber : publicSubscribers.entrySet()) {
+            Set<Long> filter = subscriber.getValue();
+            String payload = payloadByFilter.computeIfAbsent(filter, key -> toJson(updates.stream()
+                    .filter(update -> key.contains(update.getRckikId()))
+                    .toList()));
+            if (!"[]".equals(payload)) {
+                send(subscriber.getKey(), EVENT_BLOOD_LEVELS, payload);
+            }
+        }
+    }
+
+    private void flushNotifications() {
+        if (pendingByUser.isEmpty()) {
+            return;
+        }
+
+        Map<Long, PendingNotifications> drained = new HashMap<>();
+        for (Long userId : List.copyOf(pendingByUser.keySet())) {
+            PendingNotifications pending = pendingByUser.remove(userId);
+            if (pending != null) {
+                drained.put(userId, pending);
+            }
+        }
+
+        Map<Long, Long> unreadCounts = counterRepository.findUnreadCounts(drained.keySet());
+        drained.forEach((userId, pending) -> {
+            Set<SseEmitter> emitters = userSubscribers.get(userId);
+            if (emitters == null || emitters.isEmpty()) {
+                return;
+            }
+            String payload = toJson(NotificationsUpdateDto.builder()
+                    .newNotifications(pending.count())
+                    .unreadCount(unreadCounts.getOrDefault(userId, 0L))
+                    .latestNotificationId(pending.latestId())
+                    .latestType(pending.latestType())
+                    .latestTitle(pending.latestTitle())
+                    .build());
+            emitters.forEach(emitter -> send(emitter, EVENT_NOTIFICATIONS, payload));
+        });
+    }
+
+    private void heartbeat() {
+        // Keeps proxies from closing idle streams and detects dead clients
+        publicSubscribers.keySet().forEach(this::ping);
+        userSubscribers.values().forEach(emitters -> emitters.forEach(this::ping));
+    }
+
+    private void ping(SseEmitter emitter) {
+        Writer writer = writers.get(emitter);
+        if (writer != null) {
+            writer.offer(PING);
+        }
+    }
+
+    private void send(SseEmitter emitter, String eventName, String json) {
+        Writer writer = writers.get(emitter);
+        if (writer != null) {
+            writer.offer(new PendingEvent(eventName, json));
+        }
+    }
+
+    /**
+     * Writes of one connection: one in flight at a time, the newest payload waits in a single slot
+     */
+    private final class Writer {
+
+        private final SseEmitter emitter;
+        private final AtomicReference<PendingEvent> waiting = new AtomicReference<>();
+        private final AtomicBoolean writing = new AtomicBoolean();
+        private volatile long writingSince;
+
+        private Writer(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(PendingEvent event) {
+            if (event == PING) {
+                // A waiting event already proves the connection alive
+                waiting.compareAndSet(null, PING);
+            } else {
+                waiting.set(event);
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (writing.compareAndSet(false, true)) {
+                writingSince = System.nanoTime();
+                sendExecutor.execute(this::drain);
+            } else if (System.nanoTime() - writingSince > TimeUnit.SECONDS.toNanos(sendTimeoutSeconds)) {
+                // Client stopped reading; a completed emitter unregisters itself
+                if (writers.remove(emitter) != null) {
+                    log.debug("Closing live update stream stuck in a write for over {} s", sendTimeoutSeconds);
+                    if (meterRegistry != null) {
+                        meterRegistry.counter("mkrew.sse.stalled").increment();
+                    }
+                    emitter.complete();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                PendingEvent event;
+                while ((event = waiting.getAndSet(null)) != null) {
+                    writingSince = System.nanoTime();
+                    if (!write(event)) {
+                        return;
+                    }
+                }
+            } finally {
+                writing.set(false);
+            }
+            // An event offered between the last poll and the reset above
+            if (waiting.get() != null) {
+                schedule();
+            }
+        }
+
+        private boolean write(PendingEvent event) {
+            try {
+                if (event == PING) {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } else {
+                    emitter.send(SseEmitter.event().name(event.name()).data(event.json(), MediaType.APPLICATION_JSON));
+                    if (meterRegistry != null) {
+                        meterRegistry.counter("mkrew.sse.events", "event", event.name()).increment();
+                    }
+                }
+                return true;
+            } catch (Exception e) {
+                log.debug("Closing live update stream after failed send: {}", e.getMessage());
+                writers.remove(emitter);
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize live update", e);
+        }
+    }
+
+    private static List<Long> drain(Set<Long> pending) {
+        List<Long> drained = new ArrayList<>();
+        for (Iterator<Long> iterator = pending.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+}
@@ -19,6 +19,7 @@ public class NotificationPreferenceService {
 
     private final NotificationPreferenceRepository notificationPreferenceRepository;
     private final UserRepository userRepository;
+    private final AlertRecipientIndexService recipientIndexService;
 
     /**
      * Get notification preferences for user
@@ -75,6 +76,7 @@ public class NotificationPreferenceService {
 
         // Save changes (updated_at will be automatically set by @UpdateTimestamp)
         NotificationPreference savedPreferences = notificationPreferenceRepository.save(preferences);
+        recipientIndexService.refreshUser(userId);
 
         log.info("Updated notification preferences for user ID: {} - Email: {}/{}, InApp: {}/{}",
                 userId,
@@ -0,0 +1,185 @@
+package pl.mkrew.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import pl.mkrew.backend.exception.ServiceOverloadedException;
+import pl.mkrew.backend.repository.UserRepository;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password hashing on a dedicated bounded executor
+ * US-001: User Registration, US-003: User Login, US-004: Password Reset
+ *
+ * BCrypt costs hundreds of milliseconds of CPU per hash. Hashes run on at most `threads`
+ * threads with at most `queue-capacity` waiting; beyond that requests fail fast with 503 and
+ * Retry-After, so a login burst cannot take the CPU from every other request.
+ *
+ * Hashes with a lower cost than the configured one (mkrew.security.password-hashing.bcrypt-strength)
+ * are replaced after a successful login, so the cost can be raised without a mass migration.
+ *
+ * Metrics:
+ * - executor.* {name=password.hashing} - pool size, active, queued, completed
+ * - mkrew.password.hashing{operation} - hashing time
+ * - mkrew.password.hashing.rejections - requests rejected because the queue was full
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordHashingService implements MeterBinder {
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+
+    @Value("${mkrew.security.password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${mkrew.security.password-hashing.queue-capacity:8}")
+    private int queueCapacity;
+
+    @Value("${mkrew.security.password-hashing.retry-after-seconds:2}")
+    private int retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+
+    // Set once the registry binds this service; null in plain unit tests
+    private volatile MeterRegistry meterRegistry;
+
+    @PostConstruct
+    void start() {
+        // Default: one thread per available CPU (1 with a 500m CPU limit)
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Password hashing executor started: {} thread(s), queue capacity {}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, "password.hashing", Tags.empty()).bindTo(registry);
+        this.meterRegistry = registry;
+    }
+
+    /**
+     * Hash a raw password
+     *
+     * @param rawPassword Raw password
+     * @return Password hash
+     * @throws ServiceOverloadedException if the hashing queue is full
+     */
+    public String encode(CharSequence rawPassword) {
+        return execute("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Verify a raw password against a stored hash
+     *
+     * @param rawPassword Raw password
+     * @param passwordHash Stored hash
+     * @return true if the password matches
+     * @throws ServiceOverloadedException if the hashing queue is full
+     */
+    public boolean matches(CharSequence rawPassword, String passwordHash) {
+        return execute("matches", () -> passwordEncoder.matches(rawPassword, passwordHash));
+    }
+
+    /**
+     * Replace the user's hash in the background if it was created with an outdated cost
+     * Call only after {@link #matches} succeeded; skipped when the executor is busy (retried on next login)
+     *
+     * @param userId User ID
+     * @param rawPassword Verified raw password
+     * @param passwordHash Current stored hash
+     */
+    public void rehashIfNeeded(Long userId, CharSequence rawPassword, String passwordHash) {
+        if (!passwordEncoder.upgradeEncoding(passwordHash)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    String newHash = timed("rehash", () -> passwordEncoder.encode(rawPassword));
+                    if (userRepository.updatePasswordHashIfUnchanged(userId, passwordHash, newHash) > 0) {
+                        log.info("Password hash of user {} upgraded to the current cost", userId);
+                    }
+                } catch (Exception e) {
+                    log.error("Failed to rehash password of user {}", userId, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Password hashing queue full, rehash of user {} postponed", userId);
+        }
+    }
+
+    private <T> T execute(String operation, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timed(operation, task));
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing queue full ({} waiting), rejecting {}", queueCapacity, operation);
+
+            MeterRegistry registry = meterRegistry;
+            if (registry != null) {
+                registry.counter("mkrew.password.hashing.rejections").increment();
+            }
+
+            throw new ServiceOverloadedException("Server is busy. Please try again shortly.", retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private <T> T timed(String operation, Callable<T> task) throws Exception {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return task.call();
+        }
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            return task.call();
+        } finally {
+            sample.stop(registry.timer("mkrew.password.hashing", "operation", operation));
+        }
+    }
+}
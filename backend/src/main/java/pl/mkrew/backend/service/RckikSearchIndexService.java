@@ -0,0 +1,187 @@
+package pl.mkrew.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.mkrew.backend.entity.Rckik;
+import pl.mkrew.backend.event.RckikCentersChangedEvent;
+import pl.mkrew.backend.repository.RckikRepository;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over RCKiK names, cities and aliases for typo-tolerant search
+ * US-007: List RCKiK Centers with current blood levels
+ *
+ * Text is lower-cased and stripped of diacritics ("Łódź" -> "lodz") and split into words. Each word
+ * is indexed by its trigrams, padded with two leading spaces so that prefixes share trigrams with the
+ * word. A query word matches a center word fully if it is a prefix of it, otherwise with the trigram
+ * similarity (shared / all distinct trigrams); a center scores the average of its best match per
+ * query word. Posting lists (trigram -> centers) narrow scoring to candidates.
+ *
+ * Rebuilt on startup, after admin changes to centers and with the hourly spatial index rebuild.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RckikSearchIndexService {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final RckikRepository rckikRepository;
+
+    @Value("${mkrew.rckik.search.min-similarity:0.3}")
+    private double minSimilarity;
+
+    private volatile Index index = new Index(Map.of(), Map.of());
+
+    /**
+     * @param wordsByRckik Distinct normalized words of each center (name, city, aliases)
+     * @param postings     Trigram -> IDs of centers having a word with it
+     */
+    private record Index(Map<Long, List<Word>> wordsByRckik, Map<String, long[]> postings) {
+    }
+
+    private record Word(String text, Set<String> trigrams) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRckikCentersChanged(RckikCentersChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the index from all centers (active and inactive; callers filter)
+     */
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+
+        Map<Long, List<Word>> wordsByRckik = new HashMap<>();
+        Map<String, Set<Long>> postingSets = new HashMap<>();
+        for (Rckik rckik : rckikRepository.findAll()) {
+            List<String> texts = new ArrayList<>(List.of(rckik.getName(), rckik.getCity(), rckik.getCode()));
+            if (rckik.getAliases() != null) {
+                texts.addAll(Arrays.asList(rckik.getAliases()));
+            }
+
+            Map<String, Word> words = new LinkedHashMap<>();
+            texts.forEach(text -> tokenize(text).forEach(token -> words.computeIfAbsent(token,
+                    key -> new Word(key, trigrams(key)))));
+            wordsByRckik.put(rckik.getId(), List.copyOf(words.values()));
+            words.values().forEach(word -> word.trigrams().forEach(trigram ->
+                    postingSets.computeIfAbsent(trigram, k -> new HashSet<>()).add(rckik.getId())));
+        }
+
+        Map<String, long[]> postings = new HashMap<>();
+        postingSets.forEach((trigram, ids) -> postings.put(trigram, ids.stream().mapToLong(Long::longValue).toArray()));
+        index = new Index(wordsByRckik, postings);
+
+        log.info("RCKiK search index rebuilt: {} center(s), {} trigram(s) ({} ms)",
+                wordsByRckik.size(), postings.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Centers matching a query, best match first
+     *
+     * @param query Free text (e.g. "warszwa", "krak", "rckik wro")
+     * @return RCKiK ID -> score in (0, 1], ordered by descending score; empty if nothing is similar enough
+     */
+    public LinkedHashMap<Long, Double> search(String query) {
+        List<String> queryWords = tokenize(query);
+        LinkedHashMap<Long, Double> ranked = new LinkedHashMap<>();
+        if (queryWords.isEmpty()) {
+            return ranked;
+        }
+
+        Index current = index;
+        Set<Long> candidates = new HashSet<>();
+        List<Set<String>> queryTrigrams = new ArrayList<>();
+        for (String word : queryWords) {
+            Set<String> trigrams = trigrams(word);
+            queryTrigrams.add(trigrams);
+            for (String trigram : trigrams) {
+                long[] ids = current.postings().get(trigram);
+                if (ids != null) {
+                    Arrays.stream(ids).forEach(candidates::add);
+                }
+            }
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (Long rckikId : candidates) {
+            List<Word> words = current.wordsByRckik().get(rckikId);
+            double total = 0;
+            for (int i = 0; i < queryWords.size(); i++) {
+                total += bestMatch(queryWords.get(i), queryTrigrams.get(i), words);
+            }
+            double score = total / queryWords.size();
+            if (score >= minSimilarity) {
+                scores.put(rckikId, score);
+            }
+        }
+
+        scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> ranked.put(entry.getKey(), entry.getValue()));
+        return ranked;
+    }
+
+    private static double bestMatch(String queryWord, Set<String> queryTrigrams, List<Word> words) {
+        double best = 0;
+        for (Word word : words) {
+            if (word.text().startsWith(queryWord)) {
+                return 1.0;
+            }
+            int shared = 0;
+            for (String trigram : queryTrigrams) {
+                if (word.trigrams().contains(trigram)) {
+                    shared++;
+                }
+            }
+            int union = queryTrigrams.size() + word.trigrams().size() - shared;
+            best = Math.max(best, union == 0 ? 0 : (double) shared / union);
+        }
+        return best;
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        normalized = DIACRITICS.matcher(normalized).replaceAll("").replace('ł', 'l');
+        return Arrays.stream(WORD_SEPARATORS.split(normalized))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static Set<String> trigrams(String word) {
+        String padded = "  " + word + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
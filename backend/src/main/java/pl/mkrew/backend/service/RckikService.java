@@ -2,19 +2,24 @@ package pl.mkrew.backend.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import pl.mkrew.backend.dto.*;
 import pl.mkrew.backend.entity.BloodSnapshot;
 import pl.mkrew.backend.entity.Rckik;
 import pl.mkrew.backend.entity.ScraperLog;
+import pl.mkrew.backend.event.RckikCentersChangedEvent;
 import pl.mkrew.backend.exception.ResourceNotFoundException;
 import pl.mkrew.backend.exception.ValidationException;
+import pl.mkrew.backend.util.MinMaxDownsampler;
 import pl.mkrew.backend.repository.BloodSnapshotRepository;
+import pl.mkrew.backend.repository.BloodSnapshotSeriesRepository;
 import pl.mkrew.backend.repository.RckikRepository;
 import pl.mkrew.backend.repository.ScraperLogRepository;
 
@@ -33,6 +38,9 @@ public class RckikService {
     private final BloodSnapshotRepository bloodSnapshotRepository;
     private final ScraperLogRepository scraperLogRepository;
     private final AuditLogService auditLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RckikSearchIndexService rckikSearchIndexService;
+    private final BloodSnapshotSeriesRepository bloodSnapshotSeriesRepository;
 
     /**
      * Get list of RCKiK centers with current blood levels
@@ -119,6 +127,86 @@ public class RckikService {
                 .build();
     }
 
+    /**
+     * Search RCKiK centers by name, city, code or alias, tolerating typos and partial words
+     * US-007: Browse Blood Centers
+     *
+     * @param query Free text (e.g. "warszwa", "krak")
+     * @param city Optional city filter (case-insensitive)
+     * @param active Optional active status filter (default: true)
+     * @param page Page number (zero-based)
+     * @param size Page size
+     * @return RckikListResponse with pagination, best match first
+     */
+    @Transactional(readOnly = true)
+    public RckikListResponse searchRckiks(String query, String city, Boolean active, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Search query must not be empty");
+        }
+        if (query.length() > 100) {
+            throw new ValidationException("Search query must be at most 100 characters");
+        }
+
+        int pageNumber = (page != null && page >= 0) ? page : 0;
+        int pageSize = (size != null && size > 0 && size <= 100) ? size : 20;
+        Boolean activeFilter = (active != null) ? active : true;
+
+        // Rank in memory, then apply the remaining filters in one query over the candidates
+        LinkedHashMap<Long, Double> ranked = rckikSearchIndexService.search(query);
+        List<Rckik> matches = List.of();
+        if (!ranked.isEmpty()) {
+            Specification<Rckik> spec = idIn(ranked.keySet()).and(activeEquals(activeFilter));
+            if (city != null && !city.isBlank()) {
+                spec = spec.and(cityEqualsIgnoreCase(city.trim()));
+            }
+            matches = rckikRepository.findAll(spec).stream()
+                    .sorted(Comparator.comparing((Rckik rckik) -> ranked.get(rckik.getId())).reversed()
+                            .thenComparing(Rckik::getName))
+                    .toList();
+        }
+
+        int from = (int) Math.min((long) pageNumber * pageSize, matches.size());
+        int to = Math.min(from + pageSize, matches.size());
+        List<Rckik> pageContent = matches.subList(from, to);
+
+        Map<Long, List<BloodSnapshot>> snapshotsByRckikId = new HashMap<>();
+        if (!pageContent.isEmpty()) {
+            snapshotsByRckikId = bloodSnapshotRepository.findLatestByRckikIds(
+                            pageContent.stream().map(Rckik::getId).toList()).stream()
+                    .collect(Collectors.groupingBy(bs -> bs.getRckik().getId()));
+        }
+
+        List<RckikSummaryDto> content = new ArrayList<>();
+        for (Rckik rckik : pageContent) {
+            content.add(mapToSummaryDto(rckik, snapshotsByRckikId.getOrDefault(rckik.getId(), List.of())));
+        }
+
+        int totalPages = (matches.size() + pageSize - 1) / pageSize;
+        log.debug("RCKiK search matched {} center(s)", matches.size());
+
+        return RckikListResponse.builder()
+                .content(content)
+                .page(pageNumber)
+                .size(pageSize)
+                .totalElements((long) matches.size())
+                .totalPages(totalPages)
+                .first(pageNumber == 0)
+                .last(pageNumber >= totalPages - 1)
+                .build();
+    }
+
+    private static Specification<Rckik> idIn(Collection<Long> ids) {
+        return (root, criteriaQuery, cb) -> root.get("id").in(ids);
+    }
+
+    private static Specification<Rckik> activeEquals(Boolean active) {
+        return (root, criteriaQuery, cb) -> cb.equal(root.get("active"), active);
+    }
+
+    private static Specification<Rckik> cityEqualsIgnoreCase(String city) {
+        return (root, criteriaQuery, cb) -> cb.equal(cb.lower(root.get("city")), city.toLowerCase(Locale.ROOT));
+    }
+
     /**
      * Map Rckik entity to RckikSummaryDto with blood levels
      *
@@ -178,6 +266,19 @@ public class RckikService {
         }
     }
 
+    /**
+     * Get current blood levels of several centers (live updates)
+     *
+     * @param rckikIds RCKiK IDs
+     * @return Current blood levels per RCKiK ID
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<BloodLevelDto>> getCurrentBloodLevels(Collection<Long> rckikIds) {
+        return bloodSnapshotRepository.findLatestByRckikIds(List.copyOf(rckikIds)).stream()
+                .collect(Collectors.groupingBy(snapshot -> snapshot.getRckik().getId(),
+                        Collectors.mapping(this::mapToBloodLevelDto, Collectors.toList())));
+    }
+
     /**
      * Map BloodSnapshot entity to BloodLevelDto with calculated status
      *
@@ -359,6 +460,69 @@ public class RckikService {
                 .build();
     }
 
+    /**
+     * Get downsampled blood level history per blood group for charts
+     * US-008: View Trends
+     *
+     * Snapshots are read in one ordered pass and bucketed by date: each bucket keeps its lowest and
+     * highest level, so a series has at most maxPoints points however long the range is.
+     *
+     * @param id RCKiK ID
+     * @param fromDate Optional start date (default: one year before toDate)
+     * @param toDate Optional end date (default: today)
+     * @param maxPoints Optional maximum number of points per blood group (default: 200, max: 1000)
+     * @return BloodLevelSeriesResponse with one series per blood group
+     */
+    @Transactional(readOnly = true)
+    public BloodLevelSeriesResponse getBloodLevelSeries(Long id, LocalDate fromDate, LocalDate toDate, Integer maxPoints) {
+        Rckik rckik = rckikRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("RCKiK center not found with ID: " + id));
+
+        LocalDate to = (toDate != null) ? toDate : LocalDate.now();
+        LocalDate from = (fromDate != null) ? fromDate : to.minusYears(1);
+        int points = (maxPoints != null) ? maxPoints : 200;
+        if (from.isAfter(to)) {
+            throw new ValidationException("fromDate must not be after toDate");
+        }
+        if (points < 2 || points > 1000) {
+            throw new ValidationException("Points must be between 2 and 1000");
+        }
+
+        // Each bucket contributes up to two points (lowest and highest level)
+        int buckets = points / 2;
+        Map<String, MinMaxDownsampler<BloodLevelSeriesResponse.Point>> samplers = new TreeMap<>();
+        bloodSnapshotSeriesRepository.streamByRckikId(id, from, to, sample -> samplers
+                .computeIfAbsent(sample.bloodGroup(),
+                        group -> new MinMaxDownsampler<>(from.toEpochDay(), to.toEpochDay(), buckets))
+                .add(sample.snapshotDate().toEpochDay(), sample.levelPercentage().doubleValue(),
+                        BloodLevelSeriesResponse.Point.builder()
+                                .snapshotDate(sample.snapshotDate())
+                                .scrapedAt(sample.scrapedAt())
+                                .levelPercentage(sample.levelPercentage())
+                                .build()));
+
+        List<BloodLevelSeriesResponse.Series> series = samplers.entrySet().stream()
+                .map(entry -> BloodLevelSeriesResponse.Series.builder()
+                        .bloodGroup(entry.getKey())
+                        .totalSnapshots(entry.getValue().count())
+                        .points(entry.getValue().result())
+                        .build())
+                .toList();
+
+        log.info("Retrieved blood level series for RCKiK ID: {} ({} - {}, {} group(s), {} snapshot(s))",
+                id, from, to, series.size(),
+                series.stream().mapToLong(BloodLevelSeriesResponse.Series::getTotalSnapshots).sum());
+
+        return BloodLevelSeriesResponse.builder()
+                .rckikId(rckik.getId())
+                .rckikName(rckik.getName())
+                .fromDate(from)
+                .toDate(to)
+                .maxPoints(points)
+                .series(series)
+                .build();
+    }
+
     /**
      * Map BloodSnapshot to BloodLevelHistoryDto
      *
@@ -485,6 +649,8 @@ public class RckikService {
         auditLogService.logRckikCreated(userId, savedRckik.getId(), metadata);
         log.info("Audit log created for RCKiK creation: {}", savedRckik.getId());
 
+        eventPublisher.publishEvent(new RckikCentersChangedEvent(savedRckik.getId()));
+
         return mapToRckikDto(savedRckik);
     }
 
@@ -553,6 +719,8 @@ public class RckikService {
         auditLogService.logRckikUpdated(userId, id, metadata);
         log.info("Audit log created for RCKiK update: {}", id);
 
+        eventPublisher.publishEvent(new RckikCentersChangedEvent(id));
+
         return mapToRckikDto(updatedRckik);
     }
 
@@ -587,6 +755,8 @@ public class RckikService {
 
         auditLogService.logRckikDeleted(userId, id, metadata);
         log.info("Audit log created for RCKiK deletion: {}", id);
+
+        eventPublisher.publishEvent(new RckikCentersChangedEvent(id));
     }
 
     /**
@@ -0,0 +1,180 @@
+package pl.mkrew.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.mkrew.backend.dto.BloodLevelDto;
+import pl.mkrew.backend.dto.NearbyRckikDto;
+import pl.mkrew.backend.entity.Rckik;
+import pl.mkrew.backend.event.BloodLevelsChangedEvent;
+import pl.mkrew.backend.event.RckikCentersChangedEvent;
+import pl.mkrew.backend.exception.ValidationException;
+import pl.mkrew.backend.repository.RckikRepository;
+import pl.mkrew.backend.util.BloodGroups;
+import pl.mkrew.backend.util.GeoKdTree;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory spatial index of active RCKiK centers with their current blood levels
+ * US-007: List RCKiK Centers with current blood levels
+ *
+ * Centers with coordinates are kept in a k-d tree ({@link GeoKdTree}), so a nearby search is a
+ * tree walk with no database access. The tree is rebuilt on startup, after admin changes to centers
+ * and hourly (changes made on other instances); current levels are refreshed per changed center
+ * when blood levels change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RckikSpatialIndexService {
+
+    private static final double MAX_RADIUS_KM = 1000;
+    private static final int MAX_LIMIT = 50;
+
+    private final RckikRepository rckikRepository;
+    private final RckikService rckikService;
+
+    private volatile Index index = new Index(new GeoKdTree(new long[0], new double[0], new double[0]), Map.of());
+
+    /**
+     * Current blood levels per indexed center
+     */
+    private final Map<Long, List<BloodLevelDto>> bloodLevels = new ConcurrentHashMap<>();
+
+    private record Index(GeoKdTree tree, Map<Long, Rckik> centers) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRckikCentersChanged(RckikCentersChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Refresh current levels of changed centers (after the latest levels view is refreshed)
+     */
+    @EventListener
+    @Order(4)
+    public void onBloodLevelsChanged(BloodLevelsChangedEvent event) {
+        List<Long> indexed = event.changedGroupsByRckik().keySet().stream()
+                .filter(index.centers()::containsKey)
+                .toList();
+        if (!indexed.isEmpty()) {
+            bloodLevels.putAll(rckikService.getCurrentBloodLevels(indexed));
+        }
+    }
+
+    /**
+     * Rebuild the tree and current levels from the database
+     */
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+
+        List<Rckik> located = rckikRepository.findByActiveTrue().stream()
+                .filter(rckik -> rckik.getLatitude() != null && rckik.getLongitude() != null)
+                .toList();
+
+        long[] ids = new long[located.size()];
+        double[] latitudes = new double[located.size()];
+        double[] longitudes = new double[located.size()];
+        Map<Long, Rckik> centers = new HashMap<>();
+        for (int i = 0; i < located.size(); i++) {
+            Rckik rckik = located.get(i);
+            ids[i] = rckik.getId();
+            latitudes[i] = rckik.getLatitude().doubleValue();
+            longitudes[i] = rckik.getLongitude().doubleValue();
+            centers.put(rckik.getId(), rckik);
+        }
+
+        Map<Long, List<BloodLevelDto>> levels = centers.isEmpty()
+                ? Map.of()
+                : rckikService.getCurrentBloodLevels(centers.keySet());
+        bloodLevels.keySet().retainAll(centers.keySet());
+        bloodLevels.putAll(levels);
+        index = new Index(new GeoKdTree(ids, latitudes, longitudes), centers);
+
+        log.info("RCKiK spatial index rebuilt: {} center(s) with coordinates ({} ms)",
+                centers.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Active centers within a radius of a location, nearest first
+     *
+     * @param latitude   Latitude in degrees
+     * @param longitude  Longitude in degrees
+     * @param radiusKm   Search radius in km (max 1000)
+     * @param bloodGroup Optional blood group; only its level is returned
+     * @param limit      Maximum number of centers (max 50)
+     * @return Nearby centers with distance and current levels
+     */
+    public List<NearbyRckikDto> findNearby(double latitude, double longitude, double radiusKm, String bloodGroup,
+                                           int limit) {
+        if (!Double.isFinite(latitude) || !Double.isFinite(longitude)
+                || latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new ValidationException("Latitude must be between -90 and 90, longitude between -180 and 180");
+        }
+        if (!Double.isFinite(radiusKm) || radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new ValidationException("Radius must be greater than 0 and at most " + (int) MAX_RADIUS_KM + " km");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        String group = normalizeBloodGroup(bloodGroup);
+
+        Index current = index;
+        List<NearbyRckikDto> result = new ArrayList<>();
+        for (GeoKdTree.Hit hit : current.tree().withinRadius(latitude, longitude, radiusKm)) {
+            if (result.size() == limit) {
+                break;
+            }
+            Rckik rckik = current.centers().get(hit.id());
+            List<BloodLevelDto> levels = bloodLevels.getOrDefault(hit.id(), List.of());
+            if (group != null) {
+                levels = levels.stream().filter(level -> group.equals(level.getBloodGroup())).toList();
+            }
+
+            result.add(NearbyRckikDto.builder()
+                    .id(rckik.getId())
+                    .name(rckik.getName())
+                    .code(rckik.getCode())
+                    .city(rckik.getCity())
+                    .address(rckik.getAddress())
+                    .latitude(rckik.getLatitude())
+                    .longitude(rckik.getLongitude())
+                    .distanceKm(BigDecimal.valueOf(hit.distanceKm()).setScale(1, RoundingMode.HALF_UP).doubleValue())
+                    .bloodLevels(levels)
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * An unencoded "+" in a query string arrives as a space ("A " for "A+")
+     */
+    private static String normalizeBloodGroup(String bloodGroup) {
+        if (bloodGroup == null || bloodGroup.isBlank()) {
+            return null;
+        }
+        String group = bloodGroup.stripLeading().replace(' ', '+').toUpperCase(Locale.ROOT);
+        if (!BloodGroups.isValid(group)) {
+            throw new ValidationException("Blood group must be one of: " + String.join(", ", BloodGroups.ALL));
+        }
+        return group;
+    }
+}
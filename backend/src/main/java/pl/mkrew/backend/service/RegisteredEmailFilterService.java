@@ -0,0 +1,135 @@
+package pl.mkrew.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.mkrew.backend.repository.UserRepository;
+import pl.mkrew.backend.util.BloomFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter of registered emails (lower-cased)
+ * US-001: User Registration
+ *
+ * The registration form checks email availability on every keystroke. Emails the filter has
+ * never seen are definitely free and need no query; only probable hits are confirmed in the
+ * database. Emails are never freed (soft-deleted users keep theirs), so the filter only grows:
+ * registrations add to it and an hourly rebuild resizes it and picks up registrations made on
+ * other instances. Until the first build completes every check goes to the database.
+ *
+ * Metrics: mkrew.auth.email.filter{result=absent|probable|not_ready}
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RegisteredEmailFilterService {
+
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${mkrew.security.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    /**
+     * Guards adds against the swap of a rebuilt filter; registrations made during a rebuild are
+     * replayed into the new filter, as the scan may not have seen them
+     */
+    private final Object swapLock = new Object();
+    private List<String> addedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Check whether an email may be registered
+     *
+     * @param email Email (any case)
+     * @return false if the email is definitely not registered, true if it may be
+     */
+    public boolean mightBeRegistered(String email) {
+        BloomFilter current = filter;
+        if (current == null) {
+            meterRegistry.counter("mkrew.auth.email.filter", "result", "not_ready").increment();
+            return true;
+        }
+        boolean probable = current.mightContain(normalize(email));
+        meterRegistry.counter("mkrew.auth.email.filter", "result", probable ? "probable" : "absent").increment();
+        return probable;
+    }
+
+    /**
+     * Record a newly registered email
+     *
+     * @param email Email (any case)
+     */
+    public void add(String email) {
+        String normalized = normalize(email);
+        synchronized (swapLock) {
+            if (filter != null) {
+                filter.put(normalized);
+            }
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(normalized);
+            }
+        }
+    }
+
+    /**
+     * Rebuild the filter with one streaming scan of users, sized for twice the current count
+     */
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        synchronized (swapLock) {
+            addedDuringRebuild = new ArrayList<>();
+        }
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+
+            AtomicLong loaded = new AtomicLong();
+            BloomFilter rebuilt = readOnly.execute(status -> {
+                BloomFilter building = new BloomFilter(Math.max(10_000, userRepository.count() * 2), falsePositiveRate);
+                try (Stream<String> emails = userRepository.streamAllEmails()) {
+                    emails.forEach(email -> {
+                        building.put(email);
+                        loaded.incrementAndGet();
+                    });
+                }
+                return building;
+            });
+
+            synchronized (swapLock) {
+                addedDuringRebuild.forEach(rebuilt::put);
+                filter = rebuilt;
+            }
+            log.info("Registered email filter built: {} emails in {} ms", loaded.get(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            // Keep the previous filter; without one every check goes to the database
+            log.error("Failed to build registered email filter", e);
+        } finally {
+            synchronized (swapLock) {
+                addedDuringRebuild = null;
+            }
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
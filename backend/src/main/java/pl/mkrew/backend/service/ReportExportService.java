@@ -9,6 +9,7 @@ import pl.mkrew.backend.dto.DonationStatisticsReportDto;
 import pl.mkrew.backend.dto.UserStatisticsReportDto;
 import pl.mkrew.backend.repository.BloodSnapshotRepository;
 import pl.mkrew.backend.repository.DonationRepository;
+import pl.mkrew.backend.repository.UserDonationStatsRepository;
 import pl.mkrew.backend.repository.UserRepository;
 
 import java.time.LocalDate;
@@ -28,6 +29,7 @@ public class ReportExportService {
 
     private final DonationRepository donationRepository;
     private final UserRepository userRepository;
+    private final UserDonationStatsRepository donationStatsRepository;
     private final BloodSnapshotRepository bloodSnapshotRepository;
 
     /**
@@ -116,7 +118,8 @@ public class ReportExportService {
         );
 
         // Get active donors
-        Long activeDonors = userRepository.countActiveDonors();
+        // Active donors from the maintained per-user aggregates
+        Long activeDonors = donationStatsRepository.countActiveDonors();
         Long inactiveDonors = totalUsers - activeDonors;
 
         // Get notification preferences
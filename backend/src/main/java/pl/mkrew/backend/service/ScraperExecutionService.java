@@ -0,0 +1,244 @@
+package pl.mkrew.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.mkrew.backend.dto.BloodLevelData;
+import pl.mkrew.backend.dto.ScrapeResult;
+import pl.mkrew.backend.entity.BloodLevelOutboxEvent;
+import pl.mkrew.backend.entity.BloodSnapshot;
+import pl.mkrew.backend.entity.ScraperConfig;
+import pl.mkrew.backend.entity.ScraperLog;
+import pl.mkrew.backend.entity.ScraperRun;
+import pl.mkrew.backend.exception.ResourceNotFoundException;
+import pl.mkrew.backend.repository.BloodSnapshotRepository;
+import pl.mkrew.backend.repository.RckikRepository;
+import pl.mkrew.backend.repository.ScraperConfigRepository;
+import pl.mkrew.backend.repository.ScraperLogRepository;
+import pl.mkrew.backend.repository.ScraperRunRepository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Executes scraper runs: fetch + parse via {@link ScraperFetchService}, then persist
+ * snapshots, per-center logs and the run summary in a single transaction.
+ * US-017: Manual Scraping
+ * US-018: Monitoring and alerting
+ *
+ * Metrics: mkrew.scraper.run{status}, mkrew.scraper.persist and mkrew.scraper.snapshots.saved{center}
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScraperExecutionService {
+
+    private final ScraperFetchService scraperFetchService;
+    private final ScraperRunRepository scraperRunRepository;
+    private final ScraperConfigRepository scraperConfigRepository;
+    private final ScraperLogRepository scraperLogRepository;
+    private final BloodSnapshotRepository bloodSnapshotRepository;
+    private final RckikRepository rckikRepository;
+    private final BloodLevelOutboxService bloodLevelOutboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Runs are executed one at a time; parallelism is inside a run (per center)
+     */
+    private final ExecutorService runExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "scraper-run");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    void shutdown() {
+        runExecutor.shutdownNow();
+    }
+
+    /**
+     * Queue a run for background execution
+     * Must be called after the ScraperRun row is committed
+     *
+     * @param runId Scraper run ID (status RUNNING)
+     * @param rckikId Single RCKiK to scrape, or null for all active centers
+     * @param urlOverride Custom URL (only used together with rckikId)
+     */
+    public void submitRun(Long runId, Long rckikId, String urlOverride) {
+        runExecutor.execute(() -> {
+            try {
+                executeRun(runId, rckikId, urlOverride);
+            } catch (Exception e) {
+                log.error("Scraper run {} failed", runId, e);
+                markRunFailed(runId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Execute a run synchronously
+     *
+     * @return Results per center
+     */
+    public List<ScrapeResult> executeRun(Long runId, Long rckikId, String urlOverride) {
+        LocalDateTime started = LocalDateTime.now();
+        Timer.Sample runSample = Timer.start(meterRegistry);
+        List<ScraperConfig> configs = loadConfigs(rckikId);
+        log.info("Executing scraper run {} for {} center(s)", runId, configs.size());
+
+        List<ScrapeResult> results;
+        if (rckikId != null && urlOverride != null && !urlOverride.isBlank()) {
+            results = configs.stream()
+                    .map(config -> scraperFetchService.scrape(config, urlOverride))
+                    .toList();
+        } else {
+            results = scraperFetchService.scrapeAll(configs);
+        }
+
+        Timer.Sample persistSample = Timer.start(meterRegistry);
+        String runStatus = transactionTemplate.execute(status -> persistResults(runId, results, started));
+        persistSample.stop(meterRegistry.timer("mkrew.scraper.persist"));
+
+        runSample.stop(meterRegistry.timer("mkrew.scraper.run", "status", runStatus));
+        return results;
+    }
+
+    private List<ScraperConfig> loadConfigs(Long rckikId) {
+        if (rckikId == null) {
+            return scraperConfigRepository.findAllActiveWithRckik();
+        }
+        return scraperConfigRepository.findActiveWithRckikByRckikId(rckikId)
+                .map(List::of)
+                .orElseThrow(() -> new ResourceNotFoundException("No active scraper config for RCKiK: " + rckikId));
+    }
+
+    private String persistResults(Long runId, List<ScrapeResult> results, LocalDateTime started) {
+        ScraperRun run = scraperRunRepository.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Scraper run not found with ID: " + runId));
+
+        LocalDate snapshotDate = LocalDate.now();
+        List<BloodSnapshot> snapshots = new ArrayList<>();
+        List<ScraperLog> logs = new ArrayList<>();
+
+        for (ScrapeResult result : results) {
+            result.getBloodLevels().forEach(level -> snapshots.add(BloodSnapshot.builder()
+                    .rckik(rckikRepository.getReferenceById(result.getRckikId()))
+                    .snapshotDate(snapshotDate)
+                    .bloodGroup(level.getBloodGroup())
+                    .levelPercentage(level.getLevelPercentage())
+                    .sourceUrl(result.getUrl())
+                    .parserVersion(result.getParserVersion())
+                    .isManual(false)
+                    .build()));
+
+            logs.add(ScraperLog.builder()
+                    .scraperRun(run)
+                    .rckik(rckikRepository.getReferenceById(result.getRckikId()))
+                    .url(result.getUrl())
+                    .status(logStatus(result))
+                    .errorMessage(result.getErrorMessage())
+                    .parserVersion(result.getParserVersion())
+                    .responseTimeMs((int) result.getTotalTimeMs())
+                    .httpStatusCode(result.getHttpStatusCode())
+                    .recordsParsed(result.getBloodLevels().size())
+                    .recordsFailed(recordsFailed(result))
+                    .build());
+        }
+
+        recordChangedLevels(results);
+        bloodSnapshotRepository.saveAll(snapshots);
+        scraperLogRepository.saveAll(logs);
+        results.stream()
+                .filter(result -> !result.getBloodLevels().isEmpty())
+                .forEach(result -> meterRegistry.counter("mkrew.scraper.snapshots.saved", "center", result.getRckikCode())
+                        .increment(result.getBloodLevels().size()));
+
+        int failed = (int) results.stream()
+                .filter(result -> ScrapeResult.STATUS_FAILED.equals(result.getStatus()))
+                .count();
+        int successful = results.size() - failed;
+
+        run.setSuccessfulCount(successful);
+        run.setFailedCount(failed);
+        run.setCompletedAt(LocalDateTime.now());
+        run.setDurationSeconds((int) Duration.between(started, run.getCompletedAt()).toSeconds());
+        run.setStatus(failed == 0 ? "COMPLETED" : successful == 0 ? "FAILED" : "PARTIAL");
+        if (failed > 0) {
+            run.setErrorSummary(results.stream()
+                    .filter(result -> ScrapeResult.STATUS_FAILED.equals(result.getStatus()))
+                    .map(result -> result.getRckikCode() + ": " + result.getErrorMessage())
+                    .collect(Collectors.joining("; ")));
+        }
+
+        log.info("Scraper run {} finished - status: {}, successful: {}, failed: {}, snapshots: {}",
+                runId, run.getStatus(), successful, failed, snapshots.size());
+        return run.getStatus();
+    }
+
+    /**
+     * Record blood groups whose level differs from the latest stored snapshot in the outbox,
+     * so view refresh and alerting only handle what changed
+     */
+    private void recordChangedLevels(List<ScrapeResult> results) {
+        List<Long> rckikIds = results.stream()
+                .filter(result -> !result.getBloodLevels().isEmpty())
+                .map(ScrapeResult::getRckikId)
+                .toList();
+        if (rckikIds.isEmpty()) {
+            return;
+        }
+
+        Map<String, BigDecimal> previous = new HashMap<>();
+        bloodSnapshotRepository.findLatestByRckikIds(rckikIds).forEach(snapshot ->
+                previous.put(snapshot.getRckik().getId() + ":" + snapshot.getBloodGroup(), snapshot.getLevelPercentage()));
+
+        for (ScrapeResult result : results) {
+            List<String> changedGroups = result.getBloodLevels().stream()
+                    .filter(level -> {
+                        BigDecimal before = previous.get(result.getRckikId() + ":" + level.getBloodGroup());
+                        return before == null || before.compareTo(level.getLevelPercentage()) != 0;
+                    })
+                    .map(BloodLevelData::getBloodGroup)
+                    .toList();
+            bloodLevelOutboxService.record(result.getRckikId(), changedGroups, BloodLevelOutboxEvent.SOURCE_SCRAPER);
+        }
+    }
+
+    private void markRunFailed(Long runId, String errorMessage) {
+        transactionTemplate.executeWithoutResult(status -> scraperRunRepository.findById(runId).ifPresent(run -> {
+            run.setStatus("FAILED");
+            run.setCompletedAt(LocalDateTime.now());
+            run.setErrorSummary(errorMessage);
+        }));
+    }
+
+    private static int recordsFailed(ScrapeResult result) {
+        if (ScrapeResult.STATUS_NOT_MODIFIED.equals(result.getStatus())) {
+            return 0;
+        }
+        return Math.max(0, ScrapeResult.EXPECTED_BLOOD_GROUPS - result.getBloodLevels().size());
+    }
+
+    /**
+     * scraper_logs.status allows SUCCESS / PARTIAL / FAILED - an unchanged page (304) is a success
+     */
+    private static String logStatus(ScrapeResult result) {
+        return ScrapeResult.STATUS_NOT_MODIFIED.equals(result.getStatus())
+                ? ScrapeResult.STATUS_SUCCESS
+                : result.getStatus();
+    }
+}
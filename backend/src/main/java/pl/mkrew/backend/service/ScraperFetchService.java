@@ -0,0 +1,294 @@
+package pl.mkrew.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import pl.mkrew.backend.dto.BloodLevelData;
+import pl.mkrew.backend.dto.ScrapeResult;
+import pl.mkrew.backend.entity.ScraperConfig;
+import pl.mkrew.backend.parser.Parser;
+import pl.mkrew.backend.parser.ParserFactory;
+import pl.mkrew.backend.parser.ParsingException;
+import pl.mkrew.backend.parser.RzeszowParser;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scraping engine: fetches RCKiK pages over HTTP and parses blood levels
+ * US-017: Manual Scraping
+ *
+ * - Pages are fetched in parallel on a bounded pool (mkrew.scraper.parallelism)
+ * - Conditional GET: the last ETag per URL is sent as If-None-Match, a 304 means "nothing changed"
+ * - The whole fetch (connect + body read) is bounded by ScraperConfig.timeoutSeconds
+ * - No database access - persisting results is up to the caller
+ *
+ * Metrics: mkrew.scraper.fetch{center, outcome} and mkrew.scraper.parse{center, outcome}
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScraperFetchService {
+
+    private static final int MAX_BODY_BYTES = 2 * 1024 * 1024;
+
+    private final ParserFactory parserFactory;
+    private final RzeszowParser rzeszowParser;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${mkrew.scraper.parallelism:4}")
+    private int parallelism;
+
+    @Value("${mkrew.scraper.user-agent:mkrew-scraper/1.0 (+https://mkrew.pl)}")
+    private String userAgent;
+
+    /**
+     * Last seen ETag per source URL (only stored after a successful parse)
+     */
+    private final Map<String, String> etags = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "scraper-fetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Scrape all given configs in parallel
+     * Never throws for a single center - failures are reported as FAILED results
+     *
+     * @param configs Scraper configs (RCKiK must be initialized)
+     * @return Results in the same order as configs
+     */
+    public List<ScrapeResult> scrapeAll(List<ScraperConfig> configs) {
+        List<CompletableFuture<ScrapeResult>> futures = configs.stream()
+                .map(config -> CompletableFuture.supplyAsync(() -> scrape(config, config.getSourceUrl()), executor)
+                        .exceptionally(e -> failedResult(config, config.getSourceUrl(), e)))
+                .toList();
+
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    /**
+     * Fetch and parse a single RCKiK page
+     *
+     * @param config Scraper config (selectors, parser type, timeout)
+     * @param url URL to fetch (config source URL or a manual override)
+     * @return Scrape result
+     */
+    public ScrapeResult scrape(ScraperConfig config, String url) {
+        ScrapeResult result = fetchAndParse(config, url);
+        String center = config.getRckik().getCode();
+
+        String fetchOutcome = result.getHttpStatusCode() == null ? "error"
+                : ScrapeResult.STATUS_NOT_MODIFIED.equals(result.getStatus()) ? "not_modified"
+                : result.getHttpStatusCode() >= 400 ? "http_" + result.getHttpStatusCode()
+                : "ok";
+        meterRegistry.timer("mkrew.scraper.fetch", "center", center, "outcome", fetchOutcome)
+                .record(result.getFetchTimeMs(), TimeUnit.MILLISECONDS);
+
+        if (result.getBodyBytes() > 0) {
+            meterRegistry.timer("mkrew.scraper.parse", "center", center,
+                            "outcome", result.getStatus().toLowerCase(Locale.ROOT))
+                    .record(result.getParseTimeMs(), TimeUnit.MILLISECONDS);
+        }
+        return result;
+    }
+
+    /**
+     * Turn an unexpected error (e.g. a parser bug) into a FAILED result for that center only
+     */
+    private ScrapeResult failedResult(ScraperConfig config, String url, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        log.error("Unexpected error scraping {} for RCKiK {}", url, config.getRckik().getCode(), cause);
+        meterRegistry.counter("mkrew.scraper.unexpected-errors", "center", config.getRckik().getCode()).increment();
+        return ScrapeResult.builder()
+                .configId(config.getId())
+                .rckikId(config.getRckik().getId())
+                .rckikCode(config.getRckik().getCode())
+                .url(url)
+                .host(hostOf(url))
+                .status(ScrapeResult.STATUS_FAILED)
+                .errorMessage("Unexpected error: " + cause.getMessage())
+                .build();
+    }
+
+    private ScrapeResult fetchAndParse(ScraperConfig config, String url) {
+        ScrapeResult.ScrapeResultBuilder result = ScrapeResult.builder()
+                .configId(config.getId())
+                .rckikId(config.getRckik().getId())
+                .rckikCode(config.getRckik().getCode())
+                .url(url)
+                .host(hostOf(url));
+
+        long fetchStarted = System.nanoTime();
+        Connection.Response response;
+        try {
+            Connection connection = Jsoup.connect(url)
+                    .userAgent(userAgent)
+                    .timeout((int) TimeUnit.SECONDS.toMillis(config.getTimeoutSeconds()))
+                    .maxBodySize(MAX_BODY_BYTES)
+                    .ignoreHttpErrors(true)
+                    .method(Connection.Method.GET);
+
+            String etag = etags.get(url);
+            if (etag != null) {
+                connection.header("If-None-Match", etag);
+            }
+
+            response = connection.execute();
+            response.bufferUp();
+        } catch (IOException e) {
+            log.warn("Failed to fetch {} for RCKiK {}: {}", url, config.getRckik().getCode(), e.getMessage());
+            return result
+                    .status(ScrapeResult.STATUS_FAILED)
+                    .fetchTimeMs(elapsedMs(fetchStarted))
+                    .errorMessage("Fetch failed: " + e.getMessage())
+                    .build();
+        }
+        result.fetchTimeMs(elapsedMs(fetchStarted))
+                .httpStatusCode(response.statusCode());
+
+        if (response.statusCode() == 304) {
+            log.debug("RCKiK {} page not modified", config.getRckik().getCode());
+            return result.status(ScrapeResult.STATUS_NOT_MODIFIED).build();
+        }
+
+        if (response.statusCode() >= 400) {
+            log.warn("RCKiK {} returned HTTP {}", config.getRckik().getCode(), response.statusCode());
+            return result
+                    .status(ScrapeResult.STATUS_FAILED)
+                    .errorMessage("HTTP " + response.statusCode())
+                    .build();
+        }
+
+        String html = response.body();
+        result.bodyBytes(response.bodyAsBytes().length);
+
+        long parseStarted = System.nanoTime();
+        try {
+            ParsedPage parsed = parse(config, html);
+            result.parseTimeMs(elapsedMs(parseStarted))
+                    .parserVersion(parsed.parserVersion())
+                    .bloodLevels(parsed.bloodLevels())
+                    .status(parsed.bloodLevels().size() >= ScrapeResult.EXPECTED_BLOOD_GROUPS
+                            ? ScrapeResult.STATUS_SUCCESS
+                            : ScrapeResult.STATUS_PARTIAL);
+
+            String etag = response.header("ETag");
+            if (etag != null) {
+                etags.put(url, etag);
+            }
+        } catch (ParsingException e) {
+            log.warn("Failed to parse {} for RCKiK {}: {}", url, config.getRckik().getCode(), e.getMessage());
+            result.parseTimeMs(elapsedMs(parseStarted))
+                    .status(ScrapeResult.STATUS_FAILED)
+                    .errorMessage(e.getMessage());
+        }
+
+        return result.build();
+    }
+
+    /**
+     * Forget all stored ETags so the next run fetches full pages
+     */
+    public void clearEtags() {
+        etags.clear();
+    }
+
+    /**
+     * Pick the parser for a config:
+     * 1. a parser registered in ParserFactory for the parser type
+     * 2. custom selectors (bloodGroupRow / bloodGroupName / levelPercentage)
+     * 3. legacy seed selectors (blood_levels / blood_group / level)
+     * 4. default table selectors
+     */
+    private ParsedPage parse(ScraperConfig config, String html) throws ParsingException {
+        if (parserFactory.hasParser(config.getParserType())) {
+            Parser parser = parserFactory.getParser(config.getParserType());
+            return new ParsedPage(parser.parseBloodLevels(html), parser.getParserVersion());
+        }
+
+        JsonNode selectors = readSelectors(config);
+        if (selectors != null && selectors.has("bloodGroupRow")) {
+            return new ParsedPage(rzeszowParser.parseBloodLevels(html, selectors), rzeszowParser.getParserVersion());
+        }
+        if (selectors != null && selectors.has("blood_group") && selectors.has("level")) {
+            return new ParsedPage(rzeszowParser.parseBloodLevels(html, fromSeedSelectors(selectors)),
+                    rzeszowParser.getParserVersion());
+        }
+        return new ParsedPage(rzeszowParser.parseBloodLevels(html), rzeszowParser.getParserVersion());
+    }
+
+    private JsonNode readSelectors(ScraperConfig config) throws ParsingException {
+        if (config.getCssSelectors() == null || config.getCssSelectors().isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(config.getCssSelectors());
+        } catch (JsonProcessingException e) {
+            throw new ParsingException("Invalid CSS selectors JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Translate the seeded selector format (019 changeset) to the custom selector format
+     */
+    private JsonNode fromSeedSelectors(JsonNode seedSelectors) {
+        ObjectNode selectors = objectMapper.createObjectNode();
+        if (seedSelectors.has("blood_levels")) {
+            selectors.put("container", seedSelectors.get("blood_levels").asText());
+        }
+        selectors.put("bloodGroupRow", "tr");
+        selectors.put("bloodGroupName", seedSelectors.get("blood_group").asText());
+        selectors.put("levelPercentage", seedSelectors.get("level").asText());
+        return selectors;
+    }
+
+    private static String hostOf(String url) {
+        try {
+            return URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private static long elapsedMs(long startedNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+
+    private record ParsedPage(List<BloodLevelData> bloodLevels, String parserVersion) {
+    }
+}
@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import pl.mkrew.backend.dto.*;
@@ -36,6 +38,7 @@ public class ScraperService {
     private final ScraperLogRepository scraperLogRepository;
     private final RckikRepository rckikRepository;
     private final UserRepository userRepository;
+    private final ScraperExecutionService scraperExecutionService;
 
     /**
      * Trigger manual scraper run
@@ -46,7 +49,7 @@ public class ScraperService {
      * 2. Get user email for audit trail
      * 3. Create ScraperRun with run_type=MANUAL
      * 4. Set triggered_by from authenticated user
-     * 5. Queue scraping job (async) - for MVP: create run record only
+     * 5. Queue scraping job (async) - executed by ScraperExecutionService after commit
      * 6. Return immediately with run ID for status polling
      *
      * @param request Trigger scraper request
@@ -83,16 +86,14 @@ public class ScraperService {
         ScraperRun savedRun = scraperRunRepository.save(scraperRun);
         log.info("Created manual scraper run with ID: {}", savedRun.getId());
 
-        // 4. Queue scraping job (async)
-        // TODO: For MVP, we just create the run record.
-        // In the future, implement actual scraping logic:
-        // - If rckikId is provided: scrape single RCKiK
-        // - If url is provided: use custom URL instead of config
-        // - If neither provided: scrape all active RCKiK
-        // Example: scraperExecutor.execute(() -> performScraping(savedRun.getId(), request));
-
-        log.warn("Scraper execution not yet implemented - run created with ID: {} but no actual scraping will occur",
-                savedRun.getId());
+        // 4. Queue scraping job (async) once the run row is committed
+        Long runId = savedRun.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                scraperExecutionService.submitRun(runId, request.getRckikId(), request.getUrl());
+            }
+        });
 
         // 5. Return response
         return buildScraperRunResponse(savedRun);
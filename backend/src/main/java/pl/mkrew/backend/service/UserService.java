@@ -10,7 +10,6 @@ import pl.mkrew.backend.dto.UserProfileResponse;
 import pl.mkrew.backend.entity.User;
 import pl.mkrew.backend.exception.ResourceNotFoundException;
 import pl.mkrew.backend.repository.UserRepository;
-import pl.mkrew.backend.repository.UserSessionRepository;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -22,9 +21,10 @@ import java.util.Map;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final UserSessionRepository userSessionRepository;
+    private final UserSessionService userSessionService;
     private final AuditLogService auditLogService;
     private final EmailService emailService;
+    private final AlertRecipientIndexService recipientIndexService;
 
     /**
      * Get user profile by user ID
@@ -82,6 +82,7 @@ public class UserService {
             String bloodGroup = request.getBloodGroup().trim().isEmpty() ? null : request.getBloodGroup();
             user.setBloodGroup(bloodGroup);
             updated = true;
+            recipientIndexService.refreshUser(userId);
             log.debug("Updated bloodGroup for user {} to: {}", userId, bloodGroup);
         }
 
@@ -135,6 +136,7 @@ public class UserService {
         LocalDateTime deletionTime = LocalDateTime.now();
         user.setDeletedAt(deletionTime);
         userRepository.save(user);
+        recipientIndexService.refreshUser(userId);
         log.info("User soft deleted: {}", userId);
 
         // 3. Create audit log entry
@@ -142,7 +144,7 @@ public class UserService {
         log.info("Audit log created for account deletion: {}", userId);
 
         // 4. Invalidate all user sessions
-        int revokedSessions = userSessionRepository.revokeAllSessionsByUserId(userId);
+        int revokedSessions = userSessionService.revokeAllSessions(userId);
         log.info("Revoked {} active sessions for user: {}", revokedSessions, userId);
 
         // 5. Send confirmation email
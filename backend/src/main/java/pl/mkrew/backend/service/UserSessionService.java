@@ -0,0 +1,205 @@
+package pl.mkrew.backend.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.mkrew.backend.dto.LoginResponse;
+import pl.mkrew.backend.entity.User;
+import pl.mkrew.backend.entity.UserSession;
+import pl.mkrew.backend.exception.InvalidTokenException;
+import pl.mkrew.backend.repository.UserSessionRepository;
+import pl.mkrew.backend.security.JwtTokenProvider;
+import pl.mkrew.backend.security.SessionRevocationRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Refresh-token sessions persisted in user_sessions
+ * US-003: User Login
+ *
+ * Every login opens a session; access and refresh tokens carry its ID (sid). A refresh rotates
+ * the refresh token: only the SHA-256 hash of the latest one is stored, and presenting an older
+ * one (token reuse) revokes the whole session. Revoked sessions are published to the
+ * SessionRevocationRegistry, which rejects their access tokens without a database lookup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserSessionService {
+
+    private static final String INVALID_REFRESH_TOKEN = "Refresh token is invalid or has expired";
+
+    private final UserSessionRepository userSessionRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final SessionRevocationRegistry revocationRegistry;
+
+    /**
+     * Open a session and issue its tokens
+     *
+     * @param user      Authenticated user
+     * @param ipAddress Client IP address
+     * @param userAgent Client user agent
+     * @return Response with access and refresh token (without user data)
+     */
+    @Transactional
+    public LoginResponse createSession(User user, String ipAddress, String userAgent) {
+        UserSession session = userSessionRepository.save(UserSession.builder()
+                .user(user)
+                // Placeholder until the refresh token, which embeds the session ID, exists
+                .tokenHash(hash(UUID.randomUUID().toString()))
+                .ipAddress(ipAddress != null && ipAddress.length() > 45 ? ipAddress.substring(0, 45) : ipAddress)
+                .userAgent(userAgent)
+                .expiresAt(refreshExpiry(LocalDateTime.now()))
+                .revoked(false)
+                .build());
+
+        String refreshToken = jwtTokenProvider.generateRefreshToken(user, session.getId());
+        session.setTokenHash(hash(refreshToken));
+
+        log.debug("Session {} opened for user ID: {}", session.getId(), user.getId());
+        return tokens(user, session.getId(), refreshToken);
+    }
+
+    /**
+     * Rotate a refresh token: issue a new access and refresh token for its session
+     *
+     * @param refreshToken Presented refresh token
+     * @return Response with new access and refresh token (without user data)
+     * @throws InvalidTokenException if the token is invalid, expired, revoked or already used
+     */
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public LoginResponse refresh(String refreshToken) {
+        Long sessionId = parseSessionId(refreshToken);
+
+        UserSession session = userSessionRepository.findWithUserById(sessionId)
+                .orElseThrow(() -> new InvalidTokenException(INVALID_REFRESH_TOKEN));
+        LocalDateTime now = LocalDateTime.now();
+
+        if (Boolean.TRUE.equals(session.getRevoked()) || !session.getExpiresAt().isAfter(now)) {
+            log.warn("Refresh rejected: session {} is revoked or expired", sessionId);
+            throw new InvalidTokenException(INVALID_REFRESH_TOKEN);
+        }
+
+        User user = session.getUser();
+        if (user.getDeletedAt() != null) {
+            revoke(sessionId, now);
+            throw new InvalidTokenException(INVALID_REFRESH_TOKEN);
+        }
+
+        String presentedHash = hash(refreshToken);
+        if (!presentedHash.equals(session.getTokenHash())) {
+            // An older refresh token of this session: it leaked or was replayed, end the session
+            revoke(sessionId, now);
+            log.warn("Refresh token reuse detected for session {} (user ID: {}), session revoked", sessionId, user.getId());
+            throw new InvalidTokenException(INVALID_REFRESH_TOKEN);
+        }
+
+        String newRefreshToken = jwtTokenProvider.generateRefreshToken(user, sessionId);
+        if (userSessionRepository.rotateToken(sessionId, presentedHash, hash(newRefreshToken),
+                refreshExpiry(now), now) == 0) {
+            log.warn("Refresh rejected: session {} was rotated concurrently", sessionId);
+            throw new InvalidTokenException(INVALID_REFRESH_TOKEN);
+        }
+
+        log.debug("Session {} refreshed for user ID: {}", sessionId, user.getId());
+        return tokens(user, sessionId, newRefreshToken);
+    }
+
+    /**
+     * End the session of a refresh token (logout)
+     * Invalid or already revoked tokens are ignored
+     *
+     * @param refreshToken Refresh token
+     */
+    @Transactional
+    public void revokeSession(String refreshToken) {
+        Long sessionId;
+        try {
+            sessionId = parseSessionId(refreshToken);
+        } catch (InvalidTokenException e) {
+            return;
+        }
+
+        userSessionRepository.findById(sessionId)
+                .filter(session -> hash(refreshToken).equals(session.getTokenHash()))
+                .ifPresent(session -> revoke(session.getId(), LocalDateTime.now()));
+    }
+
+    /**
+     * Revoke all sessions of a user (account deletion, password reset)
+     * Their access tokens are rejected from the commit on
+     *
+     * @param userId User ID
+     * @return Number of revoked sessions
+     */
+    @Transactional
+    public int revokeAllSessions(Long userId) {
+        List<Long> sessionIds = userSessionRepository.findActiveIdsByUserId(userId);
+        int revoked = userSessionRepository.revokeAllSessionsByUserId(userId, LocalDateTime.now());
+        revocationRegistry.revoke(sessionIds);
+        return revoked;
+    }
+
+    /**
+     * Delete sessions expired for more than a day
+     *
+     * @return Number of deleted sessions
+     */
+    @Transactional
+    public int deleteExpiredSessions() {
+        return userSessionRepository.deleteExpiredBefore(LocalDateTime.now().minusDays(1));
+    }
+
+    private void revoke(Long sessionId, LocalDateTime now) {
+        if (userSessionRepository.revokeById(sessionId, now) > 0) {
+            revocationRegistry.revoke(List.of(sessionId));
+        }
+    }
+
+    private Long parseSessionId(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtTokenProvider.getClaimsFromToken(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException(INVALID_REFRESH_TOKEN);
+        }
+
+        Long sessionId = claims.get("sid", Long.class);
+        if (!"refresh".equals(claims.get("type", String.class)) || sessionId == null) {
+            throw new InvalidTokenException(INVALID_REFRESH_TOKEN);
+        }
+        return sessionId;
+    }
+
+    private LoginResponse tokens(User user, Long sessionId, String refreshToken) {
+        return LoginResponse.builder()
+                .accessToken(jwtTokenProvider.generateAccessToken(user, sessionId))
+                .tokenType("Bearer")
+                .expiresIn(jwtTokenProvider.getAccessTokenExpirationInSeconds())
+                .refreshToken(refreshToken)
+                .build();
+    }
+
+    private LocalDateTime refreshExpiry(LocalDateTime now) {
+        return now.plus(Duration.ofMillis(jwtTokenProvider.getRefreshTokenExpirationMillis()));
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package pl.mkrew.backend.util;
+
+import java.util.List;
+
+/**
+ * Blood groups tracked by the system, in display order
+ * Same values as chk_blood_snapshots_blood_group and the request DTO patterns
+ */
+public final class BloodGroups {
+
+    public static final List<String> ALL = List.of("0+", "0-", "A+", "A-", "B+", "B-", "AB+", "AB-");
+
+    private BloodGroups() {
+    }
+
+    /**
+     * @param bloodGroup Blood group code
+     * @return true if it is one of {@link #ALL}
+     */
+    public static boolean isValid(String bloodGroup) {
+        return ALL.contains(bloodGroup);
+    }
+}
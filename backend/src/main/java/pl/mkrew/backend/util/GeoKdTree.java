@@ -0,0 +1,139 @@
+package pl.mkrew.backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable k-d tree over points on the Earth's surface, for radius queries by great-circle distance
+ *
+ * Points are stored as 3D unit vectors; the straight-line (chord) distance between two unit vectors
+ * grows monotonically with the great-circle distance, so a radius in km becomes a Euclidean radius
+ * and the usual k-d pruning is exact, also across the antimeridian. The tree is implicit: points are
+ * arranged in flat arrays with each subtree's median in the middle of its range.
+ */
+public class GeoKdTree {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /**
+     * A point within the query radius
+     *
+     * @param id         Point ID
+     * @param distanceKm Great-circle distance from the query location
+     */
+    public record Hit(long id, double distanceKm) {
+    }
+
+    private final long[] ids;
+    private final double[][] coordinates;
+
+    /**
+     * @param ids        Point IDs
+     * @param latitudes  Latitudes in degrees (same order as ids)
+     * @param longitudes Longitudes in degrees (same order as ids)
+     */
+    public GeoKdTree(long[] ids, double[] latitudes, double[] longitudes) {
+        int size = ids.length;
+        Integer[] order = new Integer[size];
+        double[][] vectors = new double[size][];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+            vectors[i] = toVector(latitudes[i], longitudes[i]);
+        }
+
+        build(order, vectors, 0, size, 0);
+
+        this.ids = new long[size];
+        this.coordinates = new double[size][];
+        for (int i = 0; i < size; i++) {
+            this.ids[i] = ids[order[i]];
+            this.coordinates[i] = vectors[order[i]];
+        }
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Points within a radius, nearest first
+     *
+     * @param latitude  Query latitude in degrees
+     * @param longitude Query longitude in degrees
+     * @param radiusKm  Search radius in km
+     * @return Hits ordered by distance
+     */
+    public List<Hit> withinRadius(double latitude, double longitude, double radiusKm) {
+        List<Hit> hits = new ArrayList<>();
+        if (ids.length == 0) {
+            return hits;
+        }
+        double[] target = toVector(latitude, longitude);
+        double angle = Math.min(radiusKm / EARTH_RADIUS_KM, Math.PI);
+        double chord = 2 * Math.sin(angle / 2);
+        search(target, chord * chord, chord, 0, ids.length, 0, hits);
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits;
+    }
+
+    private void search(double[] target, double maxChordSquared, double maxChord, int from, int to, int axis,
+                        List<Hit> hits) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        double[] point = coordinates[mid];
+
+        double chordSquared = squaredDistance(target, point);
+        if (chordSquared <= maxChordSquared) {
+            hits.add(new Hit(ids[mid], toKm(chordSquared)));
+        }
+
+        double delta = target[axis] - point[axis];
+        int next = (axis + 1) % 3;
+        if (delta <= 0) {
+            search(target, maxChordSquared, maxChord, from, mid, next, hits);
+            if (-delta <= maxChord) {
+                search(target, maxChordSquared, maxChord, mid + 1, to, next, hits);
+            }
+        } else {
+            search(target, maxChordSquared, maxChord, mid + 1, to, next, hits);
+            if (delta <= maxChord) {
+                search(target, maxChordSquared, maxChord, from, mid, next, hits);
+            }
+        }
+    }
+
+    private static void build(Integer[] order, double[][] vectors, int from, int to, int axis) {
+        if (to - from <= 1) {
+            return;
+        }
+        // Center counts are small; a sort per level keeps the build simple (O(n log^2 n))
+        Arrays.sort(order, from, to, Comparator.comparingDouble(index -> vectors[index][axis]));
+        int mid = (from + to) >>> 1;
+        int next = (axis + 1) % 3;
+        build(order, vectors, from, mid, next);
+        build(order, vectors, mid + 1, to, next);
+    }
+
+    private static double[] toVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        return new double[]{cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat)};
+    }
+
+    private static double squaredDistance(double[] a, double[] b) {
+        double dx = a[0] - b[0];
+        double dy = a[1] - b[1];
+        double dz = a[2] - b[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static double toKm(double chordSquared) {
+        double chord = Math.sqrt(chordSquared);
+        return 2 * Math.asin(Math.min(1.0, chord / 2)) * EARTH_RADIUS_KM;
+    }
+}
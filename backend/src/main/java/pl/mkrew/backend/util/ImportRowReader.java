@@ -0,0 +1,262 @@
+package pl.mkrew.backend.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming reader of CSV (header row + comma separated values) or NDJSON (one JSON object per line)
+ *
+ * Reads one line at a time, so memory does not depend on the input size. Lines longer than
+ * MAX_LINE_LENGTH characters are not buffered; they are skipped and reported as row errors.
+ * Rows are exposed as column name -> text value maps with lower-cased names; missing and empty
+ * values are absent. CSV values may be double-quoted ("" escapes a quote) but must not span lines.
+ */
+public final class ImportRowReader implements Closeable {
+
+    /**
+     * Longest accepted line in characters (a valid row is well below 1 KB)
+     */
+    public static final int MAX_LINE_LENGTH = 8192;
+
+    public enum Format {
+        CSV, NDJSON;
+
+        /**
+         * @param contentType Request content type: text/csv, otherwise application/x-ndjson
+         */
+        public static Format fromContentType(String contentType) {
+            return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("text/csv") ? CSV : NDJSON;
+        }
+    }
+
+    /**
+     * A row that cannot be read; the reader can continue with the next line
+     */
+    public static class RowException extends RuntimeException {
+        public RowException(String message) {
+            super(message);
+        }
+    }
+
+    private final Reader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private final List<String> header;
+
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private boolean skipLineFeed;
+
+    private String currentLine;
+    private boolean lineTooLong;
+    private long lineNumber;
+
+    /**
+     * @param input           Request body (UTF-8)
+     * @param format          CSV or NDJSON
+     * @param objectMapper    JSON parser for NDJSON
+     * @param requiredColumns Columns a CSV header must contain
+     * @throws RowException if the CSV header is missing or lacks a required column
+     */
+    public ImportRowReader(InputStream input, Format format, ObjectMapper objectMapper, Set<String> requiredColumns) {
+        this.reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+        this.format = format;
+        this.objectMapper = objectMapper;
+
+        if (format == Format.CSV) {
+            if (!advance()) {
+                throw new RowException("CSV header row is missing");
+            }
+            if (lineTooLong) {
+                throw new RowException("CSV header row is longer than " + MAX_LINE_LENGTH + " characters");
+            }
+            this.header = splitCsv(stripBom(currentLine)).stream()
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+            List<String> missing = requiredColumns.stream().filter(column -> !header.contains(column)).sorted().toList();
+            if (!missing.isEmpty()) {
+                throw new RowException("CSV header is missing column(s): " + String.join(", ", missing));
+            }
+        } else {
+            this.header = List.of();
+        }
+    }
+
+    /**
+     * Advance to the next non-blank line
+     *
+     * @return false at the end of the input
+     */
+    public boolean hasNext() {
+        return advance();
+    }
+
+    /**
+     * Values of the current line
+     *
+     * @return Column name -> value
+     * @throws RowException if the line is malformed
+     */
+    public Map<String, String> row() {
+        if (lineTooLong) {
+            throw new RowException("Line is longer than " + MAX_LINE_LENGTH + " characters");
+        }
+        return format == Format.CSV ? csvRow() : jsonRow();
+    }
+
+    /**
+     * @return 1-based line number of the current row (header and blank lines counted)
+     */
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean advance() {
+        try {
+            String line;
+            while ((line = readLine()) != null) {
+                lineNumber++;
+                if (lineTooLong || !line.isBlank()) {
+                    currentLine = line;
+                    return true;
+                }
+            }
+            currentLine = null;
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import data", e);
+        }
+    }
+
+    /**
+     * Next line without its terminator (\n, \r\n or \r); characters past MAX_LINE_LENGTH are
+     * skipped and set lineTooLong
+     *
+     * @return Line, null at the end of the input
+     */
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        boolean read = false;
+        lineTooLong = false;
+        while (true) {
+            if (position == limit) {
+                limit = reader.read(buffer);
+                position = 0;
+                if (limit < 0) {
+                    limit = 0;
+                    return read ? line.toString() : null;
+                }
+            }
+            char c = buffer[position++];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            read = true;
+            if (c == '\n') {
+                return line.toString();
+            }
+            if (c == '\r') {
+                skipLineFeed = true;
+                return line.toString();
+            }
+            if (line.length() < MAX_LINE_LENGTH) {
+                line.append(c);
+            } else {
+                lineTooLong = true;
+            }
+        }
+    }
+
+    private Map<String, String> csvRow() {
+        List<String> values = splitCsv(currentLine);
+        if (values.size() != header.size()) {
+            throw new RowException("Expected " + header.size() + " values, found " + values.size());
+        }
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) {
+                row.put(header.get(i), value);
+            }
+        }
+        return row;
+    }
+
+    private Map<String, String> jsonRow() {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(lineNumber == 1 ? stripBom(currentLine) : currentLine);
+        } catch (IOException e) {
+            throw new RowException("Invalid JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new RowException("Expected a JSON object");
+        }
+        Map<String, String> row = new HashMap<>();
+        node.fields().forEachRemaining(field -> {
+            JsonNode value = field.getValue();
+            if (!value.isNull() && !value.isContainerNode() && !value.asText().isBlank()) {
+                row.put(field.getKey().toLowerCase(Locale.ROOT), value.asText().trim());
+            }
+        });
+        return row;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new RowException("Unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static String stripBom(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+}
@@ -0,0 +1,111 @@
+package pl.mkrew.backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass min/max bucketing of an ordered series for charts
+ *
+ * The x range is split into equal buckets; each bucket keeps only its lowest and highest point
+ * (in arrival order), so peaks and dips survive while the output is bounded by twice the bucket
+ * count regardless of the input size. Points must be added in ascending x order; memory is
+ * constant per bucket.
+ *
+ * @param <T> Point type
+ */
+public class MinMaxDownsampler<T> {
+
+    private final long fromX;
+    private final long toX;
+    private final int buckets;
+    private final List<T> result = new ArrayList<>();
+
+    private int bucket = -1;
+    private T min;
+    private T max;
+    private double minY;
+    private double maxY;
+    private boolean minFirst;
+    private long count;
+
+    /**
+     * @param fromX   Lowest x (inclusive)
+     * @param toX     Highest x (inclusive)
+     * @param buckets Number of buckets (the output has at most twice as many points)
+     */
+    public MinMaxDownsampler(long fromX, long toX, int buckets) {
+        if (toX < fromX || buckets < 1) {
+            throw new IllegalArgumentException("Invalid range or bucket count");
+        }
+        this.fromX = fromX;
+        this.toX = toX;
+        this.buckets = buckets;
+    }
+
+    /**
+     * @param x     Point position (not lower than the previous one); clamped to the range
+     * @param y     Point value
+     * @param point Point to keep if it is a bucket extreme
+     */
+    public void add(long x, double y, T point) {
+        count++;
+        int target = bucketOf(x);
+        if (target != bucket) {
+            flush();
+            bucket = target;
+            min = point;
+            max = point;
+            minY = y;
+            maxY = y;
+            minFirst = true;
+            return;
+        }
+        if (y < minY) {
+            min = point;
+            minY = y;
+            minFirst = false;
+        } else if (y > maxY) {
+            max = point;
+            maxY = y;
+            minFirst = true;
+        }
+    }
+
+    /**
+     * @return Number of points added
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return Kept points in x order
+     */
+    public List<T> result() {
+        flush();
+        bucket = -1;
+        return result;
+    }
+
+    private int bucketOf(long x) {
+        long offset = Math.min(Math.max(x, fromX), toX) - fromX;
+        return (int) (offset * buckets / (toX - fromX + 1));
+    }
+
+    private void flush() {
+        if (min == null) {
+            return;
+        }
+        if (min == max) {
+            result.add(min);
+        } else if (minFirst) {
+            result.add(min);
+            result.add(max);
+        } else {
+            result.add(max);
+            result.add(min);
+        }
+        min = null;
+        max = null;
+    }
+}
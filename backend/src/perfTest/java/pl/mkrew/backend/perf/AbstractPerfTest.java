@@ -0,0 +1,130 @@
+package pl.mkrew.backend.perf;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Base class for the performance regression suite
+ *
+ * One PostgreSQL container is shared by all perf test classes and seeded once with
+ * production-scale volumes. Each query shape is checked for:
+ * - p95 latency within its budget (multiplied by -PperfBudgetFactor)
+ * - no sequential scan on large tables (EXPLAIN with the original parameters)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("perf")
+@Import(StatementRecorder.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public abstract class AbstractPerfTest {
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 20;
+
+    private static final double SCALE = Double.parseDouble(System.getProperty("perf.scale", "1.0"));
+    private static final double BUDGET_FACTOR = Double.parseDouble(System.getProperty("perf.budgetFactor", "1.0"));
+
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("mkrew_perf")
+            .withUsername("perf")
+            .withPassword("perf")
+            .withCommand("postgres", "-c", "shared_buffers=256MB", "-c", "max_wal_size=2GB");
+
+    private static volatile boolean seeded = false;
+
+    static {
+        POSTGRES.start();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    protected JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedOnce() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        if (!seeded) {
+            synchronized (AbstractPerfTest.class) {
+                if (!seeded) {
+                    new PerfDataSeeder(jdbcTemplate, SCALE).seed();
+                    seeded = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Run a repository query shape against the seeded data set
+     *
+     * @param budget p95 latency budget at scale 1.0
+     * @param query Repository call
+     * @return Result of the last run (for sanity assertions)
+     */
+    protected <T> T assertQuery(Duration budget, Supplier<T> query) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            query.get();
+        }
+
+        List<StatementRecorder.RecordedStatement> statements = statementRecorder.record(query);
+        assertThat(statements).as("Query should hit the database").isNotEmpty();
+        QueryPlanAssertions.assertNoSeqScanOnLargeTables(jdbcTemplate, statements);
+
+        long[] timings = new long[MEASURED_RUNS];
+        T result = null;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long started = System.nanoTime();
+            result = query.get();
+            timings[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(timings);
+        Duration p95 = Duration.ofNanos(timings[(int) Math.ceil(MEASURED_RUNS * 0.95) - 1]);
+        Duration allowed = Duration.ofNanos((long) (budget.toNanos() * BUDGET_FACTOR));
+
+        assertThat(p95)
+                .as("p95 latency %d ms exceeds budget %d ms", p95.toMillis(), allowed.toMillis())
+                .isLessThanOrEqualTo(allowed);
+        return result;
+    }
+
+    protected Long firstRckikId() {
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM rckik", Long.class);
+    }
+
+    protected List<Long> allRckikIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM rckik ORDER BY id", Long.class);
+    }
+
+    protected Long samplePerfUserId() {
+        return jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM users WHERE email LIKE 'perf-user-%'", Long.class);
+    }
+}
@@ -0,0 +1,101 @@
+package pl.mkrew.backend.perf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import pl.mkrew.backend.repository.BloodSnapshotRepository;
+import pl.mkrew.backend.repository.BloodSnapshotSeriesRepository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query shapes behind the public RCKiK list/detail endpoints, critical level
+ * notifications and anonymized reports (~1.2M blood_snapshots at scale 1.0)
+ */
+@DisplayName("Blood snapshot query performance")
+@Import(BloodSnapshotSeriesRepository.class)
+class BloodSnapshotQueryPerfTest extends AbstractPerfTest {
+
+    @Autowired
+    private BloodSnapshotRepository bloodSnapshotRepository;
+
+    @Autowired
+    private BloodSnapshotSeriesRepository bloodSnapshotSeriesRepository;
+
+    @Test
+    @DisplayName("Latest levels for one center (RCKiK detail)")
+    void latestLevelsForOneCenter() {
+        Long rckikId = firstRckikId();
+
+        var result = assertQuery(Duration.ofMillis(20),
+                () -> bloodSnapshotRepository.findLatestByRckikId(rckikId));
+
+        assertThat(result).hasSize(8);
+    }
+
+    @Test
+    @DisplayName("Latest levels for all centers (RCKiK list page)")
+    void latestLevelsForAllCenters() {
+        List<Long> rckikIds = allRckikIds();
+
+        var result = assertQuery(Duration.ofMillis(50),
+                () -> bloodSnapshotRepository.findLatestByRckikIds(rckikIds));
+
+        assertThat(result).hasSize(rckikIds.size() * 8);
+    }
+
+    @Test
+    @DisplayName("Blood level history for one center and group (90 days)")
+    void historyForCenterAndGroup() {
+        Long rckikId = firstRckikId();
+        LocalDate toDate = LocalDate.now();
+
+        var result = assertQuery(Duration.ofMillis(30),
+                () -> bloodSnapshotRepository.findByRckikIdAndBloodGroupAndSnapshotDateBetweenOrderBySnapshotDateDescScrapedAtDesc(
+                        rckikId, "0-", toDate.minusDays(90), toDate, PageRequest.of(0, 50)));
+
+        assertThat(result.getContent()).hasSize(50);
+    }
+
+    @Test
+    @DisplayName("Blood level series for one center, all groups (365 days)")
+    void seriesForCenter() {
+        Long rckikId = firstRckikId();
+        LocalDate toDate = LocalDate.now();
+
+        var rows = assertQuery(Duration.ofMillis(100), () -> {
+            AtomicLong count = new AtomicLong();
+            bloodSnapshotSeriesRepository.streamByRckikId(rckikId, toDate.minusDays(365), toDate,
+                    sample -> count.incrementAndGet());
+            return count.get();
+        });
+
+        assertThat(rows).isPositive();
+    }
+
+    @Test
+    @DisplayName("Critical levels (notification scheduler)")
+    void criticalLevels() {
+        assertQuery(Duration.ofMillis(300),
+                () -> bloodSnapshotRepository.findCriticalLevels(new BigDecimal("20.0")));
+    }
+
+    @Test
+    @DisplayName("Average level by blood group for last 30 days (reports)")
+    void averageLevelByBloodGroup() {
+        LocalDate toDate = LocalDate.now();
+
+        var result = assertQuery(Duration.ofMillis(100),
+                () -> bloodSnapshotRepository.calculateAverageLevelByBloodGroup(toDate.minusDays(30), toDate));
+
+        assertThat(result).hasSize(8);
+    }
+}
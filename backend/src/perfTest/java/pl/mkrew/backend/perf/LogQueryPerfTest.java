@@ -0,0 +1,79 @@
+package pl.mkrew.backend.perf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import pl.mkrew.backend.repository.AuditLogRepository;
+import pl.mkrew.backend.repository.EmailLogRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query shapes over append-only log tables: email rate limiting, webhook
+ * lookups, deliverability metrics and audit trail (1M email_logs, 500k audit_logs at scale 1.0)
+ */
+@DisplayName("Email and audit log query performance")
+class LogQueryPerfTest extends AbstractPerfTest {
+
+    @Autowired
+    private EmailLogRepository emailLogRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Test
+    @DisplayName("Emails sent to a user in last 24h (rate limit check)")
+    void emailsSentToUserSince() {
+        Long userId = samplePerfUserId();
+
+        assertQuery(Duration.ofMillis(10),
+                () -> emailLogRepository.countByUserIdSince(userId, LocalDateTime.now().minusHours(24)));
+    }
+
+    @Test
+    @DisplayName("Email lookup by provider message id (webhook)")
+    void emailByExternalId() {
+        var result = assertQuery(Duration.ofMillis(10),
+                () -> emailLogRepository.findByExternalId("perf-4242"));
+
+        assertThat(result).isPresent();
+    }
+
+    @Test
+    @DisplayName("Emails sent in last 24h (deliverability metrics)")
+    void emailsSentInLastDay() {
+        LocalDateTime toDate = LocalDateTime.now();
+
+        assertQuery(Duration.ofMillis(50),
+                () -> emailLogRepository.aggregateMetricsByType(toDate.minusHours(24), toDate, null, null));
+    }
+
+    @Test
+    @DisplayName("Bounced emails (admin list)")
+    void bouncedEmails() {
+        var result = assertQuery(Duration.ofMillis(50),
+                () -> emailLogRepository.findBouncedEmails(PageRequest.of(0, 20)));
+
+        assertThat(result.getContent()).hasSize(20);
+    }
+
+    @Test
+    @DisplayName("Audit trail of an actor")
+    void auditLogsByActor() {
+        String actorId = String.valueOf(samplePerfUserId() + 1);
+
+        assertQuery(Duration.ofMillis(20),
+                () -> auditLogRepository.findByActorIdOrderByCreatedAtDesc(actorId, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    @DisplayName("Audit trail of a target entity")
+    void auditLogsByTarget() {
+        assertQuery(Duration.ofMillis(20),
+                () -> auditLogRepository.findByTargetTypeAndTargetIdOrderByCreatedAtDesc("USER", 4242L, PageRequest.of(0, 20)));
+    }
+}
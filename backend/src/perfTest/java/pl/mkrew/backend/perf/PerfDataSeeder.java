@@ -0,0 +1,179 @@
+package pl.mkrew.backend.perf;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Seeds production-scale volumes with set-based generate_series inserts
+ * RCKiK centers come from the 018 seed changeset, everything else is generated here.
+ *
+ * Volumes at scale 1.0 (override with -PperfScale):
+ * - users: 100 000 (2 favorite centers each)
+ * - blood_snapshots: 21 centers x 8 groups x 4 scrapes/day x 5 years (~1.2M)
+ * - email_logs: 1 000 000
+ * - in_app_notifications (one receipt each), audit_logs: 500 000
+ * - donations: 300 000
+ */
+public class PerfDataSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(PerfDataSeeder.class);
+
+    private static final String BLOOD_GROUPS = "ARRAY['0+','0-','A+','A-','B+','B-','AB+','AB-']";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double scale;
+
+    public PerfDataSeeder(JdbcTemplate jdbcTemplate, double scale) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.scale = scale;
+    }
+
+    public void seed() {
+        long started = System.currentTimeMillis();
+        int users = scaled(100_000);
+
+        seedUsers(users);
+        long firstUserId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM users WHERE email LIKE 'perf-user-%'", Long.class);
+
+        seedFavorites();
+        seedBloodSnapshots(scaled(1_825));
+        seedEmailLogs(scaled(1_000_000), firstUserId, users);
+        seedInAppNotifications(scaled(500_000), firstUserId, users);
+        seedAuditLogs(scaled(500_000), firstUserId, users);
+        seedDonations(scaled(300_000), firstUserId, users);
+
+        for (String table : QueryPlanAssertions.LARGE_TABLES) {
+            jdbcTemplate.execute("VACUUM ANALYZE " + table);
+        }
+
+        log.info("Seeded performance data set (scale {}) in {} ms", scale, System.currentTimeMillis() - started);
+    }
+
+    private int scaled(int volume) {
+        return Math.max(1, (int) Math.round(volume * scale));
+    }
+
+    private void seedUsers(int count) {
+        jdbcTemplate.update("""
+                INSERT INTO users (email, password_hash, first_name, last_name, blood_group,
+                                   email_verified, created_at, updated_at, deleted_at, role)
+                SELECT 'perf-user-' || g || '@example.com',
+                       '$2a$12$perfperfperfperfperfpeJ8sWqk1k8mWJ3yYV7o0b7l0m0m0m0m',
+                       'Imie' || g,
+                       'Nazwisko' || g,
+                       (%s)[1 + g %% 8],
+                       g %% 10 <> 0,
+                       now() - (g %% 1000) * interval '1 day',
+                       now(),
+                       CASE WHEN g %% 50 = 0 THEN now() END,
+                       'USER'
+                FROM generate_series(1, ?) g
+                """.formatted(BLOOD_GROUPS), count);
+    }
+
+    private void seedFavorites() {
+        // Two distinct centers per user: offsets 0 and 5 never collide modulo the center count
+        jdbcTemplate.update("""
+                INSERT INTO user_favorite_rckik (user_id, rckik_id, priority, created_at)
+                SELECT u.id, r.ids[1 + ((u.id + k * 5) % array_length(r.ids, 1))], k + 1, now()
+                FROM users u
+                CROSS JOIN generate_series(0, 1) k
+                CROSS JOIN (SELECT array_agg(id ORDER BY id) AS ids FROM rckik) r
+                WHERE u.email LIKE 'perf-user-%'
+                """);
+    }
+
+    private void seedBloodSnapshots(int days) {
+        jdbcTemplate.update("""
+                INSERT INTO blood_snapshots (rckik_id, snapshot_date, blood_group, level_percentage,
+                                             source_url, parser_version, scraped_at, is_manual)
+                SELECT r.id,
+                       current_date - d,
+                       bg,
+                       round((50 + 45 * sin((d * 4 + s) / 37.0 + r.id + length(bg)))::numeric, 2),
+                       'https://rckik.example/' || r.code,
+                       'perf_v1',
+                       (current_date - d) + make_interval(hours => 6 * s),
+                       false
+                FROM generate_series(?, 0, -1) d
+                CROSS JOIN generate_series(0, 3) s
+                CROSS JOIN rckik r
+                CROSS JOIN unnest(%s) bg
+                ORDER BY d DESC, s, r.id, bg
+                """.formatted(BLOOD_GROUPS), days);
+    }
+
+    private void seedEmailLogs(int count, long firstUserId, int users) {
+        jdbcTemplate.update("""
+                INSERT INTO email_logs (user_id, notification_type, rckik_id, recipient_email, subject,
+                                        sent_at, delivered_at, opened_at, bounced_at, bounce_type, external_id)
+                SELECT ? + g % ?,
+                       (ARRAY['CRITICAL_ALERT','DAILY_SUMMARY','VERIFICATION','PASSWORD_RESET','OTHER'])[1 + g % 5],
+                       r.ids[1 + g % array_length(r.ids, 1)],
+                       'perf-user-' || (1 + g % ?) || '@example.com',
+                       'Powiadomienie ' || g,
+                       t.sent_at,
+                       CASE WHEN g % 20 <> 0 THEN t.sent_at + interval '1 minute' END,
+                       CASE WHEN g % 3 = 0 THEN t.sent_at + interval '1 hour' END,
+                       CASE WHEN g % 20 = 0 THEN t.sent_at + interval '1 minute' END,
+                       CASE WHEN g % 40 = 0 THEN 'HARD' WHEN g % 20 = 0 THEN 'SOFT' END,
+                       'perf-' || g
+                FROM generate_series(1, ?) g
+                CROSS JOIN (SELECT array_agg(id ORDER BY id) AS ids FROM rckik) r
+                CROSS JOIN LATERAL (SELECT now() - g * interval '30 seconds' AS sent_at) t
+                """, firstUserId, users, users, count);
+    }
+
+    private void seedInAppNotifications(int count, long firstUserId, int users) {
+        jdbcTemplate.update("""
+                INSERT INTO in_app_notifications (notification_type, rckik_id, title, message, created_at)
+                SELECT (ARRAY['CRITICAL_BLOOD_LEVEL','SYSTEM_ALERT','DONATION_REMINDER','OTHER'])[1 + g % 4],
+                       r.ids[1 + g % array_length(r.ids, 1)],
+                       'Powiadomienie ' || g,
+                       'Treść powiadomienia ' || g,
+                       now() - g * interval '1 minute'
+                FROM generate_series(1, ?) g
+                CROSS JOIN (SELECT array_agg(id ORDER BY id) AS ids FROM rckik) r
+                """, count);
+        jdbcTemplate.update("""
+                INSERT INTO in_app_notification_receipts (user_id, notification_id, read_at, created_at)
+                SELECT ? + n.id % ?, n.id,
+                       CASE WHEN n.id % 4 <> 0 THEN n.created_at + interval '1 hour' END,
+                       n.created_at
+                FROM in_app_notifications n
+                """, firstUserId, users);
+    }
+
+    private void seedAuditLogs(int count, long firstUserId, int users) {
+        jdbcTemplate.update("""
+                INSERT INTO audit_logs (actor_id, action, target_type, target_id, ip_address, created_at)
+                SELECT CASE WHEN g % 10 = 0 THEN 'SYSTEM' ELSE (? + g % ?)::text END,
+                       (ARRAY['USER_LOGIN','PROFILE_UPDATED','FAVORITE_ADDED','DONATION_CREATED','RCKIK_UPDATED'])[1 + g % 5],
+                       (ARRAY['USER','USER','USER','DONATION','RCKIK'])[1 + g % 5],
+                       g % 50000,
+                       '10.0.' || (g % 250) || '.' || (g % 200),
+                       now() - g * interval '1 minute'
+                FROM generate_series(1, ?) g
+                """, firstUserId, users, count);
+    }
+
+    private void seedDonations(int count, long firstUserId, int users) {
+        jdbcTemplate.update("""
+                INSERT INTO donations (user_id, rckik_id, donation_date, quantity_ml, donation_type,
+                                       confirmed, created_at, updated_at, deleted_at)
+                SELECT ? + g % ?,
+                       r.ids[1 + g % array_length(r.ids, 1)],
+                       current_date - (g % 1800),
+                       450,
+                       (ARRAY['FULL_BLOOD','FULL_BLOOD','PLASMA','PLATELETS'])[1 + g % 4],
+                       g % 3 <> 0,
+                       now(),
+                       now(),
+                       CASE WHEN g % 100 = 0 THEN now() END
+                FROM generate_series(1, ?) g
+                CROSS JOIN (SELECT array_agg(id ORDER BY id) AS ids FROM rckik) r
+                """, firstUserId, users, count);
+    }
+}
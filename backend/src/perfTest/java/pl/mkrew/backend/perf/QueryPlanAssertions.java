@@ -0,0 +1,87 @@
+package pl.mkrew.backend.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * EXPLAIN-based checks for recorded repository statements
+ * Fails when the planner picks a sequential scan on one of the large tables
+ */
+public final class QueryPlanAssertions {
+
+    /**
+     * Tables that grow with users or time - a Seq Scan on any of them is a regression
+     * (rckik, scraper_configs and other dictionary tables stay small and are allowed)
+     */
+    public static final Set<String> LARGE_TABLES = Set.of(
+            "blood_snapshots",
+            "users",
+            "user_favorite_rckik",
+            "donations",
+            "in_app_notifications",
+            "in_app_notification_receipts",
+            "email_logs",
+            "audit_logs"
+    );
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private QueryPlanAssertions() {
+    }
+
+    /**
+     * EXPLAIN every recorded statement with its original parameters and fail on Seq Scans of large tables
+     */
+    public static void assertNoSeqScanOnLargeTables(JdbcTemplate jdbcTemplate,
+                                                    List<StatementRecorder.RecordedStatement> statements) {
+        for (StatementRecorder.RecordedStatement statement : statements) {
+            String planJson = explain(jdbcTemplate, statement);
+            List<String> seqScans = new ArrayList<>();
+            try {
+                collectSeqScans(OBJECT_MAPPER.readTree(planJson).get(0).get("Plan"), seqScans);
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to parse EXPLAIN output: " + planJson, e);
+            }
+
+            if (!seqScans.isEmpty()) {
+                fail("Sequential scan on large table(s) %s%nSQL: %s%nPlan: %s",
+                        seqScans, statement.sql(), planJson);
+            }
+        }
+    }
+
+    private static String explain(JdbcTemplate jdbcTemplate, StatementRecorder.RecordedStatement statement) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+                statement.bind(ps);
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        });
+    }
+
+    private static void collectSeqScans(JsonNode plan, List<String> seqScans) {
+        if (plan == null) {
+            return;
+        }
+        if ("Seq Scan".equals(plan.path("Node Type").asText())
+                && LARGE_TABLES.contains(plan.path("Relation Name").asText())) {
+            seqScans.add(plan.path("Relation Name").asText());
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            collectSeqScans(child, seqScans);
+        }
+    }
+}
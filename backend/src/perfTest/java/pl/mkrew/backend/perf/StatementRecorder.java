@@ -0,0 +1,117 @@
+package pl.mkrew.backend.perf;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Wraps the application DataSource and records the SQL (with bound parameters)
+ * executed by the current thread while recording is active.
+ *
+ * The recorded statements are replayed under EXPLAIN by {@link QueryPlanAssertions},
+ * so plans are checked with the same parameter values the repository used.
+ */
+public class StatementRecorder implements BeanPostProcessor {
+
+    private static final ThreadLocal<List<RecordedStatement>> RECORDING = new ThreadLocal<>();
+
+    /**
+     * SQL text plus the setXxx calls made on the PreparedStatement before execution
+     */
+    public record RecordedStatement(String sql, List<ParameterBinding> bindings) {
+
+        /**
+         * Re-apply the recorded parameter bindings on another statement
+         */
+        public void bind(PreparedStatement statement) {
+            for (ParameterBinding binding : bindings) {
+                try {
+                    binding.method().invoke(statement, binding.args());
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new IllegalStateException("Failed to replay parameter binding " + binding.method().getName(), e);
+                }
+            }
+        }
+    }
+
+    public record ParameterBinding(Method method, Object[] args) {
+    }
+
+    /**
+     * Run the query and return every statement it executed on this thread
+     */
+    public List<RecordedStatement> record(Supplier<?> query) {
+        List<RecordedStatement> statements = new ArrayList<>();
+        RECORDING.set(statements);
+        try {
+            query.get();
+        } finally {
+            RECORDING.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+            return Proxy.newProxyInstance(
+                    getClass().getClassLoader(),
+                    new Class<?>[]{DataSource.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(dataSource, method, args);
+                        return result instanceof Connection connection ? wrapConnection(connection) : result;
+                    });
+        }
+        return bean;
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                        return wrapStatement(statement, (String) args[0]);
+                    }
+                    return result;
+                });
+    }
+
+    private PreparedStatement wrapStatement(PreparedStatement statement, String sql) {
+        List<ParameterBinding> bindings = new ArrayList<>();
+        return (PreparedStatement) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        bindings.add(new ParameterBinding(method, args.clone()));
+                    } else if (name.equals("clearParameters")) {
+                        bindings.clear();
+                    } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                        List<RecordedStatement> recording = RECORDING.get();
+                        if (recording != null) {
+                            recording.add(new RecordedStatement(sql, List.copyOf(bindings)));
+                        }
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
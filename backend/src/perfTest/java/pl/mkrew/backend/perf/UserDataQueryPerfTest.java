@@ -0,0 +1,103 @@
+package pl.mkrew.backend.perf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import pl.mkrew.backend.repository.DonationRepository;
+import pl.mkrew.backend.repository.InAppNotificationReceiptRepository;
+import pl.mkrew.backend.repository.UserDonationStatsRepository;
+import pl.mkrew.backend.repository.UserFavoriteRckikRepository;
+import pl.mkrew.backend.repository.UserRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-user query shapes: login lookup, favorites fan-out, donation statistics
+ * and in-app notification inbox (100k users at scale 1.0)
+ */
+@DisplayName("User data query performance")
+@Import(UserDonationStatsRepository.class)
+class UserDataQueryPerfTest extends AbstractPerfTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserFavoriteRckikRepository favoriteRckikRepository;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private UserDonationStatsRepository donationStatsRepository;
+
+    @Autowired
+    private InAppNotificationReceiptRepository inAppNotificationReceiptRepository;
+
+    @Test
+    @DisplayName("User lookup by email (login)")
+    void userByEmail() {
+        var result = assertQuery(Duration.ofMillis(10),
+                () -> userRepository.findByEmail("perf-user-4242@example.com"));
+
+        assertThat(result).isPresent();
+    }
+
+    @Test
+    @DisplayName("Users following a center (critical alert fan-out)")
+    void favoritesByRckik() {
+        Long rckikId = firstRckikId();
+
+        var result = assertQuery(Duration.ofMillis(150),
+                () -> favoriteRckikRepository.findByRckikId(rckikId));
+
+        assertThat(result).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Favorite centers of a user")
+    void favoritesByUser() {
+        Long userId = samplePerfUserId();
+
+        var result = assertQuery(Duration.ofMillis(10),
+                () -> favoriteRckikRepository.findByUserIdOrderByPriorityAscCreatedAtDesc(userId));
+
+        assertThat(result).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Donation statistics of a user")
+    void donationStatistics() {
+        Long userId = samplePerfUserId();
+
+        var result = assertQuery(Duration.ofMillis(5), () -> donationStatsRepository.findByUserId(userId));
+
+        assertThat(result.getTotalDonations()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Donations in date range (reports)")
+    void donationsByDateRange() {
+        LocalDate toDate = LocalDate.now();
+
+        assertQuery(Duration.ofMillis(50),
+                () -> donationRepository.countDonationsByDateRange(toDate.minusDays(30), toDate));
+    }
+
+    @Test
+    @DisplayName("Unread notification counter and inbox")
+    void unreadNotifications() {
+        Long userId = samplePerfUserId();
+
+        assertQuery(Duration.ofMillis(10), () -> inAppNotificationReceiptRepository.countUnreadByUserId(userId));
+        assertQuery(Duration.ofMillis(20),
+                () -> inAppNotificationReceiptRepository.findUnreadByUserId(userId, PageRequest.of(0, 20)));
+        assertQuery(Duration.ofMillis(20),
+                () -> inAppNotificationReceiptRepository.findByUserId(userId, PageRequest.of(0, 20)));
+    }
+}
@@ -0,0 +1,22 @@
+package pl.mkrew.backend.perf.scraper;
+
+/**
+ * Markup variants served by {@link RckikSiteSimulator}
+ */
+public enum PageLayout {
+
+    /**
+     * Markup matching the config's CSS selectors (falls back to DEFAULT_TABLE when the config has none)
+     */
+    CONFIGURED,
+
+    /**
+     * Plain blood table recognised by the parser's default selectors
+     */
+    DEFAULT_TABLE,
+
+    /**
+     * Site redesign: levels rendered as cards without any table - parsing is expected to fail
+     */
+    REDESIGNED
+}
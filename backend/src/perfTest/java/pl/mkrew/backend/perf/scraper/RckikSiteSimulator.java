@@ -0,0 +1,319 @@
+package pl.mkrew.backend.perf.scraper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import pl.mkrew.backend.entity.ScraperConfig;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Local stand-in for the RCKiK websites, built on WireMock
+ *
+ * Every config is served under /{original host}{original path} on one local port, so the
+ * scraping engine runs unchanged against {@link #simulatedConfigs()}. Behaviour per site is
+ * driven by a {@link SiteProfile} (latency, 503s, connection resets, slow-drip bodies,
+ * ETag / 304 handling, layout variants) and can be changed between runs with {@link #profile}.
+ *
+ * Random decisions use a seeded generator, so a scenario replays the same way for the same seed.
+ */
+public class RckikSiteSimulator implements AutoCloseable {
+
+    private static final String[] BLOOD_GROUPS = {"0+", "0-", "A+", "A-", "B+", "B-", "AB+", "AB-"};
+    private static final int SLOW_DRIP_CHUNKS = 10;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, SimulatedSite> sitesByPath = new ConcurrentHashMap<>();
+    private final Map<String, SimulatedSite> sitesByHost = new ConcurrentHashMap<>();
+    private final Random random;
+    private final WireMockServer server;
+
+    public RckikSiteSimulator(List<ScraperConfig> configs, SiteProfile defaultProfile, long seed) {
+        this.random = new Random(seed);
+        this.server = new WireMockServer(options()
+                .dynamicPort()
+                .containerThreads(64)
+                .disableRequestJournal()
+                .extensions(new SiteTransformer()));
+
+        for (ScraperConfig config : configs) {
+            URI source = URI.create(config.getSourceUrl());
+            String path = "/" + source.getHost() + (source.getPath().isEmpty() ? "/" : source.getPath());
+            SimulatedSite site = new SimulatedSite(config, source.getHost(), path, defaultProfile);
+            sitesByPath.put(path, site);
+            sitesByHost.put(site.host, site);
+        }
+    }
+
+    public RckikSiteSimulator start() {
+        server.start();
+        sitesByPath.keySet().forEach(path -> server.stubFor(get(urlPathEqualTo(path)).willReturn(aResponse())));
+        return this;
+    }
+
+    @Override
+    public void close() {
+        server.stop();
+    }
+
+    /**
+     * Change the behaviour of one site (by original host)
+     */
+    public RckikSiteSimulator profile(String host, SiteProfile profile) {
+        site(host).profile = profile;
+        return this;
+    }
+
+    /**
+     * Change the behaviour of every site
+     */
+    public RckikSiteSimulator profileForAll(SiteProfile profile) {
+        sitesByHost.values().forEach(site -> site.profile = profile);
+        return this;
+    }
+
+    /**
+     * Copies of the configs with source URLs pointing at the simulator
+     */
+    public List<ScraperConfig> simulatedConfigs() {
+        return sitesByPath.values().stream()
+                .map(site -> ScraperConfig.builder()
+                        .id(site.config.getId())
+                        .rckik(site.config.getRckik())
+                        .sourceUrl(server.baseUrl() + site.path)
+                        .parserType(site.config.getParserType())
+                        .cssSelectors(site.config.getCssSelectors())
+                        .active(site.config.getActive())
+                        .timeoutSeconds(site.config.getTimeoutSeconds())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Original RCKiK host for a simulated URL
+     */
+    public String originalHost(String simulatedUrl) {
+        SimulatedSite site = sitesByPath.get(URI.create(simulatedUrl).getPath());
+        return site != null ? site.host : simulatedUrl;
+    }
+
+    /**
+     * Counters of what the simulator served for one host
+     */
+    public ServedStats stats(String host) {
+        SimulatedSite site = site(host);
+        return new ServedStats(site.requests.get(), site.notModified.get(), site.errors.get(),
+                site.faults.get(), site.slowDrips.get());
+    }
+
+    public List<String> hosts() {
+        return sitesByHost.keySet().stream().sorted().toList();
+    }
+
+    private SimulatedSite site(String host) {
+        SimulatedSite site = sitesByHost.get(host);
+        if (site == null) {
+            throw new IllegalArgumentException("No simulated site for host: " + host);
+        }
+        return site;
+    }
+
+    private double nextDouble() {
+        synchronized (random) {
+            return random.nextDouble();
+        }
+    }
+
+    public record ServedStats(long requests, long notModified, long errors, long faults, long slowDrips) {
+    }
+
+    private static final class SimulatedSite {
+        private final ScraperConfig config;
+        private final String host;
+        private final String path;
+        private final AtomicInteger contentVersion = new AtomicInteger(1);
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong notModified = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong faults = new AtomicLong();
+        private final AtomicLong slowDrips = new AtomicLong();
+        private volatile SiteProfile profile;
+
+        private SimulatedSite(ScraperConfig config, String host, String path, SiteProfile profile) {
+            this.config = config;
+            this.host = host;
+            this.path = path;
+            this.profile = profile;
+        }
+
+        private String etag() {
+            return "\"" + config.getRckik().getCode() + "-v" + contentVersion.get() + "\"";
+        }
+    }
+
+    /**
+     * Decides the response for every request from the site's current profile
+     */
+    private class SiteTransformer implements ResponseDefinitionTransformerV2 {
+
+        @Override
+        public String getName() {
+            return "rckik-site-simulator";
+        }
+
+        @Override
+        public ResponseDefinition transform(ServeEvent serveEvent) {
+            SimulatedSite site = sitesByPath.get(URI.create(serveEvent.getRequest().getUrl()).getPath());
+            if (site == null) {
+                return serveEvent.getResponseDefinition();
+            }
+            SiteProfile profile = site.profile;
+            site.requests.incrementAndGet();
+
+            ResponseDefinitionBuilder response = aResponse();
+            if (profile.maxLatencyMs() > 0) {
+                response.withUniformRandomDelay(profile.minLatencyMs(), profile.maxLatencyMs());
+            }
+
+            if (nextDouble() < profile.faultRate()) {
+                site.faults.incrementAndGet();
+                return response.withFault(Fault.CONNECTION_RESET_BY_PEER).build();
+            }
+            if (nextDouble() < profile.errorRate()) {
+                site.errors.incrementAndGet();
+                return response.withStatus(503).withBody("Service Unavailable").build();
+            }
+
+            if (nextDouble() < profile.contentChangeRate()) {
+                site.contentVersion.incrementAndGet();
+            }
+
+            String etag = site.etag();
+            if (profile.etagEnabled() && etag.equals(serveEvent.getRequest().getHeader("If-None-Match"))) {
+                site.notModified.incrementAndGet();
+                return response.withStatus(304).withHeader("ETag", etag).build();
+            }
+
+            response.withStatus(200)
+                    .withHeader("Content-Type", "text/html; charset=UTF-8")
+                    .withBody(renderPage(site, profile));
+            if (profile.etagEnabled()) {
+                response.withHeader("ETag", etag);
+            }
+            if (nextDouble() < profile.slowDripRate()) {
+                site.slowDrips.incrementAndGet();
+                response.withChunkedDribbleDelay(SLOW_DRIP_CHUNKS, profile.slowDripMs());
+            }
+            return response.build();
+        }
+    }
+
+    private String renderPage(SimulatedSite site, SiteProfile profile) {
+        StringBuilder html = new StringBuilder(profile.paddingKb() * 1024 + 4096)
+                .append("<!DOCTYPE html><html lang=\"pl\"><head><meta charset=\"UTF-8\"><title>")
+                .append(site.config.getRckik().getName())
+                .append(" - stany krwi</title></head><body><nav>");
+        appendPadding(html, profile.paddingKb() / 2);
+        html.append("</nav><main>");
+
+        switch (profile.layout()) {
+            case CONFIGURED -> appendConfiguredTable(html, site);
+            case DEFAULT_TABLE -> appendDefaultTable(html, site);
+            case REDESIGNED -> appendCards(html, site);
+        }
+
+        html.append("</main><footer>");
+        appendPadding(html, profile.paddingKb() - profile.paddingKb() / 2);
+        return html.append("</footer></body></html>").toString();
+    }
+
+    /**
+     * Seeded selectors look like {"blood_levels": "#blood-inventory", "blood_group": ".group", "level": ".percentage"}
+     */
+    private void appendConfiguredTable(StringBuilder html, SimulatedSite site) {
+        JsonNode selectors = readSelectors(site.config);
+        if (selectors == null || !selectors.has("blood_group") || !selectors.has("level")) {
+            appendDefaultTable(html, site);
+            return;
+        }
+
+        html.append("<table ").append(attribute(selectors.path("blood_levels").asText(".blood-levels"))).append("><tbody>");
+        for (String group : BLOOD_GROUPS) {
+            html.append("<tr><td ").append(attribute(selectors.get("blood_group").asText())).append('>')
+                    .append(group)
+                    .append("</td><td ").append(attribute(selectors.get("level").asText())).append('>')
+                    .append(level(site, group)).append("%</td></tr>");
+        }
+        html.append("</tbody></table>");
+    }
+
+    private void appendDefaultTable(StringBuilder html, SimulatedSite site) {
+        html.append("<table class=\"blood-table\"><tbody>");
+        for (String group : BLOOD_GROUPS) {
+            html.append("<tr class=\"blood-row\"><td class=\"blood-group\">").append(group)
+                    .append("</td><td class=\"level\">").append(level(site, group)).append("%</td></tr>");
+        }
+        html.append("</tbody></table>");
+    }
+
+    private void appendCards(StringBuilder html, SimulatedSite site) {
+        html.append("<section class=\"zapasy\">");
+        for (String group : BLOOD_GROUPS) {
+            html.append("<div class=\"card\"><span class=\"label\">Grupa ").append(group)
+                    .append("</span><div class=\"gauge\" style=\"height:").append(level(site, group))
+                    .append("px\"></div></div>");
+        }
+        html.append("</section>");
+    }
+
+    private static void appendPadding(StringBuilder html, int kilobytes) {
+        int target = html.length() + kilobytes * 1024;
+        int paragraph = 0;
+        while (html.length() < target) {
+            html.append("<p class=\"news\">Aktualność ").append(++paragraph)
+                    .append(": Zapraszamy do oddawania krwi w punktach poboru i ekipach wyjazdowych.</p>");
+        }
+    }
+
+    /**
+     * Deterministic level per (center, content version, group) in the 5-95% range
+     */
+    private static int level(SimulatedSite site, String group) {
+        int hash = (site.config.getRckik().getCode() + site.contentVersion.get() + group).hashCode();
+        return 5 + Math.floorMod(hash, 91);
+    }
+
+    private static String attribute(String selector) {
+        if (selector.startsWith("#")) {
+            return "id=\"" + selector.substring(1) + "\"";
+        }
+        return "class=\"" + selector.replaceFirst("^\\.", "") + "\"";
+    }
+
+    private JsonNode readSelectors(ScraperConfig config) {
+        if (config.getCssSelectors() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(config.getCssSelectors());
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid CSS selectors for " + config.getRckik().getCode(), e);
+        }
+    }
+}
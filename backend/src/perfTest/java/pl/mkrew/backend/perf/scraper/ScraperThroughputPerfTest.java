@@ -0,0 +1,153 @@
+package pl.mkrew.backend.perf.scraper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import pl.mkrew.backend.dto.ScrapeResult;
+import pl.mkrew.backend.entity.ScraperConfig;
+import pl.mkrew.backend.parser.ParserFactory;
+import pl.mkrew.backend.parser.RzeszowParser;
+import pl.mkrew.backend.service.ScraperFetchService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scraper throughput harness: drives the scraping engine ({@link ScraperFetchService})
+ * against {@link RckikSiteSimulator} serving all 21 seeded scraper configs.
+ *
+ * Reports run duration, per-host fetch latency and parse throughput per scenario
+ * (build/reports/scraper-throughput). No database or Docker needed.
+ */
+@SpringJUnitConfig(ScraperThroughputPerfTest.EngineConfig.class)
+@TestPropertySource(properties = "mkrew.scraper.parallelism=8")
+class ScraperThroughputPerfTest {
+
+    private static final long SEED = 42L;
+
+    @Configuration
+    @Import({ScraperFetchService.class, ParserFactory.class, RzeszowParser.class})
+    static class EngineConfig {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private ScraperFetchService scraperFetchService;
+
+    private RckikSiteSimulator simulator;
+    private List<ScraperConfig> configs;
+
+    @BeforeEach
+    void startSimulator() {
+        simulator = new RckikSiteSimulator(SeededScraperConfigs.load(), SiteProfile.healthy(), SEED).start();
+        configs = simulator.simulatedConfigs();
+        scraperFetchService.clearEtags();
+    }
+
+    @AfterEach
+    void stopSimulator() {
+        simulator.close();
+    }
+
+    @Test
+    void healthySitesAreFullyParsedAndUnchangedPagesAreNotRefetched() {
+        ScraperThroughputReport report = report("healthy-etag");
+
+        ScraperThroughputReport.Run first = run(report);
+        ScraperThroughputReport.Run second = run(report);
+        report.publish();
+
+        assertThat(configs).hasSize(21);
+        assertThat(first.count(ScrapeResult.STATUS_SUCCESS)).isEqualTo(configs.size());
+        assertThat(first.results()).allSatisfy(result -> assertThat(result.getBloodLevels()).hasSize(8));
+        assertThat(second.count(ScrapeResult.STATUS_NOT_MODIFIED)).isEqualTo(configs.size());
+    }
+
+    @Test
+    void degradedSitesNeverBreakTheRun() {
+        simulator.profileForAll(SiteProfile.healthy()
+                .withLatency(50, 400)
+                .withErrors(0.10, 0.05)
+                .withSlowDrip(0.20, 1_500)
+                .withEtag(true, 0.5));
+        ScraperThroughputReport report = report("degraded");
+
+        for (int i = 0; i < 3; i++) {
+            run(report);
+        }
+        report.publish();
+
+        assertThat(report.runs()).allSatisfy(run -> {
+            assertThat(run.results()).hasSize(configs.size());
+            assertThat(run.results())
+                    .filteredOn(result -> ScrapeResult.STATUS_FAILED.equals(result.getStatus()))
+                    .allSatisfy(result -> assertThat(result.getErrorMessage()).isNotBlank());
+        });
+    }
+
+    @Test
+    void layoutDriftFailsOnlyTheRedesignedSites() {
+        Set<String> redesigned = Set.of("rckik.warszawa.pl", "www.rckik.krakow.pl", "rckik.kielce.pl");
+        redesigned.forEach(host -> simulator.profile(host, SiteProfile.healthy().withLayout(PageLayout.REDESIGNED)));
+        ScraperThroughputReport report = report("layout-drift");
+
+        ScraperThroughputReport.Run run = run(report);
+        report.publish();
+
+        assertThat(run.results()).allSatisfy(result -> {
+            String expected = redesigned.contains(simulator.originalHost(result.getUrl()))
+                    ? ScrapeResult.STATUS_FAILED
+                    : ScrapeResult.STATUS_SUCCESS;
+            assertThat(result.getStatus()).as(result.getRckikCode()).isEqualTo(expected);
+        });
+    }
+
+    @Test
+    void slowDripBeyondTimeoutFailsWithoutStallingOtherCenters() {
+        String slowHost = "rckik.wroc.pl";
+        simulator.profile(slowHost, SiteProfile.healthy().withSlowDrip(1.0, 5_000));
+        configs.forEach(config -> config.setTimeoutSeconds(1));
+        ScraperThroughputReport report = report("slow-drip-timeout");
+
+        ScraperThroughputReport.Run run = run(report);
+        report.publish();
+
+        assertThat(run.duration()).isLessThan(Duration.ofSeconds(4));
+        assertThat(run.results()).allSatisfy(result -> assertThat(result.getStatus()).as(result.getRckikCode())
+                .isEqualTo(slowHost.equals(simulator.originalHost(result.getUrl()))
+                        ? ScrapeResult.STATUS_FAILED
+                        : ScrapeResult.STATUS_SUCCESS));
+        assertThat(simulator.stats(slowHost).slowDrips()).isEqualTo(1);
+    }
+
+    private ScraperThroughputReport report(String scenario) {
+        return new ScraperThroughputReport(scenario, simulator::originalHost);
+    }
+
+    private ScraperThroughputReport.Run run(ScraperThroughputReport report) {
+        long started = System.nanoTime();
+        List<ScrapeResult> results = scraperFetchService.scrapeAll(configs);
+        return report.addRun(Duration.ofNanos(System.nanoTime() - started), results);
+    }
+}
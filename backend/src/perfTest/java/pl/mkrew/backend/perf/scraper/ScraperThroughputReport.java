@@ -0,0 +1,116 @@
+package pl.mkrew.backend.perf.scraper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.mkrew.backend.dto.ScrapeResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Collects scraper runs executed against {@link RckikSiteSimulator} and renders
+ * run duration, per-host fetch latency and parse throughput as a text report
+ * (logged and written to build/reports/scraper-throughput/{scenario}.txt)
+ */
+public class ScraperThroughputReport {
+
+    private static final Logger log = LoggerFactory.getLogger(ScraperThroughputReport.class);
+    private static final Path REPORT_DIR = Path.of("build", "reports", "scraper-throughput");
+
+    private final String scenario;
+    private final Function<String, String> hostResolver;
+    private final List<Run> runs = new ArrayList<>();
+
+    public record Run(int number, Duration duration, List<ScrapeResult> results) {
+
+        public long count(String status) {
+            return results.stream().filter(result -> status.equals(result.getStatus())).count();
+        }
+    }
+
+    /**
+     * @param scenario     scenario name (report file name)
+     * @param hostResolver maps a fetched URL back to the original RCKiK host
+     */
+    public ScraperThroughputReport(String scenario, Function<String, String> hostResolver) {
+        this.scenario = scenario;
+        this.hostResolver = hostResolver;
+    }
+
+    public Run addRun(Duration duration, List<ScrapeResult> results) {
+        Run run = new Run(runs.size() + 1, duration, results);
+        runs.add(run);
+        return run;
+    }
+
+    public List<Run> runs() {
+        return runs;
+    }
+
+    public String render() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Scraper throughput - %s%n%n", scenario));
+
+        out.append(String.format(Locale.ROOT, "%-4s %10s %6s %8s %8s %8s %8s %10s %10s %10s%n",
+                "run", "duration", "pages", "success", "partial", "304", "failed",
+                "pages/s", "levels/s", "parse MB/s"));
+        for (Run run : runs) {
+            double seconds = Math.max(run.duration().toNanos() / 1e9, 1e-9);
+            long levels = run.results().stream().mapToLong(result -> result.getBloodLevels().size()).sum();
+            long bytes = run.results().stream().mapToLong(ScrapeResult::getBodyBytes).sum();
+            long parseMs = run.results().stream().mapToLong(ScrapeResult::getParseTimeMs).sum();
+
+            out.append(String.format(Locale.ROOT, "%-4d %8d ms %6d %8d %8d %8d %8d %10.1f %10.1f %10.1f%n",
+                    run.number(), run.duration().toMillis(), run.results().size(),
+                    run.count(ScrapeResult.STATUS_SUCCESS), run.count(ScrapeResult.STATUS_PARTIAL),
+                    run.count(ScrapeResult.STATUS_NOT_MODIFIED), run.count(ScrapeResult.STATUS_FAILED),
+                    run.results().size() / seconds, levels / seconds,
+                    parseMs == 0 ? 0.0 : (bytes / 1_048_576.0) / (parseMs / 1000.0)));
+        }
+
+        out.append(String.format(Locale.ROOT, "%n%-28s %6s %8s %8s %8s %8s %7s%n",
+                "host", "fetches", "p50 ms", "p95 ms", "max ms", "parse ms", "failed"));
+        Map<String, List<ScrapeResult>> byHost = runs.stream()
+                .flatMap(run -> run.results().stream())
+                .collect(Collectors.groupingBy(result -> hostResolver.apply(result.getUrl()), TreeMap::new,
+                        Collectors.toList()));
+        byHost.forEach((host, results) -> {
+            long[] fetchMs = results.stream().mapToLong(ScrapeResult::getFetchTimeMs).sorted().toArray();
+            out.append(String.format(Locale.ROOT, "%-28s %6d %8d %8d %8d %8d %7d%n",
+                    host, fetchMs.length, percentile(fetchMs, 0.50), percentile(fetchMs, 0.95),
+                    fetchMs[fetchMs.length - 1],
+                    results.stream().mapToLong(ScrapeResult::getParseTimeMs).max().orElse(0),
+                    results.stream().filter(result -> ScrapeResult.STATUS_FAILED.equals(result.getStatus())).count()));
+        });
+
+        return out.toString();
+    }
+
+    /**
+     * Log the report and write it under build/reports/scraper-throughput
+     */
+    public void publish() {
+        String report = render();
+        log.info("\n{}", report);
+        try {
+            Files.createDirectories(REPORT_DIR);
+            Files.writeString(REPORT_DIR.resolve(scenario + ".txt"), report);
+        } catch (IOException e) {
+            log.warn("Could not write scraper throughput report: {}", e.getMessage());
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,92 @@
+package pl.mkrew.backend.perf.scraper;
+
+import org.yaml.snakeyaml.Yaml;
+import pl.mkrew.backend.entity.Rckik;
+import pl.mkrew.backend.entity.ScraperConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the scraper configurations seeded by the 019 changeset (copied onto the perfTest classpath)
+ * and turns them into detached {@link ScraperConfig} entities, so the simulator can serve every
+ * seeded center without a database.
+ */
+public final class SeededScraperConfigs {
+
+    private static final String CHANGESET = "db/changelog/changesets/019-seed-scraper-configs.yaml";
+    private static final Pattern RCKIK_CODE = Pattern.compile("code = '([^']+)'");
+
+    private SeededScraperConfigs() {
+    }
+
+    /**
+     * All seeded configs (active and inactive), RCKiK ids numbered in seed order
+     */
+    @SuppressWarnings("unchecked")
+    public static List<ScraperConfig> load() {
+        Map<String, Object> changelog;
+        try (InputStream in = SeededScraperConfigs.class.getClassLoader().getResourceAsStream(CHANGESET)) {
+            if (in == null) {
+                throw new IllegalStateException("Seed changeset not found on classpath: " + CHANGESET);
+            }
+            changelog = new Yaml().load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read " + CHANGESET, e);
+        }
+
+        List<ScraperConfig> configs = new ArrayList<>();
+        for (Map<String, Object> entry : (List<Map<String, Object>>) changelog.get("databaseChangeLog")) {
+            Map<String, Object> changeSet = (Map<String, Object>) entry.get("changeSet");
+            for (Map<String, Object> change : (List<Map<String, Object>>) changeSet.get("changes")) {
+                Map<String, Object> insert = (Map<String, Object>) change.get("insert");
+                if (insert != null && "scraper_configs".equals(insert.get("tableName"))) {
+                    configs.add(toConfig(columns((List<Map<String, Object>>) insert.get("columns")), configs.size() + 1L));
+                }
+            }
+        }
+        return configs;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> columns(List<Map<String, Object>> columns) {
+        Map<String, Object> values = new HashMap<>();
+        for (Map<String, Object> wrapper : columns) {
+            Map<String, Object> column = (Map<String, Object>) wrapper.get("column");
+            column.forEach((key, value) -> {
+                if (key.startsWith("value")) {
+                    values.put((String) column.get("name"), value);
+                }
+            });
+        }
+        return values;
+    }
+
+    private static ScraperConfig toConfig(Map<String, Object> values, long id) {
+        Matcher matcher = RCKIK_CODE.matcher(String.valueOf(values.get("rckik_id")));
+        String code = matcher.find() ? matcher.group(1) : "RCKIK-" + id;
+
+        Rckik rckik = Rckik.builder()
+                .id(id)
+                .code(code)
+                .name(code)
+                .active(true)
+                .build();
+
+        return ScraperConfig.builder()
+                .id(id)
+                .rckik(rckik)
+                .sourceUrl((String) values.get("source_url"))
+                .parserType((String) values.get("parser_type"))
+                .cssSelectors((String) values.get("css_selectors"))
+                .active(!Boolean.FALSE.equals(values.get("active")))
+                .timeoutSeconds(((Number) values.getOrDefault("timeout_seconds", 30)).intValue())
+                .build();
+    }
+}
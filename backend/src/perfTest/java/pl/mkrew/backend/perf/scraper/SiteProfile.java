@@ -0,0 +1,66 @@
+package pl.mkrew.backend.perf.scraper;
+
+/**
+ * Behaviour of one simulated RCKiK site
+ *
+ * @param minLatencyMs        lower bound of the uniform response delay
+ * @param maxLatencyMs        upper bound of the uniform response delay (0 = no delay)
+ * @param errorRate           share of requests answered with HTTP 503
+ * @param faultRate           share of requests whose connection is reset by the server
+ * @param slowDripRate        share of 200 responses whose body is dribbled out in chunks
+ * @param slowDripMs          total time over which a slow-drip body is sent
+ * @param etagEnabled         send an ETag and answer a matching If-None-Match with 304
+ * @param contentChangeRate   share of requests after which the page content (and ETag) changes
+ * @param layout              markup variant of the page
+ * @param paddingKb           filler markup added around the table, to mimic real page sizes
+ */
+public record SiteProfile(
+        int minLatencyMs,
+        int maxLatencyMs,
+        double errorRate,
+        double faultRate,
+        double slowDripRate,
+        int slowDripMs,
+        boolean etagEnabled,
+        double contentChangeRate,
+        PageLayout layout,
+        int paddingKb
+) {
+
+    /**
+     * Fast, reliable site serving the configured layout with ETags
+     */
+    public static SiteProfile healthy() {
+        return new SiteProfile(20, 80, 0.0, 0.0, 0.0, 0, true, 0.0, PageLayout.CONFIGURED, 40);
+    }
+
+    public SiteProfile withLatency(int minMs, int maxMs) {
+        return new SiteProfile(minMs, maxMs, errorRate, faultRate, slowDripRate, slowDripMs,
+                etagEnabled, contentChangeRate, layout, paddingKb);
+    }
+
+    public SiteProfile withErrors(double errorRate, double faultRate) {
+        return new SiteProfile(minLatencyMs, maxLatencyMs, errorRate, faultRate, slowDripRate, slowDripMs,
+                etagEnabled, contentChangeRate, layout, paddingKb);
+    }
+
+    public SiteProfile withSlowDrip(double slowDripRate, int slowDripMs) {
+        return new SiteProfile(minLatencyMs, maxLatencyMs, errorRate, faultRate, slowDripRate, slowDripMs,
+                etagEnabled, contentChangeRate, layout, paddingKb);
+    }
+
+    public SiteProfile withEtag(boolean etagEnabled, double contentChangeRate) {
+        return new SiteProfile(minLatencyMs, maxLatencyMs, errorRate, faultRate, slowDripRate, slowDripMs,
+                etagEnabled, contentChangeRate, layout, paddingKb);
+    }
+
+    public SiteProfile withLayout(PageLayout layout) {
+        return new SiteProfile(minLatencyMs, maxLatencyMs, errorRate, faultRate, slowDripRate, slowDripMs,
+                etagEnabled, contentChangeRate, layout, paddingKb);
+    }
+
+    public SiteProfile withPaddingKb(int paddingKb) {
+        return new SiteProfile(minLatencyMs, maxLatencyMs, errorRate, faultRate, slowDripRate, slowDripMs,
+                etagEnabled, contentChangeRate, layout, paddingKb);
+    }
+}
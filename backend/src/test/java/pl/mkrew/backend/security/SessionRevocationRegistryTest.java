@@ -0,0 +1,158 @@
+package pl.mkrew.backend.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.mkrew.backend.repository.UserSessionRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SessionRevocationRegistry - local revocations vs. snapshot swaps on sync
+ * US-003: User Login (session revocation)
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SessionRevocationRegistry")
+class SessionRevocationRegistryTest {
+
+    @Mock
+    private UserSessionRepository userSessionRepository;
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    private SessionRevocationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SessionRevocationRegistry(userSessionRepository, jwtTokenProvider);
+        ReflectionTestUtils.setField(registry, "syncMillis", 10_000L);
+        lenient().when(jwtTokenProvider.getAccessTokenExpirationMillis()).thenReturn(900_000L);
+    }
+
+    @Test
+    @DisplayName("Applies a revocation outside a transaction at once")
+    void revokeWithoutTransaction() {
+        // Act
+        registry.revoke(List.of(1L, 2L));
+
+        // Assert
+        assertThat(registry.isRevoked(1L)).isTrue();
+        assertThat(registry.isRevoked(2L)).isTrue();
+        assertThat(registry.isRevoked(3L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Applies a revocation inside a transaction only after commit")
+    void revokeAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            registry.revoke(List.of(5L));
+
+            // Assert
+            assertThat(registry.isRevoked(5L)).isFalse();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(registry.isRevoked(5L)).isTrue();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Replaces the set with the sessions revoked in the database")
+    void syncLoadsDatabaseRevocations() {
+        // Arrange
+        when(userSessionRepository.findIdsRevokedSince(any())).thenReturn(List.of(10L, 11L));
+
+        // Act
+        registry.sync();
+
+        // Assert
+        assertThat(registry.isRevoked(10L)).isTrue();
+        assertThat(registry.isRevoked(11L)).isTrue();
+        assertThat(registry.isRevoked(12L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Keeps a local revocation the database read did not see yet")
+    void syncKeepsUncommittedLocalRevocation() {
+        // Arrange - revoked locally, not yet visible to the sync query
+        registry.revoke(List.of(7L));
+        when(userSessionRepository.findIdsRevokedSince(any())).thenReturn(List.of());
+
+        // Act
+        registry.sync();
+
+        // Assert
+        assertThat(registry.isRevoked(7L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Keeps a local revocation made while the database was read")
+    void syncKeepsRevocationDuringRead() {
+        // Arrange - the revocation lands in the old snapshot while the new one is being built
+        when(userSessionRepository.findIdsRevokedSince(any())).thenAnswer(invocation -> {
+            registry.revoke(List.of(8L));
+            return List.of(1L);
+        });
+
+        // Act
+        registry.sync();
+
+        // Assert
+        assertThat(registry.isRevoked(8L)).isTrue();
+        assertThat(registry.isRevoked(1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Loses no local revocation while syncs swap the snapshot concurrently")
+    void concurrentRevocationsSurviveSyncs() throws Exception {
+        // Arrange
+        when(userSessionRepository.findIdsRevokedSince(any())).thenReturn(List.of());
+        int threads = 4;
+        int revocationsPerThread = 2_000;
+        AtomicBoolean revoking = new AtomicBoolean(true);
+        List<Future<?>> revokers = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads + 1)) {
+            Future<?> syncer = executor.submit(() -> {
+                while (revoking.get()) {
+                    registry.sync();
+                }
+            });
+            for (int t = 0; t < threads; t++) {
+                long from = (long) t * revocationsPerThread;
+                revokers.add(executor.submit(() -> LongStream.range(from, from + revocationsPerThread)
+                        .forEach(sessionId -> registry.revoke(List.of(sessionId)))));
+            }
+            for (Future<?> revoker : revokers) {
+                revoker.get();
+            }
+            revoking.set(false);
+            syncer.get();
+        }
+        registry.sync();
+
+        // Assert
+        assertThat(LongStream.range(0, (long) threads * revocationsPerThread).allMatch(registry::isRevoked)).isTrue();
+    }
+}
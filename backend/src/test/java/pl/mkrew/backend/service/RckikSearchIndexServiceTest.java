@@ -0,0 +1,103 @@
+package pl.mkrew.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import pl.mkrew.backend.entity.Rckik;
+import pl.mkrew.backend.repository.RckikRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RckikSearchIndexService - typo tolerance, aliases and Polish diacritics
+ * US-007: List RCKiK Centers with current blood levels
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RckikSearchIndexService")
+class RckikSearchIndexServiceTest {
+
+    private static final long WARSZAWA = 1L;
+    private static final long LODZ = 2L;
+    private static final long KRAKOW = 3L;
+
+    @Mock
+    private RckikRepository rckikRepository;
+
+    private RckikSearchIndexService searchIndexService;
+
+    @BeforeEach
+    void setUp() {
+        when(rckikRepository.findAll()).thenReturn(List.of(
+                Rckik.builder().id(WARSZAWA).name("RCKiK Warszawa").city("Warszawa").code("RCKIK-WAW")
+                        .aliases(new String[]{"stolica"}).build(),
+                Rckik.builder().id(LODZ).name("RCKiK Łódź").city("Łódź").code("RCKIK-LDZ").build(),
+                Rckik.builder().id(KRAKOW).name("RCKiK Kraków").city("Kraków").code("RCKIK-KRK")
+                        .aliases(new String[]{"Krakau"}).build()));
+
+        searchIndexService = new RckikSearchIndexService(rckikRepository);
+        ReflectionTestUtils.setField(searchIndexService, "minSimilarity", 0.3);
+        searchIndexService.rebuild();
+    }
+
+    @Test
+    @DisplayName("Matches a misspelled city name")
+    void matchesTypo() {
+        // Act - one letter missing
+        var result = searchIndexService.search("warszwa");
+
+        // Assert
+        assertThat(result.keySet()).first().isEqualTo(WARSZAWA);
+        assertThat(result.get(WARSZAWA)).isLessThan(1.0);
+    }
+
+    @Test
+    @DisplayName("Matches a prefix fully")
+    void matchesPrefix() {
+        var result = searchIndexService.search("krak");
+
+        assertThat(result).containsOnlyKeys(KRAKOW);
+        assertThat(result.get(KRAKOW)).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Drops matches below the similarity threshold")
+    void appliesSimilarityThreshold() {
+        // Arrange - "warszwa" scores about 0.55 against "warszawa" (6 of 11 distinct trigrams shared)
+        ReflectionTestUtils.setField(searchIndexService, "minSimilarity", 0.6);
+
+        // Act & Assert
+        assertThat(searchIndexService.search("warszwa")).isEmpty();
+        assertThat(searchIndexService.search("gdansk")).isEmpty();
+        assertThat(searchIndexService.search("warszawa")).containsOnlyKeys(WARSZAWA);
+    }
+
+    @Test
+    @DisplayName("Ignores unrelated words")
+    void ignoresUnrelatedQuery() {
+        assertThat(searchIndexService.search("zzzz")).isEmpty();
+        assertThat(searchIndexService.search("  ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Finds centers by alias")
+    void matchesAlias() {
+        assertThat(searchIndexService.search("stolica")).containsOnlyKeys(WARSZAWA);
+        assertThat(searchIndexService.search("krakau").keySet()).first().isEqualTo(KRAKOW);
+    }
+
+    @Test
+    @DisplayName("Ignores Polish diacritics in the query and in center names")
+    void ignoresDiacritics() {
+        assertThat(searchIndexService.search("lodz").keySet()).first().isEqualTo(LODZ);
+        assertThat(searchIndexService.search("ŁÓDŹ").keySet()).first().isEqualTo(LODZ);
+        assertThat(searchIndexService.search("krakow").keySet()).first().isEqualTo(KRAKOW);
+        assertThat(searchIndexService.search("Kraków").get(KRAKOW)).isEqualTo(1.0);
+    }
+}
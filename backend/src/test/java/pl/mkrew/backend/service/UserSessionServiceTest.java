@@ -0,0 +1,152 @@
+package pl.mkrew.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import pl.mkrew.backend.dto.LoginResponse;
+import pl.mkrew.backend.entity.User;
+import pl.mkrew.backend.entity.UserRole;
+import pl.mkrew.backend.entity.UserSession;
+import pl.mkrew.backend.exception.InvalidTokenException;
+import pl.mkrew.backend.repository.UserSessionRepository;
+import pl.mkrew.backend.security.JwtTokenProvider;
+import pl.mkrew.backend.security.SessionRevocationRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for UserSessionService.refresh - refresh token rotation and reuse detection
+ * US-003: User Login
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserSessionService.refresh")
+class UserSessionServiceTest {
+
+    private static final Long SESSION_ID = 42L;
+
+    @Mock
+    private UserSessionRepository userSessionRepository;
+
+    @Mock
+    private SessionRevocationRegistry revocationRegistry;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private UserSessionService userSessionService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", "test-secret-key-for-testing-purposes-only-min-256-bits-long-string");
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpiration", 900_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshExpiration", 604_800_000L);
+        userSessionService = new UserSessionService(userSessionRepository, jwtTokenProvider, revocationRegistry);
+
+        user = User.builder()
+                .id(7L)
+                .email("donor@example.com")
+                .role(UserRole.USER)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Rotates the current refresh token")
+    void rotatesCurrentToken() {
+        // Arrange
+        String current = jwtTokenProvider.generateRefreshToken(user, SESSION_ID);
+        givenSession(current, false);
+        when(userSessionRepository.rotateToken(eq(SESSION_ID), eq(sha256(current)), anyString(), any(), any()))
+                .thenReturn(1);
+
+        // Act
+        LoginResponse response = userSessionService.refresh(current);
+
+        // Assert
+        assertThat(response.getAccessToken()).isNotBlank();
+        assertThat(response.getRefreshToken()).isNotBlank().isNotEqualTo(current);
+        verify(userSessionRepository, never()).revokeById(anyLong(), any());
+        verify(revocationRegistry, never()).revoke(any());
+    }
+
+    @Test
+    @DisplayName("Revokes the session when an already rotated refresh token is presented")
+    void reuseRevokesSession() {
+        // Arrange - the session already moved on to a newer token
+        String rotatedAway = jwtTokenProvider.generateRefreshToken(user, SESSION_ID);
+        String current = jwtTokenProvider.generateRefreshToken(user, SESSION_ID);
+        givenSession(current, false);
+        when(userSessionRepository.revokeById(eq(SESSION_ID), any())).thenReturn(1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> userSessionService.refresh(rotatedAway))
+                .isInstanceOf(InvalidTokenException.class);
+        verify(userSessionRepository).revokeById(eq(SESSION_ID), any());
+        verify(revocationRegistry).revoke(List.of(SESSION_ID));
+        verify(userSessionRepository, never()).rotateToken(anyLong(), anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Rejects the current token once the session was revoked by its reuse")
+    void currentTokenRejectedAfterReuse() {
+        // Arrange
+        String current = jwtTokenProvider.generateRefreshToken(user, SESSION_ID);
+        givenSession(current, true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> userSessionService.refresh(current))
+                .isInstanceOf(InvalidTokenException.class);
+        verify(userSessionRepository, never()).rotateToken(anyLong(), anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Rejects an access token presented as refresh token")
+    void rejectsAccessToken() {
+        // Arrange
+        String accessToken = jwtTokenProvider.generateAccessToken(user, SESSION_ID);
+
+        // Act & Assert
+        assertThatThrownBy(() -> userSessionService.refresh(accessToken))
+                .isInstanceOf(InvalidTokenException.class);
+        verify(userSessionRepository, never()).findWithUserById(anyLong());
+    }
+
+    private void givenSession(String currentToken, boolean revoked) {
+        UserSession session = UserSession.builder()
+                .id(SESSION_ID)
+                .user(user)
+                .tokenHash(sha256(currentToken))
+                .expiresAt(LocalDateTime.now().plusDays(7))
+                .revoked(revoked)
+                .build();
+        when(userSessionRepository.findWithUserById(SESSION_ID)).thenReturn(Optional.of(session));
+    }
+
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
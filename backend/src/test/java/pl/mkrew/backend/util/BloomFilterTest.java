@@ -0,0 +1,93 @@
+package pl.mkrew.backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for BloomFilter - no false negatives, false positive rate near the target
+ * US-001: User Registration (registered email filter), US-003: User Login (session revocation)
+ */
+@DisplayName("BloomFilter")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Contains every inserted numeric key")
+    void noFalseNegativesForLongKeys() {
+        // Arrange
+        SplittableRandom random = new SplittableRandom(42);
+        long[] keys = random.longs(100_000).toArray();
+        BloomFilter filter = new BloomFilter(keys.length, 0.01);
+
+        // Act
+        for (long key : keys) {
+            filter.put(key);
+        }
+
+        // Assert
+        assertThat(Arrays.stream(keys).allMatch(filter::mightContain)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Contains every inserted string key, also beyond the expected size")
+    void noFalseNegativesForStringKeys() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        List<String> emails = LongStream.range(0, 20_000).mapToObj(i -> "user" + i + "@example.com").toList();
+
+        // Act
+        emails.forEach(filter::put);
+
+        // Assert
+        assertThat(emails).allMatch(filter::mightContain);
+    }
+
+    @Test
+    @DisplayName("Keeps the false positive rate close to the target")
+    void falsePositiveRateNearTarget() {
+        // Arrange
+        int inserted = 50_000;
+        BloomFilter filter = new BloomFilter(inserted, 0.01);
+        LongStream.range(0, inserted).forEach(filter::put);
+
+        // Act - sequential IDs are the typical key; probe a disjoint range
+        long falsePositives = LongStream.range(inserted, inserted + 100_000L).filter(filter::mightContain).count();
+
+        // Assert
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("Loses no key when puts run concurrently")
+    void concurrentPutsKeepAllKeys() throws Exception {
+        // Arrange
+        int threads = 8;
+        int keysPerThread = 20_000;
+        BloomFilter filter = new BloomFilter((long) threads * keysPerThread, 0.01);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                long from = (long) t * keysPerThread;
+                futures.add(executor.submit(() -> LongStream.range(from, from + keysPerThread).forEach(filter::put)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // Assert
+        assertThat(LongStream.range(0, (long) threads * keysPerThread).allMatch(filter::mightContain)).isTrue();
+    }
+}
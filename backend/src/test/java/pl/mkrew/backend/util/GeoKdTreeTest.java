@@ -0,0 +1,109 @@
+package pl.mkrew.backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for GeoKdTree - radius queries compared against a brute-force scan
+ * US-007: List RCKiK Centers with current blood levels
+ */
+@DisplayName("GeoKdTree")
+class GeoKdTreeTest {
+
+    private static final double TOLERANCE_KM = 1e-6;
+
+    @Test
+    @DisplayName("Finds the same points as a brute-force scan")
+    void matchesBruteForce() {
+        // Arrange
+        SplittableRandom random = new SplittableRandom(42);
+        int size = 2_000;
+        long[] ids = new long[size];
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i + 1;
+            latitudes[i] = random.nextDouble(-90, 90);
+            longitudes[i] = random.nextDouble(-180, 180);
+        }
+        GeoKdTree tree = new GeoKdTree(ids, latitudes, longitudes);
+
+        for (int query = 0; query < 200; query++) {
+            double latitude = random.nextDouble(-90, 90);
+            double longitude = random.nextDouble(-180, 180);
+            double radiusKm = random.nextDouble(1, 3_000);
+
+            // Act
+            List<GeoKdTree.Hit> hits = tree.withinRadius(latitude, longitude, radiusKm);
+
+            // Assert
+            List<Long> expected = bruteForce(ids, latitudes, longitudes, latitude, longitude, radiusKm);
+            assertThat(hits).extracting(GeoKdTree.Hit::id).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(hits).isSortedAccordingTo((a, b) -> Double.compare(a.distanceKm(), b.distanceKm()));
+        }
+    }
+
+    @Test
+    @DisplayName("Finds points across the antimeridian")
+    void findsPointsAcrossAntimeridian() {
+        // Arrange - 5.6 km west and 16.7 km east of the query point, on both sides of 180 degrees
+        GeoKdTree tree = new GeoKdTree(new long[]{1, 2}, new double[]{0, 0}, new double[]{179.9, -179.9});
+
+        // Act
+        List<GeoKdTree.Hit> hits = tree.withinRadius(0, 179.95, 20);
+
+        // Assert
+        assertThat(hits).extracting(GeoKdTree.Hit::id).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Reports great-circle distances")
+    void reportsGreatCircleDistance() {
+        // Arrange - Warszawa and Kraków
+        GeoKdTree tree = new GeoKdTree(new long[]{1}, new double[]{50.0647}, new double[]{19.9450});
+
+        // Act
+        List<GeoKdTree.Hit> hits = tree.withinRadius(52.2297, 21.0122, 500);
+
+        // Assert
+        assertThat(hits).hasSize(1);
+        assertThat(hits.get(0).distanceKm())
+                .isCloseTo(haversineKm(52.2297, 21.0122, 50.0647, 19.9450), within(TOLERANCE_KM));
+    }
+
+    @Test
+    @DisplayName("Returns nothing for an empty tree")
+    void emptyTree() {
+        GeoKdTree tree = new GeoKdTree(new long[0], new double[0], new double[0]);
+
+        assertThat(tree.size()).isZero();
+        assertThat(tree.withinRadius(52, 21, 100)).isEmpty();
+    }
+
+    private static List<Long> bruteForce(long[] ids, double[] latitudes, double[] longitudes,
+                                         double latitude, double longitude, double radiusKm) {
+        List<Long> result = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            double distance = haversineKm(latitude, longitude, latitudes[i], longitudes[i]);
+            if (distance <= radiusKm) {
+                result.add(ids[i]);
+            }
+        }
+        return result;
+    }
+
+    private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * GeoKdTree.EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
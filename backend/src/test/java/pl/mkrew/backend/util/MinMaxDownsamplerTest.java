@@ -0,0 +1,109 @@
+package pl.mkrew.backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for MinMaxDownsampler
+ * US-008: RCKiK Details with blood level history
+ */
+@DisplayName("MinMaxDownsampler")
+class MinMaxDownsamplerTest {
+
+    private record Point(long x, double y) {
+    }
+
+    private static List<Point> downsample(long fromX, long toX, int buckets, List<Point> points) {
+        MinMaxDownsampler<Point> downsampler = new MinMaxDownsampler<>(fromX, toX, buckets);
+        points.forEach(point -> downsampler.add(point.x(), point.y(), point));
+        return downsampler.result();
+    }
+
+    @Test
+    @DisplayName("Keeps the lowest and highest point of each bucket")
+    void keepsMinAndMaxPerBucket() {
+        // Arrange - two buckets of five points: [0, 4] and [5, 9]
+        List<Point> points = List.of(
+                new Point(0, 50), new Point(1, 10), new Point(2, 40), new Point(3, 90), new Point(4, 60),
+                new Point(5, 30), new Point(6, 70), new Point(7, 20), new Point(8, 55), new Point(9, 45));
+
+        // Act
+        List<Point> result = downsample(0, 9, 2, points);
+
+        // Assert
+        assertThat(result).containsExactly(
+                new Point(1, 10), new Point(3, 90),
+                new Point(6, 70), new Point(7, 20));
+    }
+
+    @Test
+    @DisplayName("Emits bucket extremes in x order")
+    void emitsExtremesInXOrder() {
+        // Arrange - the maximum comes before the minimum
+        List<Point> points = List.of(new Point(0, 50), new Point(1, 95), new Point(2, 5), new Point(3, 50));
+
+        // Act
+        List<Point> result = downsample(0, 3, 1, points);
+
+        // Assert
+        assertThat(result).containsExactly(new Point(1, 95), new Point(2, 5));
+        assertThat(result).isSortedAccordingTo((a, b) -> Long.compare(a.x(), b.x()));
+    }
+
+    @Test
+    @DisplayName("Returns every point when there are fewer points than buckets")
+    void returnsAllPointsWhenFewerThanBuckets() {
+        // Arrange
+        List<Point> points = List.of(new Point(0, 10), new Point(500, 20), new Point(999, 30));
+
+        // Act
+        List<Point> result = downsample(0, 999, 100, points);
+
+        // Assert
+        assertThat(result).containsExactlyElementsOf(points);
+    }
+
+    @Test
+    @DisplayName("Emits a single point once for a single-point bucket")
+    void singlePointBucket() {
+        // Arrange - the second bucket [5, 9] holds one point
+        List<Point> points = List.of(new Point(0, 10), new Point(1, 20), new Point(7, 35));
+
+        // Act
+        MinMaxDownsampler<Point> downsampler = new MinMaxDownsampler<>(0, 9, 2);
+        points.forEach(point -> downsampler.add(point.x(), point.y(), point));
+        List<Point> result = downsampler.result();
+
+        // Assert
+        assertThat(result).containsExactly(new Point(0, 10), new Point(1, 20), new Point(7, 35));
+        assertThat(downsampler.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Output is bounded by twice the bucket count")
+    void outputIsBounded() {
+        // Arrange
+        MinMaxDownsampler<Long> downsampler = new MinMaxDownsampler<>(0, 99_999, 50);
+
+        // Act
+        for (long x = 0; x < 100_000; x++) {
+            downsampler.add(x, Math.sin(x / 100.0), x);
+        }
+
+        // Assert
+        assertThat(downsampler.result()).hasSizeLessThanOrEqualTo(100);
+        assertThat(downsampler.count()).isEqualTo(100_000);
+    }
+
+    @Test
+    @DisplayName("Rejects an inverted range or no buckets")
+    void rejectsInvalidArguments() {
+        assertThatThrownBy(() -> new MinMaxDownsampler<>(10, 0, 5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MinMaxDownsampler<>(0, 10, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
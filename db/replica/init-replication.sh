@@ -0,0 +1,6 @@
+#!/bin/sh
+# Allows streaming replication connections to the test primary (docker-compose.test.yml).
+# Runs once on first start via /docker-entrypoint-initdb.d; wal_level=replica is the default.
+set -e
+
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"